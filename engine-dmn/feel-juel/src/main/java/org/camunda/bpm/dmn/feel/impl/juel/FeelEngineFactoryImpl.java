@@ -31,6 +31,7 @@ import org.camunda.bpm.dmn.feel.impl.juel.el.FeelTypeConverter;
 import org.camunda.bpm.dmn.feel.impl.juel.transform.FeelToJuelFunctionTransformer;
 import org.camunda.bpm.dmn.feel.impl.juel.transform.FeelToJuelTransform;
 import org.camunda.bpm.dmn.feel.impl.juel.transform.FeelToJuelTransformImpl;
+import org.camunda.bpm.dmn.feel.impl.juel.transform.UnaryTestCompiler;
 import org.camunda.commons.utils.cache.Cache;
 import org.camunda.commons.utils.cache.ConcurrentLruCache;
 
@@ -75,7 +76,10 @@ public class FeelEngineFactoryImpl implements FeelEngineFactory {
     ExpressionFactory expressionFactory = createExpressionFactory();
     ElContextFactory elContextFactory = createElContextFactory();
     Cache<TransformExpressionCacheKey, String> transformExpressionCache = createTransformExpressionCache();
-    return new FeelEngineImpl(transform, expressionFactory, elContextFactory, transformExpressionCache);
+    UnaryTestCompiler unaryTestCompiler = createUnaryTestCompiler(transform, elContextFactory);
+    Cache<TransformExpressionCacheKey, Object> unaryTestCache = createUnaryTestCache();
+    return new FeelEngineImpl(transform, expressionFactory, elContextFactory, transformExpressionCache,
+        unaryTestCompiler, createTypeConverter(), unaryTestCache);
   }
 
   protected FeelToJuelTransform createFeelToJuelTransform() {
@@ -118,4 +122,21 @@ public class FeelEngineFactoryImpl implements FeelEngineFactory {
     return new ConcurrentLruCache<TransformExpressionCacheKey, String>(expressionCacheSize);
   }
 
+  /**
+   * The compiled simple unary tests bypass the transform and the EL context, so they
+   * are only used if neither of them is customized.
+   */
+  protected UnaryTestCompiler createUnaryTestCompiler(FeelToJuelTransform transform, ElContextFactory elContextFactory) {
+    if (transform.getClass() == FeelToJuelTransformImpl.class && elContextFactory.getClass() == FeelElContextFactory.class) {
+      return new UnaryTestCompiler(FeelToJuelTransformImpl.CUSTOM_FUNCTION_TRANSFORMERS);
+    }
+    else {
+      return null;
+    }
+  }
+
+  protected Cache<TransformExpressionCacheKey, Object> createUnaryTestCache() {
+    return new ConcurrentLruCache<TransformExpressionCacheKey, Object>(expressionCacheSize);
+  }
+
 }
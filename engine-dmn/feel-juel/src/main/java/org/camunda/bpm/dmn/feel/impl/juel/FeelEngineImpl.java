@@ -24,24 +24,54 @@ import javax.el.ValueExpression;
 import org.camunda.bpm.dmn.feel.impl.FeelEngine;
 import org.camunda.bpm.dmn.feel.impl.juel.el.ElContextFactory;
 import org.camunda.bpm.dmn.feel.impl.juel.transform.FeelToJuelTransform;
+import org.camunda.bpm.dmn.feel.impl.juel.transform.UnaryTest;
+import org.camunda.bpm.dmn.feel.impl.juel.transform.UnaryTestCompiler;
 import org.camunda.bpm.engine.variable.context.VariableContext;
+import org.camunda.bpm.engine.variable.value.TypedValue;
 import org.camunda.commons.utils.cache.Cache;
 
+import de.odysseus.el.misc.TypeConverter;
+
 public class FeelEngineImpl implements FeelEngine {
 
   public static final FeelEngineLogger LOG = FeelLogger.ENGINE_LOGGER;
 
+  /**
+   * Marks expressions in the cache which cannot be compiled
+   */
+  private static final Object NOT_COMPILABLE = new Object();
+
   protected FeelToJuelTransform transform;
   protected ExpressionFactory expressionFactory;
   protected ElContextFactory elContextFactory;
   protected Cache<TransformExpressionCacheKey, String> transformExpressionCache;
 
+  protected UnaryTestCompiler unaryTestCompiler;
+  protected TypeConverter typeConverter;
+  protected Cache<TransformExpressionCacheKey, Object> unaryTestCache;
+
   public FeelEngineImpl(FeelToJuelTransform transform, ExpressionFactory expressionFactory, ElContextFactory elContextFactory,
       Cache<TransformExpressionCacheKey, String> transformExpressionCache) {
+    this(transform, expressionFactory, elContextFactory, transformExpressionCache, null, null, null);
+  }
+
+  /**
+   * @param unaryTestCompiler the compiler for simple unary tests which can be evaluated without JUEL,
+   *   if null all expressions are evaluated by JUEL
+   * @param typeConverter the type converter used by the compiled simple unary tests
+   * @param unaryTestCache the cache for compiled simple unary tests, which also marks
+   *   the expressions which cannot be compiled
+   */
+  public FeelEngineImpl(FeelToJuelTransform transform, ExpressionFactory expressionFactory, ElContextFactory elContextFactory,
+      Cache<TransformExpressionCacheKey, String> transformExpressionCache, UnaryTestCompiler unaryTestCompiler,
+      TypeConverter typeConverter, Cache<TransformExpressionCacheKey, Object> unaryTestCache) {
     this.transform = transform;
     this.expressionFactory = expressionFactory;
     this.elContextFactory = elContextFactory;
     this.transformExpressionCache = transformExpressionCache;
+    this.unaryTestCompiler = unaryTestCompiler;
+    this.typeConverter = typeConverter;
+    this.unaryTestCache = unaryTestCache;
   }
 
   public <T> T evaluateSimpleExpression(String simpleExpression, VariableContext variableContext) {
@@ -50,6 +80,12 @@ public class FeelEngineImpl implements FeelEngine {
 
   public boolean evaluateSimpleUnaryTests(String simpleUnaryTests, String inputName, VariableContext variableContext) {
     try {
+      UnaryTest unaryTest = compileSimpleUnaryTests(simpleUnaryTests, inputName);
+      if (unaryTest != null) {
+        Object input = unaryTest.isInputRequired() ? resolveInput(inputName, variableContext) : null;
+        return unaryTest.test(input, typeConverter);
+      }
+
       ELContext elContext = createContext(variableContext);
       ValueExpression valueExpression = transformSimpleUnaryTests(simpleUnaryTests, inputName, elContext);
        return (Boolean) valueExpression.getValue(elContext);
@@ -78,6 +114,33 @@ public class FeelEngineImpl implements FeelEngine {
     }
   }
 
+  /**
+   * @return the compiled simple unary tests or null if the expression has to be evaluated by JUEL
+   */
+  protected UnaryTest compileSimpleUnaryTests(String simpleUnaryTests, String inputName) {
+    if (unaryTestCompiler == null) {
+      return null;
+    }
+
+    TransformExpressionCacheKey cacheKey = new TransformExpressionCacheKey(simpleUnaryTests, inputName);
+    Object cachedUnaryTest = unaryTestCache.get(cacheKey);
+
+    if (cachedUnaryTest == null) {
+      UnaryTest unaryTest = unaryTestCompiler.compileSimpleUnaryTests(simpleUnaryTests);
+      unaryTestCache.put(cacheKey, unaryTest != null ? unaryTest : NOT_COMPILABLE);
+      return unaryTest;
+    }
+    return cachedUnaryTest != NOT_COMPILABLE ? (UnaryTest) cachedUnaryTest : null;
+  }
+
+  protected Object resolveInput(String inputName, VariableContext variableContext) {
+    if (!variableContext.containsVariable(inputName)) {
+      throw LOG.unknownVariable(inputName);
+    }
+    TypedValue typedValue = variableContext.resolve(inputName);
+    return typedValue != null ? typedValue.getValue() : null;
+  }
+
   protected ELContext createContext(VariableContext variableContext) {
     return elContextFactory.createContext(expressionFactory, variableContext);
   }
@@ -0,0 +1,41 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.dmn.feel.impl.juel.transform;
+
+import de.odysseus.el.misc.TypeConverter;
+
+/**
+ * A compiled FEEL simple unary test which can be evaluated without creating
+ * an EL context. Implementations are immutable and thread-safe.
+ */
+public interface UnaryTest {
+
+  /**
+   * Test the input value.
+   *
+   * @param input the value of the input variable
+   * @param typeConverter the type converter used to coerce the operands of comparisons
+   * @return true if the input satisfies the test, false otherwise
+   */
+  boolean test(Object input, TypeConverter typeConverter);
+
+  /**
+   * @return true if the test depends on the input value, false otherwise
+   */
+  boolean isInputRequired();
+
+}
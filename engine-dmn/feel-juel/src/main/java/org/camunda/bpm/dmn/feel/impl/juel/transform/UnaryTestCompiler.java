@@ -0,0 +1,202 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.dmn.feel.impl.juel.transform;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.camunda.bpm.dmn.feel.impl.FeelException;
+import org.camunda.bpm.dmn.feel.impl.juel.el.FeelFunctionMapper;
+
+/**
+ * <p>Compiles FEEL simple unary tests into {@link UnaryTest}s which can be evaluated
+ * without parsing a JUEL expression.</p>
+ *
+ * <p>Only tests are compiled whose endpoints are literals (strings, numbers, booleans,
+ * null and date and time functions with a string literal). For all other tests, e.g.
+ * tests which reference variables or custom functions, <code>null</code> is returned
+ * and the test has to be evaluated by its transformed JUEL expression. The
+ * expression is matched with the same patterns as by the {@link FeelToJuelTransformImpl}.</p>
+ */
+public class UnaryTestCompiler {
+
+  public static final Pattern STRING_LITERAL_PATTERN = Pattern.compile("^\"([^\"\\\\]*)\"$|^'([^'\\\\]*)'$");
+  public static final Pattern INTEGER_LITERAL_PATTERN = Pattern.compile("^[0-9]+$");
+  public static final Pattern FLOATING_POINT_LITERAL_PATTERN = Pattern.compile("^([0-9]+\\.[0-9]*|\\.[0-9]+|[0-9]+)([eE][+-]?[0-9]+)?$");
+
+  protected static final Object NO_LITERAL = new Object();
+
+  protected List<FeelToJuelTransformer> customFunctionTransformers;
+
+  public UnaryTestCompiler(List<FeelToJuelTransformer> customFunctionTransformers) {
+    this.customFunctionTransformers = customFunctionTransformers;
+  }
+
+  /**
+   * Compile a FEEL simple unary tests expression.
+   *
+   * @param simpleUnaryTests the FEEL simple unary tests expression to compile
+   * @return the compiled test or null if the expression cannot be compiled
+   */
+  public UnaryTest compileSimpleUnaryTests(String simpleUnaryTests) {
+    simpleUnaryTests = simpleUnaryTests.trim();
+    if (FeelToJuelTransformImpl.HYPHEN_TRANSFORMER.canTransform(simpleUnaryTests)) {
+      return UnaryTests.ANY;
+    }
+    else if (FeelToJuelTransformImpl.NOT_TRANSFORMER.canTransform(simpleUnaryTests)) {
+      Matcher matcher = NotTransformer.NOT_PATTERN.matcher(simpleUnaryTests);
+      if (!matcher.matches()) {
+        return null;
+      }
+      UnaryTest test = compileSimplePositiveUnaryTests(matcher.group(1));
+      return test != null ? UnaryTests.not(test) : null;
+    }
+    else {
+      return compileSimplePositiveUnaryTests(simpleUnaryTests);
+    }
+  }
+
+  protected UnaryTest compileSimplePositiveUnaryTests(String simplePositiveUnaryTests) {
+    simplePositiveUnaryTests = simplePositiveUnaryTests.trim();
+    String[] expressions = simplePositiveUnaryTests.split(ListTransformer.COMMA_SEPARATOR_REGEX, -1);
+    if (expressions.length == 1) {
+      return compileSimplePositiveUnaryTest(simplePositiveUnaryTests);
+    }
+
+    List<UnaryTest> tests = new ArrayList<UnaryTest>();
+    for (String expression : expressions) {
+      UnaryTest test = null;
+      if (!expression.trim().isEmpty()) {
+        test = compileSimplePositiveUnaryTest(expression);
+      }
+      if (test == null) {
+        return null;
+      }
+      tests.add(test);
+    }
+    return UnaryTests.disjunction(tests);
+  }
+
+  protected UnaryTest compileSimplePositiveUnaryTest(String simplePositiveUnaryTest) {
+    simplePositiveUnaryTest = simplePositiveUnaryTest.trim();
+
+    for (FeelToJuelTransformer functionTransformer : customFunctionTransformers) {
+      if (functionTransformer.canTransform(simplePositiveUnaryTest)) {
+        return null;
+      }
+    }
+
+    if (FeelToJuelTransformImpl.INTERVAL_TRANSFORMER.canTransform(simplePositiveUnaryTest)) {
+      return compileInterval(simplePositiveUnaryTest);
+    }
+    else if (FeelToJuelTransformImpl.COMPARISON_TRANSFORMER.canTransform(simplePositiveUnaryTest)) {
+      return compileComparison(simplePositiveUnaryTest);
+    }
+    else {
+      Object endpoint = compileEndpoint(simplePositiveUnaryTest);
+      return endpoint != NO_LITERAL ? UnaryTests.equal(endpoint) : null;
+    }
+  }
+
+  protected UnaryTest compileInterval(String interval) {
+    Matcher matcher = IntervalTransformer.INTERVAL_PATTERN.matcher(interval);
+    if (!matcher.matches()) {
+      return null;
+    }
+
+    Object lowerEndpoint = compileEndpoint(matcher.group(2));
+    Object upperEndpoint = compileEndpoint(matcher.group(3));
+    if (lowerEndpoint == NO_LITERAL || upperEndpoint == NO_LITERAL) {
+      return null;
+    }
+
+    String lowerOperator = matcher.group(1).equals("[") ? ">=" : ">";
+    String upperOperator = matcher.group(4).equals("]") ? "<=" : "<";
+    return UnaryTests.interval(lowerOperator, lowerEndpoint, upperOperator, upperEndpoint);
+  }
+
+  protected UnaryTest compileComparison(String comparison) {
+    Matcher matcher = ComparisonTransformer.COMPARISON_PATTERN.matcher(comparison);
+    if (!matcher.matches()) {
+      return null;
+    }
+
+    Object endpoint = compileEndpoint(matcher.group(2));
+    return endpoint != NO_LITERAL ? UnaryTests.comparison(matcher.group(1), endpoint) : null;
+  }
+
+  /**
+   * @return the value of the literal endpoint or {@link #NO_LITERAL} if the endpoint is not a literal
+   */
+  protected Object compileEndpoint(String endpoint) {
+    endpoint = endpoint.trim();
+
+    Matcher dateAndTimeMatcher = EndpointTransformer.DATE_AND_TIME_PATTERN.matcher(endpoint);
+    if (dateAndTimeMatcher.matches()) {
+      Object dateAndTime = compileLiteral(dateAndTimeMatcher.group(1).trim());
+      if (!(dateAndTime instanceof String)) {
+        return NO_LITERAL;
+      }
+      try {
+        return FeelFunctionMapper.parseDateAndTime((String) dateAndTime);
+      }
+      catch (FeelException e) {
+        // let the JUEL expression report the invalid format on evaluation
+        return NO_LITERAL;
+      }
+    }
+
+    return compileLiteral(endpoint);
+  }
+
+  protected Object compileLiteral(String literal) {
+    Matcher stringMatcher = STRING_LITERAL_PATTERN.matcher(literal);
+    if (stringMatcher.matches()) {
+      return stringMatcher.group(1) != null ? stringMatcher.group(1) : stringMatcher.group(2);
+    }
+    else if ("true".equals(literal)) {
+      return Boolean.TRUE;
+    }
+    else if ("false".equals(literal)) {
+      return Boolean.FALSE;
+    }
+    else if ("null".equals(literal)) {
+      return null;
+    }
+
+    boolean negative = literal.startsWith("-");
+    String number = negative ? literal.substring(1) : literal;
+
+    try {
+      if (INTEGER_LITERAL_PATTERN.matcher(number).matches()) {
+        long value = Long.parseLong(number);
+        return negative ? -value : value;
+      }
+      else if (FLOATING_POINT_LITERAL_PATTERN.matcher(number).matches()) {
+        double value = Double.parseDouble(number);
+        return negative ? -value : value;
+      }
+    }
+    catch (NumberFormatException e) {
+      // let the JUEL expression report the invalid number
+    }
+    return NO_LITERAL;
+  }
+
+}
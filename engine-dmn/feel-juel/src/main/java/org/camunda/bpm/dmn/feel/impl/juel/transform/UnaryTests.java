@@ -0,0 +1,211 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.dmn.feel.impl.juel.transform;
+
+import java.util.List;
+
+import de.odysseus.el.misc.BooleanOperations;
+import de.odysseus.el.misc.TypeConverter;
+
+/**
+ * The compiled FEEL simple unary tests. The operators are evaluated by the same
+ * operations as the transformed JUEL expressions to keep the type coercion rules.
+ */
+public class UnaryTests {
+
+  public static final UnaryTest ANY = new AnyTest();
+
+  public static UnaryTest equal(Object endpoint) {
+    return new ComparisonTest(Operator.EQUAL, endpoint);
+  }
+
+  public static UnaryTest comparison(String operator, Object endpoint) {
+    return new ComparisonTest(Operator.fromSymbol(operator), endpoint);
+  }
+
+  public static UnaryTest interval(String lowerOperator, Object lowerEndpoint, String upperOperator, Object upperEndpoint) {
+    return new IntervalTest(comparison(lowerOperator, lowerEndpoint), comparison(upperOperator, upperEndpoint));
+  }
+
+  public static UnaryTest disjunction(List<UnaryTest> tests) {
+    return new DisjunctionTest(tests.toArray(new UnaryTest[tests.size()]));
+  }
+
+  public static UnaryTest not(UnaryTest test) {
+    return new NotTest(test);
+  }
+
+  protected enum Operator {
+
+    EQUAL("=="),
+    LESS("<"),
+    LESS_EQUAL("<="),
+    GREATER(">"),
+    GREATER_EQUAL(">=");
+
+    protected final String symbol;
+
+    Operator(String symbol) {
+      this.symbol = symbol;
+    }
+
+    public static Operator fromSymbol(String symbol) {
+      for (Operator operator : values()) {
+        if (operator.symbol.equals(symbol)) {
+          return operator;
+        }
+      }
+      throw new IllegalArgumentException("Unknown comparison operator '" + symbol + "'");
+    }
+
+    public boolean apply(TypeConverter typeConverter, Object left, Object right) {
+      switch (this) {
+        case LESS:
+          return BooleanOperations.lt(typeConverter, left, right);
+        case LESS_EQUAL:
+          return BooleanOperations.le(typeConverter, left, right);
+        case GREATER:
+          return BooleanOperations.gt(typeConverter, left, right);
+        case GREATER_EQUAL:
+          return BooleanOperations.ge(typeConverter, left, right);
+        default:
+          return BooleanOperations.eq(typeConverter, left, right);
+      }
+    }
+  }
+
+  protected static class AnyTest implements UnaryTest {
+
+    public boolean test(Object input, TypeConverter typeConverter) {
+      return true;
+    }
+
+    public boolean isInputRequired() {
+      return false;
+    }
+
+    @Override
+    public String toString() {
+      return "-";
+    }
+  }
+
+  protected static class ComparisonTest implements UnaryTest {
+
+    protected final Operator operator;
+    protected final Object endpoint;
+
+    public ComparisonTest(Operator operator, Object endpoint) {
+      this.operator = operator;
+      this.endpoint = endpoint;
+    }
+
+    public boolean test(Object input, TypeConverter typeConverter) {
+      return operator.apply(typeConverter, input, endpoint);
+    }
+
+    public boolean isInputRequired() {
+      return true;
+    }
+
+    @Override
+    public String toString() {
+      return operator.symbol + " " + endpoint;
+    }
+  }
+
+  protected static class IntervalTest implements UnaryTest {
+
+    protected final UnaryTest lowerTest;
+    protected final UnaryTest upperTest;
+
+    public IntervalTest(UnaryTest lowerTest, UnaryTest upperTest) {
+      this.lowerTest = lowerTest;
+      this.upperTest = upperTest;
+    }
+
+    public boolean test(Object input, TypeConverter typeConverter) {
+      return lowerTest.test(input, typeConverter) && upperTest.test(input, typeConverter);
+    }
+
+    public boolean isInputRequired() {
+      return true;
+    }
+
+    @Override
+    public String toString() {
+      return "(" + lowerTest + ") && (" + upperTest + ")";
+    }
+  }
+
+  protected static class DisjunctionTest implements UnaryTest {
+
+    protected final UnaryTest[] tests;
+
+    public DisjunctionTest(UnaryTest[] tests) {
+      this.tests = tests;
+    }
+
+    public boolean test(Object input, TypeConverter typeConverter) {
+      for (UnaryTest test : tests) {
+        if (test.test(input, typeConverter)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    public boolean isInputRequired() {
+      return true;
+    }
+
+    @Override
+    public String toString() {
+      StringBuilder builder = new StringBuilder();
+      for (int i = 0; i < tests.length; i++) {
+        if (i > 0) {
+          builder.append(" || ");
+        }
+        builder.append("(").append(tests[i]).append(")");
+      }
+      return builder.toString();
+    }
+  }
+
+  protected static class NotTest implements UnaryTest {
+
+    protected final UnaryTest test;
+
+    public NotTest(UnaryTest test) {
+      this.test = test;
+    }
+
+    public boolean test(Object input, TypeConverter typeConverter) {
+      return !test.test(input, typeConverter);
+    }
+
+    public boolean isInputRequired() {
+      return true;
+    }
+
+    @Override
+    public String toString() {
+      return "not(" + test + ")";
+    }
+  }
+
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.dmn.feel.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+import java.util.Date;
+
+import org.camunda.bpm.dmn.feel.impl.custom.StartsWithFunctionTransformer;
+import org.camunda.bpm.dmn.feel.impl.juel.el.FeelFunctionMapper;
+import org.camunda.bpm.dmn.feel.impl.juel.el.FeelTypeConverter;
+import org.camunda.bpm.dmn.feel.impl.juel.transform.FeelToJuelTransformer;
+import org.camunda.bpm.dmn.feel.impl.juel.transform.UnaryTest;
+import org.camunda.bpm.dmn.feel.impl.juel.transform.UnaryTestCompiler;
+import org.camunda.bpm.dmn.feel.impl.juel.transform.UnaryTests;
+import org.junit.Before;
+import org.junit.Test;
+
+public class UnaryTestCompilerTest {
+
+  protected UnaryTestCompiler compiler;
+  protected FeelTypeConverter typeConverter;
+
+  @Before
+  public void initCompiler() {
+    compiler = new UnaryTestCompiler(Collections.<FeelToJuelTransformer>emptyList());
+    typeConverter = new FeelTypeConverter();
+  }
+
+  @Test
+  public void testCompileLiterals() {
+    assertTest("\"Hello World\"", "Hello World", true);
+    assertTest("'Hello World'", "Hello World", true);
+    assertTest("\"Hello World\"", "Hello", false);
+    assertTest("true", true, true);
+    assertTest("false", true, false);
+    assertTest("null", null, true);
+    assertTest("12", 12, true);
+    assertTest("12", 12L, true);
+    assertTest("-12", -12.0, true);
+    assertTest("13.37", 13.37, true);
+    assertTest(".37", 0.37, true);
+    assertTest("1e2", 100, true);
+  }
+
+  @Test
+  public void testCompileComparison() {
+    assertTest("<12", 11, true);
+    assertTest("<12", 12, false);
+    assertTest("<= 12", 12, true);
+    assertTest(">12", 12.1, true);
+    assertTest(">=12", 11.9, false);
+  }
+
+  @Test
+  public void testCompileInterval() {
+    assertTest("[1..10]", 1, true);
+    assertTest("[1..10]", 10, true);
+    assertTest("]1..10[", 1, false);
+    assertTest("(1..10)", 10, false);
+    assertTest("].37...42)", 0.4, true);
+  }
+
+  @Test
+  public void testCompileListAndNot() {
+    assertTest("1, 2, 3", 2, true);
+    assertTest("1, 2, 3", 4, false);
+    assertTest("\"a,b\", \"c\"", "a,b", true);
+    assertTest("not(1, 2)", 3, true);
+    assertTest("not(1, 2)", 2, false);
+    assertTest(" not( 13 ,\t>0)\t", 0, true);
+  }
+
+  @Test
+  public void testCompileDateAndTime() {
+    Date date = FeelFunctionMapper.parseDateAndTime("2015-12-12T22:12:53");
+
+    assertTest("date and time(\"2015-12-12T22:12:53\")", date, true);
+    assertTest("<date and time(\"2016-01-01T00:00:00\")", date, true);
+  }
+
+  @Test
+  public void testCompileDontCare() {
+    UnaryTest test = compiler.compileSimpleUnaryTests("-");
+
+    assertThat(test).isSameAs(UnaryTests.ANY);
+    assertThat(test.isInputRequired()).isFalse();
+  }
+
+  @Test
+  public void testDoNotCompileNonLiteralEndpoints() {
+    assertThat(compiler.compileSimpleUnaryTests("y")).isNull();
+    assertThat(compiler.compileSimpleUnaryTests("customer.name")).isNull();
+    assertThat(compiler.compileSimpleUnaryTests("<y")).isNull();
+    assertThat(compiler.compileSimpleUnaryTests("[1..y]")).isNull();
+    assertThat(compiler.compileSimpleUnaryTests("1, y")).isNull();
+    assertThat(compiler.compileSimpleUnaryTests("not(y)")).isNull();
+    assertThat(compiler.compileSimpleUnaryTests("date and time(y)")).isNull();
+    assertThat(compiler.compileSimpleUnaryTests("\"escaped \\" quote\"")).isNull();
+  }
+
+  @Test
+  public void testDoNotCompileInvalidExpressions() {
+    assertThat(compiler.compileSimpleUnaryTests("[1..10")).isNull();
+    assertThat(compiler.compileSimpleUnaryTests("1,,2")).isNull();
+    assertThat(compiler.compileSimpleUnaryTests("date and time(\"invalid\")")).isNull();
+    assertThat(compiler.compileSimpleUnaryTests("99999999999999999999")).isNull();
+  }
+
+  @Test
+  public void testDoNotCompileCustomFunctions() {
+    compiler = new UnaryTestCompiler(Collections.<FeelToJuelTransformer>singletonList(new StartsWithFunctionTransformer()));
+
+    assertThat(compiler.compileSimpleUnaryTests("starts with(\"foo\")")).isNull();
+  }
+
+  protected void assertTest(String expression, Object input, boolean expectedResult) {
+    UnaryTest test = compiler.compileSimpleUnaryTests(expression);
+
+    assertThat(test).isNotNull();
+    assertThat(test.test(input, typeConverter)).isEqualTo(expectedResult);
+  }
+
+}
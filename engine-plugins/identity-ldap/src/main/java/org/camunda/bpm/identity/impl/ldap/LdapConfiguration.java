@@ -67,6 +67,13 @@ public class LdapConfiguration {
 
   protected boolean authorizationCheckEnabled = true;
 
+  protected boolean connectionPoolingEnabled = false;
+
+  protected boolean cacheEnabled = false;
+  protected long cacheTimeToLive = 5 * 60 * 1000;
+  protected int cacheMaxSize = 1000;
+  protected boolean cacheNegativeResults = false;
+
   // getters / setters //////////////////////////////////////
 
   public String getInitialContextFactory() {
@@ -284,4 +291,63 @@ public class LdapConfiguration {
     this.authorizationCheckEnabled = authorizationCheckEnabled;
   }
 
+  public boolean isConnectionPoolingEnabled() {
+    return connectionPoolingEnabled;
+  }
+
+  /**
+   * Enables the connection pool of the JNDI LDAP provider, so that
+   * contexts opened for the manager and for password checks reuse
+   * connections instead of opening a new one per command.
+   */
+  public void setConnectionPoolingEnabled(boolean connectionPoolingEnabled) {
+    this.connectionPoolingEnabled = connectionPoolingEnabled;
+  }
+
+  public boolean isCacheEnabled() {
+    return cacheEnabled;
+  }
+
+  /**
+   * Enables caching of LDAP search results across commands.
+   * Authorization checks and paging are still applied on every query.
+   */
+  public void setCacheEnabled(boolean cacheEnabled) {
+    this.cacheEnabled = cacheEnabled;
+  }
+
+  public long getCacheTimeToLive() {
+    return cacheTimeToLive;
+  }
+
+  /**
+   * @param cacheTimeToLive time in milliseconds a cached search result is considered valid
+   */
+  public void setCacheTimeToLive(long cacheTimeToLive) {
+    this.cacheTimeToLive = cacheTimeToLive;
+  }
+
+  public int getCacheMaxSize() {
+    return cacheMaxSize;
+  }
+
+  /**
+   * @param cacheMaxSize the maximum number of cached search results, the least
+   * recently used results are evicted first
+   */
+  public void setCacheMaxSize(int cacheMaxSize) {
+    this.cacheMaxSize = cacheMaxSize;
+  }
+
+  public boolean isCacheNegativeResults() {
+    return cacheNegativeResults;
+  }
+
+  /**
+   * @param cacheNegativeResults if true, searches without any result are cached as well
+   */
+  public void setCacheNegativeResults(boolean cacheNegativeResults) {
+    this.cacheNegativeResults = cacheNegativeResults;
+  }
+
 }
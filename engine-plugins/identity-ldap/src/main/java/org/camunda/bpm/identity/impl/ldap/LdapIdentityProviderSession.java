@@ -54,6 +54,7 @@ import org.camunda.bpm.engine.impl.AbstractQuery;
 import org.camunda.bpm.engine.impl.QueryOrderingProperty;
 import org.camunda.bpm.engine.impl.UserQueryImpl;
 import org.camunda.bpm.engine.impl.UserQueryProperty;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.identity.IdentityProviderException;
 import org.camunda.bpm.engine.impl.identity.ReadOnlyIdentityProvider;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
@@ -71,11 +72,19 @@ public class LdapIdentityProviderSession implements ReadOnlyIdentityProvider {
 
   private final static Logger LOG = Logger.getLogger(LdapIdentityProviderSession.class.getName());
 
+  protected static final String CONNECTION_POOL_PROPERTY = "com.sun.jndi.ldap.connect.pool";
+
   protected LdapConfiguration ldapConfiguration;
   protected LdapContext initialContext;
+  protected LdapSearchCache searchCache;
 
   public LdapIdentityProviderSession(LdapConfiguration ldapConfiguration) {
+    this(ldapConfiguration, null);
+  }
+
+  public LdapIdentityProviderSession(LdapConfiguration ldapConfiguration, LdapSearchCache searchCache) {
     this.ldapConfiguration = ldapConfiguration;
+    this.searchCache = searchCache;
   }
 
   // Session Lifecycle //////////////////////////////////
@@ -92,6 +101,7 @@ public class LdapIdentityProviderSession implements ReadOnlyIdentityProvider {
         // ignore
         LdapPluginLogger.INSTANCE.exceptionWhenClosingLdapCOntext(e);
       }
+      initialContext = null;
     }
   }
 
@@ -112,6 +122,10 @@ public class LdapIdentityProviderSession implements ReadOnlyIdentityProvider {
       env.put(Context.SECURITY_PROTOCOL, "ssl");
     }
 
+    if(ldapConfiguration.isConnectionPoolingEnabled()) {
+      env.put(CONNECTION_POOL_PROPERTY, "true");
+    }
+
     // add additional properties
     Map<String, String> contextProperties = ldapConfiguration.getContextProperties();
     if(contextProperties != null) {
@@ -136,6 +150,69 @@ public class LdapIdentityProviderSession implements ReadOnlyIdentityProvider {
     }
   }
 
+  /**
+   * Performs a search using the manager context. If caching is enabled, the
+   * results are served from the {@link LdapSearchCache} when possible and the
+   * manager context is only opened when the LDAP server must be queried.
+   *
+   * @param query the query to apply sort controls for, may be null
+   */
+  protected NamingEnumeration<SearchResult> search(String baseDn, String filter, AbstractQuery<?, ?> query) throws NamingException {
+    if(searchCache == null) {
+      return searchLdap(baseDn, filter, query);
+    }
+
+    String cacheKey = LdapSearchCache.createKey(baseDn, filter, getSortControlKey(query));
+    List<SearchResult> results = searchCache.get(cacheKey);
+
+    if(results != null) {
+      markOccurrence(LdapSearchCache.METRIC_SEARCHES_SAVED);
+
+    } else {
+      results = new ArrayList<>();
+      NamingEnumeration<SearchResult> enumeration = searchLdap(baseDn, filter, query);
+      try {
+        while (enumeration.hasMoreElements()) {
+          results.add(enumeration.nextElement());
+        }
+      } finally {
+        enumeration.close();
+      }
+      searchCache.put(cacheKey, results);
+    }
+
+    return new LdapSearchResults(results);
+  }
+
+  protected NamingEnumeration<SearchResult> searchLdap(String baseDn, String filter, AbstractQuery<?, ?> query) throws NamingException {
+    ensureContextInitialized();
+
+    if(query != null && ldapConfiguration.isSortControlSupported()) {
+      applyRequestControls(query);
+    }
+
+    return initialContext.search(baseDn, filter, ldapConfiguration.getSearchControls());
+  }
+
+  protected String getSortControlKey(AbstractQuery<?, ?> query) {
+    if(query == null || !ldapConfiguration.isSortControlSupported() || query.getOrderingProperties() == null) {
+      return null;
+    }
+
+    StringBuilder sortControlKey = new StringBuilder();
+    for (QueryOrderingProperty orderingProperty : query.getOrderingProperties()) {
+      sortControlKey.append(orderingProperty.getQueryProperty().getName()).append(',');
+    }
+    return sortControlKey.toString();
+  }
+
+  protected void markOccurrence(String metric) {
+    ProcessEngineConfigurationImpl processEngineConfiguration = org.camunda.bpm.engine.impl.context.Context.getProcessEngineConfiguration();
+    if(processEngineConfiguration != null && processEngineConfiguration.isMetricsEnabled()) {
+      processEngineConfiguration.getMetricsRegistry().markOccurrence(metric);
+    }
+  }
+
   // Users /////////////////////////////////////////////////
 
   public User findUserById(String userId) {
@@ -158,12 +235,10 @@ public class LdapIdentityProviderSession implements ReadOnlyIdentityProvider {
   }
 
   public long findUserCountByQueryCriteria(LdapUserQueryImpl query) {
-    ensureContextInitialized();
     return findUserByQueryCriteria(query).size();
   }
 
   public List<User> findUserByQueryCriteria(LdapUserQueryImpl query) {
-    ensureContextInitialized();
     if(query.getGroupId() != null) {
       // if restriction on groupId is provided, we need to search in group tree first, look for the group and then further restrict on the members
       return findUsersByGroupId(query);
@@ -181,7 +256,7 @@ public class LdapIdentityProviderSession implements ReadOnlyIdentityProvider {
 
     NamingEnumeration<SearchResult> enumeration = null;
     try {
-      enumeration = initialContext.search(baseDn, groupSearchFilter, ldapConfiguration.getSearchControls());
+      enumeration = search(baseDn, groupSearchFilter, null);
 
       List<String> groupMemberList = new ArrayList<>();
 
@@ -233,15 +308,11 @@ public class LdapIdentityProviderSession implements ReadOnlyIdentityProvider {
 
   public List<User> findUsersWithoutGroupId(LdapUserQueryImpl query, String userBaseDn, boolean ignorePagination) {
 
-    if(ldapConfiguration.isSortControlSupported()) {
-      applyRequestControls(query);
-    }
-
     NamingEnumeration<SearchResult> enumeration = null;
     try {
 
       String filter = getUserSearchFilter(query);
-      enumeration = initialContext.search(userBaseDn, filter, ldapConfiguration.getSearchControls());
+      enumeration = search(userBaseDn, filter, query);
 
       // perform client-side paging
       int resultCount = 0;
@@ -338,7 +409,8 @@ public class LdapIdentityProviderSession implements ReadOnlyIdentityProvider {
 
       try {
         // bind authenticate for user + supplied password
-        openContext(user.getDn(), password);
+        InitialLdapContext userContext = openContext(user.getDn(), password);
+        closeQuietly(userContext);
         return true;
 
       } catch(LdapAuthenticationException e) {
@@ -411,24 +483,18 @@ public class LdapIdentityProviderSession implements ReadOnlyIdentityProvider {
   }
 
   public long findGroupCountByQueryCriteria(LdapGroupQuery ldapGroupQuery) {
-    ensureContextInitialized();
     return findGroupByQueryCriteria(ldapGroupQuery).size();
   }
 
   public List<Group> findGroupByQueryCriteria(LdapGroupQuery query) {
-    ensureContextInitialized();
 
     String groupBaseDn = composeDn(ldapConfiguration.getGroupSearchBase(), ldapConfiguration.getBaseDn());
 
-    if(ldapConfiguration.isSortControlSupported()) {
-      applyRequestControls(query);
-    }
-
     NamingEnumeration<SearchResult> enumeration = null;
     try {
 
       String filter = getGroupSearchFilter(query);
-      enumeration = initialContext.search(groupBaseDn, filter, ldapConfiguration.getSearchControls());
+      enumeration = search(groupBaseDn, filter, query);
 
       // perform client-side paging
       int resultCount = 0;
@@ -557,6 +623,15 @@ public class LdapIdentityProviderSession implements ReadOnlyIdentityProvider {
     }
   }
 
+  protected void closeQuietly(LdapContext context) {
+    try {
+      context.close();
+    } catch (Exception e) {
+      // ignore
+      LdapPluginLogger.INSTANCE.exceptionWhenClosingLdapCOntext(e);
+    }
+  }
+
   protected String getStringAttributeValue(String attrName, Attributes attributes) throws NamingException {
     Attribute attribute = attributes.get(attrName);
     if(attribute != null){
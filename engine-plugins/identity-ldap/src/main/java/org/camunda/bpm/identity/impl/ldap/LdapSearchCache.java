@@ -0,0 +1,129 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.identity.impl.ldap;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.naming.directory.SearchResult;
+
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.commons.utils.cache.Cache;
+import org.camunda.commons.utils.cache.ConcurrentLruCache;
+
+/**
+ * <p>Caches the raw results of LDAP searches across {@link LdapIdentityProviderSession sessions}.</p>
+ *
+ * <p>Results are keyed by search base, filter and requested sort order and are
+ * cached before authorization checks and paging are applied, so cached entries
+ * can be shared between users.</p>
+ */
+public class LdapSearchCache {
+
+  /**
+   * Number of LDAP searches answered from the cache instead of the LDAP server
+   */
+  public static final String METRIC_SEARCHES_SAVED = "ldap-searches-saved";
+
+  protected Cache<String, CachedSearchResult> cache;
+
+  protected long timeToLive;
+  protected boolean cacheNegativeResults;
+
+  protected AtomicLong hitCount = new AtomicLong();
+  protected AtomicLong missCount = new AtomicLong();
+
+  public LdapSearchCache(LdapConfiguration ldapConfiguration) {
+    this.cache = new ConcurrentLruCache<String, CachedSearchResult>(ldapConfiguration.getCacheMaxSize());
+    this.timeToLive = ldapConfiguration.getCacheTimeToLive();
+    this.cacheNegativeResults = ldapConfiguration.isCacheNegativeResults();
+  }
+
+  /**
+   * @return the cached search results or null if there is no valid entry for the given key
+   */
+  public List<SearchResult> get(String key) {
+    CachedSearchResult cachedResult = cache.get(key);
+
+    if (cachedResult == null) {
+      missCount.incrementAndGet();
+      return null;
+    }
+
+    if (cachedResult.isExpired(ClockUtil.getCurrentTime().getTime())) {
+      cache.remove(key);
+      missCount.incrementAndGet();
+      return null;
+    }
+
+    hitCount.incrementAndGet();
+    return cachedResult.getResults();
+  }
+
+  public void put(String key, List<SearchResult> results) {
+    if (!results.isEmpty() || cacheNegativeResults) {
+      long expiresAt = ClockUtil.getCurrentTime().getTime() + timeToLive;
+      cache.put(key, new CachedSearchResult(Collections.unmodifiableList(results), expiresAt));
+    }
+  }
+
+  public void clear() {
+    cache.clear();
+  }
+
+  public int size() {
+    return cache.size();
+  }
+
+  public long getHitCount() {
+    return hitCount.get();
+  }
+
+  public long getMissCount() {
+    return missCount.get();
+  }
+
+  public static String createKey(String baseDn, String filter, String ordering) {
+    StringBuilder key = new StringBuilder();
+    key.append(baseDn).append('|').append(filter);
+    if (ordering != null) {
+      key.append('|').append(ordering);
+    }
+    return key.toString();
+  }
+
+  protected static class CachedSearchResult {
+
+    protected final List<SearchResult> results;
+    protected final long expiresAt;
+
+    public CachedSearchResult(List<SearchResult> results, long expiresAt) {
+      this.results = results;
+      this.expiresAt = expiresAt;
+    }
+
+    public List<SearchResult> getResults() {
+      return results;
+    }
+
+    public boolean isExpired(long now) {
+      return now >= expiresAt;
+    }
+  }
+
+}
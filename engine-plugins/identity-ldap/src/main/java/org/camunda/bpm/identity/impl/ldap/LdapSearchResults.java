@@ -0,0 +1,57 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.identity.impl.ldap;
+
+import java.util.Iterator;
+import java.util.List;
+
+import javax.naming.NamingEnumeration;
+import javax.naming.directory.SearchResult;
+
+/**
+ * {@link NamingEnumeration} over search results which have already been
+ * fetched from the LDAP server, e.g. taken from the {@link LdapSearchCache}.
+ */
+public class LdapSearchResults implements NamingEnumeration<SearchResult> {
+
+  protected Iterator<SearchResult> iterator;
+
+  public LdapSearchResults(List<SearchResult> results) {
+    this.iterator = results.iterator();
+  }
+
+  public SearchResult next() {
+    return iterator.next();
+  }
+
+  public boolean hasMore() {
+    return iterator.hasNext();
+  }
+
+  public void close() {
+    // nothing to do
+  }
+
+  public boolean hasMoreElements() {
+    return iterator.hasNext();
+  }
+
+  public SearchResult nextElement() {
+    return iterator.next();
+  }
+
+}
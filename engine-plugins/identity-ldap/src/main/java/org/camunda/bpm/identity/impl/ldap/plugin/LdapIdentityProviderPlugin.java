@@ -24,6 +24,7 @@ import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.cfg.ProcessEnginePlugin;
 import org.camunda.bpm.identity.impl.ldap.LdapConfiguration;
 import org.camunda.bpm.identity.impl.ldap.LdapIdentityProviderFactory;
+import org.camunda.bpm.identity.impl.ldap.LdapSearchCache;
 import org.camunda.bpm.identity.impl.ldap.util.CertificateHelper;
 import org.camunda.bpm.identity.impl.ldap.util.LdapPluginLogger;
 
@@ -52,12 +53,17 @@ public class LdapIdentityProviderPlugin extends LdapConfiguration implements Pro
 
     LdapIdentityProviderFactory ldapIdentityProviderFactory = new LdapIdentityProviderFactory();
     ldapIdentityProviderFactory.setLdapConfiguration(this);
+    if(isCacheEnabled()) {
+      ldapIdentityProviderFactory.setSearchCache(new LdapSearchCache(this));
+    }
     processEngineConfiguration.setIdentityProviderSessionFactory(ldapIdentityProviderFactory);
 
   }
 
   public void postInit(ProcessEngineConfigurationImpl processEngineConfiguration) {
-    // nothing to do
+    if(isCacheEnabled() && processEngineConfiguration.isMetricsEnabled()) {
+      processEngineConfiguration.getMetricsRegistry().createMeter(LdapSearchCache.METRIC_SEARCHES_SAVED);
+    }
   }
 
   public void postProcessEngineBuild(ProcessEngine processEngine) {
@@ -0,0 +1,126 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.identity.impl.ldap;
+
+import java.util.Date;
+import java.util.List;
+
+import org.camunda.bpm.engine.identity.Group;
+import org.camunda.bpm.engine.identity.User;
+import org.camunda.bpm.engine.impl.test.ResourceProcessEngineTestCase;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+
+/**
+ * Represents a test case where caching of LDAP search results is enabled.
+ */
+public class LdapCacheTest extends ResourceProcessEngineTestCase {
+
+  public LdapCacheTest() {
+    super("camunda.ldap.cache.cfg.xml");
+  }
+
+  protected static LdapTestEnvironment ldapTestEnvironment;
+
+  @Override
+  protected void setUp() throws Exception {
+    if(ldapTestEnvironment == null) {
+      ldapTestEnvironment = new LdapTestEnvironment();
+      ldapTestEnvironment.init();
+    }
+    super.setUp();
+    getSearchCache().clear();
+  }
+
+  @Override
+  protected void tearDown() throws Exception {
+    if(ldapTestEnvironment != null) {
+      ldapTestEnvironment.shutdown();
+      ldapTestEnvironment = null;
+    }
+    ClockUtil.reset();
+    super.tearDown();
+  }
+
+  public void testUserQueryIsServedFromCache() {
+    User user = identityService.createUserQuery().userId("roman").singleResult();
+    assertNotNull(user);
+    long hits = getSearchCache().getHitCount();
+
+    User cachedUser = identityService.createUserQuery().userId("roman").singleResult();
+
+    assertNotNull(cachedUser);
+    assertEquals(user.getId(), cachedUser.getId());
+    assertEquals(user.getEmail(), cachedUser.getEmail());
+    assertEquals(hits + 1, getSearchCache().getHitCount());
+  }
+
+  public void testGroupMembershipQueryIsServedFromCache() {
+    List<Group> groups = identityService.createGroupQuery().groupMember("roman").list();
+    assertFalse(groups.isEmpty());
+    long hits = getSearchCache().getHitCount();
+
+    List<Group> cachedGroups = identityService.createGroupQuery().groupMember("roman").list();
+
+    assertEquals(groups.size(), cachedGroups.size());
+    assertTrue(getSearchCache().getHitCount() > hits);
+  }
+
+  public void testNegativeResultIsCached() {
+    assertNull(identityService.createUserQuery().userId("non-existing").singleResult());
+    long hits = getSearchCache().getHitCount();
+
+    assertNull(identityService.createUserQuery().userId("non-existing").singleResult());
+
+    assertEquals(hits + 1, getSearchCache().getHitCount());
+  }
+
+  public void testCachedResultExpires() {
+    identityService.createUserQuery().userId("roman").singleResult();
+    long hits = getSearchCache().getHitCount();
+
+    ClockUtil.setCurrentTime(new Date(ClockUtil.getCurrentTime().getTime() + 10 * 60 * 1000));
+
+    assertNotNull(identityService.createUserQuery().userId("roman").singleResult());
+    assertEquals(hits, getSearchCache().getHitCount());
+  }
+
+  public void testCheckPasswordWithCachedUser() {
+    assertTrue(identityService.checkPassword("roman", "roman"));
+    assertTrue(identityService.checkPassword("roman", "roman"));
+
+    // the bind is never cached
+    assertFalse(identityService.checkPassword("roman", "ro"));
+  }
+
+  public void testSavedSearchesAreReportedAsMetric() {
+    long savedSearches = processEngineConfiguration.getMetricsRegistry()
+        .getMeterByName(LdapSearchCache.METRIC_SEARCHES_SAVED)
+        .get();
+
+    identityService.createUserQuery().userId("roman").singleResult();
+    identityService.createUserQuery().userId("roman").singleResult();
+
+    assertEquals(savedSearches + 1, processEngineConfiguration.getMetricsRegistry()
+        .getMeterByName(LdapSearchCache.METRIC_SEARCHES_SAVED)
+        .get());
+  }
+
+  protected LdapSearchCache getSearchCache() {
+    return ((LdapIdentityProviderFactory) processEngineConfiguration.getIdentityProviderSessionFactory()).getSearchCache();
+  }
+
+}
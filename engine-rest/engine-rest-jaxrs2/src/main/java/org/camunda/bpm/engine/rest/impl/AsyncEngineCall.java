@@ -0,0 +1,125 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.rest.impl;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.ws.rs.container.AsyncResponse;
+
+import org.camunda.bpm.engine.IdentityService;
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.impl.identity.Authentication;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+
+/**
+ * An engine call of a suspended request. The call runs with the authentication of the
+ * request and resumes the request with its result.
+ */
+public class AsyncEngineCall implements Runnable {
+
+  protected ProcessEngine processEngine;
+  protected Authentication authentication;
+  protected AsyncResponse asyncResponse;
+  protected Callable<?> callable;
+
+  protected AsyncEngineCallEndpoint endpoint;
+  protected long submitTime;
+
+  /**
+   * Set once the call is started or its request timed out, whichever happens first.
+   */
+  protected AtomicBoolean finishedWaiting = new AtomicBoolean();
+
+  public AsyncEngineCall(ProcessEngine processEngine, AsyncResponse asyncResponse, Callable<?> callable) {
+    this.processEngine = processEngine;
+    this.asyncResponse = asyncResponse;
+    this.callable = callable;
+
+    // the authentication is bound to the container thread which is released before the call runs
+    this.authentication = processEngine.getIdentityService().getCurrentAuthentication();
+  }
+
+  @Override
+  public void run() {
+    if (endpoint != null) {
+      endpoint.callStarted(ClockUtil.getCurrentTime().getTime() - submitTime);
+    }
+
+    if (asyncResponse.isDone() || !finishedWaiting.compareAndSet(false, true)) {
+      // the request timed out or was cancelled while the call was queued
+      return;
+    }
+
+    if (endpoint != null && endpoint.getTimeout() > 0) {
+      // the timeout only limits the time in the queue; a running call may commit,
+      // e.g. a message correlation, so its request is answered when the call finished
+      asyncResponse.setTimeout(AsyncResponse.NO_TIMEOUT, TimeUnit.MILLISECONDS);
+    }
+
+    IdentityService identityService = processEngine.getIdentityService();
+    Object result = null;
+    Throwable failure = null;
+
+    try {
+      identityService.setAuthentication(authentication);
+      result = callable.call();
+    }
+    catch (Throwable t) {
+      failure = t;
+    }
+    finally {
+      identityService.clearAuthentication();
+    }
+
+    if (failure == null) {
+      asyncResponse.resume(result);
+    }
+    else {
+      asyncResponse.resume(failure);
+
+      if (failure instanceof Error) {
+        throw (Error) failure;
+      }
+    }
+  }
+
+  /**
+   * @return true if the call was not started yet and is skipped from now on,
+   * false if it is already running
+   */
+  public boolean timeOut() {
+    return finishedWaiting.compareAndSet(false, true);
+  }
+
+  public void submitted(AsyncEngineCallEndpoint endpoint) {
+    this.endpoint = endpoint;
+    this.submitTime = ClockUtil.getCurrentTime().getTime();
+  }
+
+  public AsyncResponse getAsyncResponse() {
+    return asyncResponse;
+  }
+
+  @Override
+  public String toString() {
+    return "AsyncEngineCall [processEngine=" + processEngine.getName()
+      + ", authentication=" + authentication + "]";
+  }
+
+}
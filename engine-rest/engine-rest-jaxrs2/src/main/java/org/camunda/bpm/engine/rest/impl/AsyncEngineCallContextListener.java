@@ -0,0 +1,44 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.rest.impl;
+
+import javax.servlet.ServletContextEvent;
+import javax.servlet.ServletContextListener;
+
+/**
+ * Starts the {@link AsyncEngineCallExecutor} of the REST API. Without this listener,
+ * the engine calls of asynchronous endpoints run on the container threads.
+ */
+public class AsyncEngineCallContextListener implements ServletContextListener {
+
+  protected static AsyncEngineCallExecutor asyncEngineCallExecutor = new AsyncEngineCallExecutor();
+
+  @Override
+  public void contextInitialized(ServletContextEvent sce) {
+    asyncEngineCallExecutor.contextInitialized(sce.getServletContext());
+  }
+
+  @Override
+  public void contextDestroyed(ServletContextEvent sce) {
+    asyncEngineCallExecutor.shutdown();
+  }
+
+  public static AsyncEngineCallExecutor getAsyncEngineCallExecutor() {
+    return asyncEngineCallExecutor;
+  }
+
+}
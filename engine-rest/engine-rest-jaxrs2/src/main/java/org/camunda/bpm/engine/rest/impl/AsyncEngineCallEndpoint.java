@@ -0,0 +1,198 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.rest.impl;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.TimeoutHandler;
+import javax.ws.rs.core.Response.Status;
+
+import org.camunda.bpm.engine.rest.exception.RestException;
+
+/**
+ * Runs the engine calls of one group of endpoints on a bounded thread pool. At most
+ * <code>concurrency</code> calls run at the same time, at most <code>queueCapacity</code>
+ * calls wait for a thread; further requests are rejected.
+ */
+public class AsyncEngineCallEndpoint {
+
+  private final static Logger LOG = Logger.getLogger(AsyncEngineCallEndpoint.class.getName());
+
+  protected static final long KEEP_ALIVE_TIME = 60L * 1000;
+
+  protected String name;
+  protected long timeout;
+
+  protected ThreadPoolExecutor threadPoolExecutor;
+
+  protected AtomicLong submittedCount = new AtomicLong();
+  protected AtomicLong rejectedCount = new AtomicLong();
+  protected AtomicLong timedOutCount = new AtomicLong();
+  protected AtomicLong startedCount = new AtomicLong();
+  protected AtomicLong totalQueueTime = new AtomicLong();
+
+  /**
+   * @param timeout the time in milliseconds after which a request is answered with
+   * status 503 if its call did not start; 0 to wait for the call to start. Started
+   * calls are never timed out, since they may already have changed data.
+   */
+  public AsyncEngineCallEndpoint(String name, int concurrency, int queueCapacity, long timeout) {
+    this.name = name;
+    this.timeout = timeout;
+
+    threadPoolExecutor = new ThreadPoolExecutor(concurrency, concurrency, KEEP_ALIVE_TIME, TimeUnit.MILLISECONDS,
+      new ArrayBlockingQueue<Runnable>(queueCapacity), new EndpointThreadFactory(name));
+    threadPoolExecutor.allowCoreThreadTimeOut(true);
+  }
+
+  public void submit(final AsyncEngineCall call) {
+    AsyncResponse asyncResponse = call.getAsyncResponse();
+
+    if (timeout > 0) {
+      asyncResponse.setTimeoutHandler(new TimeoutHandler() {
+        public void handleTimeout(AsyncResponse asyncResponse) {
+          if (call.timeOut()) {
+            timedOutCount.incrementAndGet();
+            asyncResponse.resume(new RestException(Status.SERVICE_UNAVAILABLE,
+              "The request waited longer than " + timeout + " milliseconds to be processed. Please try again later."));
+          }
+          else {
+            // the call started meanwhile and resumes the request when it finished
+            asyncResponse.setTimeout(AsyncResponse.NO_TIMEOUT, TimeUnit.MILLISECONDS);
+          }
+        }
+      });
+      asyncResponse.setTimeout(timeout, TimeUnit.MILLISECONDS);
+    }
+
+    call.submitted(this);
+
+    try {
+      threadPoolExecutor.execute(call);
+      submittedCount.incrementAndGet();
+
+      LOG.log(Level.FINEST, "Submitted {0} to endpoint {1}", new Object[] { call, name });
+    }
+    catch (RejectedExecutionException e) {
+      rejectedCount.incrementAndGet();
+      asyncResponse.resume(new RestException(Status.SERVICE_UNAVAILABLE,
+        "At the moment the server has to handle too many requests at the same time. Please try again later."));
+
+      LOG.log(Level.FINE, "Rejected {0} on endpoint {1}", new Object[] { call, name });
+    }
+  }
+
+  public void shutdown() {
+    List<Runnable> queuedCalls = threadPoolExecutor.shutdownNow();
+
+    for (Runnable queuedCall : queuedCalls) {
+      AsyncResponse asyncResponse = ((AsyncEngineCall) queuedCall).getAsyncResponse();
+      asyncResponse.resume(new RestException(Status.INTERNAL_SERVER_ERROR, "Request rejected due to shutdown of application server."));
+    }
+  }
+
+  protected void callStarted(long queueTime) {
+    startedCount.incrementAndGet();
+    totalQueueTime.addAndGet(Math.max(0, queueTime));
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public long getTimeout() {
+    return timeout;
+  }
+
+  public int getConcurrency() {
+    return threadPoolExecutor.getMaximumPoolSize();
+  }
+
+  /**
+   * @return the number of calls which wait for a thread
+   */
+  public int getQueueSize() {
+    return threadPoolExecutor.getQueue().size();
+  }
+
+  /**
+   * @return the number of calls which are running
+   */
+  public int getActiveCount() {
+    return threadPoolExecutor.getActiveCount();
+  }
+
+  public long getSubmittedCount() {
+    return submittedCount.get();
+  }
+
+  public long getRejectedCount() {
+    return rejectedCount.get();
+  }
+
+  public long getTimedOutCount() {
+    return timedOutCount.get();
+  }
+
+  /**
+   * @return the average time in milliseconds a call waited for a thread
+   */
+  public long getAverageQueueTime() {
+    long started = startedCount.get();
+    return started == 0 ? 0 : totalQueueTime.get() / started;
+  }
+
+  @Override
+  public String toString() {
+    return "AsyncEngineCallEndpoint [name=" + name
+      + ", concurrency=" + getConcurrency()
+      + ", timeout=" + timeout
+      + ", queueSize=" + getQueueSize()
+      + ", activeCount=" + getActiveCount()
+      + ", submittedCount=" + getSubmittedCount()
+      + ", rejectedCount=" + getRejectedCount()
+      + ", timedOutCount=" + getTimedOutCount()
+      + ", averageQueueTime=" + getAverageQueueTime() + "]";
+  }
+
+  protected static class EndpointThreadFactory implements ThreadFactory {
+
+    protected String name;
+    protected AtomicInteger threadCount = new AtomicInteger();
+
+    public EndpointThreadFactory(String name) {
+      this.name = name;
+    }
+
+    public Thread newThread(Runnable runnable) {
+      Thread thread = new Thread(runnable, "camunda-rest-" + name + "-" + threadCount.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.rest.impl;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.servlet.ServletContext;
+import javax.ws.rs.container.AsyncResponse;
+
+import org.camunda.bpm.engine.ProcessEngine;
+
+/**
+ * Runs the engine calls of long-running REST requests outside of the container threads.
+ *
+ * <p>Each group of endpoints gets its own {@link AsyncEngineCallEndpoint} which is configured
+ * by the following servlet context parameters, where <code>&lt;endpoint&gt;</code> is one of
+ * {@link #MESSAGE} and {@link #HISTORY}:</p>
+ * <ul>
+ *   <li><code>async-&lt;endpoint&gt;-concurrency</code>: the number of calls running at the same time</li>
+ *   <li><code>async-&lt;endpoint&gt;-queue-capacity</code>: the number of calls waiting for a thread</li>
+ *   <li><code>async-&lt;endpoint&gt;-timeout</code>: the time in milliseconds after which a request whose
+ *   call still waits for a thread is answered with status 503; 0 to wait for the call to start.
+ *   Running calls are not timed out.</li>
+ * </ul>
+ *
+ * <p>Calls of endpoint groups without an executor run on the container thread.</p>
+ */
+public class AsyncEngineCallExecutor {
+
+  private final static Logger LOG = Logger.getLogger(AsyncEngineCallExecutor.class.getName());
+
+  /** Message correlation */
+  public static final String MESSAGE = "message";
+
+  /** Historic process instance queries */
+  public static final String HISTORY = "history";
+
+  protected static final String PARAM_NAME_PREFIX = "async-";
+  protected static final String CONCURRENCY_PARAM_NAME_SUFFIX = "-concurrency";
+  protected static final String QUEUE_CAPACITY_PARAM_NAME_SUFFIX = "-queue-capacity";
+  protected static final String TIMEOUT_PARAM_NAME_SUFFIX = "-timeout";
+
+  protected static final int DEFAULT_CONCURRENCY = 20;
+  protected static final int DEFAULT_QUEUE_CAPACITY = 200;
+  protected static final long DEFAULT_TIMEOUT = 0;
+
+  protected Map<String, AsyncEngineCallEndpoint> endpoints = new ConcurrentHashMap<String, AsyncEngineCallEndpoint>();
+
+  public void contextInitialized(ServletContext servletContext) {
+    configureEndpoint(servletContext, MESSAGE);
+    configureEndpoint(servletContext, HISTORY);
+  }
+
+  protected void configureEndpoint(ServletContext servletContext, String name) {
+    int concurrency = parseIntParam(servletContext, name + CONCURRENCY_PARAM_NAME_SUFFIX, DEFAULT_CONCURRENCY);
+    int queueCapacity = parseIntParam(servletContext, name + QUEUE_CAPACITY_PARAM_NAME_SUFFIX, DEFAULT_QUEUE_CAPACITY);
+    long timeout = parseLongParam(servletContext, name + TIMEOUT_PARAM_NAME_SUFFIX, DEFAULT_TIMEOUT);
+
+    addEndpoint(new AsyncEngineCallEndpoint(name, concurrency, queueCapacity, timeout));
+  }
+
+  public void addEndpoint(AsyncEngineCallEndpoint endpoint) {
+    AsyncEngineCallEndpoint previousEndpoint = endpoints.put(endpoint.getName(), endpoint);
+    if (previousEndpoint != null) {
+      previousEndpoint.shutdown();
+    }
+
+    LOG.log(Level.FINE, "Configured {0}", endpoint);
+  }
+
+  /**
+   * Runs the callable on a thread of the given endpoint and resumes the response
+   * with its result or the exception it throws.
+   */
+  public void execute(String endpointName, ProcessEngine processEngine, AsyncResponse asyncResponse, Callable<?> callable) {
+    AsyncEngineCall call = new AsyncEngineCall(processEngine, asyncResponse, callable);
+
+    AsyncEngineCallEndpoint endpoint = endpoints.get(endpointName);
+    if (endpoint != null) {
+      endpoint.submit(call);
+    }
+    else {
+      call.run();
+    }
+  }
+
+  public void shutdown() {
+    for (AsyncEngineCallEndpoint endpoint : endpoints.values()) {
+      endpoint.shutdown();
+    }
+    endpoints.clear();
+  }
+
+  public AsyncEngineCallEndpoint getEndpoint(String name) {
+    return endpoints.get(name);
+  }
+
+  public Collection<AsyncEngineCallEndpoint> getEndpoints() {
+    return endpoints.values();
+  }
+
+  protected int parseIntParam(ServletContext servletContext, String name, int defaultValue) {
+    String value = servletContext.getInitParameter(PARAM_NAME_PREFIX + name);
+    return value != null ? Integer.parseInt(value.trim()) : defaultValue;
+  }
+
+  protected long parseLongParam(ServletContext servletContext, String name, long defaultValue) {
+    String value = servletContext.getInitParameter(PARAM_NAME_PREFIX + name);
+    return value != null ? Long.parseLong(value.trim()) : defaultValue;
+  }
+
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.rest.impl;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import javax.ws.rs.Produces;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.UriInfo;
+
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.rest.dto.CountResultDto;
+import org.camunda.bpm.engine.rest.dto.history.HistoricProcessInstanceDto;
+import org.camunda.bpm.engine.rest.dto.history.HistoricProcessInstanceQueryDto;
+import org.camunda.bpm.engine.rest.history.AsyncHistoricProcessInstanceRestService;
+import org.camunda.bpm.engine.rest.history.HistoricProcessInstanceRestService;
+import org.camunda.bpm.engine.rest.impl.history.HistoricProcessInstanceRestServiceImpl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Queries historic process instances on a thread of the {@link AsyncEngineCallExecutor#HISTORY}
+ * endpoint. The synchronous query methods are annotated without HTTP method so that the
+ * resource methods of {@link HistoricProcessInstanceRestService} are not inherited; all
+ * other resource methods are served as before.
+ */
+public class AsyncHistoricProcessInstanceRestServiceImpl extends HistoricProcessInstanceRestServiceImpl
+    implements AsyncHistoricProcessInstanceRestService {
+
+  public AsyncHistoricProcessInstanceRestServiceImpl(ObjectMapper objectMapper, ProcessEngine processEngine) {
+    super(objectMapper, processEngine);
+  }
+
+  @Override
+  @Produces(MediaType.APPLICATION_JSON)
+  public List<HistoricProcessInstanceDto> getHistoricProcessInstances(UriInfo uriInfo, Integer firstResult, Integer maxResults) {
+    return super.getHistoricProcessInstances(uriInfo, firstResult, maxResults);
+  }
+
+  @Override
+  @Produces(MediaType.APPLICATION_JSON)
+  public List<HistoricProcessInstanceDto> queryHistoricProcessInstances(HistoricProcessInstanceQueryDto queryDto, Integer firstResult, Integer maxResults) {
+    return super.queryHistoricProcessInstances(queryDto, firstResult, maxResults);
+  }
+
+  @Override
+  @Produces(MediaType.APPLICATION_JSON)
+  public CountResultDto getHistoricProcessInstancesCount(UriInfo uriInfo) {
+    return super.getHistoricProcessInstancesCount(uriInfo);
+  }
+
+  @Override
+  @Produces(MediaType.APPLICATION_JSON)
+  public CountResultDto queryHistoricProcessInstancesCount(HistoricProcessInstanceQueryDto queryDto) {
+    return super.queryHistoricProcessInstancesCount(queryDto);
+  }
+
+  @Override
+  public void getHistoricProcessInstances(UriInfo uriInfo, Integer firstResult, Integer maxResults, AsyncResponse asyncResponse) {
+    // the request scoped uri info cannot be accessed once the call left the container thread
+    HistoricProcessInstanceQueryDto queryDto = new HistoricProcessInstanceQueryDto(objectMapper, uriInfo.getQueryParameters());
+    queryHistoricProcessInstances(queryDto, firstResult, maxResults, asyncResponse);
+  }
+
+  @Override
+  public void queryHistoricProcessInstances(final HistoricProcessInstanceQueryDto queryDto, final Integer firstResult,
+      final Integer maxResults, AsyncResponse asyncResponse) {
+    execute(asyncResponse, new Callable<List<HistoricProcessInstanceDto>>() {
+      public List<HistoricProcessInstanceDto> call() {
+        return queryHistoricProcessInstances(queryDto, firstResult, maxResults);
+      }
+    });
+  }
+
+  @Override
+  public void getHistoricProcessInstancesCount(UriInfo uriInfo, AsyncResponse asyncResponse) {
+    HistoricProcessInstanceQueryDto queryDto = new HistoricProcessInstanceQueryDto(objectMapper, uriInfo.getQueryParameters());
+    queryHistoricProcessInstancesCount(queryDto, asyncResponse);
+  }
+
+  @Override
+  public void queryHistoricProcessInstancesCount(final HistoricProcessInstanceQueryDto queryDto, AsyncResponse asyncResponse) {
+    execute(asyncResponse, new Callable<CountResultDto>() {
+      public CountResultDto call() {
+        return queryHistoricProcessInstancesCount(queryDto);
+      }
+    });
+  }
+
+  protected void execute(AsyncResponse asyncResponse, Callable<?> callable) {
+    AsyncEngineCallExecutor executor = AsyncEngineCallContextListener.getAsyncEngineCallExecutor();
+    executor.execute(AsyncEngineCallExecutor.HISTORY, processEngine, asyncResponse, callable);
+  }
+
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.rest.impl;
+
+import java.util.concurrent.Callable;
+
+import javax.ws.rs.Produces;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+
+import org.camunda.bpm.engine.rest.AsyncMessageRestService;
+import org.camunda.bpm.engine.rest.MessageRestService;
+import org.camunda.bpm.engine.rest.dto.message.CorrelationMessageDto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Correlates messages on a thread of the {@link AsyncEngineCallExecutor#MESSAGE} endpoint.
+ */
+public class AsyncMessageRestServiceImpl extends MessageRestServiceImpl implements AsyncMessageRestService {
+
+  public AsyncMessageRestServiceImpl(String engineName, ObjectMapper objectMapper) {
+    super(engineName, objectMapper);
+  }
+
+  /**
+   * Annotated without HTTP method so that the resource method of {@link MessageRestService}
+   * is not inherited and {@link #deliverMessage(CorrelationMessageDto, AsyncResponse)}
+   * handles the requests instead.
+   */
+  @Override
+  @Produces(MediaType.APPLICATION_JSON)
+  public Response deliverMessage(CorrelationMessageDto messageDto) {
+    return super.deliverMessage(messageDto);
+  }
+
+  @Override
+  public void deliverMessage(final CorrelationMessageDto messageDto, AsyncResponse asyncResponse) {
+    AsyncEngineCallExecutor executor = AsyncEngineCallContextListener.getAsyncEngineCallExecutor();
+    executor.execute(AsyncEngineCallExecutor.MESSAGE, getProcessEngine(), asyncResponse, new Callable<Response>() {
+      public Response call() {
+        return deliverMessage(messageDto);
+      }
+    });
+  }
+
+}
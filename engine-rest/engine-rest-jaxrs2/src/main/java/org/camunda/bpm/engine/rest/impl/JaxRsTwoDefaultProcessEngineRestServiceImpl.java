@@ -17,6 +17,8 @@
 package org.camunda.bpm.engine.rest.impl;
 
 import org.camunda.bpm.engine.rest.FetchAndLockRestService;
+import org.camunda.bpm.engine.rest.MessageRestService;
+import org.camunda.bpm.engine.rest.history.HistoryRestService;
 
 import javax.ws.rs.Path;
 
@@ -34,4 +36,20 @@ public class JaxRsTwoDefaultProcessEngineRestServiceImpl extends DefaultProcessE
     return subResource;
   }
 
+  @Override
+  public MessageRestService getMessageRestService() {
+    String rootResourcePath = getRelativeEngineUri(null).toASCIIString();
+    AsyncMessageRestServiceImpl subResource = new AsyncMessageRestServiceImpl(null, getObjectMapper());
+    subResource.setRelativeRootResourceUri(rootResourcePath);
+    return subResource;
+  }
+
+  @Override
+  public HistoryRestService getHistoryRestService() {
+    String rootResourcePath = getRelativeEngineUri(null).toASCIIString();
+    JaxRsTwoHistoryRestServiceImpl subResource = new JaxRsTwoHistoryRestServiceImpl(null, getObjectMapper());
+    subResource.setRelativeRootResourceUri(rootResourcePath);
+    return subResource;
+  }
+
 }
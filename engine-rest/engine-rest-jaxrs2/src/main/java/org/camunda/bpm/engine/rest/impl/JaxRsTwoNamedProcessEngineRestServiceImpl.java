@@ -17,6 +17,8 @@
 package org.camunda.bpm.engine.rest.impl;
 
 import org.camunda.bpm.engine.rest.FetchAndLockRestService;
+import org.camunda.bpm.engine.rest.MessageRestService;
+import org.camunda.bpm.engine.rest.history.HistoryRestService;
 
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
@@ -35,4 +37,20 @@ public class JaxRsTwoNamedProcessEngineRestServiceImpl extends NamedProcessEngin
     return subResource;
   }
 
+  @Override
+  public MessageRestService getMessageRestService(String engineName) {
+    String rootResourcePath = getRelativeEngineUri(engineName).toASCIIString();
+    AsyncMessageRestServiceImpl subResource = new AsyncMessageRestServiceImpl(engineName, getObjectMapper());
+    subResource.setRelativeRootResourceUri(rootResourcePath);
+    return subResource;
+  }
+
+  @Override
+  public HistoryRestService getHistoryRestService(String engineName) {
+    String rootResourcePath = getRelativeEngineUri(engineName).toASCIIString();
+    JaxRsTwoHistoryRestServiceImpl subResource = new JaxRsTwoHistoryRestServiceImpl(engineName, getObjectMapper());
+    subResource.setRelativeRootResourceUri(rootResourcePath);
+    return subResource;
+  }
+
 }
@@ -0,0 +1,272 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.rest.impl;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.TimeoutHandler;
+import javax.ws.rs.core.Response.Status;
+
+import org.camunda.bpm.engine.IdentityService;
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.identity.Authentication;
+import org.camunda.bpm.engine.rest.exception.RestException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class AsyncEngineCallExecutorTest {
+
+  @Mock
+  protected ProcessEngine processEngine;
+
+  @Mock
+  protected IdentityService identityService;
+
+  protected Authentication authentication = new Authentication("aUserId", Collections.<String>emptyList());
+
+  protected AsyncEngineCallExecutor executor;
+
+  protected CountDownLatch latch = new CountDownLatch(1);
+
+  @Before
+  public void initMocks() {
+    when(processEngine.getIdentityService()).thenReturn(identityService);
+    when(processEngine.getName()).thenReturn("default");
+    when(identityService.getCurrentAuthentication()).thenReturn(authentication);
+
+    executor = new AsyncEngineCallExecutor();
+  }
+
+  @After
+  public void shutdownExecutor() {
+    latch.countDown();
+    executor.shutdown();
+  }
+
+  @Test
+  public void shouldRunCallOnContainerThreadWithoutEndpoint() {
+    // given
+    AsyncResponse asyncResponse = mock(AsyncResponse.class);
+
+    // when
+    executor.execute(AsyncEngineCallExecutor.MESSAGE, processEngine, asyncResponse, returning("aResult"));
+
+    // then
+    InOrder inOrder = inOrder(identityService, asyncResponse);
+    inOrder.verify(identityService).setAuthentication(authentication);
+    inOrder.verify(identityService).clearAuthentication();
+    inOrder.verify(asyncResponse).resume("aResult");
+  }
+
+  @Test
+  public void shouldRunCallOnEndpointThread() {
+    // given
+    executor.addEndpoint(new AsyncEngineCallEndpoint(AsyncEngineCallExecutor.MESSAGE, 1, 1, 0));
+    AsyncResponse asyncResponse = mock(AsyncResponse.class);
+
+    // when
+    executor.execute(AsyncEngineCallExecutor.MESSAGE, processEngine, asyncResponse, returning("aResult"));
+
+    // then
+    verify(asyncResponse, timeout(5000)).resume("aResult");
+    verify(identityService).setAuthentication(authentication);
+    assertThat(executor.getEndpoint(AsyncEngineCallExecutor.MESSAGE).getSubmittedCount(), is(1L));
+  }
+
+  @Test
+  public void shouldResumeWithException() {
+    // given
+    executor.addEndpoint(new AsyncEngineCallEndpoint(AsyncEngineCallExecutor.MESSAGE, 1, 1, 0));
+    AsyncResponse asyncResponse = mock(AsyncResponse.class);
+    final ProcessEngineException exception = new ProcessEngineException("anExceptionMessage");
+
+    // when
+    executor.execute(AsyncEngineCallExecutor.MESSAGE, processEngine, asyncResponse, new Callable<Object>() {
+      public Object call() {
+        throw exception;
+      }
+    });
+
+    // then
+    verify(asyncResponse, timeout(5000)).resume(exception);
+    verify(identityService, timeout(5000)).clearAuthentication();
+  }
+
+  @Test
+  public void shouldResumeWithError() {
+    // given
+    executor.addEndpoint(new AsyncEngineCallEndpoint(AsyncEngineCallExecutor.MESSAGE, 1, 1, 0));
+    AsyncResponse asyncResponse = mock(AsyncResponse.class);
+    final Error error = new Error("anErrorMessage");
+
+    // when
+    executor.execute(AsyncEngineCallExecutor.MESSAGE, processEngine, asyncResponse, new Callable<Object>() {
+      public Object call() {
+        throw error;
+      }
+    });
+
+    // then
+    verify(asyncResponse, timeout(5000)).resume(error);
+    verify(identityService, timeout(5000)).clearAuthentication();
+  }
+
+  @Test
+  public void shouldRejectCallIfQueueIsFull() {
+    // given
+    executor.addEndpoint(new AsyncEngineCallEndpoint(AsyncEngineCallExecutor.HISTORY, 1, 1, 0));
+
+    executor.execute(AsyncEngineCallExecutor.HISTORY, processEngine, mock(AsyncResponse.class), awaitingLatch());
+    executor.execute(AsyncEngineCallExecutor.HISTORY, processEngine, mock(AsyncResponse.class), awaitingLatch());
+
+    AsyncResponse asyncResponse = mock(AsyncResponse.class);
+
+    // when
+    executor.execute(AsyncEngineCallExecutor.HISTORY, processEngine, asyncResponse, returning("aResult"));
+
+    // then
+    ArgumentCaptor<RestException> exceptionCaptor = ArgumentCaptor.forClass(RestException.class);
+    verify(asyncResponse).resume(exceptionCaptor.capture());
+    assertThat(exceptionCaptor.getValue().getStatus(), is(Status.SERVICE_UNAVAILABLE));
+
+    AsyncEngineCallEndpoint endpoint = executor.getEndpoint(AsyncEngineCallExecutor.HISTORY);
+    assertThat(endpoint.getRejectedCount(), is(1L));
+    assertThat(endpoint.getSubmittedCount(), is(2L));
+  }
+
+  @Test
+  public void shouldSkipCallOfFinishedRequest() throws Exception {
+    // given
+    AsyncResponse asyncResponse = mock(AsyncResponse.class);
+    when(asyncResponse.isDone()).thenReturn(true);
+
+    @SuppressWarnings("unchecked")
+    Callable<Object> callable = mock(Callable.class);
+
+    // when
+    executor.execute(AsyncEngineCallExecutor.MESSAGE, processEngine, asyncResponse, callable);
+
+    // then
+    verify(callable, never()).call();
+    verify(asyncResponse, never()).resume(any(Object.class));
+    verify(asyncResponse, never()).resume(any(Throwable.class));
+  }
+
+  @Test
+  public void shouldSetTimeoutOfRequest() {
+    // given
+    executor.addEndpoint(new AsyncEngineCallEndpoint(AsyncEngineCallExecutor.HISTORY, 1, 1, 1000));
+    AsyncResponse asyncResponse = mock(AsyncResponse.class);
+
+    // when
+    executor.execute(AsyncEngineCallExecutor.HISTORY, processEngine, asyncResponse, returning("aResult"));
+
+    // then
+    verify(asyncResponse).setTimeout(1000, TimeUnit.MILLISECONDS);
+    verify(asyncResponse).setTimeoutHandler(any(TimeoutHandler.class));
+  }
+
+  @Test
+  public void shouldTimeOutQueuedCall() throws Exception {
+    // given
+    executor.addEndpoint(new AsyncEngineCallEndpoint(AsyncEngineCallExecutor.HISTORY, 1, 1, 1000));
+    executor.execute(AsyncEngineCallExecutor.HISTORY, processEngine, mock(AsyncResponse.class), awaitingLatch());
+
+    AsyncResponse asyncResponse = mock(AsyncResponse.class);
+    @SuppressWarnings("unchecked")
+    Callable<Object> callable = mock(Callable.class);
+    executor.execute(AsyncEngineCallExecutor.HISTORY, processEngine, asyncResponse, callable);
+
+    // when
+    getTimeoutHandler(asyncResponse).handleTimeout(asyncResponse);
+    latch.countDown();
+
+    // then
+    ArgumentCaptor<RestException> exceptionCaptor = ArgumentCaptor.forClass(RestException.class);
+    verify(asyncResponse).resume(exceptionCaptor.capture());
+    assertThat(exceptionCaptor.getValue().getStatus(), is(Status.SERVICE_UNAVAILABLE));
+    assertThat(executor.getEndpoint(AsyncEngineCallExecutor.HISTORY).getTimedOutCount(), is(1L));
+
+    executor.shutdown();
+    verify(callable, never()).call();
+  }
+
+  @Test
+  public void shouldNotTimeOutRunningCall() {
+    // given
+    executor.addEndpoint(new AsyncEngineCallEndpoint(AsyncEngineCallExecutor.MESSAGE, 1, 1, 1000));
+    AsyncResponse asyncResponse = mock(AsyncResponse.class);
+
+    executor.execute(AsyncEngineCallExecutor.MESSAGE, processEngine, asyncResponse, awaitingLatch());
+    verify(asyncResponse, timeout(5000)).setTimeout(AsyncResponse.NO_TIMEOUT, TimeUnit.MILLISECONDS);
+
+    // when
+    getTimeoutHandler(asyncResponse).handleTimeout(asyncResponse);
+    latch.countDown();
+
+    // then
+    verify(asyncResponse, timeout(5000)).resume((Object) null);
+    verify(asyncResponse, never()).resume(any(Throwable.class));
+    assertThat(executor.getEndpoint(AsyncEngineCallExecutor.MESSAGE).getTimedOutCount(), is(0L));
+  }
+
+  protected TimeoutHandler getTimeoutHandler(AsyncResponse asyncResponse) {
+    ArgumentCaptor<TimeoutHandler> handlerCaptor = ArgumentCaptor.forClass(TimeoutHandler.class);
+    verify(asyncResponse).setTimeoutHandler(handlerCaptor.capture());
+    return handlerCaptor.getValue();
+  }
+
+  protected Callable<Object> returning(final Object result) {
+    return new Callable<Object>() {
+      public Object call() {
+        return result;
+      }
+    };
+  }
+
+  protected Callable<Object> awaitingLatch() {
+    return new Callable<Object>() {
+      public Object call() throws Exception {
+        latch.await();
+        return null;
+      }
+    };
+  }
+
+}
@@ -32,8 +32,13 @@ import javax.ws.rs.core.UriInfo;
 
 import org.camunda.bpm.engine.rest.dto.CountResultDto;
 import org.camunda.bpm.engine.rest.dto.batch.BatchDto;
+import org.camunda.bpm.engine.rest.dto.externaltask.CompleteExternalTasksDto;
+import org.camunda.bpm.engine.rest.dto.externaltask.ExtendLockOnExternalTasksDto;
 import org.camunda.bpm.engine.rest.dto.externaltask.ExternalTaskDto;
+import org.camunda.bpm.engine.rest.dto.externaltask.ExternalTaskOperationResultDto;
 import org.camunda.bpm.engine.rest.dto.externaltask.ExternalTaskQueryDto;
+import org.camunda.bpm.engine.rest.dto.externaltask.ExternalTasksBpmnErrorDto;
+import org.camunda.bpm.engine.rest.dto.externaltask.ExternalTasksFailureDto;
 import org.camunda.bpm.engine.rest.dto.externaltask.FetchExternalTasksDto;
 import org.camunda.bpm.engine.rest.dto.externaltask.LockedExternalTaskDto;
 import org.camunda.bpm.engine.rest.dto.externaltask.SetRetriesForExternalTasksDto;
@@ -80,6 +85,30 @@ public interface ExternalTaskRestService {
   @Path("/{id}")
   ExternalTaskResource getExternalTask(@PathParam("id") String externalTaskId);
 
+  @POST
+  @Path("/complete")
+  @Consumes(MediaType.APPLICATION_JSON)
+  @Produces(MediaType.APPLICATION_JSON)
+  List<ExternalTaskOperationResultDto> completeAll(CompleteExternalTasksDto dto);
+
+  @POST
+  @Path("/failure")
+  @Consumes(MediaType.APPLICATION_JSON)
+  @Produces(MediaType.APPLICATION_JSON)
+  List<ExternalTaskOperationResultDto> handleFailures(ExternalTasksFailureDto dto);
+
+  @POST
+  @Path("/bpmnError")
+  @Consumes(MediaType.APPLICATION_JSON)
+  @Produces(MediaType.APPLICATION_JSON)
+  List<ExternalTaskOperationResultDto> handleBpmnErrors(ExternalTasksBpmnErrorDto dto);
+
+  @POST
+  @Path("/extendLock")
+  @Consumes(MediaType.APPLICATION_JSON)
+  @Produces(MediaType.APPLICATION_JSON)
+  List<ExternalTaskOperationResultDto> extendLocks(ExtendLockOnExternalTasksDto dto);
+
   @PUT
   @Path("/retries")
   @Consumes(MediaType.APPLICATION_JSON)
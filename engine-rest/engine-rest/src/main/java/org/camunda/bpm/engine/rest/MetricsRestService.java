@@ -37,10 +37,21 @@ public interface MetricsRestService {
 
   public static final String PATH = "/metrics";
 
+  public static final String OPENMETRICS_MEDIA_TYPE = "application/openmetrics-text; version=1.0.0; charset=utf-8";
+
   @Path("/{name}")
   MetricsResource getMetrics(@PathParam("name") String name);
 
   @GET
   @Produces(MediaType.APPLICATION_JSON)
   List<MetricsIntervalResultDto> interval(@Context UriInfo uriInfo);
+
+  /**
+   * Exposes the in-memory metrics of the process engine in the OpenMetrics text
+   * format without querying the database.
+   */
+  @GET
+  @Path("/openmetrics")
+  @Produces({OPENMETRICS_MEDIA_TYPE, MediaType.TEXT_PLAIN})
+  String openMetrics();
 }
@@ -17,6 +17,9 @@
 package org.camunda.bpm.engine.rest;
 
 import org.camunda.bpm.engine.rest.dto.CountResultDto;
+import org.camunda.bpm.engine.rest.dto.batch.BatchDto;
+import org.camunda.bpm.engine.rest.dto.task.CompleteTasksAsyncDto;
+import org.camunda.bpm.engine.rest.dto.task.SetTaskAssigneeAsyncDto;
 import org.camunda.bpm.engine.rest.dto.task.TaskDto;
 import org.camunda.bpm.engine.rest.dto.task.TaskQueryDto;
 import org.camunda.bpm.engine.rest.hal.Hal;
@@ -76,5 +79,22 @@ public interface TaskRestService {
   @Path("/report")
   TaskReportResource getTaskReportResource();
 
+  @POST
+  @Path("/claim-async")
+  @Consumes(MediaType.APPLICATION_JSON)
+  @Produces(MediaType.APPLICATION_JSON)
+  BatchDto claimAsync(SetTaskAssigneeAsyncDto dto);
+
+  @POST
+  @Path("/assignee-async")
+  @Consumes(MediaType.APPLICATION_JSON)
+  @Produces(MediaType.APPLICATION_JSON)
+  BatchDto setAssigneeAsync(SetTaskAssigneeAsyncDto dto);
+
+  @POST
+  @Path("/complete-async")
+  @Consumes(MediaType.APPLICATION_JSON)
+  @Produces(MediaType.APPLICATION_JSON)
+  BatchDto completeAsync(CompleteTasksAsyncDto dto);
 
 }
@@ -17,7 +17,9 @@
 package org.camunda.bpm.engine.rest.impl;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import javax.ws.rs.core.UriInfo;
 import javax.ws.rs.core.Response.Status;
@@ -28,6 +30,7 @@ import org.camunda.bpm.engine.ProcessEngine;
 import org.camunda.bpm.engine.batch.Batch;
 import org.camunda.bpm.engine.exception.NotFoundException;
 import org.camunda.bpm.engine.externaltask.ExternalTask;
+import org.camunda.bpm.engine.externaltask.ExternalTaskOperationResult;
 import org.camunda.bpm.engine.externaltask.ExternalTaskQuery;
 import org.camunda.bpm.engine.externaltask.ExternalTaskQueryBuilder;
 import org.camunda.bpm.engine.externaltask.LockedExternalTask;
@@ -36,8 +39,15 @@ import org.camunda.bpm.engine.history.HistoricProcessInstanceQuery;
 import org.camunda.bpm.engine.rest.ExternalTaskRestService;
 import org.camunda.bpm.engine.rest.dto.CountResultDto;
 import org.camunda.bpm.engine.rest.dto.batch.BatchDto;
+import org.camunda.bpm.engine.rest.dto.VariableValueDto;
+import org.camunda.bpm.engine.rest.dto.externaltask.CompleteExternalTasksDto;
+import org.camunda.bpm.engine.rest.dto.externaltask.ExtendLockOnExternalTasksDto;
 import org.camunda.bpm.engine.rest.dto.externaltask.ExternalTaskDto;
+import org.camunda.bpm.engine.rest.dto.externaltask.ExternalTaskOperationResultDto;
 import org.camunda.bpm.engine.rest.dto.externaltask.ExternalTaskQueryDto;
+import org.camunda.bpm.engine.rest.dto.externaltask.ExternalTaskVariablesDto;
+import org.camunda.bpm.engine.rest.dto.externaltask.ExternalTasksBpmnErrorDto;
+import org.camunda.bpm.engine.rest.dto.externaltask.ExternalTasksFailureDto;
 import org.camunda.bpm.engine.rest.dto.externaltask.FetchExternalTasksDto;
 import org.camunda.bpm.engine.rest.dto.history.HistoricProcessInstanceQueryDto;
 import org.camunda.bpm.engine.rest.dto.runtime.ProcessInstanceQueryDto;
@@ -128,6 +138,80 @@ public class ExternalTaskRestServiceImpl extends AbstractRestProcessEngineAware
     return new ExternalTaskResourceImpl(getProcessEngine(), externalTaskId, getObjectMapper());
   }
 
+  @Override
+  public List<ExternalTaskOperationResultDto> completeAll(CompleteExternalTasksDto dto) {
+    ExternalTaskService externalTaskService = getProcessEngine().getExternalTaskService();
+
+    if (dto.getExternalTasks() == null) {
+      throw new InvalidRequestException(Status.BAD_REQUEST, "The external tasks cannot be null.");
+    }
+
+    Map<String, Map<String, Object>> variables = new LinkedHashMap<String, Map<String, Object>>();
+    Map<String, Map<String, Object>> localVariables = new LinkedHashMap<String, Map<String, Object>>();
+    for (ExternalTaskVariablesDto externalTask : dto.getExternalTasks()) {
+      variables.put(externalTask.getId(), VariableValueDto.toMap(externalTask.getVariables(), getProcessEngine(), getObjectMapper()));
+      localVariables.put(externalTask.getId(), VariableValueDto.toMap(externalTask.getLocalVariables(), getProcessEngine(), getObjectMapper()));
+    }
+
+    try {
+      Map<String, ExternalTaskOperationResult> results = externalTaskService.completeAll(dto.getWorkerId(), variables, localVariables);
+      return ExternalTaskOperationResultDto.fromResults(results);
+    }
+    catch (BadUserRequestException e) {
+      throw new InvalidRequestException(Status.BAD_REQUEST, e, e.getMessage());
+    }
+  }
+
+  @Override
+  public List<ExternalTaskOperationResultDto> handleFailures(ExternalTasksFailureDto dto) {
+    ExternalTaskService externalTaskService = getProcessEngine().getExternalTaskService();
+
+    try {
+      Map<String, ExternalTaskOperationResult> results = externalTaskService.handleFailures(dto.getWorkerId(),
+          dto.getExternalTaskIds(),
+          dto.getErrorMessage(),
+          dto.getErrorDetails(),
+          dto.getRetries(),
+          dto.getRetryTimeout());
+      return ExternalTaskOperationResultDto.fromResults(results);
+    }
+    catch (BadUserRequestException e) {
+      throw new InvalidRequestException(Status.BAD_REQUEST, e, e.getMessage());
+    }
+  }
+
+  @Override
+  public List<ExternalTaskOperationResultDto> handleBpmnErrors(ExternalTasksBpmnErrorDto dto) {
+    ExternalTaskService externalTaskService = getProcessEngine().getExternalTaskService();
+
+    try {
+      Map<String, ExternalTaskOperationResult> results = externalTaskService.handleBpmnErrors(dto.getWorkerId(),
+          dto.getExternalTaskIds(),
+          dto.getErrorCode(),
+          dto.getErrorMessage(),
+          VariableValueDto.toMap(dto.getVariables(), getProcessEngine(), getObjectMapper()));
+      return ExternalTaskOperationResultDto.fromResults(results);
+    }
+    catch (BadUserRequestException e) {
+      throw new InvalidRequestException(Status.BAD_REQUEST, e, e.getMessage());
+    }
+  }
+
+  @Override
+  public List<ExternalTaskOperationResultDto> extendLocks(ExtendLockOnExternalTasksDto dto) {
+    ExternalTaskService externalTaskService = getProcessEngine().getExternalTaskService();
+
+    try {
+      Map<String, ExternalTaskOperationResult> results = externalTaskService.extendLocks(dto.getWorkerId(),
+          dto.getExternalTaskIds(),
+          dto.getNewDuration());
+      return ExternalTaskOperationResultDto.fromResults(results);
+    }
+    catch (BadUserRequestException e) {
+      throw new InvalidRequestException(Status.BAD_REQUEST, e, e.getMessage());
+    }
+  }
+
   @Override
   public BatchDto setRetriesAsync(SetRetriesForExternalTasksDto retriesDto) {
 
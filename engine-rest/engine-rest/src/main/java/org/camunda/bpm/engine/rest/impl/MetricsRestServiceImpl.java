@@ -26,6 +26,10 @@ import java.util.Date;
 import java.util.List;
 import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.UriInfo;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.metrics.exporter.ExportedMetric;
+import org.camunda.bpm.engine.impl.metrics.exporter.OpenMetricsWriter;
+import org.camunda.bpm.engine.impl.metrics.exporter.ProcessEngineMetricsCollector;
 import org.camunda.bpm.engine.management.MetricsQuery;
 import org.camunda.bpm.engine.rest.dto.metrics.MetricsIntervalResultDto;
 import org.camunda.bpm.engine.management.MetricIntervalValue;
@@ -80,6 +84,15 @@ public class MetricsRestServiceImpl extends AbstractRestProcessEngineAware imple
     return convertToDtos(metrics);
   }
 
+  @Override
+  public String openMetrics() {
+    ProcessEngineConfigurationImpl engineConfiguration =
+        (ProcessEngineConfigurationImpl) processEngine.getProcessEngineConfiguration();
+
+    List<ExportedMetric> metrics = new ProcessEngineMetricsCollector(engineConfiguration).getMetrics();
+    return new OpenMetricsWriter().write(metrics);
+  }
+
   protected void applyQueryParams(MetricsQuery query, MultivaluedMap<String, String> queryParameters) {
 
     DateConverter dateConverter = new DateConverter();
@@ -26,14 +26,21 @@ import javax.ws.rs.core.Response.Status;
 import javax.ws.rs.core.UriInfo;
 import javax.ws.rs.core.Variant;
 
+import org.camunda.bpm.engine.BadUserRequestException;
 import org.camunda.bpm.engine.ProcessEngine;
 import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.batch.Batch;
 import org.camunda.bpm.engine.exception.NotValidException;
 import org.camunda.bpm.engine.rest.TaskRestService;
 import org.camunda.bpm.engine.rest.dto.CountResultDto;
+import org.camunda.bpm.engine.rest.dto.VariableValueDto;
+import org.camunda.bpm.engine.rest.dto.batch.BatchDto;
+import org.camunda.bpm.engine.rest.dto.task.CompleteTasksAsyncDto;
+import org.camunda.bpm.engine.rest.dto.task.SetTaskAssigneeAsyncDto;
 import org.camunda.bpm.engine.rest.dto.task.TaskDto;
 import org.camunda.bpm.engine.rest.dto.task.TaskQueryDto;
 import org.camunda.bpm.engine.rest.exception.InvalidRequestException;
+import org.camunda.bpm.engine.rest.exception.RestException;
 import org.camunda.bpm.engine.rest.hal.Hal;
 import org.camunda.bpm.engine.rest.hal.task.HalTaskList;
 import org.camunda.bpm.engine.rest.sub.task.TaskReportResource;
@@ -42,6 +49,7 @@ import org.camunda.bpm.engine.rest.sub.task.impl.TaskReportResourceImpl;
 import org.camunda.bpm.engine.rest.sub.task.impl.TaskResourceImpl;
 import org.camunda.bpm.engine.task.Task;
 import org.camunda.bpm.engine.task.TaskQuery;
+import org.camunda.bpm.engine.variable.VariableMap;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -172,4 +180,60 @@ public class TaskRestServiceImpl extends AbstractRestProcessEngineAware implemen
   public TaskReportResource getTaskReportResource() {
     return new TaskReportResourceImpl(getProcessEngine());
   }
+
+  @Override
+  public BatchDto claimAsync(SetTaskAssigneeAsyncDto dto) {
+    TaskService taskService = getProcessEngine().getTaskService();
+    TaskQuery taskQuery = toTaskQuery(dto.getTaskQuery());
+
+    try {
+      Batch batch = taskService.claimAsync(dto.getTaskIds(), taskQuery, dto.getUserId());
+      return BatchDto.fromBatch(batch);
+    }
+    catch (BadUserRequestException e) {
+      throw new InvalidRequestException(Status.BAD_REQUEST, e.getMessage());
+    }
+  }
+
+  @Override
+  public BatchDto setAssigneeAsync(SetTaskAssigneeAsyncDto dto) {
+    TaskService taskService = getProcessEngine().getTaskService();
+    TaskQuery taskQuery = toTaskQuery(dto.getTaskQuery());
+
+    try {
+      Batch batch = taskService.setAssigneeAsync(dto.getTaskIds(), taskQuery, dto.getUserId());
+      return BatchDto.fromBatch(batch);
+    }
+    catch (BadUserRequestException e) {
+      throw new InvalidRequestException(Status.BAD_REQUEST, e.getMessage());
+    }
+  }
+
+  @Override
+  public BatchDto completeAsync(CompleteTasksAsyncDto dto) {
+    ProcessEngine engine = getProcessEngine();
+    TaskService taskService = engine.getTaskService();
+    TaskQuery taskQuery = toTaskQuery(dto.getTaskQuery());
+
+    try {
+      VariableMap variables = VariableValueDto.toMap(dto.getVariables(), engine, getObjectMapper());
+      Batch batch = taskService.completeAsync(dto.getTaskIds(), taskQuery, variables);
+      return BatchDto.fromBatch(batch);
+    }
+    catch (RestException e) {
+      String errorMessage = String.format("Cannot complete tasks: %s", e.getMessage());
+      throw new InvalidRequestException(e.getStatus(), e, errorMessage);
+    }
+    catch (BadUserRequestException e) {
+      throw new InvalidRequestException(Status.BAD_REQUEST, e.getMessage());
+    }
+  }
+
+  protected TaskQuery toTaskQuery(TaskQueryDto queryDto) {
+    if (queryDto == null) {
+      return null;
+    }
+    queryDto.setObjectMapper(getObjectMapper());
+    return queryDto.toQuery(getProcessEngine());
+  }
 }
@@ -39,6 +39,7 @@ import static org.mockito.Mockito.never;
 
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -51,6 +52,7 @@ import org.camunda.bpm.engine.ExternalTaskService;
 import org.camunda.bpm.engine.batch.Batch;
 import org.camunda.bpm.engine.exception.NotFoundException;
 import org.camunda.bpm.engine.externaltask.ExternalTask;
+import org.camunda.bpm.engine.externaltask.ExternalTaskOperationResult;
 import org.camunda.bpm.engine.externaltask.ExternalTaskQuery;
 import org.camunda.bpm.engine.externaltask.ExternalTaskQueryTopicBuilder;
 import org.camunda.bpm.engine.externaltask.LockedExternalTask;
@@ -64,6 +66,7 @@ import org.camunda.bpm.engine.impl.RuntimeServiceImpl;
 import org.camunda.bpm.engine.rest.dto.externaltask.ExternalTaskQueryDto;
 import org.camunda.bpm.engine.rest.dto.history.HistoricProcessInstanceQueryDto;
 import org.camunda.bpm.engine.rest.dto.runtime.ProcessInstanceQueryDto;
+import org.camunda.bpm.engine.rest.exception.InvalidRequestException;
 import org.camunda.bpm.engine.rest.exception.RestException;
 import org.camunda.bpm.engine.rest.helper.EqualsVariableMap;
 import org.camunda.bpm.engine.rest.helper.MockProvider;
@@ -104,6 +107,10 @@ public class ExternalTaskRestServiceInteractionTest extends AbstractRestServiceT
   protected static final String RETRIES_EXTERNAL_TASKS_ASYNC_URL = EXTERNAL_TASK_URL + "/retries-async";
   protected static final String PRIORITY_EXTERNAL_TASK_URL = SINGLE_EXTERNAL_TASK_URL + "/priority";
   protected static final String EXTEND_LOCK_ON_EXTERNAL_TASK = SINGLE_EXTERNAL_TASK_URL + "/extendLock";
+  protected static final String COMPLETE_EXTERNAL_TASKS_URL = EXTERNAL_TASK_URL + "/complete";
+  protected static final String HANDLE_EXTERNAL_TASKS_FAILURE_URL = EXTERNAL_TASK_URL + "/failure";
+  protected static final String HANDLE_EXTERNAL_TASKS_BPMN_ERROR_URL = EXTERNAL_TASK_URL + "/bpmnError";
+  protected static final String EXTEND_LOCK_ON_EXTERNAL_TASKS_URL = EXTERNAL_TASK_URL + "/extendLock";
 
 
   protected ExternalTaskService externalTaskService;
@@ -1648,6 +1655,156 @@ public class ExternalTaskRestServiceInteractionTest extends AbstractRestServiceT
       .post(EXTEND_LOCK_ON_EXTERNAL_TASK);
   }
 
+  @Test
+  public void testCompleteExternalTasks() {
+    Map<String, ExternalTaskOperationResult> results = new LinkedHashMap<String, ExternalTaskOperationResult>();
+    results.put("firstId", ExternalTaskOperationResult.SUCCESS);
+    results.put("secondId", ExternalTaskOperationResult.LOCKED_BY_OTHER_WORKER);
+    when(externalTaskService.completeAll(anyString(), any(Map.class), any(Map.class)))
+      .thenReturn(results);
+
+    Map<String, Object> firstTask = new HashMap<String, Object>();
+    firstTask.put("id", "firstId");
+    firstTask.put("variables", VariablesBuilder.create().variable("var", "val", "String").getVariables());
+    Map<String, Object> secondTask = new HashMap<String, Object>();
+    secondTask.put("id", "secondId");
+
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("workerId", "aWorkerId");
+    parameters.put("externalTasks", Arrays.asList(firstTask, secondTask));
+
+    given()
+      .contentType(ContentType.JSON)
+      .body(parameters)
+    .then()
+      .expect()
+      .statusCode(Status.OK.getStatusCode())
+      .body("[0].externalTaskId", equalTo("firstId"))
+      .body("[0].result", equalTo("SUCCESS"))
+      .body("[1].externalTaskId", equalTo("secondId"))
+      .body("[1].result", equalTo("LOCKED_BY_OTHER_WORKER"))
+    .when()
+      .post(COMPLETE_EXTERNAL_TASKS_URL);
+
+    ArgumentCaptor<Map> variablesCaptor = ArgumentCaptor.forClass(Map.class);
+    verify(externalTaskService).completeAll(eq("aWorkerId"), variablesCaptor.capture(), any(Map.class));
+    verifyNoMoreInteractions(externalTaskService);
+
+    Map<String, Map<String, Object>> variables = variablesCaptor.getValue();
+    assertThat(variables).containsOnlyKeys("firstId", "secondId");
+    assertThat(variables.get("firstId")).containsEntry("var", "val");
+    assertThat(variables.get("secondId")).isNull();
+  }
+
+  @Test
+  public void testHandleExternalTasksFailure() {
+    Map<String, ExternalTaskOperationResult> results = new LinkedHashMap<String, ExternalTaskOperationResult>();
+    results.put("firstId", ExternalTaskOperationResult.SUCCESS);
+    results.put("secondId", ExternalTaskOperationResult.NOT_FOUND);
+    when(externalTaskService.handleFailures(anyString(), anyListOf(String.class), anyString(), anyString(), anyInt(), anyLong()))
+      .thenReturn(results);
+
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("workerId", "aWorkerId");
+    parameters.put("externalTaskIds", Arrays.asList("firstId", "secondId"));
+    parameters.put("errorMessage", "anErrorMessage");
+    parameters.put("errorDetails", "someErrorDetails");
+    parameters.put("retries", 5);
+    parameters.put("retryTimeout", 12345);
+
+    given()
+      .contentType(ContentType.JSON)
+      .body(parameters)
+    .then()
+      .expect()
+      .statusCode(Status.OK.getStatusCode())
+      .body("[0].externalTaskId", equalTo("firstId"))
+      .body("[0].result", equalTo("SUCCESS"))
+      .body("[1].externalTaskId", equalTo("secondId"))
+      .body("[1].result", equalTo("NOT_FOUND"))
+    .when()
+      .post(HANDLE_EXTERNAL_TASKS_FAILURE_URL);
+
+    verify(externalTaskService).handleFailures("aWorkerId", Arrays.asList("firstId", "secondId"),
+        "anErrorMessage", "someErrorDetails", 5, 12345);
+    verifyNoMoreInteractions(externalTaskService);
+  }
+
+  @Test
+  public void testHandleExternalTasksBpmnError() {
+    Map<String, ExternalTaskOperationResult> results = new LinkedHashMap<String, ExternalTaskOperationResult>();
+    results.put("firstId", ExternalTaskOperationResult.SUCCESS);
+    when(externalTaskService.handleBpmnErrors(anyString(), anyListOf(String.class), anyString(), anyString(), anyMapOf(String.class, Object.class)))
+      .thenReturn(results);
+
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("workerId", "aWorkerId");
+    parameters.put("externalTaskIds", Arrays.asList("firstId"));
+    parameters.put("errorCode", "anErrorCode");
+    parameters.put("errorMessage", "anErrorMessage");
+
+    given()
+      .contentType(ContentType.JSON)
+      .body(parameters)
+    .then()
+      .expect()
+      .statusCode(Status.OK.getStatusCode())
+      .body("[0].externalTaskId", equalTo("firstId"))
+      .body("[0].result", equalTo("SUCCESS"))
+    .when()
+      .post(HANDLE_EXTERNAL_TASKS_BPMN_ERROR_URL);
+
+    verify(externalTaskService).handleBpmnErrors("aWorkerId", Arrays.asList("firstId"), "anErrorCode", "anErrorMessage", null);
+    verifyNoMoreInteractions(externalTaskService);
+  }
+
+  @Test
+  public void testExtendLockOnExternalTasks() {
+    Map<String, ExternalTaskOperationResult> results = new LinkedHashMap<String, ExternalTaskOperationResult>();
+    results.put("firstId", ExternalTaskOperationResult.LOCK_EXPIRED);
+    when(externalTaskService.extendLocks(anyString(), anyListOf(String.class), anyLong())).thenReturn(results);
+
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("workerId", "aWorkerId");
+    parameters.put("externalTaskIds", Arrays.asList("firstId"));
+    parameters.put("newDuration", 1000);
+
+    given()
+      .contentType(ContentType.JSON)
+      .body(parameters)
+    .then()
+      .expect()
+      .statusCode(Status.OK.getStatusCode())
+      .body("[0].externalTaskId", equalTo("firstId"))
+      .body("[0].result", equalTo("LOCK_EXPIRED"))
+    .when()
+      .post(EXTEND_LOCK_ON_EXTERNAL_TASKS_URL);
+
+    verify(externalTaskService).extendLocks("aWorkerId", Arrays.asList("firstId"), 1000);
+    verifyNoMoreInteractions(externalTaskService);
+  }
+
+  @Test
+  public void testExtendLockOnExternalTasksFailed() {
+    doThrow(new BadUserRequestException("expected")).when(externalTaskService).extendLocks(anyString(), anyListOf(String.class), anyLong());
+
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("workerId", "aWorkerId");
+    parameters.put("externalTaskIds", Arrays.asList("firstId"));
+    parameters.put("newDuration", -1);
+
+    given()
+      .contentType(ContentType.JSON)
+      .body(parameters)
+    .then()
+      .expect()
+      .statusCode(Status.BAD_REQUEST.getStatusCode())
+      .body("type", equalTo(InvalidRequestException.class.getSimpleName()))
+      .body("message", equalTo("expected"))
+    .when()
+      .post(EXTEND_LOCK_ON_EXTERNAL_TASKS_URL);
+  }
+
   protected void executePost(Map<String, Object> parameters) {
     given()
         .contentType(POST_JSON_CONTENT_TYPE)
@@ -32,6 +32,8 @@ import javax.ws.rs.core.Response.Status;
 
 
 import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
 import org.camunda.bpm.engine.management.Metrics;
 import org.camunda.bpm.engine.management.MetricsQuery;
 import org.camunda.bpm.engine.rest.helper.MockProvider;
@@ -51,6 +53,7 @@ public class MetricsRestServiceInteractionTest extends AbstractRestServiceTest {
   public static final String METRICS_URL = TEST_RESOURCE_ROOT_PATH + MetricsRestService.PATH;
   public static final String SINGLE_METER_URL = METRICS_URL + "/{name}";
   public static final String SUM_URL = SINGLE_METER_URL + "/sum";
+  public static final String OPENMETRICS_URL = METRICS_URL + "/openmetrics";
 
   protected ManagementService managementServiceMock;
   private MetricsQuery meterQueryMock;
@@ -318,5 +321,27 @@ public class MetricsRestServiceInteractionTest extends AbstractRestServiceTest {
 
   }
 
+  @Test
+  public void testGetOpenMetrics() {
+    MetricsRegistry metricsRegistry = new MetricsRegistry();
+    metricsRegistry.createMeter(Metrics.ACTIVTY_INSTANCE_START).markTimes(42);
+
+    ProcessEngineConfigurationImpl engineConfigurationMock = mock(ProcessEngineConfigurationImpl.class);
+    when(engineConfigurationMock.getMetricsRegistry()).thenReturn(metricsRegistry);
+    when(engineConfigurationMock.getProcessEngineName()).thenReturn(MockProvider.EXAMPLE_PROCESS_ENGINE_NAME);
+    when(processEngine.getProcessEngineConfiguration()).thenReturn(engineConfigurationMock);
+
+    given()
+      .header("Accept", "text/plain")
+    .then().expect()
+      .statusCode(Status.OK.getStatusCode())
+      .body(containsString("# TYPE camunda_activity_instance_start counter"))
+      .body(containsString("camunda_activity_instance_start_total{engine=\"" + MockProvider.EXAMPLE_PROCESS_ENGINE_NAME + "\"} 42"))
+      .body(endsWith("# EOF\n"))
+    .when()
+      .get(OPENMETRICS_URL);
+
+    verifyNoMoreInteractions(managementServiceMock);
+  }
 
 }
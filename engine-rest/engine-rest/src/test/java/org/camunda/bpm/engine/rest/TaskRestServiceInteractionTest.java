@@ -97,6 +97,7 @@ import org.camunda.bpm.engine.ManagementService;
 import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.RepositoryService;
 import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.batch.Batch;
 import org.camunda.bpm.engine.exception.NotFoundException;
 import org.camunda.bpm.engine.exception.NotValidException;
 import org.camunda.bpm.engine.exception.NullValueException;
@@ -116,6 +117,7 @@ import org.camunda.bpm.engine.repository.CaseDefinition;
 import org.camunda.bpm.engine.repository.CaseDefinitionQuery;
 import org.camunda.bpm.engine.repository.ProcessDefinition;
 import org.camunda.bpm.engine.repository.ProcessDefinitionQuery;
+import org.camunda.bpm.engine.rest.dto.batch.BatchDto;
 import org.camunda.bpm.engine.rest.exception.InvalidRequestException;
 import org.camunda.bpm.engine.rest.exception.RestException;
 import org.camunda.bpm.engine.rest.hal.Hal;
@@ -128,6 +130,7 @@ import org.camunda.bpm.engine.rest.helper.variable.EqualsObjectValue;
 import org.camunda.bpm.engine.rest.helper.variable.EqualsPrimitiveValue;
 import org.camunda.bpm.engine.rest.helper.variable.EqualsUntypedValue;
 import org.camunda.bpm.engine.rest.util.EncodingUtil;
+import org.camunda.bpm.engine.rest.util.JsonPathUtil;
 import org.camunda.bpm.engine.rest.util.VariablesBuilder;
 import org.camunda.bpm.engine.rest.util.container.TestContainerRule;
 import org.camunda.bpm.engine.task.Attachment;
@@ -186,6 +189,10 @@ public class TaskRestServiceInteractionTest extends
 
   protected static final String TASK_CREATE_URL = TASK_SERVICE_URL + "/create";
 
+  protected static final String CLAIM_TASKS_ASYNC_URL = TASK_SERVICE_URL + "/claim-async";
+  protected static final String ASSIGNEE_TASKS_ASYNC_URL = TASK_SERVICE_URL + "/assignee-async";
+  protected static final String COMPLETE_TASKS_ASYNC_URL = TASK_SERVICE_URL + "/complete-async";
+
   protected static final String HANDLE_BPMN_ERROR_URL = SINGLE_TASK_URL + "/bpmnError";
   protected static final String HANDLE_BPMN_ESCALATION_URL = SINGLE_TASK_URL + "/bpmnEscalation";
 
@@ -1090,6 +1097,114 @@ public class TaskRestServiceInteractionTest extends
     verify(taskServiceMock).claim(EXAMPLE_TASK_ID, EXAMPLE_USER_ID);
   }
 
+  @Test
+  public void testClaimTasksAsync() {
+    Batch batch = MockProvider.createMockBatch();
+    when(taskServiceMock.claimAsync(Matchers.<List<String>>any(), any(TaskQuery.class), anyString())).thenReturn(batch);
+
+    Map<String, Object> json = new HashMap<>();
+    json.put("taskIds", Arrays.asList(EXAMPLE_TASK_ID));
+    json.put("userId", EXAMPLE_USER_ID);
+
+    Response response = given()
+      .contentType(POST_JSON_CONTENT_TYPE).body(json)
+      .then().expect()
+        .statusCode(Status.OK.getStatusCode())
+      .when().post(CLAIM_TASKS_ASYNC_URL);
+
+    verifyBatchJson(response.asString());
+    verify(taskServiceMock).claimAsync(eq(Arrays.asList(EXAMPLE_TASK_ID)), isNull(TaskQuery.class), eq(EXAMPLE_USER_ID));
+  }
+
+  @Test
+  public void testClaimTasksAsyncWithBadRequest() {
+    when(taskServiceMock.claimAsync(Matchers.<List<String>>any(), any(TaskQuery.class), anyString()))
+      .thenThrow(new BadUserRequestException("taskIds is empty"));
+
+    Map<String, Object> json = new HashMap<>();
+    json.put("userId", EXAMPLE_USER_ID);
+
+    given()
+      .contentType(POST_JSON_CONTENT_TYPE).body(json)
+      .then().expect()
+        .statusCode(Status.BAD_REQUEST.getStatusCode())
+        .body("type", equalTo(InvalidRequestException.class.getSimpleName()))
+        .body("message", equalTo("taskIds is empty"))
+      .when().post(CLAIM_TASKS_ASYNC_URL);
+  }
+
+  @Test
+  public void testSetAssigneeOfTasksAsyncByQuery() {
+    Batch batch = MockProvider.createMockBatch();
+    when(taskServiceMock.setAssigneeAsync(Matchers.<List<String>>any(), any(TaskQuery.class), anyString())).thenReturn(batch);
+
+    Map<String, Object> taskQuery = new HashMap<>();
+    taskQuery.put("assignee", EXAMPLE_TASK_ASSIGNEE_NAME);
+
+    Map<String, Object> json = new HashMap<>();
+    json.put("taskQuery", taskQuery);
+    json.put("userId", EXAMPLE_USER_ID);
+
+    Response response = given()
+      .contentType(POST_JSON_CONTENT_TYPE).body(json)
+      .then().expect()
+        .statusCode(Status.OK.getStatusCode())
+      .when().post(ASSIGNEE_TASKS_ASYNC_URL);
+
+    verifyBatchJson(response.asString());
+    verify(mockQuery).taskAssignee(EXAMPLE_TASK_ASSIGNEE_NAME);
+    verify(taskServiceMock).setAssigneeAsync(isNull(List.class), eq(mockQuery), eq(EXAMPLE_USER_ID));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testCompleteTasksAsyncWithVariables() {
+    Batch batch = MockProvider.createMockBatch();
+    when(taskServiceMock.completeAsync(Matchers.<List<String>>any(), any(TaskQuery.class), anyMapOf(String.class, Object.class)))
+      .thenReturn(batch);
+
+    Map<String, Object> json = new HashMap<>();
+    json.put("taskIds", Arrays.asList(EXAMPLE_TASK_ID));
+    json.put("variables", VariablesBuilder.create()
+        .variable("approved", true)
+        .variable("amount", 42, "Integer")
+        .getVariables());
+
+    Response response = given()
+      .contentType(POST_JSON_CONTENT_TYPE).body(json)
+      .then().expect()
+        .statusCode(Status.OK.getStatusCode())
+      .when().post(COMPLETE_TASKS_ASYNC_URL);
+
+    verifyBatchJson(response.asString());
+
+    ArgumentCaptor<Map> variablesCaptor = ArgumentCaptor.forClass(Map.class);
+    verify(taskServiceMock).completeAsync(eq(Arrays.asList(EXAMPLE_TASK_ID)), isNull(TaskQuery.class), variablesCaptor.capture());
+
+    Map<String, Object> variables = variablesCaptor.getValue();
+    assertEquals(true, variables.get("approved"));
+    assertEquals(42, variables.get("amount"));
+  }
+
+  @Test
+  public void testCompleteTasksAsyncWithInvalidVariable() {
+    Map<String, Object> json = new HashMap<>();
+    json.put("taskIds", Arrays.asList(EXAMPLE_TASK_ID));
+    json.put("variables", VariablesBuilder.create()
+        .variable("amount", "notAnInteger", "Integer")
+        .getVariables());
+
+    given()
+      .contentType(POST_JSON_CONTENT_TYPE).body(json)
+      .then().expect()
+        .statusCode(Status.BAD_REQUEST.getStatusCode())
+        .body("type", equalTo(InvalidRequestException.class.getSimpleName()))
+        .body("message", containsString("Cannot complete tasks"))
+      .when().post(COMPLETE_TASKS_ASYNC_URL);
+
+    verify(taskServiceMock, never()).completeAsync(Matchers.<List<String>>any(), any(TaskQuery.class), anyMapOf(String.class, Object.class));
+  }
+
   @Test
   public void testMissingUserId() {
     Map<String, Object> json = new HashMap<>();
@@ -3659,4 +3774,12 @@ public class TaskRestServiceInteractionTest extends
     assertEquals("self", returnedLink.get("rel"));
   }
 
+  protected void verifyBatchJson(String batchJson) {
+    BatchDto batch = JsonPathUtil.from(batchJson).getObject("", BatchDto.class);
+    assertNotNull("The returned batch should not be null.", batch);
+    assertEquals(MockProvider.EXAMPLE_BATCH_ID, batch.getId());
+    assertEquals(MockProvider.EXAMPLE_BATCH_TYPE, batch.getType());
+    assertEquals(MockProvider.EXAMPLE_BATCH_TOTAL_JOBS, batch.getTotalJobs());
+  }
+
 }
@@ -25,6 +25,7 @@ import org.camunda.bpm.engine.authorization.Resources;
 import org.camunda.bpm.engine.batch.Batch;
 import org.camunda.bpm.engine.exception.NotFoundException;
 import org.camunda.bpm.engine.externaltask.ExternalTask;
+import org.camunda.bpm.engine.externaltask.ExternalTaskOperationResult;
 import org.camunda.bpm.engine.externaltask.ExternalTaskQuery;
 import org.camunda.bpm.engine.externaltask.ExternalTaskQueryBuilder;
 import org.camunda.bpm.engine.externaltask.UpdateExternalTaskRetriesBuilder;
@@ -290,6 +291,139 @@ public interface ExternalTaskService {
    */
   public void handleBpmnError(String externalTaskId, String workerId, String errorCode, String errorMessage, Map<String, Object> variables);
 
+  /**
+   * <p>Completes external tasks on behalf of a worker and submits variables
+   * to the process instances before continuing execution.</p>
+   *
+   * <p>The external tasks are handled in chunks of
+   * {@link org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl#getExternalTaskBulkChunkSize()}
+   * tasks, each chunk in its own transaction. External tasks that do not exist or are not
+   * locked by the worker are skipped. If the operation fails for an external task, it is rolled
+   * back for this task only and the other tasks are handled nevertheless.</p>
+   *
+   * @param workerId the id of the worker that completes the tasks
+   * @param variables the ids of the external tasks to complete, mapped to the variables
+   *   to set on the execution the external task is assigned to (may be <code>null</code>)
+   *
+   * @return the result per external task id, in the order of the given ids
+   *
+   *   <p>The result is {@link ExternalTaskOperationResult#NOT_AUTHORIZED} for each external task
+   *   for which the current user does not possess any of the following permissions:
+   *   <ul>
+   *     <li>{@link Permissions#UPDATE} on {@link Resources#PROCESS_INSTANCE}</li>
+   *     <li>{@link Permissions#UPDATE_INSTANCE} on {@link Resources#PROCESS_DEFINITION}</li>
+   *   </ul>
+   */
+  public Map<String, ExternalTaskOperationResult> completeAll(String workerId, Map<String, Map<String, Object>> variables);
+
+  /**
+   * <p>Completes external tasks on behalf of a worker and submits variables
+   * to the process instances before continuing execution.</p>
+   *
+   * <p>The external tasks are handled in chunks of
+   * {@link org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl#getExternalTaskBulkChunkSize()}
+   * tasks, each chunk in its own transaction. External tasks that do not exist or are not
+   * locked by the worker are skipped. If the operation fails for an external task, it is rolled
+   * back for this task only and the other tasks are handled nevertheless.</p>
+   *
+   * @param workerId the id of the worker that completes the tasks
+   * @param variables the external task ids mapped to the variables to set on the
+   *   execution the external task is assigned to
+   * @param localVariables the external task ids mapped to the variables to set on the
+   *   execution locally
+   *
+   * @return the result per external task id; the completed external tasks are the
+   *   union of the keys of both maps
+   *
+   *   <p>The result is {@link ExternalTaskOperationResult#NOT_AUTHORIZED} for each external task
+   *   for which the current user does not possess any of the following permissions:
+   *   <ul>
+   *     <li>{@link Permissions#UPDATE} on {@link Resources#PROCESS_INSTANCE}</li>
+   *     <li>{@link Permissions#UPDATE_INSTANCE} on {@link Resources#PROCESS_DEFINITION}</li>
+   *   </ul>
+   */
+  public Map<String, ExternalTaskOperationResult> completeAll(String workerId, Map<String, Map<String, Object>> variables, Map<String, Map<String, Object>> localVariables);
+
+  /**
+   * <p>Extends the locks of external tasks on behalf of a worker. The locks of
+   * external tasks that already expired are not extended.</p>
+   *
+   * <p>The external tasks are handled in chunks of
+   * {@link org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl#getExternalTaskBulkChunkSize()}
+   * tasks, each chunk in its own transaction. External tasks that do not exist or are not
+   * locked by the worker are skipped. If the operation fails for an external task, it is rolled
+   * back for this task only and the other tasks are handled nevertheless.</p>
+   *
+   * @param workerId the id of the worker that extends the locks of the tasks
+   * @param externalTaskIds the ids of the external tasks
+   * @param newLockDuration the new lock duration in milliseconds
+   *
+   * @return the result per external task id, in the order of the given ids
+   *
+   *   <p>The result is {@link ExternalTaskOperationResult#NOT_AUTHORIZED} for each external task
+   *   for which the current user does not possess any of the following permissions:
+   *   <ul>
+   *     <li>{@link Permissions#UPDATE} on {@link Resources#PROCESS_INSTANCE}</li>
+   *     <li>{@link Permissions#UPDATE_INSTANCE} on {@link Resources#PROCESS_DEFINITION}</li>
+   *   </ul>
+   */
+  public Map<String, ExternalTaskOperationResult> extendLocks(String workerId, List<String> externalTaskIds, long newLockDuration);
+
+  /**
+   * <p>Signals that external tasks could not be successfully executed, see
+   * {@link #handleFailure(String, String, String, String, int, long)}.</p>
+   *
+   * <p>The external tasks are handled in chunks of
+   * {@link org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl#getExternalTaskBulkChunkSize()}
+   * tasks, each chunk in its own transaction. External tasks that do not exist or are not
+   * locked by the worker are skipped. If the operation fails for an external task, it is rolled
+   * back for this task only and the other tasks are handled nevertheless.</p>
+   *
+   * @param workerId the id of the worker that reports the failures
+   * @param externalTaskIds the ids of the external tasks
+   * @param errorMessage short error message related to these failures
+   * @param errorDetails full error message related to these failures
+   * @param retries the number of retries left; must be >= 0
+   * @param retryTimeout the timeout before the tasks can be fetched again; must be >= 0
+   *
+   * @return the result per external task id, in the order of the given ids
+   *
+   *   <p>The result is {@link ExternalTaskOperationResult#NOT_AUTHORIZED} for each external task
+   *   for which the current user does not possess any of the following permissions:
+   *   <ul>
+   *     <li>{@link Permissions#UPDATE} on {@link Resources#PROCESS_INSTANCE}</li>
+   *     <li>{@link Permissions#UPDATE_INSTANCE} on {@link Resources#PROCESS_DEFINITION}</li>
+   *   </ul>
+   */
+  public Map<String, ExternalTaskOperationResult> handleFailures(String workerId, List<String> externalTaskIds, String errorMessage, String errorDetails, int retries, long retryTimeout);
+
+  /**
+   * <p>Signals that a business error appeared for external tasks, see
+   * {@link #handleBpmnError(String, String, String, String, Map)}.</p>
+   *
+   * <p>The external tasks are handled in chunks of
+   * {@link org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl#getExternalTaskBulkChunkSize()}
+   * tasks, each chunk in its own transaction. External tasks that do not exist or are not
+   * locked by the worker are skipped. If the operation fails for an external task, it is rolled
+   * back for this task only and the other tasks are handled nevertheless.</p>
+   *
+   * @param workerId the id of the worker that reports the BPMN errors
+   * @param externalTaskIds the ids of the external tasks
+   * @param errorCode the error code of the corresponding bpmn error
+   * @param errorMessage the error message of the corresponding bpmn error
+   * @param variables the variables to pass to the executions
+   *
+   * @return the result per external task id, in the order of the given ids
+   *
+   *   <p>The result is {@link ExternalTaskOperationResult#NOT_AUTHORIZED} for each external task
+   *   for which the current user does not possess any of the following permissions:
+   *   <ul>
+   *     <li>{@link Permissions#UPDATE} on {@link Resources#PROCESS_INSTANCE}</li>
+   *     <li>{@link Permissions#UPDATE_INSTANCE} on {@link Resources#PROCESS_DEFINITION}</li>
+   *   </ul>
+   */
+  public Map<String, ExternalTaskOperationResult> handleBpmnErrors(String workerId, List<String> externalTaskIds, String errorCode, String errorMessage, Map<String, Object> variables);
+
   /**
    * Unlocks an external task instance.
    *
@@ -34,6 +34,7 @@ import org.camunda.bpm.engine.migration.MigrationPlanExecutionBuilder;
 import org.camunda.bpm.engine.repository.Deployment;
 import org.camunda.bpm.engine.repository.ProcessDefinition;
 import org.camunda.bpm.engine.runtime.ActivityInstance;
+import org.camunda.bpm.engine.runtime.BulkMessageCorrelationBuilder;
 import org.camunda.bpm.engine.runtime.ConditionEvaluationBuilder;
 import org.camunda.bpm.engine.runtime.EventSubscriptionQuery;
 import org.camunda.bpm.engine.runtime.Execution;
@@ -1874,6 +1875,16 @@ public interface RuntimeService {
    */
   MessageCorrelationBuilder createMessageCorrelation(String messageName);
 
+  /**
+   * Correlates many messages at once using a fluent builder. The correlations of
+   * messages which are correlated by message name and business key are resolved
+   * with set-based queries and the messages are correlated in as few transactions
+   * as possible.
+   *
+   * @return the fluent builder for defining the message correlations.
+   */
+  BulkMessageCorrelationBuilder createBulkMessageCorrelation();
+
   /**
    * Correlates a message to either an execution that is waiting for this message or a process definition
    * that can be started by this message.
@@ -21,10 +21,12 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
+import org.camunda.bpm.engine.authorization.BatchPermissions;
 import org.camunda.bpm.engine.authorization.Permissions;
 import org.camunda.bpm.engine.authorization.ProcessDefinitionPermissions;
 import org.camunda.bpm.engine.authorization.Resources;
 import org.camunda.bpm.engine.authorization.TaskPermissions;
+import org.camunda.bpm.engine.batch.Batch;
 import org.camunda.bpm.engine.exception.NullValueException;
 import org.camunda.bpm.engine.history.UserOperationLogEntry;
 import org.camunda.bpm.engine.history.UserOperationLogQuery;
@@ -190,6 +192,25 @@ public interface TaskService {
    */
   void claim(String taskId, String userId);
 
+  /**
+   * Claims the given tasks asynchronously for the given user.
+   * The tasks are claimed in batch jobs which load them set-wise.
+   * Tasks which do not exist anymore when the batch is executed are skipped.
+   *
+   * @param taskIds the ids of the tasks to claim
+   * @param taskQuery a query which selects the tasks to claim
+   * @param userId user that claims the tasks. When userId is null the tasks are unclaimed.
+   *
+   * @return the batch which claims the tasks
+   *
+   * @throws BadUserRequestException
+   *          when no tasks are selected.
+   * @throws AuthorizationException
+   *          If the user has no {@link Permissions#CREATE} or
+   *          {@link BatchPermissions#CREATE_BATCH_UPDATE_TASKS} permission on {@link Resources#BATCH}.
+   */
+  Batch claimAsync(List<String> taskIds, TaskQuery taskQuery, String userId);
+
   /**
    * Marks a task as done and continues process execution.
    *
@@ -294,6 +315,26 @@ public interface TaskService {
    */
   void complete(String taskId, Map<String, Object> variables);
 
+  /**
+   * Completes the given tasks asynchronously with the provided variables.
+   * The tasks are completed in batch jobs which load them set-wise.
+   * Tasks which do not exist anymore when the batch is executed are skipped.
+   *
+   * @param taskIds the ids of the tasks to complete
+   * @param taskQuery a query which selects the tasks to complete
+   * @param variables task parameters applied to each task. May be null or empty.
+   *          Only primitive values (string, boolean, number, date or null) are supported.
+   *
+   * @return the batch which completes the tasks
+   *
+   * @throws BadUserRequestException
+   *          when no tasks are selected or unsupported variables are passed.
+   * @throws AuthorizationException
+   *          If the user has no {@link Permissions#CREATE} or
+   *          {@link BatchPermissions#CREATE_BATCH_UPDATE_TASKS} permission on {@link Resources#BATCH}.
+   */
+  Batch completeAsync(List<String> taskIds, TaskQuery taskQuery, Map<String, Object> variables);
+
   /**
    * Marks a task as done and continues process execution.
    *
@@ -335,6 +376,25 @@ public interface TaskService {
    */
   void setAssignee(String taskId, String userId);
 
+  /**
+   * Changes the assignee of the given tasks asynchronously.
+   * The tasks are updated in batch jobs which load them set-wise.
+   * Tasks which do not exist anymore when the batch is executed are skipped.
+   *
+   * @param taskIds the ids of the tasks to update
+   * @param taskQuery a query which selects the tasks to update
+   * @param userId id of the user to use as assignee.
+   *
+   * @return the batch which updates the tasks
+   *
+   * @throws BadUserRequestException
+   *          when no tasks are selected.
+   * @throws AuthorizationException
+   *          If the user has no {@link Permissions#CREATE} or
+   *          {@link BatchPermissions#CREATE_BATCH_UPDATE_TASKS} permission on {@link Resources#BATCH}.
+   */
+  Batch setAssigneeAsync(List<String> taskIds, TaskQuery taskQuery, String userId);
+
   /**
    * Transfers ownership of this task to another user.
    * No check is done whether the user is known by the identity component.
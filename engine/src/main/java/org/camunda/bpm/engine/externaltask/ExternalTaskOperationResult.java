@@ -0,0 +1,42 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.externaltask;
+
+/**
+ * The result of a bulk operation of the {@link org.camunda.bpm.engine.ExternalTaskService}
+ * for a single external task.
+ */
+public enum ExternalTaskOperationResult {
+
+  /** signifies that the operation was performed on the external task */
+  SUCCESS,
+
+  /** signifies that no external task with the given id exists */
+  NOT_FOUND,
+
+  /** signifies that the external task is not locked by the given worker */
+  LOCKED_BY_OTHER_WORKER,
+
+  /** signifies that the lock of the external task has already expired */
+  LOCK_EXPIRED,
+
+  /** signifies that the current user is not authorized to perform the operation on the external task */
+  NOT_AUTHORIZED,
+
+  /** signifies that the operation failed and was rolled back for the external task */
+  FAILED
+}
@@ -34,6 +34,7 @@ import org.camunda.bpm.engine.exception.NotValidException;
 import org.camunda.bpm.engine.impl.QueryValidators.AdhocQueryValidator;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.db.ListQueryParameterObject;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.QueryResultCache;
 import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
@@ -68,6 +69,8 @@ public abstract class AbstractQuery<T extends Query<?,?>, U> extends ListQueryPa
 
   protected boolean maxResultsLimitEnabled;
 
+  protected boolean resultCacheEnabled;
+
   protected AbstractQuery() {
   }
 
@@ -155,6 +158,7 @@ public abstract class AbstractQuery<T extends Query<?,?>, U> extends ListQueryPa
       if (!maxResultsLimitEnabled) {
         maxResultsLimitEnabled = Context.getCommandContext() == null;
       }
+      enableResultCacheForStandaloneQuery();
 
       return commandExecutor.execute(this);
     }
@@ -173,6 +177,7 @@ public abstract class AbstractQuery<T extends Query<?,?>, U> extends ListQueryPa
   public long count() {
     this.resultType = ResultType.COUNT;
     if (commandExecutor!=null) {
+      enableResultCacheForStandaloneQuery();
       return (Long) commandExecutor.execute(this);
     }
     return evaluateExpressionsAndExecuteCount(Context.getCommandContext());
@@ -182,6 +187,7 @@ public abstract class AbstractQuery<T extends Query<?,?>, U> extends ListQueryPa
   public List<U> unlimitedList() {
     this.resultType = ResultType.LIST;
     if (commandExecutor != null) {
+      enableResultCacheForStandaloneQuery();
       return (List<U>) commandExecutor.execute(this);
     }
     return evaluateExpressionsAndExecuteList(Context.getCommandContext(), null);
@@ -204,7 +210,26 @@ public abstract class AbstractQuery<T extends Query<?,?>, U> extends ListQueryPa
   public long evaluateExpressionsAndExecuteCount(CommandContext commandContext) {
     validate();
     evaluateExpressions();
-    return !hasExcludingConditions() ? executeCount(commandContext) : 0l;
+    return !hasExcludingConditions() ? executeCountCached(commandContext) : 0l;
+  }
+
+  protected long executeCountCached(CommandContext commandContext) {
+    QueryResultCache queryResultCache = getQueryResultCache(commandContext);
+    if (queryResultCache == null) {
+      return executeCount(commandContext);
+    }
+
+    String key = queryResultCache.createKey(this, QueryResultCache.OPERATION_COUNT, null, commandContext);
+    Long cachedCount = (Long) queryResultCache.get(this, key);
+    if (cachedCount != null) {
+      return cachedCount;
+    }
+
+    long generation = queryResultCache.getGeneration(this);
+    long count = executeCount(commandContext);
+    queryResultCache.put(this, key, count, generation);
+
+    return count;
   }
 
   public abstract long executeCount(CommandContext commandContext);
@@ -213,7 +238,44 @@ public abstract class AbstractQuery<T extends Query<?,?>, U> extends ListQueryPa
     checkMaxResultsLimit();
     validate();
     evaluateExpressions();
-    return !hasExcludingConditions() ? executeList(commandContext, page) : new ArrayList<U>();
+    return !hasExcludingConditions() ? executeListCached(commandContext, page) : new ArrayList<U>();
+  }
+
+  @SuppressWarnings("unchecked")
+  protected List<U> executeListCached(CommandContext commandContext, Page page) {
+    QueryResultCache queryResultCache = getQueryResultCache(commandContext);
+    if (queryResultCache == null || !queryResultCache.isListCacheable(this)) {
+      return executeList(commandContext, page);
+    }
+
+    // the cache keeps its own copies of the results, since callers may modify the returned entities
+    String key = queryResultCache.createKey(this, QueryResultCache.OPERATION_LIST, page, commandContext);
+    List<U> cachedResults = (List<U>) queryResultCache.get(this, key);
+    if (cachedResults != null) {
+      return (List<U>) queryResultCache.copyResults(this, cachedResults);
+    }
+
+    long generation = queryResultCache.getGeneration(this);
+    List<U> results = executeList(commandContext, page);
+    queryResultCache.put(this, key, queryResultCache.copyResults(this, results), generation);
+
+    return results;
+  }
+
+  /**
+   * @return the query result cache if results of this query may be cached, null otherwise
+   */
+  protected QueryResultCache getQueryResultCache(CommandContext commandContext) {
+    if (!resultCacheEnabled) {
+      return null;
+    }
+
+    QueryResultCache queryResultCache = commandContext.getProcessEngineConfiguration().getQueryResultCache();
+    if (queryResultCache == null || !queryResultCache.isCacheable(this)) {
+      return null;
+    }
+
+    return queryResultCache;
   }
 
   /**
@@ -387,4 +449,24 @@ public abstract class AbstractQuery<T extends Query<?,?>, U> extends ListQueryPa
     maxResultsLimitEnabled = false;
   }
 
+  /**
+   * Allows the results of this query to be served from the query result cache.
+   * Must only be enabled if the results are not modified within the current command.
+   */
+  public void enableResultCache() {
+    resultCacheEnabled = true;
+  }
+
+  public void disableResultCache() {
+    resultCacheEnabled = false;
+  }
+
+  protected void enableResultCacheForStandaloneQuery() {
+    // results of queries executed outside of a command are never
+    // modified within a command, so they can be cached
+    if (!resultCacheEnabled) {
+      resultCacheEnabled = Context.getCommandContext() == null;
+    }
+  }
+
 }
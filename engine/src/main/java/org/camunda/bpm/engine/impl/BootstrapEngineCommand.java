@@ -23,7 +23,9 @@ import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
 import org.camunda.bpm.engine.impl.db.entitymanager.OptimisticLockingListener;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.jobexecutor.ProcessDefinitionStatisticsReconciliationJobHandler;
 import org.camunda.bpm.engine.impl.persistence.entity.EverLivingJobEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionStatisticsCounterManager;
 import org.camunda.bpm.engine.impl.persistence.entity.PropertyEntity;
 
 /**
@@ -44,9 +46,28 @@ public class BootstrapEngineCommand implements ProcessEngineBootstrapCommand {
       createHistoryCleanupJob(commandContext);
     }
 
+    if (isProcessDefinitionStatisticsMaterialized(commandContext)) {
+      createProcessDefinitionStatisticsReconciliationJob(commandContext);
+    }
+
     return null;
   }
 
+  protected void createProcessDefinitionStatisticsReconciliationJob(CommandContext commandContext) {
+    if (Context.getProcessEngineConfiguration().getManagementService().getTableMetaData("ACT_RU_PROCDEF_STATS") != null) {
+      ProcessDefinitionStatisticsCounterManager counterManager = commandContext.getProcessDefinitionStatisticsCounterManager();
+      if (!counterManager.hasCounters()) {
+        // initialize the counters right away, otherwise the statistics of existing
+        // process instances are missing until the first reconciliation job is executed
+        counterManager.reconcile();
+      }
+
+      if (!ProcessDefinitionStatisticsReconciliationJobHandler.isJobScheduled(commandContext)) {
+        ProcessDefinitionStatisticsReconciliationJobHandler.scheduleJob(commandContext);
+      }
+    }
+  }
+
   protected void createHistoryCleanupJob(CommandContext commandContext) {
     if (Context.getProcessEngineConfiguration().getManagementService().getTableMetaData("ACT_RU_JOB") != null) {
       // CAM-9671: avoid transaction rollback due to the OLE being caught in CommandContext#close
@@ -80,6 +101,11 @@ public class BootstrapEngineCommand implements ProcessEngineBootstrapCommand {
     }
   }
 
+  protected boolean isProcessDefinitionStatisticsMaterialized(CommandContext commandContext) {
+    return commandContext.getProcessEngineConfiguration()
+        .isProcessDefinitionStatisticsMaterialized();
+  }
+
   protected boolean isHistoryCleanupEnabled(CommandContext commandContext) {
     return commandContext.getProcessEngineConfiguration()
         .isHistoryCleanupEnabled();
@@ -0,0 +1,90 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl;
+
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureInstanceOf;
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotEmpty;
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensurePositive;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.cmd.BulkCorrelateMessageCmd;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.runtime.BulkMessageCorrelationBuilder;
+import org.camunda.bpm.engine.runtime.BulkMessageCorrelationResult;
+import org.camunda.bpm.engine.runtime.MessageCorrelationBuilder;
+
+public class BulkMessageCorrelationBuilderImpl implements BulkMessageCorrelationBuilder {
+
+  protected CommandExecutor commandExecutor;
+
+  protected List<MessageCorrelationBuilderImpl> correlations = new ArrayList<MessageCorrelationBuilderImpl>();
+  protected int chunkSize = Integer.MAX_VALUE;
+
+  public BulkMessageCorrelationBuilderImpl(CommandExecutor commandExecutor) {
+    ensureNotNull("commandExecutor", commandExecutor);
+    this.commandExecutor = commandExecutor;
+  }
+
+  public BulkMessageCorrelationBuilder correlation(MessageCorrelationBuilder messageCorrelation) {
+    ensureInstanceOf("messageCorrelation", messageCorrelation, MessageCorrelationBuilderImpl.class);
+
+    MessageCorrelationBuilderImpl correlation = (MessageCorrelationBuilderImpl) messageCorrelation;
+    correlation.ensureValidSingleCorrelation();
+    correlations.add(correlation);
+    return this;
+  }
+
+  public BulkMessageCorrelationBuilder correlations(List<MessageCorrelationBuilder> messageCorrelations) {
+    ensureNotNull("messageCorrelations", messageCorrelations);
+    for (MessageCorrelationBuilder messageCorrelation : messageCorrelations) {
+      correlation(messageCorrelation);
+    }
+    return this;
+  }
+
+  public BulkMessageCorrelationBuilder chunkSize(int chunkSize) {
+    ensurePositive("chunkSize", (long) chunkSize);
+    this.chunkSize = chunkSize;
+    return this;
+  }
+
+  public List<BulkMessageCorrelationResult> correlate() {
+    ensureNotEmpty("correlations", correlations);
+
+    List<BulkMessageCorrelationResult> results = new ArrayList<BulkMessageCorrelationResult>(correlations.size());
+    while (results.size() < correlations.size()) {
+      int chunkEnd = (int) Math.min((long) results.size() + chunkSize, correlations.size());
+      List<MessageCorrelationBuilderImpl> chunk = correlations.subList(results.size(), chunkEnd);
+
+      // the command may correlate only a part of the chunk, the remaining messages are correlated with the next one
+      results.addAll(commandExecutor.execute(new BulkCorrelateMessageCmd(new ArrayList<MessageCorrelationBuilderImpl>(chunk))));
+    }
+    return results;
+  }
+
+  public List<MessageCorrelationBuilderImpl> getCorrelations() {
+    return correlations;
+  }
+
+  public int getChunkSize() {
+    return chunkSize;
+  }
+
+}
@@ -16,16 +16,28 @@
  */
 package org.camunda.bpm.engine.impl;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
+import org.camunda.bpm.engine.AuthorizationException;
 import org.camunda.bpm.engine.ExternalTaskService;
 import org.camunda.bpm.engine.batch.Batch;
+import org.camunda.bpm.engine.externaltask.ExternalTaskOperationResult;
 import org.camunda.bpm.engine.externaltask.ExternalTaskQuery;
 import org.camunda.bpm.engine.externaltask.ExternalTaskQueryBuilder;
 import org.camunda.bpm.engine.externaltask.UpdateExternalTaskRetriesSelectBuilder;
 import org.camunda.bpm.engine.impl.cmd.*;
+import org.camunda.bpm.engine.impl.externaltask.ExternalTaskLogger;
 import org.camunda.bpm.engine.impl.externaltask.ExternalTaskQueryTopicBuilderImpl;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.util.CollectionUtil;
+import org.camunda.bpm.engine.impl.util.EnsureUtil;
 
 /**
  * @author Thorben Lindhauer
@@ -34,6 +46,8 @@ import org.camunda.bpm.engine.impl.externaltask.ExternalTaskQueryTopicBuilderImp
  */
 public class ExternalTaskServiceImpl extends ServiceImpl implements ExternalTaskService {
 
+  protected static final ExternalTaskLogger LOG = ProcessEngineLogger.EXTERNAL_TASK_LOGGER;
+
   @Override
   public ExternalTaskQueryBuilder fetchAndLock(int maxTasks, String workerId) {
     return fetchAndLock(maxTasks, workerId, false);
@@ -136,4 +150,115 @@ public class ExternalTaskServiceImpl extends ServiceImpl implements ExternalTask
     commandExecutor.execute(new ExtendLockOnExternalTaskCmd(externalTaskId, workerId, lockDuration));
   }
 
+  public Map<String, ExternalTaskOperationResult> completeAll(String workerId, Map<String, Map<String, Object>> variables) {
+    return completeAll(workerId, variables, null);
+  }
+
+  public Map<String, ExternalTaskOperationResult> completeAll(String workerId, Map<String, Map<String, Object>> variables, Map<String, Map<String, Object>> localVariables) {
+    Set<String> externalTaskIds = new LinkedHashSet<String>();
+    if (variables != null) {
+      externalTaskIds.addAll(variables.keySet());
+    }
+    if (localVariables != null) {
+      externalTaskIds.addAll(localVariables.keySet());
+    }
+
+    Map<String, ExternalTaskOperationResult> results = new LinkedHashMap<String, ExternalTaskOperationResult>();
+    for (List<String> chunk : partition(new ArrayList<String>(externalTaskIds))) {
+      executeChunk(new CompleteExternalTasksCmd(chunk, workerId, variables, localVariables), chunk, results);
+    }
+    return results;
+  }
+
+  public Map<String, ExternalTaskOperationResult> extendLocks(String workerId, List<String> externalTaskIds, long newLockDuration) {
+    Map<String, ExternalTaskOperationResult> results = new LinkedHashMap<String, ExternalTaskOperationResult>();
+    for (List<String> chunk : partition(externalTaskIds)) {
+      executeChunk(new ExtendLockOnExternalTasksCmd(chunk, workerId, newLockDuration), chunk, results);
+    }
+    return results;
+  }
+
+  public Map<String, ExternalTaskOperationResult> handleFailures(String workerId, List<String> externalTaskIds, String errorMessage, String errorDetails, int retries, long retryDuration) {
+    Map<String, ExternalTaskOperationResult> results = new LinkedHashMap<String, ExternalTaskOperationResult>();
+    for (List<String> chunk : partition(externalTaskIds)) {
+      executeChunk(new HandleExternalTasksFailureCmd(chunk, workerId, errorMessage, errorDetails, retries, retryDuration), chunk, results);
+    }
+    return results;
+  }
+
+  public Map<String, ExternalTaskOperationResult> handleBpmnErrors(String workerId, List<String> externalTaskIds, String errorCode, String errorMessage, Map<String, Object> variables) {
+    Map<String, ExternalTaskOperationResult> results = new LinkedHashMap<String, ExternalTaskOperationResult>();
+    for (List<String> chunk : partition(externalTaskIds)) {
+      executeChunk(new HandleExternalTasksBpmnErrorCmd(chunk, workerId, errorCode, errorMessage, variables), chunk, results);
+    }
+    return results;
+  }
+
+  protected List<List<String>> partition(List<String> externalTaskIds) {
+    EnsureUtil.ensureNotNull("externalTaskIds", externalTaskIds);
+    int chunkSize = commandExecutor.execute(new Command<Integer>() {
+      public Integer execute(CommandContext commandContext) {
+        return commandContext.getProcessEngineConfiguration().getExternalTaskBulkChunkSize();
+      }
+    });
+    return CollectionUtil.partition(new ArrayList<String>(new LinkedHashSet<String>(externalTaskIds)), chunkSize);
+  }
+
+  /**
+   * Executes the command for one chunk in its own transaction. Invalid input fails the whole
+   * operation. If the chunk fails, it is executed again without the external task the operation
+   * failed on, or task by task if that task is not known (e.g. the flush failed).
+   */
+  protected void executeChunk(HandleExternalTasksCmd command, List<String> chunk, Map<String, ExternalTaskOperationResult> results) {
+    command.validateInput();
+
+    // reserve the position of each task, so that the results keep the order of the given ids
+    for (String externalTaskId : chunk) {
+      results.put(externalTaskId, null);
+    }
+
+    executeIsolatingFailures(command, chunk, results);
+  }
+
+  protected void executeIsolatingFailures(HandleExternalTasksCmd command, List<String> externalTaskIds, Map<String, ExternalTaskOperationResult> results) {
+    command.setExternalTaskIds(externalTaskIds);
+
+    try {
+      results.putAll(commandExecutor.execute(command));
+    }
+    catch (RuntimeException e) {
+      String failedExternalTaskId = command.getCurrentExternalTaskId();
+
+      if (failedExternalTaskId != null) {
+        LOG.bulkOperationFailed(failedExternalTaskId, e);
+        results.put(failedExternalTaskId, getFailureResult(e));
+
+        List<String> remainingExternalTaskIds = new ArrayList<String>(externalTaskIds);
+        remainingExternalTaskIds.remove(failedExternalTaskId);
+        if (!remainingExternalTaskIds.isEmpty()) {
+          executeIsolatingFailures(command, remainingExternalTaskIds, results);
+        }
+      }
+      else if (externalTaskIds.size() == 1) {
+        LOG.bulkOperationFailed(externalTaskIds.get(0), e);
+        results.put(externalTaskIds.get(0), getFailureResult(e));
+      }
+      else {
+        LOG.bulkOperationChunkFailed(externalTaskIds, e);
+        for (String externalTaskId : externalTaskIds) {
+          executeIsolatingFailures(command, Collections.singletonList(externalTaskId), results);
+        }
+      }
+    }
+  }
+
+  protected ExternalTaskOperationResult getFailureResult(RuntimeException e) {
+    if (e instanceof AuthorizationException) {
+      return ExternalTaskOperationResult.NOT_AUTHORIZED;
+    }
+    else {
+      return ExternalTaskOperationResult.FAILED;
+    }
+  }
+
 }
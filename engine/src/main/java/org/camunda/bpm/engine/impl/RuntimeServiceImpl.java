@@ -54,6 +54,7 @@ import org.camunda.bpm.engine.migration.MigrationPlan;
 import org.camunda.bpm.engine.migration.MigrationPlanBuilder;
 import org.camunda.bpm.engine.migration.MigrationPlanExecutionBuilder;
 import org.camunda.bpm.engine.runtime.ActivityInstance;
+import org.camunda.bpm.engine.runtime.BulkMessageCorrelationBuilder;
 import org.camunda.bpm.engine.runtime.ConditionEvaluationBuilder;
 import org.camunda.bpm.engine.runtime.EventSubscriptionQuery;
 import org.camunda.bpm.engine.runtime.ExecutionQuery;
@@ -628,6 +629,11 @@ public class RuntimeServiceImpl extends ServiceImpl implements RuntimeService {
     return new MessageCorrelationBuilderImpl(commandExecutor, messageName);
   }
 
+  @Override
+  public BulkMessageCorrelationBuilder createBulkMessageCorrelation() {
+    return new BulkMessageCorrelationBuilderImpl(commandExecutor);
+  }
+
   @Override
   public void correlateMessage(String messageName, Map<String, Object> correlationKeys, Map<String, Object> processVariables) {
     createMessageCorrelation(messageName)
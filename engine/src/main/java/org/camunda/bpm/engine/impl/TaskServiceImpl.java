@@ -28,6 +28,7 @@ import java.util.Map;
 import org.camunda.bpm.engine.BadUserRequestException;
 import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.batch.Batch;
 import org.camunda.bpm.engine.impl.cmd.AddCommentCmd;
 import org.camunda.bpm.engine.impl.cmd.AddGroupIdentityLinkCmd;
 import org.camunda.bpm.engine.impl.cmd.AddUserIdentityLinkCmd;
@@ -67,6 +68,8 @@ import org.camunda.bpm.engine.impl.cmd.SaveTaskCmd;
 import org.camunda.bpm.engine.impl.cmd.SetTaskOwnerCmd;
 import org.camunda.bpm.engine.impl.cmd.SetTaskPriorityCmd;
 import org.camunda.bpm.engine.impl.cmd.SetTaskVariablesCmd;
+import org.camunda.bpm.engine.impl.cmd.batch.CompleteTaskBatchCmd;
+import org.camunda.bpm.engine.impl.cmd.batch.SetTaskAssigneeBatchCmd;
 import org.camunda.bpm.engine.impl.util.ExceptionUtil;
 import org.camunda.bpm.engine.task.Attachment;
 import org.camunda.bpm.engine.task.Comment;
@@ -127,6 +130,10 @@ public class TaskServiceImpl extends ServiceImpl implements TaskService {
     commandExecutor.execute(new AssignTaskCmd(taskId, userId));
   }
 
+  public Batch setAssigneeAsync(List<String> taskIds, TaskQuery taskQuery, String userId) {
+    return commandExecutor.execute(new SetTaskAssigneeBatchCmd(taskIds, taskQuery, userId, false));
+  }
+
   public void setOwner(String taskId, String userId) {
     commandExecutor.execute(new SetTaskOwnerCmd(taskId, userId));
   }
@@ -171,6 +178,10 @@ public class TaskServiceImpl extends ServiceImpl implements TaskService {
     commandExecutor.execute(new ClaimTaskCmd(taskId, userId));
   }
 
+  public Batch claimAsync(List<String> taskIds, TaskQuery taskQuery, String userId) {
+    return commandExecutor.execute(new SetTaskAssigneeBatchCmd(taskIds, taskQuery, userId, true));
+  }
+
   public void complete(String taskId) {
     complete(taskId, null);
   }
@@ -179,6 +190,10 @@ public class TaskServiceImpl extends ServiceImpl implements TaskService {
     commandExecutor.execute(new CompleteTaskCmd(taskId, variables, false, false));
   }
 
+  public Batch completeAsync(List<String> taskIds, TaskQuery taskQuery, Map<String, Object> variables) {
+    return commandExecutor.execute(new CompleteTaskBatchCmd(taskIds, taskQuery, variables));
+  }
+
   public VariableMap completeWithVariablesInReturn(String taskId, Map<String, Object> variables, boolean deserializeValues) {
     return commandExecutor.execute(new CompleteTaskCmd(taskId, variables, true, deserializeValues));
   }
@@ -20,6 +20,7 @@ import java.util.Date;
 import java.util.List;
 import org.camunda.bpm.engine.history.UserOperationLogEntry;
 import org.camunda.bpm.engine.history.UserOperationLogQuery;
+import org.camunda.bpm.engine.impl.history.event.UserOperationLogPropertyChangesSerializer;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
 import org.camunda.bpm.engine.impl.util.CompareUtil;
@@ -224,4 +225,15 @@ public class UserOperationLogQueryImpl extends AbstractQuery<UserOperationLogQue
   protected boolean hasExcludingConditions() {
     return super.hasExcludingConditions() || CompareUtil.areNotInAscendingOrder(timestampAfter, timestampBefore);
   }
+
+  public String getProperty() {
+    return property;
+  }
+
+  public String getPropertyChangesPattern() {
+    if (property == null) {
+      return null;
+    }
+    return UserOperationLogPropertyChangesSerializer.createPropertyPattern(property);
+  }
 }
@@ -36,6 +36,7 @@ import org.camunda.bpm.engine.impl.persistence.deploy.DeploymentFailListener;
 import org.camunda.bpm.engine.impl.persistence.entity.DeploymentEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionManager;
+import org.camunda.bpm.engine.impl.scripting.CompiledScriptCache;
 import org.camunda.bpm.engine.repository.CaseDefinition;
 import org.camunda.bpm.engine.repository.ProcessDefinition;
 
@@ -105,12 +106,39 @@ public class ProcessApplicationManager {
       }
       finally {
         if(deploymentId != null) {
-          registrationsByDeploymentId.remove(deploymentId);
+          DefaultProcessApplicationRegistration registration = registrationsByDeploymentId.remove(deploymentId);
+          if (registration != null && !isRegistered(registration.getReference())) {
+            removeCompiledScripts(registration.getReference());
+          }
         }
       }
     }
   }
 
+  /**
+   * @return true if the process application is still registered for any deployment
+   */
+  protected boolean isRegistered(ProcessApplicationReference reference) {
+    for (DefaultProcessApplicationRegistration registration : registrationsByDeploymentId.values()) {
+      if (reference.getName().equals(registration.getReference().getName())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Removes the scripts compiled by the script engines of the process application
+   * once it is not registered for any deployment anymore,
+   * so that the compiled script cache does not keep its class loader alive.
+   */
+  protected void removeCompiledScripts(ProcessApplicationReference reference) {
+    CompiledScriptCache compiledScriptCache = Context.getProcessEngineConfiguration().getCompiledScriptCache();
+    if (compiledScriptCache != null) {
+      compiledScriptCache.removeProcessApplication(reference.getName());
+    }
+  }
+
   protected void createJobExecutorRegistrations(Set<String> deploymentIds) {
     try {
       final DeploymentFailListener deploymentFailListener = new DeploymentFailListener(deploymentIds,
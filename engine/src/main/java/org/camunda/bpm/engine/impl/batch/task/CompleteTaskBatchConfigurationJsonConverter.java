@@ -0,0 +1,179 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.batch.task;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.json.JsonObjectConverter;
+import org.camunda.bpm.engine.impl.util.JsonUtil;
+import org.camunda.bpm.engine.variable.VariableMap;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.engine.variable.type.ValueType;
+import org.camunda.bpm.engine.variable.value.TypedValue;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+/**
+ * Serializes the configuration of a task completion batch. Variables are
+ * stored as pairs of value type name and value, only primitive values
+ * except bytes are supported (see {@link #isSupported(TypedValue)}).
+ */
+public class CompleteTaskBatchConfigurationJsonConverter extends JsonObjectConverter<CompleteTaskBatchConfiguration> {
+
+  public static final CompleteTaskBatchConfigurationJsonConverter INSTANCE = new CompleteTaskBatchConfigurationJsonConverter();
+
+  public static final String TASK_IDS = "taskIds";
+  public static final String VARIABLES = "variables";
+  public static final String VARIABLE_TYPE = "type";
+  public static final String VARIABLE_VALUE = "value";
+
+  public JsonObject toJsonObject(CompleteTaskBatchConfiguration configuration) {
+    JsonObject json = JsonUtil.createObject();
+
+    JsonUtil.addListField(json, TASK_IDS, configuration.getIds());
+
+    JsonObject variables = JsonUtil.createObject();
+    VariableMap variableMap = configuration.getVariables();
+    if (variableMap != null) {
+      for (String name : variableMap.keySet()) {
+        variables.add(name, toJsonObject(variableMap.getValueTyped(name)));
+      }
+    }
+    json.add(VARIABLES, variables);
+
+    return json;
+  }
+
+  public CompleteTaskBatchConfiguration toObject(JsonObject json) {
+    VariableMap variables = Variables.createVariables();
+
+    JsonObject variablesJson = JsonUtil.getObject(json, VARIABLES);
+    for (Map.Entry<String, JsonElement> variable : variablesJson.entrySet()) {
+      variables.putValueTyped(variable.getKey(), toTypedValue(JsonUtil.getObject(variable.getValue())));
+    }
+
+    return new CompleteTaskBatchConfiguration(readTaskIds(json), variables);
+  }
+
+  protected List<String> readTaskIds(JsonObject json) {
+    return JsonUtil.asStringList(JsonUtil.getArray(json, TASK_IDS));
+  }
+
+  protected JsonObject toJsonObject(TypedValue typedValue) {
+    ValueType type = getValueType(typedValue);
+    Object value = typedValue.getValue();
+
+    if (!isSupported(typedValue)) {
+      throw new ProcessEngineException("Variable value '" + value + "' is not supported by task completion batches");
+    }
+
+    JsonObject json = JsonUtil.createObject();
+    JsonUtil.addField(json, VARIABLE_TYPE, type.getName());
+
+    if (value instanceof Date) {
+      JsonUtil.addField(json, VARIABLE_VALUE, ((Date) value).getTime());
+    }
+    else {
+      JsonUtil.addFieldRawValue(json, VARIABLE_VALUE, value);
+    }
+
+    return json;
+  }
+
+  protected TypedValue toTypedValue(JsonObject json) {
+    String type = JsonUtil.getString(json, VARIABLE_TYPE);
+
+    if (!json.has(VARIABLE_VALUE) || ValueType.NULL.getName().equals(type)) {
+      return Variables.untypedNullValue();
+    }
+
+    JsonElement value = json.get(VARIABLE_VALUE);
+
+    if (ValueType.STRING.getName().equals(type)) {
+      return Variables.stringValue(value.getAsString());
+    }
+    else if (ValueType.BOOLEAN.getName().equals(type)) {
+      return Variables.booleanValue(value.getAsBoolean());
+    }
+    else if (ValueType.INTEGER.getName().equals(type)) {
+      return Variables.integerValue(value.getAsInt());
+    }
+    else if (ValueType.SHORT.getName().equals(type)) {
+      return Variables.shortValue(value.getAsShort());
+    }
+    else if (ValueType.LONG.getName().equals(type)) {
+      return Variables.longValue(value.getAsLong());
+    }
+    else if (ValueType.DOUBLE.getName().equals(type)) {
+      return Variables.doubleValue(value.getAsDouble());
+    }
+    else if (ValueType.DATE.getName().equals(type)) {
+      return Variables.dateValue(new Date(value.getAsLong()));
+    }
+    else {
+      throw new ProcessEngineException("Variable type '" + type + "' is not supported by task completion batches");
+    }
+  }
+
+  public static boolean isSupported(TypedValue typedValue) {
+    ValueType type = getValueType(typedValue);
+    return type != null && type.isPrimitiveValueType() && type != ValueType.BYTES;
+  }
+
+  /**
+   * @return the type of the value, untyped values are resolved by their java class
+   */
+  protected static ValueType getValueType(TypedValue typedValue) {
+    if (typedValue.getType() != null) {
+      return typedValue.getType();
+    }
+
+    Object value = typedValue.getValue();
+    if (value == null) {
+      return ValueType.NULL;
+    }
+    else if (value instanceof String) {
+      return ValueType.STRING;
+    }
+    else if (value instanceof Boolean) {
+      return ValueType.BOOLEAN;
+    }
+    else if (value instanceof Integer) {
+      return ValueType.INTEGER;
+    }
+    else if (value instanceof Short) {
+      return ValueType.SHORT;
+    }
+    else if (value instanceof Long) {
+      return ValueType.LONG;
+    }
+    else if (value instanceof Double) {
+      return ValueType.DOUBLE;
+    }
+    else if (value instanceof Date) {
+      return ValueType.DATE;
+    }
+    else {
+      return null;
+    }
+  }
+
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.batch.task;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.batch.Batch;
+import org.camunda.bpm.engine.impl.batch.AbstractBatchJobHandler;
+import org.camunda.bpm.engine.impl.batch.BatchJobConfiguration;
+import org.camunda.bpm.engine.impl.batch.BatchJobContext;
+import org.camunda.bpm.engine.impl.batch.BatchJobDeclaration;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.jobexecutor.JobDeclaration;
+import org.camunda.bpm.engine.impl.persistence.entity.ByteArrayEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.MessageEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.TaskEntity;
+
+/**
+ * Completes the tasks of a batch job. The tasks of a job, their executions and
+ * the variables of both are fetched up front with one query per entity type;
+ * tasks which no longer exist are skipped.
+ */
+public class CompleteTasksJobHandler extends AbstractBatchJobHandler<CompleteTaskBatchConfiguration> {
+
+  public static final BatchJobDeclaration JOB_DECLARATION = new BatchJobDeclaration(Batch.TYPE_TASK_COMPLETE);
+
+  @Override
+  public String getType() {
+    return Batch.TYPE_TASK_COMPLETE;
+  }
+
+  @Override
+  public void execute(BatchJobConfiguration configuration, ExecutionEntity execution, CommandContext commandContext, String tenantId) {
+    ByteArrayEntity configurationEntity = commandContext
+        .getDbEntityManager()
+        .selectById(ByteArrayEntity.class, configuration.getConfigurationByteArrayId());
+
+    CompleteTaskBatchConfiguration batchConfiguration = readConfiguration(configurationEntity.getBytes());
+
+    List<TaskEntity> tasks = commandContext.getTaskManager().prefetchTasks(batchConfiguration.getIds());
+
+    boolean initialLegacyRestrictions = commandContext.isRestrictUserOperationLogToAuthenticatedUsers();
+    commandContext.disableUserOperationLog();
+    commandContext.setRestrictUserOperationLogToAuthenticatedUsers(true);
+    try {
+      TaskService taskService = commandContext.getProcessEngineConfiguration().getTaskService();
+
+      for (TaskEntity task : tasks) {
+        // completing a task may have removed other tasks of this job
+        if (!task.isDeleted()) {
+          taskService.complete(task.getId(), batchConfiguration.getVariables());
+        }
+      }
+    } finally {
+      commandContext.enableUserOperationLog();
+      commandContext.setRestrictUserOperationLogToAuthenticatedUsers(initialLegacyRestrictions);
+    }
+
+    commandContext.getByteArrayManager().delete(configurationEntity);
+  }
+
+  @Override
+  public JobDeclaration<BatchJobContext, MessageEntity> getJobDeclaration() {
+    return JOB_DECLARATION;
+  }
+
+  @Override
+  protected CompleteTaskBatchConfiguration createJobConfiguration(CompleteTaskBatchConfiguration configuration, List<String> taskIdsForJob) {
+    return new CompleteTaskBatchConfiguration(taskIdsForJob, configuration.getVariables());
+  }
+
+  @Override
+  protected CompleteTaskBatchConfigurationJsonConverter getJsonConverterInstance() {
+    return CompleteTaskBatchConfigurationJsonConverter.INSTANCE;
+  }
+
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.batch.task;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.json.JsonObjectConverter;
+import org.camunda.bpm.engine.impl.util.JsonUtil;
+
+import com.google.gson.JsonObject;
+
+public class SetTaskAssigneeBatchConfigurationJsonConverter extends JsonObjectConverter<SetTaskAssigneeBatchConfiguration> {
+
+  public static final SetTaskAssigneeBatchConfigurationJsonConverter INSTANCE = new SetTaskAssigneeBatchConfigurationJsonConverter();
+
+  public static final String TASK_IDS = "taskIds";
+  public static final String USER_ID = "userId";
+  public static final String CLAIM = "claim";
+
+  public JsonObject toJsonObject(SetTaskAssigneeBatchConfiguration configuration) {
+    JsonObject json = JsonUtil.createObject();
+
+    JsonUtil.addListField(json, TASK_IDS, configuration.getIds());
+    JsonUtil.addField(json, USER_ID, configuration.getUserId());
+    JsonUtil.addField(json, CLAIM, configuration.isClaim());
+    return json;
+  }
+
+  public SetTaskAssigneeBatchConfiguration toObject(JsonObject json) {
+    String userId = null;
+    if (json.has(USER_ID)) {
+      userId = JsonUtil.getString(json, USER_ID);
+    }
+
+    return new SetTaskAssigneeBatchConfiguration(readTaskIds(json), userId, JsonUtil.getBoolean(json, CLAIM));
+  }
+
+  protected List<String> readTaskIds(JsonObject json) {
+    return JsonUtil.asStringList(JsonUtil.getArray(json, TASK_IDS));
+  }
+
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.batch.task;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.TaskAlreadyClaimedException;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.batch.Batch;
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.batch.AbstractBatchJobHandler;
+import org.camunda.bpm.engine.impl.batch.BatchJobConfiguration;
+import org.camunda.bpm.engine.impl.batch.BatchJobContext;
+import org.camunda.bpm.engine.impl.batch.BatchJobDeclaration;
+import org.camunda.bpm.engine.impl.cmd.CommandLogger;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.jobexecutor.JobDeclaration;
+import org.camunda.bpm.engine.impl.persistence.entity.ByteArrayEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.MessageEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.TaskEntity;
+
+/**
+ * Claims the tasks of a batch job or sets their assignee. The tasks of a job
+ * are fetched up front with a single query; tasks which no longer exist are skipped.
+ * A task which is already claimed by another user is skipped and logged, the
+ * remaining tasks of the job are claimed nevertheless.
+ */
+public class SetTaskAssigneeJobHandler extends AbstractBatchJobHandler<SetTaskAssigneeBatchConfiguration> {
+
+  protected static final CommandLogger LOG = ProcessEngineLogger.CMD_LOGGER;
+
+  public static final BatchJobDeclaration JOB_DECLARATION = new BatchJobDeclaration(Batch.TYPE_TASK_SET_ASSIGNEE);
+
+  @Override
+  public String getType() {
+    return Batch.TYPE_TASK_SET_ASSIGNEE;
+  }
+
+  @Override
+  public void execute(BatchJobConfiguration configuration, ExecutionEntity execution, CommandContext commandContext, String tenantId) {
+    ByteArrayEntity configurationEntity = commandContext
+        .getDbEntityManager()
+        .selectById(ByteArrayEntity.class, configuration.getConfigurationByteArrayId());
+
+    SetTaskAssigneeBatchConfiguration batchConfiguration = readConfiguration(configurationEntity.getBytes());
+
+    List<TaskEntity> tasks = commandContext.getTaskManager().prefetchTasks(batchConfiguration.getIds());
+
+    boolean initialLegacyRestrictions = commandContext.isRestrictUserOperationLogToAuthenticatedUsers();
+    commandContext.disableUserOperationLog();
+    commandContext.setRestrictUserOperationLogToAuthenticatedUsers(true);
+    try {
+      TaskService taskService = commandContext.getProcessEngineConfiguration().getTaskService();
+
+      for (TaskEntity task : tasks) {
+        if (batchConfiguration.isClaim()) {
+          try {
+            taskService.claim(task.getId(), batchConfiguration.getUserId());
+          }
+          catch (TaskAlreadyClaimedException e) {
+            LOG.taskAlreadyClaimedInBatch(task.getId(), e.getTaskAssignee(), batchConfiguration.getUserId());
+          }
+        }
+        else {
+          taskService.setAssignee(task.getId(), batchConfiguration.getUserId());
+        }
+      }
+    } finally {
+      commandContext.enableUserOperationLog();
+      commandContext.setRestrictUserOperationLogToAuthenticatedUsers(initialLegacyRestrictions);
+    }
+
+    commandContext.getByteArrayManager().delete(configurationEntity);
+  }
+
+  @Override
+  public JobDeclaration<BatchJobContext, MessageEntity> getJobDeclaration() {
+    return JOB_DECLARATION;
+  }
+
+  @Override
+  protected SetTaskAssigneeBatchConfiguration createJobConfiguration(SetTaskAssigneeBatchConfiguration configuration, List<String> taskIdsForJob) {
+    return new SetTaskAssigneeBatchConfiguration(taskIdsForJob, configuration.getUserId(), configuration.isClaim());
+  }
+
+  @Override
+  protected SetTaskAssigneeBatchConfigurationJsonConverter getJsonConverterInstance() {
+    return SetTaskAssigneeBatchConfigurationJsonConverter.INSTANCE;
+  }
+
+}
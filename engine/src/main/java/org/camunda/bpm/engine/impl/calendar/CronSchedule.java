@@ -0,0 +1,58 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.calendar;
+
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+
+/**
+ * {@link CycleSchedule} of a cron expression. The repeat offset does not apply to cron expressions.
+ */
+public class CronSchedule implements CycleSchedule {
+
+  protected final CronExpression cronExpression;
+
+  public CronSchedule(String expression) throws ParseException {
+    // the parsed expression is only read when computing fire times
+    this.cronExpression = new CronExpression(expression);
+  }
+
+  public Date getNextFireTime(Date startDate, long repeatOffset) {
+    return cronExpression.getTimeAfter(startDate == null ? ClockUtil.getCurrentTime() : startDate);
+  }
+
+  public List<Date> getNextFireTimes(Date startDate, long repeatOffset, int count) {
+    List<Date> fireTimes = new ArrayList<Date>(count);
+
+    Date fireTime = getNextFireTime(startDate, repeatOffset);
+    while (fireTime != null && fireTimes.size() < count) {
+      fireTimes.add(fireTime);
+      fireTime = cronExpression.getTimeAfter(fireTime);
+    }
+
+    return fireTimes;
+  }
+
+  public String toString() {
+    return cronExpression.toString();
+  }
+
+}
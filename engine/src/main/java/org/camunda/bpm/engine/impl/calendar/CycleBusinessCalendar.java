@@ -17,10 +17,12 @@
 package org.camunda.bpm.engine.impl.calendar;
 
 import java.util.Date;
+import java.util.List;
 
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
-import org.camunda.bpm.engine.impl.util.ClockUtil;
 import org.camunda.bpm.engine.impl.util.EngineUtilLogger;
+import org.camunda.commons.utils.cache.Cache;
+import org.camunda.commons.utils.cache.ConcurrentLruCache;
 
 public class CycleBusinessCalendar implements BusinessCalendar {
 
@@ -28,6 +30,18 @@ public class CycleBusinessCalendar implements BusinessCalendar {
 
   public static String NAME = "cycle";
 
+  public static final int DEFAULT_SCHEDULE_CACHE_CAPACITY = 1000;
+
+  protected Cache<String, CycleSchedule> scheduleCache;
+
+  public CycleBusinessCalendar() {
+    this(DEFAULT_SCHEDULE_CACHE_CAPACITY);
+  }
+
+  public CycleBusinessCalendar(int scheduleCacheCapacity) {
+    scheduleCache = new ConcurrentLruCache<String, CycleSchedule>(scheduleCacheCapacity);
+  }
+
   public Date resolveDuedate(String duedateDescription) {
     return resolveDuedate(duedateDescription, null);
   }
@@ -37,14 +51,37 @@ public class CycleBusinessCalendar implements BusinessCalendar {
   }
 
   public Date resolveDuedate(String duedateDescription, Date startDate, long repeatOffset) {
+    return getSchedule(duedateDescription).getNextFireTime(startDate, repeatOffset);
+  }
+
+  /**
+   * Resolves the next <code>count</code> due dates of the cycle, e.g. to schedule
+   * several repetitions of a timer at once.
+   */
+  public List<Date> resolveDuedates(String duedateDescription, Date startDate, long repeatOffset, int count) {
+    return getSchedule(duedateDescription).getNextFireTimes(startDate, repeatOffset, count);
+  }
+
+  /**
+   * @return the parsed schedule of the cycle; schedules are cached by their description
+   */
+  public CycleSchedule getSchedule(String duedateDescription) {
+    CycleSchedule schedule = scheduleCache.get(duedateDescription);
+
+    if (schedule == null) {
+      schedule = createSchedule(duedateDescription);
+      scheduleCache.put(duedateDescription, schedule);
+    }
+
+    return schedule;
+  }
+
+  protected CycleSchedule createSchedule(String duedateDescription) {
     try {
       if (duedateDescription.startsWith("R")) {
-        DurationHelper durationHelper = new DurationHelper(duedateDescription, startDate);
-        durationHelper.setRepeatOffset(repeatOffset);
-        return durationHelper.getDateAfter(startDate);
+        return new RepeatingIntervalSchedule(duedateDescription);
       } else {
-        CronExpression ce = new CronExpression(duedateDescription);
-        return ce.getTimeAfter(startDate == null ? ClockUtil.getCurrentTime() : startDate);
+        return new CronSchedule(duedateDescription);
       }
 
     }
@@ -54,4 +91,8 @@ public class CycleBusinessCalendar implements BusinessCalendar {
 
   }
 
+  public void clearScheduleCache() {
+    scheduleCache.clear();
+  }
+
 }
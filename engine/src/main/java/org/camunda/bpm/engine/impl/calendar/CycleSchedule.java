@@ -0,0 +1,48 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.calendar;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Parsed and immutable representation of a timer cycle, i.e. a cron expression
+ * or an ISO 8601 repeating interval. Instances are thread-safe and are cached
+ * by the {@link CycleBusinessCalendar} so that a cycle is parsed once and not
+ * each time a repeating timer schedules its next job.
+ */
+public interface CycleSchedule {
+
+  /**
+   * @param startDate the date to compute the next fire time from; the current time is used if <code>null</code>
+   * @param repeatOffset offset in milliseconds added to the due dates of repeating intervals
+   *
+   * @return the next fire time after the start date or <code>null</code> if the cycle has no further repetitions
+   */
+  Date getNextFireTime(Date startDate, long repeatOffset);
+
+  /**
+   * @param startDate the date to compute the fire times from; the current time is used if <code>null</code>
+   * @param repeatOffset offset in milliseconds added to the due dates of repeating intervals
+   * @param count the maximum number of fire times to return
+   *
+   * @return the next fire times after the start date in ascending order; contains less than
+   * <code>count</code> elements if the cycle has less repetitions left
+   */
+  List<Date> getNextFireTimes(Date startDate, long repeatOffset, int count);
+
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.calendar;
+
+import java.math.BigDecimal;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.TimeZone;
+
+import javax.xml.datatype.DatatypeConstants;
+import javax.xml.datatype.DatatypeFactory;
+import javax.xml.datatype.Duration;
+
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.impl.util.EngineUtilLogger;
+
+/**
+ * {@link CycleSchedule} of an ISO 8601 repeating interval (e.g. <code>R3/PT10M</code>).
+ *
+ * <p>Computes the same due dates as the {@link DurationHelper}, but the expression is parsed
+ * once and the period is added with <code>java.time</code> arithmetic instead of a new
+ * {@link java.util.Calendar} per repetition.</p>
+ */
+public class RepeatingIntervalSchedule implements CycleSchedule {
+
+  private static final EngineUtilLogger LOG = ProcessEngineLogger.UTIL_LOGGER;
+
+  protected final String expression;
+
+  protected final int times;
+
+  /** explicit start of the interval, may be null */
+  protected final Date start;
+
+  /** explicit end of the interval, may be null */
+  protected final Date end;
+
+  protected final long years;
+  protected final long months;
+  protected final long days;
+  protected final long millis;
+
+  public RepeatingIntervalSchedule(String expression) throws Exception {
+    this.expression = expression;
+
+    List<String> parts = Arrays.asList(expression.split("/"));
+    if (parts.size() > 3 || parts.isEmpty() || !parts.get(0).startsWith("R")) {
+      throw LOG.cannotParseDuration(expression);
+    }
+
+    times = parts.get(0).length() == 1 ? Integer.MAX_VALUE : Integer.parseInt(parts.get(0).substring(1));
+    parts = parts.subList(1, parts.size());
+
+    DatatypeFactory datatypeFactory = DatatypeFactory.newInstance();
+    Duration period;
+
+    if (isDuration(parts.get(0))) {
+      period = parsePeriod(datatypeFactory, parts.get(0));
+      start = null;
+      end = parts.size() == 1 ? null : DateTimeUtil.parseDate(parts.get(1));
+    } else {
+      start = DateTimeUtil.parseDate(parts.get(0));
+      if (isDuration(parts.get(1))) {
+        period = parsePeriod(datatypeFactory, parts.get(1));
+        end = null;
+      } else {
+        end = DateTimeUtil.parseDate(parts.get(1));
+        period = datatypeFactory.newDuration(end.getTime() - start.getTime());
+      }
+    }
+
+    int sign = period.getSign();
+    years = sign * period.getYears();
+    months = sign * period.getMonths();
+    days = sign * period.getDays();
+
+    // hours, minutes and seconds are added as elapsed time like Duration#addTo(Calendar) does
+    long timeMillis = period.getHours() * 3600000L + period.getMinutes() * 60000L;
+    BigDecimal seconds = (BigDecimal) period.getField(DatatypeConstants.SECONDS);
+    if (seconds != null) {
+      timeMillis += seconds.movePointRight(3).longValue();
+    }
+    millis = sign * timeMillis;
+  }
+
+  public Date getNextFireTime(Date startDate, long repeatOffset) {
+    List<Date> fireTimes = getNextFireTimes(startDate, repeatOffset, 1);
+    return fireTimes.isEmpty() ? null : fireTimes.get(0);
+  }
+
+  public List<Date> getNextFireTimes(Date startDate, long repeatOffset, int count) {
+    if (count <= 0) {
+      return Collections.emptyList();
+    }
+
+    Date date = startDate == null ? ClockUtil.getCurrentTime() : startDate;
+    ZoneId zone = TimeZone.getDefault().toZoneId();
+
+    if (start != null || end == null) {
+      Date intervalStart = start != null ? start : date;
+      return getFireTimesFromStart(intervalStart.toInstant().atZone(zone), date, repeatOffset, count);
+    }
+    else {
+      return getFireTimesBeforeEnd(end.toInstant().atZone(zone), date, count);
+    }
+  }
+
+  protected List<Date> getFireTimesFromStart(ZonedDateTime current, Date date, long repeatOffset, int count) {
+    // use date without the current offset for due date calculation to get the
+    // next due date as it would be without any modifications, later add offset
+    long limit = date.getTime() - repeatOffset;
+
+    int repetitions = 0;
+    while (repetitions < times && toMillis(current) <= limit) {
+      current = addPeriod(current, 1);
+      repetitions++;
+    }
+
+    if (toMillis(current) < limit) {
+      return Collections.emptyList();
+    }
+
+    List<Date> fireTimes = new ArrayList<Date>(Math.min(count, times));
+    fireTimes.add(new Date(toMillis(current) + repeatOffset));
+
+    while (repetitions < times && fireTimes.size() < count) {
+      current = addPeriod(current, 1);
+      repetitions++;
+      fireTimes.add(new Date(toMillis(current) + repeatOffset));
+    }
+
+    return fireTimes;
+  }
+
+  protected List<Date> getFireTimesBeforeEnd(ZonedDateTime intervalEnd, Date date, int count) {
+    long limit = date.getTime();
+
+    if (toMillis(intervalEnd) < limit) {
+      return Collections.emptyList();
+    }
+
+    // walk back from the end of the interval and keep the earliest fire times after the date
+    Deque<Long> fireTimes = new ArrayDeque<Long>();
+    fireTimes.addLast(toMillis(intervalEnd));
+
+    ZonedDateTime current = addPeriod(intervalEnd, -1);
+    for (int i = 0; i < times && toMillis(current) > limit; i++) {
+      fireTimes.addLast(toMillis(current));
+      if (fireTimes.size() > count) {
+        fireTimes.removeFirst();
+      }
+      current = addPeriod(current, -1);
+    }
+
+    List<Date> result = new ArrayList<Date>(fireTimes.size());
+    Iterator<Long> ascending = fireTimes.descendingIterator();
+    while (ascending.hasNext()) {
+      result.add(new Date(ascending.next()));
+    }
+    return result;
+  }
+
+  protected ZonedDateTime addPeriod(ZonedDateTime dateTime, int direction) {
+    return dateTime
+      .plusYears(direction * years)
+      .plusMonths(direction * months)
+      .plusDays(direction * days)
+      .plus(direction * millis, ChronoUnit.MILLIS);
+  }
+
+  protected long toMillis(ZonedDateTime dateTime) {
+    return dateTime.toInstant().toEpochMilli();
+  }
+
+  protected Duration parsePeriod(DatatypeFactory datatypeFactory, String period) {
+    if (period.matches(DurationHelper.PnW_PATTERN)) {
+      int numberOfWeeks = Integer.parseInt(period.replaceAll("\\D", ""));
+      return datatypeFactory.newDuration(numberOfWeeks * 7L * 24 * 60 * 60 * 1000);
+    }
+    return datatypeFactory.newDuration(period);
+  }
+
+  protected boolean isDuration(String time) {
+    return time.startsWith("P");
+  }
+
+  public String toString() {
+    return expression;
+  }
+
+}
@@ -96,6 +96,8 @@ import org.camunda.bpm.engine.impl.ServiceImpl;
 import org.camunda.bpm.engine.impl.TaskServiceImpl;
 import org.camunda.bpm.engine.impl.application.ProcessApplicationManager;
 import org.camunda.bpm.engine.impl.batch.removaltime.BatchSetRemovalTimeJobHandler;
+import org.camunda.bpm.engine.impl.batch.task.CompleteTasksJobHandler;
+import org.camunda.bpm.engine.impl.batch.task.SetTaskAssigneeJobHandler;
 import org.camunda.bpm.engine.impl.batch.removaltime.DecisionSetRemovalTimeJobHandler;
 import org.camunda.bpm.engine.impl.batch.removaltime.ProcessSetRemovalTimeJobHandler;
 import org.camunda.bpm.engine.impl.batch.BatchJobHandler;
@@ -138,6 +140,7 @@ import org.camunda.bpm.engine.impl.cmmn.transformer.DefaultCmmnTransformFactory;
 import org.camunda.bpm.engine.impl.db.DbIdGenerator;
 import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManagerFactory;
 import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityCacheKeyMapping;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.QueryResultCache;
 import org.camunda.bpm.engine.impl.db.sql.DbSqlPersistenceProviderFactory;
 import org.camunda.bpm.engine.impl.db.sql.DbSqlSessionFactory;
 import org.camunda.bpm.engine.impl.delegate.DefaultDelegateInterceptor;
@@ -217,6 +220,7 @@ import org.camunda.bpm.engine.impl.jobexecutor.JobDeclaration;
 import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
 import org.camunda.bpm.engine.impl.jobexecutor.JobHandler;
 import org.camunda.bpm.engine.impl.jobexecutor.NotifyAcquisitionRejectedJobsHandler;
+import org.camunda.bpm.engine.impl.jobexecutor.ProcessDefinitionStatisticsReconciliationJobHandler;
 import org.camunda.bpm.engine.impl.jobexecutor.ProcessEventJobHandler;
 import org.camunda.bpm.engine.impl.jobexecutor.RejectedJobsHandler;
 import org.camunda.bpm.engine.impl.jobexecutor.TimerActivateJobDefinitionHandler;
@@ -240,6 +244,7 @@ import org.camunda.bpm.engine.impl.history.event.SimpleIpBasedProvider;
 import org.camunda.bpm.engine.impl.metrics.parser.MetricsBpmnParseListener;
 import org.camunda.bpm.engine.impl.metrics.parser.MetricsCmmnTransformListener;
 import org.camunda.bpm.engine.impl.metrics.reporter.DbMetricsReporter;
+import org.camunda.bpm.engine.impl.migration.CompiledMigrationPlanCache;
 import org.camunda.bpm.engine.impl.migration.DefaultMigrationActivityMatcher;
 import org.camunda.bpm.engine.impl.migration.DefaultMigrationInstructionGenerator;
 import org.camunda.bpm.engine.impl.migration.MigrationActivityMatcher;
@@ -306,6 +311,7 @@ import org.camunda.bpm.engine.impl.persistence.entity.IncidentManager;
 import org.camunda.bpm.engine.impl.persistence.entity.JobDefinitionManager;
 import org.camunda.bpm.engine.impl.persistence.entity.JobManager;
 import org.camunda.bpm.engine.impl.persistence.entity.MeterLogManager;
+import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionStatisticsCounterManager;
 import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionManager;
 import org.camunda.bpm.engine.impl.persistence.entity.PropertyManager;
 import org.camunda.bpm.engine.impl.persistence.entity.ReportManager;
@@ -324,6 +330,7 @@ import org.camunda.bpm.engine.impl.runtime.CorrelationHandler;
 import org.camunda.bpm.engine.impl.runtime.DefaultConditionHandler;
 import org.camunda.bpm.engine.impl.runtime.DefaultCorrelationHandler;
 import org.camunda.bpm.engine.impl.runtime.DefaultDeserializationTypeValidator;
+import org.camunda.bpm.engine.impl.scripting.CompiledScriptCache;
 import org.camunda.bpm.engine.impl.scripting.ScriptFactory;
 import org.camunda.bpm.engine.impl.scripting.engine.BeansResolverFactory;
 import org.camunda.bpm.engine.impl.scripting.engine.ResolverFactory;
@@ -458,6 +465,16 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected int cacheCapacity = 1000;
   protected boolean enableFetchProcessDefinitionDescription = true;
 
+  /**
+   * If true, the results of task, process definition and filter queries are cached
+   * for a short time and shared between callers with the same authentication.
+   */
+  protected boolean queryResultCacheEnabled = false;
+  protected int queryResultCacheCapacity = QueryResultCache.DEFAULT_CAPACITY;
+  /** time to live of cached query results in milliseconds */
+  protected long queryResultCacheTimeToLive = QueryResultCache.DEFAULT_TIME_TO_LIVE;
+  protected QueryResultCache queryResultCache;
+
   // JOB EXECUTOR /////////////////////////////////////////////////////////////
 
   protected List<JobHandler> customJobHandlers;
@@ -469,6 +486,12 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   // EXTERNAL TASK /////////////////////////////////////////////////////////////
   protected PriorityProvider<ExternalTaskActivityBehavior> externalTaskPriorityProvider;
 
+  /**
+   * The number of external tasks that are handled in one transaction by the
+   * bulk operations of the {@link ExternalTaskService}.
+   */
+  protected int externalTaskBulkChunkSize = 100;
+
   // MYBATIS SQL SESSION FACTORY //////////////////////////////////////////////
 
   protected SqlSessionFactory sqlSessionFactory;
@@ -540,6 +563,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected ScriptingEnvironment scriptingEnvironment;
   protected List<ScriptEnvResolver> scriptEnvResolvers;
   protected ScriptFactory scriptFactory;
+  /** capacity of the compiled script cache; a value of zero or less disables it */
+  protected int compiledScriptCacheCapacity = CompiledScriptCache.DEFAULT_CAPACITY;
+  protected CompiledScriptCache compiledScriptCache;
   protected boolean autoStoreScriptVariables = false;
   protected boolean enableScriptCompilation = true;
   protected boolean enableScriptEngineCaching = true;
@@ -676,6 +702,55 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   protected boolean isExecutionTreePrefetchEnabled = true;
 
+  /**
+   * If the execution tree of a process instance contains at least this many executions,
+   * the tasks, event subscriptions, jobs, external tasks, incidents and variables of the
+   * whole tree are fetched together with the tree (one query per entity type) instead of
+   * lazily per execution. A value of zero or less disables prefetching of related entities,
+   * which is the default.
+   */
+  protected int executionTreeRelatedEntitiesPrefetchThreshold = 0;
+
+  /**
+   * If true, the counts of process instances, failed jobs and incidents returned by the
+   * process definition statistics query are read from counters which are maintained
+   * together with the runtime data instead of being aggregated from the runtime tables.
+   */
+  protected boolean processDefinitionStatisticsMaterialized = false;
+
+  /**
+   * Interval in seconds in which the materialized process definition statistics are
+   * corrected from the runtime tables and compacted.
+   */
+  protected int processDefinitionStatisticsReconciliationInterval = 3600;
+
+  /**
+   * If true, the inputs and outputs of an evaluated decision are stored together in a
+   * single byte array referenced by the historic decision instance instead of one row
+   * per input and output in the ACT_HI_DEC_IN and ACT_HI_DEC_OUT tables.
+   */
+  protected boolean historicDecisionInputOutputCompact = false;
+
+  /**
+   * If true, a user operation which changes several properties is stored as a single
+   * row of the ACT_HI_OP_LOG table holding all property changes instead of one row
+   * per changed property. Queries expand such rows into one entry per property with
+   * an id of its own, so single entries can still be deleted.
+   *
+   * <p>Since the page boundaries of a query are only known after expansion, a page
+   * is read from the first matching row on; deep pages get more expensive. Once the
+   * setting is disabled again, queries count and page existing compact rows as a
+   * single entry.</p>
+   */
+  protected boolean userOperationLogCompact = false;
+
+  /**
+   * If true, repeated updates of a variable within one command are coalesced:
+   * object values are serialized once when the command context closes and only
+   * a single historic variable update (carrying the final value) is produced.
+   */
+  protected boolean variableUpdateCoalescing = false;
+
   /**
    * If true the process engine will attempt to acquire an exclusive lock before
    * creating a deployment.
@@ -717,6 +792,18 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected boolean isMetricsEnabled = true;
   protected boolean isDbMetricsReporterActivate = true;
 
+  /**
+   * If true, the metrics reporter aggregates the reported metrics into hourly and
+   * daily rollups which are used by metrics queries on aligned time ranges.
+   */
+  protected boolean isMetricsRollupEnabled = false;
+
+  /**
+   * Number of days reported metrics are kept after they have been rolled up;
+   * null keeps them forever.
+   */
+  protected Integer metricsRawDataRetentionDays;
+
   protected MetricsReporterIdProvider metricsReporterIdProvider;
 
   /**
@@ -774,6 +861,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected List<MigratingTransitionInstanceValidator> migratingTransitionInstanceValidators;
   protected List<MigratingCompensationInstanceValidator> migratingCompensationInstanceValidators;
 
+  protected int compiledMigrationPlanCacheCapacity = CompiledMigrationPlanCache.DEFAULT_CAPACITY;
+  protected CompiledMigrationPlanCache compiledMigrationPlanCache;
+
   // Default user permission for task
   protected Permission defaultUserPermissionForTask;
 
@@ -894,6 +984,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     initIdGenerator();
     initFailedJobCommandFactory();
     initDeployers();
+    initQueryResultCache();
     initJobProvider();
     initExternalTaskPriorityProvider();
     initBatchHandlers();
@@ -1220,6 +1311,12 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
       BatchSetRemovalTimeJobHandler batchSetRemovalTimeJobHandler = new BatchSetRemovalTimeJobHandler();
       batchHandlers.put(batchSetRemovalTimeJobHandler.getType(), batchSetRemovalTimeJobHandler);
+
+      SetTaskAssigneeJobHandler setTaskAssigneeJobHandler = new SetTaskAssigneeJobHandler();
+      batchHandlers.put(setTaskAssigneeJobHandler.getType(), setTaskAssigneeJobHandler);
+
+      CompleteTasksJobHandler completeTasksJobHandler = new CompleteTasksJobHandler();
+      batchHandlers.put(completeTasksJobHandler.getType(), completeTasksJobHandler);
     }
 
     if (customBatchJobHandlers != null) {
@@ -1650,6 +1747,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
       addSessionFactory(new GenericManagerFactory(AuthorizationManager.class));
       addSessionFactory(new GenericManagerFactory(FilterManager.class));
       addSessionFactory(new GenericManagerFactory(MeterLogManager.class));
+      addSessionFactory(new GenericManagerFactory(ProcessDefinitionStatisticsCounterManager.class));
       addSessionFactory(new GenericManagerFactory(ExternalTaskManager.class));
       addSessionFactory(new GenericManagerFactory(ReportManager.class));
       addSessionFactory(new GenericManagerFactory(BatchManager.class));
@@ -1711,6 +1809,13 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     initMigratingActivityInstanceValidators();
     initMigratingTransitionInstanceValidators();
     initMigratingCompensationInstanceValidators();
+    initCompiledMigrationPlanCache();
+  }
+
+  protected void initCompiledMigrationPlanCache() {
+    if (compiledMigrationPlanCache == null && compiledMigrationPlanCacheCapacity > 0) {
+      compiledMigrationPlanCache = new CompiledMigrationPlanCache(compiledMigrationPlanCacheCapacity);
+    }
   }
 
   protected void initMigrationActivityMatcher() {
@@ -2001,6 +2106,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     HistoryCleanupJobHandler historyCleanupJobHandler = new HistoryCleanupJobHandler();
     jobHandlers.put(historyCleanupJobHandler.getType(), historyCleanupJobHandler);
 
+    ProcessDefinitionStatisticsReconciliationJobHandler statisticsReconciliationJobHandler = new ProcessDefinitionStatisticsReconciliationJobHandler();
+    jobHandlers.put(statisticsReconciliationJobHandler.getType(), statisticsReconciliationJobHandler);
+
     for (JobHandler batchHandler : batchHandlers.values()) {
       jobHandlers.put(batchHandler.getType(), batchHandler);
     }
@@ -2167,6 +2275,20 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     metricsRegistry.createMeter(Metrics.JOB_FAILED);
     metricsRegistry.createMeter(Metrics.JOB_LOCKED_EXCLUSIVE);
     metricsRegistry.createMeter(Metrics.JOB_EXECUTION_REJECTED);
+    metricsRegistry.createMeter(Metrics.JOB_LOAD_ROUND_TRIPS);
+
+    metricsRegistry.createMeter(Metrics.EXTERNAL_TASK_FETCHES);
+    metricsRegistry.createMeter(Metrics.EXTERNAL_TASK_PREFETCH_QUERIES);
+
+    metricsRegistry.createMeter(Metrics.EXECUTION_TREE_PREFETCH_QUERIES_SAVED);
+
+    metricsRegistry.createMeter(Metrics.CASE_TRANSITIONS);
+    metricsRegistry.createMeter(Metrics.CASE_TRANSITION_SENTRY_EVALUATION_TIME);
+
+    metricsRegistry.createMeter(Metrics.SCRIPT_COMPILATIONS);
+    metricsRegistry.createMeter(Metrics.SCRIPT_COMPILATION_TIME);
+
+    metricsRegistry.createMeter(Metrics.MIGRATED_PROCESS_INSTANCES);
 
     metricsRegistry.createMeter(Metrics.EXECUTED_DECISION_ELEMENTS);
   }
@@ -2268,6 +2390,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     if (scriptFactory == null) {
       scriptFactory = new ScriptFactory();
     }
+    if (compiledScriptCache == null && compiledScriptCacheCapacity > 0) {
+      compiledScriptCache = new CompiledScriptCache(compiledScriptCacheCapacity);
+    }
     if (scriptEnvResolvers == null) {
       scriptEnvResolvers = new ArrayList<>();
     }
@@ -2489,6 +2614,14 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     }
   }
 
+  // query result cache /////////////////////////////////////////////////////
+
+  protected void initQueryResultCache() {
+    if (queryResultCacheEnabled && queryResultCache == null) {
+      queryResultCache = QueryResultCache.createDefaultQueryResultCache(queryResultCacheCapacity, queryResultCacheTimeToLive);
+    }
+  }
+
   // resource authorization provider //////////////////////////////////////////
 
   protected void initResourceAuthorizationProvider() {
@@ -2781,6 +2914,14 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.externalTaskPriorityProvider = externalTaskPriorityProvider;
   }
 
+  public int getExternalTaskBulkChunkSize() {
+    return externalTaskBulkChunkSize;
+  }
+
+  public void setExternalTaskBulkChunkSize(int externalTaskBulkChunkSize) {
+    this.externalTaskBulkChunkSize = externalTaskBulkChunkSize;
+  }
+
   public IdGenerator getIdGenerator() {
     return idGenerator;
   }
@@ -3665,6 +3806,54 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.isExecutionTreePrefetchEnabled = isExecutionTreePrefetchingEnabled;
   }
 
+  public int getExecutionTreeRelatedEntitiesPrefetchThreshold() {
+    return executionTreeRelatedEntitiesPrefetchThreshold;
+  }
+
+  public void setExecutionTreeRelatedEntitiesPrefetchThreshold(int executionTreeRelatedEntitiesPrefetchThreshold) {
+    this.executionTreeRelatedEntitiesPrefetchThreshold = executionTreeRelatedEntitiesPrefetchThreshold;
+  }
+
+  public boolean isProcessDefinitionStatisticsMaterialized() {
+    return processDefinitionStatisticsMaterialized;
+  }
+
+  public void setProcessDefinitionStatisticsMaterialized(boolean processDefinitionStatisticsMaterialized) {
+    this.processDefinitionStatisticsMaterialized = processDefinitionStatisticsMaterialized;
+  }
+
+  public int getProcessDefinitionStatisticsReconciliationInterval() {
+    return processDefinitionStatisticsReconciliationInterval;
+  }
+
+  public void setProcessDefinitionStatisticsReconciliationInterval(int processDefinitionStatisticsReconciliationInterval) {
+    this.processDefinitionStatisticsReconciliationInterval = processDefinitionStatisticsReconciliationInterval;
+  }
+
+  public boolean isHistoricDecisionInputOutputCompact() {
+    return historicDecisionInputOutputCompact;
+  }
+
+  public void setHistoricDecisionInputOutputCompact(boolean historicDecisionInputOutputCompact) {
+    this.historicDecisionInputOutputCompact = historicDecisionInputOutputCompact;
+  }
+
+  public boolean isUserOperationLogCompact() {
+    return userOperationLogCompact;
+  }
+
+  public void setUserOperationLogCompact(boolean userOperationLogCompact) {
+    this.userOperationLogCompact = userOperationLogCompact;
+  }
+
+  public boolean isVariableUpdateCoalescing() {
+    return variableUpdateCoalescing;
+  }
+
+  public void setVariableUpdateCoalescing(boolean variableUpdateCoalescing) {
+    this.variableUpdateCoalescing = variableUpdateCoalescing;
+  }
+
   public ProcessEngineImpl getProcessEngine() {
     return processEngine;
   }
@@ -3777,6 +3966,24 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.scriptFactory = scriptFactory;
   }
 
+  public int getCompiledScriptCacheCapacity() {
+    return compiledScriptCacheCapacity;
+  }
+
+  public ProcessEngineConfigurationImpl setCompiledScriptCacheCapacity(int compiledScriptCacheCapacity) {
+    this.compiledScriptCacheCapacity = compiledScriptCacheCapacity;
+    return this;
+  }
+
+  public CompiledScriptCache getCompiledScriptCache() {
+    return compiledScriptCache;
+  }
+
+  public ProcessEngineConfigurationImpl setCompiledScriptCache(CompiledScriptCache compiledScriptCache) {
+    this.compiledScriptCache = compiledScriptCache;
+    return this;
+  }
+
   public void setScriptingEnvironment(ScriptingEnvironment scriptingEnvironment) {
     this.scriptingEnvironment = scriptingEnvironment;
   }
@@ -3838,6 +4045,42 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public boolean isQueryResultCacheEnabled() {
+    return queryResultCacheEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setQueryResultCacheEnabled(boolean queryResultCacheEnabled) {
+    this.queryResultCacheEnabled = queryResultCacheEnabled;
+    return this;
+  }
+
+  public int getQueryResultCacheCapacity() {
+    return queryResultCacheCapacity;
+  }
+
+  public ProcessEngineConfigurationImpl setQueryResultCacheCapacity(int queryResultCacheCapacity) {
+    this.queryResultCacheCapacity = queryResultCacheCapacity;
+    return this;
+  }
+
+  public long getQueryResultCacheTimeToLive() {
+    return queryResultCacheTimeToLive;
+  }
+
+  public ProcessEngineConfigurationImpl setQueryResultCacheTimeToLive(long queryResultCacheTimeToLive) {
+    this.queryResultCacheTimeToLive = queryResultCacheTimeToLive;
+    return this;
+  }
+
+  public QueryResultCache getQueryResultCache() {
+    return queryResultCache;
+  }
+
+  public ProcessEngineConfigurationImpl setQueryResultCache(QueryResultCache queryResultCache) {
+    this.queryResultCache = queryResultCache;
+    return this;
+  }
+
   public DbEntityCacheKeyMapping getDbEntityCacheKeyMapping() {
     return dbEntityCacheKeyMapping;
   }
@@ -3914,6 +4157,24 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public boolean isMetricsRollupEnabled() {
+    return isMetricsRollupEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setMetricsRollupEnabled(boolean isMetricsRollupEnabled) {
+    this.isMetricsRollupEnabled = isMetricsRollupEnabled;
+    return this;
+  }
+
+  public Integer getMetricsRawDataRetentionDays() {
+    return metricsRawDataRetentionDays;
+  }
+
+  public ProcessEngineConfigurationImpl setMetricsRawDataRetentionDays(Integer metricsRawDataRetentionDays) {
+    this.metricsRawDataRetentionDays = metricsRawDataRetentionDays;
+    return this;
+  }
+
   /**
    * @deprecated use {@link #getHostnameProvider()} instead.
    */
@@ -4141,6 +4402,24 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return migratingCompensationInstanceValidators;
   }
 
+  public int getCompiledMigrationPlanCacheCapacity() {
+    return compiledMigrationPlanCacheCapacity;
+  }
+
+  public ProcessEngineConfigurationImpl setCompiledMigrationPlanCacheCapacity(int compiledMigrationPlanCacheCapacity) {
+    this.compiledMigrationPlanCacheCapacity = compiledMigrationPlanCacheCapacity;
+    return this;
+  }
+
+  public CompiledMigrationPlanCache getCompiledMigrationPlanCache() {
+    return compiledMigrationPlanCache;
+  }
+
+  public ProcessEngineConfigurationImpl setCompiledMigrationPlanCache(CompiledMigrationPlanCache compiledMigrationPlanCache) {
+    this.compiledMigrationPlanCache = compiledMigrationPlanCache;
+    return this;
+  }
+
   public List<MigratingActivityInstanceValidator> getDefaultMigratingActivityInstanceValidators() {
     List<MigratingActivityInstanceValidator> migratingActivityInstanceValidators = new ArrayList<>();
 
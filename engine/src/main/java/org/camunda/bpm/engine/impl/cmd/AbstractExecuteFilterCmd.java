@@ -68,6 +68,8 @@ public abstract class AbstractExecuteFilterCmd implements Serializable {
     if (query instanceof TaskQuery) {
       ((TaskQuery) query).initializeFormKeys();
     }
+    // the results of the filter are returned to the caller unmodified
+    ((AbstractQuery<?, ?>) query).enableResultCache();
     return query;
   }
 
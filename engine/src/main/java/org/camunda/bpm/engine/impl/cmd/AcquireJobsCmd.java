@@ -26,6 +26,8 @@ import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.jobexecutor.AcquiredJobs;
 import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
 import org.camunda.bpm.engine.impl.persistence.entity.AcquirableJobEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.JobDefinitionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
 
 import java.util.*;
@@ -55,9 +57,15 @@ public class AcquireJobsCmd implements Command<AcquiredJobs>, OptimisticLockingL
 
     acquiredJobs = new AcquiredJobs(numJobsToAcquire);
 
-    List<AcquirableJobEntity> jobs = commandContext
-      .getJobManager()
-      .findNextJobsToExecute(new Page(0, numJobsToAcquire));
+    List<? extends AcquirableJobEntity> jobs;
+    if (jobExecutor.isReuseAcquiredJobs()) {
+      jobs = acquireFullJobs(commandContext);
+    }
+    else {
+      jobs = commandContext
+        .getJobManager()
+        .findNextJobsToExecute(new Page(0, numJobsToAcquire));
+    }
 
     Map<String, List<String>> exclusiveJobsByProcessInstance = new HashMap<String, List<String>>();
 
@@ -92,6 +100,49 @@ public class AcquireJobsCmd implements Command<AcquiredJobs>, OptimisticLockingL
     return acquiredJobs;
   }
 
+  /**
+   * Selects the complete job rows together with their job definitions, so that the
+   * jobs can be handed over to execution as they are, see {@link JobExecutor#isReuseAcquiredJobs()}.
+   */
+  protected List<JobEntity> acquireFullJobs(CommandContext commandContext) {
+    List<JobEntity> jobs = commandContext
+      .getJobManager()
+      .findNextFullJobsToExecute(new Page(0, numJobsToAcquire));
+
+    Set<String> jobDefinitionIds = new HashSet<String>();
+    for (JobEntity job : jobs) {
+      if (job.getJobDefinitionId() != null) {
+        jobDefinitionIds.add(job.getJobDefinitionId());
+      }
+    }
+
+    if (!jobDefinitionIds.isEmpty()) {
+      List<JobDefinitionEntity> jobDefinitions = commandContext
+        .getJobDefinitionManager()
+        .findByIds(jobDefinitionIds);
+
+      Map<String, JobDefinitionEntity> jobDefinitionsById = new HashMap<String, JobDefinitionEntity>();
+      for (JobDefinitionEntity jobDefinition : jobDefinitions) {
+        jobDefinitionsById.put(jobDefinition.getId(), jobDefinition);
+      }
+
+      for (JobEntity job : jobs) {
+        JobDefinitionEntity jobDefinition = jobDefinitionsById.get(job.getJobDefinitionId());
+        if (jobDefinition != null) {
+          job.setJobDefinition(jobDefinition);
+        }
+      }
+
+      jobExecutor.logJobLoadRoundTrips(commandContext.getProcessEngineConfiguration().getProcessEngine(), 1);
+    }
+
+    for (JobEntity job : jobs) {
+      acquiredJobs.addJobSnapshot(job);
+    }
+
+    return jobs;
+  }
+
   protected void lockJob(AcquirableJobEntity job) {
     String lockOwner = jobExecutor.getLockOwner();
     job.setLockOwner(lockOwner);
@@ -0,0 +1,322 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureAtLeastOneNotNull;
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotEmpty;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+
+import org.camunda.bpm.engine.MismatchingMessageCorrelationException;
+import org.camunda.bpm.engine.impl.MessageCorrelationBuilderImpl;
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManager;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.EventSubscriptionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.runtime.BulkMessageCorrelationResultImpl;
+import org.camunda.bpm.engine.impl.runtime.CorrelationHandler;
+import org.camunda.bpm.engine.impl.runtime.CorrelationHandlerResult;
+import org.camunda.bpm.engine.impl.runtime.CorrelationSet;
+import org.camunda.bpm.engine.impl.runtime.DefaultCorrelationHandler;
+import org.camunda.bpm.engine.runtime.BulkMessageCorrelationResult;
+import org.camunda.bpm.engine.runtime.MessageCorrelationResult;
+
+/**
+ * <p>Correlates a chunk of messages within one transaction.</p>
+ *
+ * <p>Messages which are correlated by message name and business key only are resolved
+ * with set-based queries when the {@link DefaultCorrelationHandler} is used. The
+ * command correlates the longest prefix of such messages in which no business key
+ * occurs twice, since the resolved executions of a business key can be changed by
+ * the correlation of a former message. Any other message is correlated on its own
+ * by the configured {@link CorrelationHandler}.</p>
+ *
+ * <p>Returns the results of the correlated messages which is a prefix of the given
+ * chunk. The caller is responsible to correlate the remaining messages.</p>
+ */
+public class BulkCorrelateMessageCmd implements Command<List<BulkMessageCorrelationResult>> {
+
+  private final static CommandLogger LOG = ProcessEngineLogger.CMD_LOGGER;
+
+  protected List<MessageCorrelationBuilderImpl> correlations;
+
+  public BulkCorrelateMessageCmd(List<MessageCorrelationBuilderImpl> correlations) {
+    this.correlations = correlations;
+  }
+
+  public List<BulkMessageCorrelationResult> execute(final CommandContext commandContext) {
+    ensureNotEmpty("correlations", correlations);
+
+    CorrelationHandler correlationHandler = commandContext.getProcessEngineConfiguration().getCorrelationHandler();
+
+    List<BulkMessageCorrelationResult> results = new ArrayList<BulkMessageCorrelationResult>();
+
+    if (correlationHandler instanceof DefaultCorrelationHandler && isResolvableByBusinessKey(correlations.get(0))) {
+      List<MessageCorrelationBuilderImpl> resolvableCorrelations = getResolvableCorrelations();
+      Map<String, List<EventSubscriptionEntity>> eventSubscriptionsByMessage = findEventSubscriptionsByMessageNamesAndBusinessKeys(commandContext, resolvableCorrelations);
+      Map<String, List<CorrelationHandlerResult>> startMessagesByName = new HashMap<String, List<CorrelationHandlerResult>>();
+
+      for (MessageCorrelationBuilderImpl correlation : resolvableCorrelations) {
+        List<EventSubscriptionEntity> eventSubscriptions = eventSubscriptionsByMessage.get(getMessageKey(correlation.getMessageName(), correlation.getBusinessKey()));
+        List<ExecutionEntity> executions = getExecutionsOfActiveEventSubscriptions(commandContext, eventSubscriptions);
+        results.add(correlateResolvedMessage(commandContext, correlationHandler, correlation, executions, startMessagesByName));
+      }
+
+    } else {
+      results.add(correlateMessage(commandContext, correlationHandler, correlations.get(0)));
+    }
+
+    return results;
+  }
+
+  /**
+   * @return the messages which are correlated by message name and business key only and
+   *   can be correlated within this transaction
+   */
+  protected List<MessageCorrelationBuilderImpl> getResolvableCorrelations() {
+    List<MessageCorrelationBuilderImpl> resolvableCorrelations = new ArrayList<MessageCorrelationBuilderImpl>();
+    Set<String> businessKeys = new HashSet<String>();
+
+    for (MessageCorrelationBuilderImpl correlation : correlations) {
+      if (!isResolvableByBusinessKey(correlation) || !businessKeys.add(correlation.getBusinessKey())) {
+        break;
+      }
+      resolvableCorrelations.add(correlation);
+    }
+
+    return resolvableCorrelations;
+  }
+
+  protected boolean isResolvableByBusinessKey(MessageCorrelationBuilderImpl correlation) {
+    return correlation.getMessageName() != null
+        && correlation.getBusinessKey() != null
+        && isEmpty(correlation.getCorrelationProcessInstanceVariables())
+        && isEmpty(correlation.getCorrelationLocalVariables())
+        && correlation.getProcessInstanceId() == null
+        && correlation.getProcessDefinitionId() == null
+        && !correlation.isTenantIdSet();
+  }
+
+  protected Map<String, List<EventSubscriptionEntity>> findEventSubscriptionsByMessageNamesAndBusinessKeys(final CommandContext commandContext, List<MessageCorrelationBuilderImpl> resolvableCorrelations) {
+    final Set<String> messageNames = new HashSet<String>();
+    final Set<String> businessKeys = new HashSet<String>();
+
+    for (MessageCorrelationBuilderImpl correlation : resolvableCorrelations) {
+      if (!correlation.isStartMessagesOnly()) {
+        messageNames.add(correlation.getMessageName());
+        businessKeys.add(correlation.getBusinessKey());
+      }
+    }
+
+    Map<String, List<EventSubscriptionEntity>> eventSubscriptionsByMessage = new HashMap<String, List<EventSubscriptionEntity>>();
+    if (messageNames.isEmpty()) {
+      return eventSubscriptionsByMessage;
+    }
+
+    List<EventSubscriptionEntity> eventSubscriptions = commandContext.runWithoutAuthorization(new Callable<List<EventSubscriptionEntity>>() {
+      public List<EventSubscriptionEntity> call() throws Exception {
+        return commandContext.getEventSubscriptionManager()
+            .findMessageEventSubscriptionsByNamesAndBusinessKeys(new ArrayList<String>(messageNames), new ArrayList<String>(businessKeys));
+      }
+    });
+
+    // load the executions and their process instances at once to resolve the business keys
+    Set<String> executionIds = new LinkedHashSet<String>();
+    for (EventSubscriptionEntity eventSubscription : eventSubscriptions) {
+      executionIds.add(eventSubscription.getExecutionId());
+    }
+    List<ExecutionEntity> executions = commandContext.getExecutionManager().findExecutionsByIds(new ArrayList<String>(executionIds));
+
+    Map<String, ExecutionEntity> executionsById = new HashMap<String, ExecutionEntity>();
+    Set<String> processInstanceIds = new LinkedHashSet<String>();
+    for (ExecutionEntity execution : executions) {
+      executionsById.put(execution.getId(), execution);
+      if (!executionIds.contains(execution.getProcessInstanceId())) {
+        processInstanceIds.add(execution.getProcessInstanceId());
+      }
+    }
+    commandContext.getExecutionManager().findExecutionsByIds(new ArrayList<String>(processInstanceIds));
+
+    for (EventSubscriptionEntity eventSubscription : eventSubscriptions) {
+      ExecutionEntity execution = executionsById.get(eventSubscription.getExecutionId());
+      if (execution != null && !commandContext.getDbEntityManager().isDeleted(execution)) {
+        String messageKey = getMessageKey(eventSubscription.getEventName(), execution.getProcessInstance().getBusinessKey());
+
+        List<EventSubscriptionEntity> matchingEventSubscriptions = eventSubscriptionsByMessage.get(messageKey);
+        if (matchingEventSubscriptions == null) {
+          matchingEventSubscriptions = new ArrayList<EventSubscriptionEntity>();
+          eventSubscriptionsByMessage.put(messageKey, matchingEventSubscriptions);
+        }
+        matchingEventSubscriptions.add(eventSubscription);
+      }
+    }
+
+    return eventSubscriptionsByMessage;
+  }
+
+  /**
+   * The event subscriptions are loaded before any message of the chunk is correlated.
+   * A former correlation can remove subscriptions of other process instances (e.g. by
+   * cancelling a called process instance), so subscriptions and executions which are
+   * deleted in the meantime are skipped.
+   *
+   * @return the executions of the given subscriptions which are still active or
+   *   <code>null</code> if there is none
+   */
+  protected List<ExecutionEntity> getExecutionsOfActiveEventSubscriptions(CommandContext commandContext, List<EventSubscriptionEntity> eventSubscriptions) {
+    if (eventSubscriptions == null) {
+      return null;
+    }
+
+    DbEntityManager dbEntityManager = commandContext.getDbEntityManager();
+    List<ExecutionEntity> executions = new ArrayList<ExecutionEntity>();
+
+    for (EventSubscriptionEntity eventSubscription : eventSubscriptions) {
+      EventSubscriptionEntity cachedEventSubscription = dbEntityManager.getCachedEntity(EventSubscriptionEntity.class, eventSubscription.getId());
+      if (cachedEventSubscription == null || dbEntityManager.isDeleted(cachedEventSubscription)) {
+        continue;
+      }
+
+      ExecutionEntity execution = dbEntityManager.getCachedEntity(ExecutionEntity.class, eventSubscription.getExecutionId());
+      if (execution != null && !dbEntityManager.isDeleted(execution) && !execution.isEnded() && !executions.contains(execution)) {
+        executions.add(execution);
+      }
+    }
+
+    return executions.isEmpty() ? null : executions;
+  }
+
+  protected BulkMessageCorrelationResult correlateResolvedMessage(final CommandContext commandContext,
+                                                                  final CorrelationHandler correlationHandler,
+                                                                  MessageCorrelationBuilderImpl correlation,
+                                                                  List<ExecutionEntity> executions,
+                                                                  Map<String, List<CorrelationHandlerResult>> startMessagesByName) {
+    final String messageName = correlation.getMessageName();
+    final CorrelationSet correlationSet = new CorrelationSet(correlation);
+
+    if (executions != null && !correlation.isStartMessagesOnly()) {
+      if (executions.size() > 1) {
+        String errorMessage = LOG.exceptionCorrelateMessageToSingleExecution(messageName, executions.size(), correlationSet).getMessage();
+        return BulkMessageCorrelationResultImpl.notCorrelated(messageName, correlation.getBusinessKey(), errorMessage);
+      }
+      return correlate(commandContext, correlation, CorrelationHandlerResult.matchedExecution(executions.get(0)));
+    }
+
+    List<CorrelationHandlerResult> startMessages = startMessagesByName.get(messageName);
+    if (startMessages == null) {
+      startMessages = commandContext.runWithoutAuthorization(new Callable<List<CorrelationHandlerResult>>() {
+        public List<CorrelationHandlerResult> call() throws Exception {
+          return correlationHandler.correlateStartMessages(commandContext, messageName, correlationSet);
+        }
+      });
+      startMessagesByName.put(messageName, startMessages);
+    }
+
+    if (startMessages.size() > 1) {
+      String errorMessage = LOG.exceptionCorrelateMessageToSingleProcessDefinition(messageName, startMessages.size(), correlationSet).getMessage();
+      return BulkMessageCorrelationResultImpl.notCorrelated(messageName, correlation.getBusinessKey(), errorMessage);
+
+    } else if (startMessages.isEmpty()) {
+      String errorMessage = correlation.isStartMessagesOnly()
+          ? "No process definition matches the parameters"
+          : "No process definition or execution matches the parameters";
+      return BulkMessageCorrelationResultImpl.notCorrelated(messageName, correlation.getBusinessKey(), errorMessage);
+
+    } else {
+      return correlate(commandContext, correlation, startMessages.get(0));
+    }
+  }
+
+  protected BulkMessageCorrelationResult correlateMessage(final CommandContext commandContext, final CorrelationHandler correlationHandler, MessageCorrelationBuilderImpl correlation) {
+    final String messageName = correlation.getMessageName();
+    final CorrelationSet correlationSet = new CorrelationSet(correlation);
+
+    ensureAtLeastOneNotNull(
+        "At least one of the following correlation criteria has to be present: " + "messageName, businessKey, correlationKeys, processInstanceId", messageName,
+        correlation.getBusinessKey(), correlation.getCorrelationProcessInstanceVariables(), correlation.getProcessInstanceId());
+
+    CorrelationHandlerResult correlationResult = null;
+    try {
+      if (correlation.isStartMessagesOnly()) {
+        List<CorrelationHandlerResult> correlationResults = commandContext.runWithoutAuthorization(new Callable<List<CorrelationHandlerResult>>() {
+          public List<CorrelationHandlerResult> call() throws Exception {
+            return correlationHandler.correlateStartMessages(commandContext, messageName, correlationSet);
+          }
+        });
+        if (correlationResults.isEmpty()) {
+          throw new MismatchingMessageCorrelationException(messageName, "No process definition matches the parameters");
+        } else if (correlationResults.size() > 1) {
+          throw LOG.exceptionCorrelateMessageToSingleProcessDefinition(messageName, correlationResults.size(), correlationSet);
+        } else {
+          correlationResult = correlationResults.get(0);
+        }
+      } else {
+        correlationResult = commandContext.runWithoutAuthorization(new Callable<CorrelationHandlerResult>() {
+          public CorrelationHandlerResult call() throws Exception {
+            return correlationHandler.correlateMessage(commandContext, messageName, correlationSet);
+          }
+        });
+
+        if (correlationResult == null) {
+          throw new MismatchingMessageCorrelationException(messageName, "No process definition or execution matches the parameters");
+        }
+      }
+    } catch (MismatchingMessageCorrelationException e) {
+      return BulkMessageCorrelationResultImpl.notCorrelated(messageName, correlation.getBusinessKey(), e.getMessage());
+    }
+
+    return correlate(commandContext, correlation, correlationResult);
+  }
+
+  protected BulkMessageCorrelationResult correlate(CommandContext commandContext, MessageCorrelationBuilderImpl correlation, CorrelationHandlerResult correlationResult) {
+    MessageCorrelationResult result = new SingleMessageCorrelation(correlation).correlate(commandContext, correlationResult);
+    return BulkMessageCorrelationResultImpl.correlated(correlation.getMessageName(), correlation.getBusinessKey(), result);
+  }
+
+  protected static String getMessageKey(String messageName, String businessKey) {
+    return messageName + "|" + businessKey;
+  }
+
+  protected static boolean isEmpty(Map<String, Object> variables) {
+    return variables == null || variables.isEmpty();
+  }
+
+  /**
+   * Triggers the execution or starts the process instance of a single resolved message.
+   */
+  protected static class SingleMessageCorrelation extends AbstractCorrelateMessageCmd {
+
+    public SingleMessageCorrelation(MessageCorrelationBuilderImpl builder) {
+      super(builder);
+    }
+
+    public MessageCorrelationResult correlate(CommandContext commandContext, CorrelationHandlerResult correlationResult) {
+      checkAuthorization(correlationResult);
+      return createMessageCorrelationResult(commandContext, correlationResult);
+    }
+  }
+
+}
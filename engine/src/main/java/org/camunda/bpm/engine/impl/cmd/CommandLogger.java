@@ -302,4 +302,11 @@ public class CommandLogger extends ProcessEngineLogger {
       "Propagation of escalation {} failed. ",
       escalationCode), cause);
   }
+
+  public void taskAlreadyClaimedInBatch(String taskId, String assignee, String userId) {
+    logWarn(
+        "045",
+        "Task '{}' could not be claimed by user '{}' in a batch since it is already claimed by '{}'; the task is skipped.",
+        taskId, userId, assignee);
+  }
 }
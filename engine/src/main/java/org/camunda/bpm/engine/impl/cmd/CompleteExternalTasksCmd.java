@@ -0,0 +1,48 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.engine.impl.persistence.entity.ExternalTaskEntity;
+
+public class CompleteExternalTasksCmd extends HandleExternalTasksCmd {
+
+  protected Map<String, Map<String, Object>> variables;
+  protected Map<String, Map<String, Object>> localVariables;
+
+  /**
+   * @param variables the variables to set per external task id, may be <code>null</code>
+   * @param localVariables the local variables to set per external task id, may be <code>null</code>
+   */
+  public CompleteExternalTasksCmd(List<String> externalTaskIds, String workerId,
+      Map<String, Map<String, Object>> variables, Map<String, Map<String, Object>> localVariables) {
+    super(externalTaskIds, workerId);
+    this.variables = variables;
+    this.localVariables = localVariables;
+  }
+
+  @Override
+  protected void execute(ExternalTaskEntity externalTask) {
+    externalTask.complete(getVariables(variables, externalTask), getVariables(localVariables, externalTask));
+  }
+
+  protected Map<String, Object> getVariables(Map<String, Map<String, Object>> variablesByExternalTaskId, ExternalTaskEntity externalTask) {
+    return variablesByExternalTaskId != null ? variablesByExternalTaskId.get(externalTask.getId()) : null;
+  }
+}
@@ -53,6 +53,7 @@ import org.camunda.bpm.engine.impl.persistence.entity.ResourceEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.ResourceManager;
 import org.camunda.bpm.engine.impl.persistence.entity.UserOperationLogManager;
 import org.camunda.bpm.engine.impl.repository.CandidateDeploymentImpl;
+import org.camunda.bpm.engine.impl.repository.DefaultDeploymentHandler;
 import org.camunda.bpm.engine.impl.repository.DeploymentBuilderImpl;
 import org.camunda.bpm.engine.impl.repository.ProcessApplicationDeploymentBuilderImpl;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
@@ -142,10 +143,21 @@ public class DeployCmd implements Command<DeploymentWithDefinitions>, Serializab
     DeploymentWithDefinitions deployment = commandContext.runWithoutAuthorization(new Callable<DeploymentWithDefinitions>() {
       @Override
       public DeploymentWithDefinitions call() throws Exception {
-        acquireExclusiveLock(commandContext);
         DeploymentEntity deploymentToRegister = initDeployment();
-        Map<String, ResourceEntity> resourcesToDeploy =
-            resolveResourcesToDeploy(commandContext, deploymentToRegister);
+        Map<String, ResourceEntity> resourcesToDeploy;
+
+        if (deploymentBuilder.isDuplicateFilterEnabled()) {
+          // only acquire the lock if resources changed; resolve them again afterwards
+          // since another engine may have deployed the same resources in the meantime
+          resourcesToDeploy = resolveResourcesToDeploy(commandContext, deploymentToRegister);
+          if (!resourcesToDeploy.isEmpty()) {
+            acquireExclusiveLock(commandContext);
+            resourcesToDeploy = resolveResourcesToDeploy(commandContext, deploymentToRegister);
+          }
+        } else {
+          acquireExclusiveLock(commandContext);
+          resourcesToDeploy = resolveResourcesToDeploy(commandContext, deploymentToRegister);
+        }
 
         // save initial deployment resources before they are replaced with only the deployed ones
         CandidateDeployment candidateDeployment =
@@ -216,13 +228,8 @@ public class DeployCmd implements Command<DeploymentWithDefinitions>, Serializab
         source = ProcessApplicationDeployment.PROCESS_APPLICATION_DEPLOYMENT_SOURCE;
       }
 
-      Map<String, ResourceEntity> existingResources = commandContext
-          .getResourceManager()
-          .findLatestResourcesByDeploymentName(
-              candidateDeployment.getName(),
-              candidateResources.keySet(),
-              source,
-              candidateDeployment.getTenantId());
+      Map<String, ResourceEntity> existingResources =
+          findExistingResources(commandContext, candidateDeployment, source);
 
       for (ResourceEntity deployedResource : candidateResources.values()) {
         String resourceName = deployedResource.getName();
@@ -250,6 +257,45 @@ public class DeployCmd implements Command<DeploymentWithDefinitions>, Serializab
     return resourcesToDeploy;
   }
 
+  /**
+   * Loads the latest resources with the names of the candidate resources. If the
+   * default deployment handler is used, only the hashes of the resources are loaded
+   * instead of their bytes. Subclasses of the default deployment handler may compare
+   * the bytes and get the fully loaded resources like any other handler.
+   */
+  protected Map<String, ResourceEntity> findExistingResources(CommandContext commandContext,
+      DeploymentEntity candidateDeployment,
+      String source) {
+
+    ResourceManager resourceManager = commandContext.getResourceManager();
+    String deploymentName = candidateDeployment.getName();
+    Set<String> resourceNames = candidateDeployment.getResources().keySet();
+    String tenantId = candidateDeployment.getTenantId();
+
+    if (deploymentHandler.getClass() != DefaultDeploymentHandler.class) {
+      // custom deployment handlers may compare the bytes of the resources
+      return resourceManager.findLatestResourcesByDeploymentName(deploymentName, resourceNames, source, tenantId);
+    }
+
+    Map<String, ResourceEntity> existingResources =
+        resourceManager.findLatestResourceHashesByDeploymentName(deploymentName, resourceNames, source, tenantId);
+
+    // resources deployed before their hash was stored are compared by their bytes
+    Set<String> resourcesWithoutHash = new HashSet<>();
+    for (ResourceEntity existingResource : existingResources.values()) {
+      if (existingResource.getHash() == null) {
+        resourcesWithoutHash.add(existingResource.getName());
+      }
+    }
+
+    if (!resourcesWithoutHash.isEmpty()) {
+      existingResources.putAll(resourceManager
+          .findLatestResourcesByDeploymentName(deploymentName, resourcesWithoutHash, source, tenantId));
+    }
+
+    return existingResources;
+  }
+
   protected void deploy(CommandContext commandContext, DeploymentEntity deployment) {
     deployment.setNew(true);
     commandContext.getDeploymentManager().insertDeployment(deployment);
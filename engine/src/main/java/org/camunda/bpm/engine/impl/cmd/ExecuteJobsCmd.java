@@ -27,14 +27,18 @@ import org.camunda.bpm.engine.impl.ProcessEngineLogger;
 import org.camunda.bpm.engine.impl.cfg.CommandChecker;
 import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManager;
 import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.interceptor.ProcessDataContext;
 import org.camunda.bpm.engine.impl.jobexecutor.JobExecutorContext;
 import org.camunda.bpm.engine.impl.jobexecutor.JobExecutorLogger;
 import org.camunda.bpm.engine.impl.jobexecutor.JobFailureCollector;
+import org.camunda.bpm.engine.impl.persistence.entity.JobDefinitionEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.PropertyChange;
+import org.camunda.bpm.engine.management.JobDefinition;
+import org.camunda.bpm.engine.management.Metrics;
 
 /**
  * @author Tom Baeyens
@@ -50,21 +54,29 @@ public class ExecuteJobsCmd implements Command<Void>, Serializable {
 
   protected JobFailureCollector jobFailureCollector;
 
+  /** the job as it was acquired by the job executor, if available */
+  protected JobEntity jobSnapshot;
+
   public ExecuteJobsCmd(String jobId, JobFailureCollector jobFailureCollector) {
+    this(jobId, null, jobFailureCollector);
+  }
+
+  public ExecuteJobsCmd(String jobId, JobEntity jobSnapshot, JobFailureCollector jobFailureCollector) {
     this.jobId = jobId;
+    this.jobSnapshot = jobSnapshot;
     this.jobFailureCollector = jobFailureCollector;
   }
 
   public Void execute(CommandContext commandContext) {
     ensureNotNull("jobId", jobId);
 
-    final JobEntity job = commandContext.getDbEntityManager().selectById(JobEntity.class, jobId);
-
     final ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
     final IdentityService identityService = processEngineConfiguration.getIdentityService();
 
     final JobExecutorContext jobExecutorContext = Context.getJobExecutorContext();
 
+    final JobEntity job = loadJob(commandContext, jobExecutorContext);
+
     if (job == null) {
       if (jobExecutorContext != null) {
         // CAM-1842
@@ -122,4 +134,61 @@ public class ExecuteJobsCmd implements Command<Void>, Serializable {
     return null;
   }
 
+  protected JobEntity loadJob(CommandContext commandContext, JobExecutorContext jobExecutorContext) {
+    DbEntityManager dbEntityManager = commandContext.getDbEntityManager();
+
+    JobEntity job = dbEntityManager.getCachedEntity(JobEntity.class, jobId);
+    if (job != null) {
+      return job;
+    }
+
+    if (jobSnapshot != null) {
+      // the job was loaded during acquisition and may have been deleted or changed since then,
+      // e.g. by a former job of the same process instance; only check its revision instead of
+      // selecting the complete row again
+      markJobLoadRoundTrip(commandContext, jobExecutorContext);
+      Integer revision = commandContext.getJobManager().findJobRevisionById(jobId);
+      if (revision == null) {
+        return null;
+      }
+
+      if (revision == jobSnapshot.getRevision()) {
+        // work on a copy, so that the snapshot does not share state with this command context
+        job = jobSnapshot.copy();
+        dbEntityManager.onEntityLoaded(job);
+        attachJobDefinition(dbEntityManager, job);
+        return job;
+      }
+    }
+
+    markJobLoadRoundTrip(commandContext, jobExecutorContext);
+    return dbEntityManager.selectById(JobEntity.class, jobId);
+  }
+
+  /**
+   * Makes the copied job definition of a reused job part of this command context,
+   * so that changes to it are flushed. A job definition which is already cached
+   * by the command context is used instead of the copy.
+   */
+  protected void attachJobDefinition(DbEntityManager dbEntityManager, JobEntity job) {
+    JobDefinition jobDefinition = job.getJobDefinition();
+    if (jobDefinition instanceof JobDefinitionEntity) {
+      JobDefinitionEntity cachedJobDefinition = dbEntityManager.getCachedEntity(JobDefinitionEntity.class, jobDefinition.getId());
+      if (cachedJobDefinition != null) {
+        job.setJobDefinition(cachedJobDefinition);
+      }
+      else {
+        dbEntityManager.onEntityLoaded((JobDefinitionEntity) jobDefinition);
+      }
+    }
+  }
+
+  protected void markJobLoadRoundTrip(CommandContext commandContext, JobExecutorContext jobExecutorContext) {
+    if (jobExecutorContext != null && commandContext.getProcessEngineConfiguration().isMetricsEnabled()) {
+      commandContext.getProcessEngineConfiguration()
+        .getMetricsRegistry()
+        .markOccurrence(Metrics.JOB_LOAD_ROUND_TRIPS);
+    }
+  }
+
 }
@@ -0,0 +1,53 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.BadUserRequestException;
+import org.camunda.bpm.engine.externaltask.ExternalTaskOperationResult;
+import org.camunda.bpm.engine.impl.persistence.entity.ExternalTaskEntity;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.impl.util.EnsureUtil;
+
+public class ExtendLockOnExternalTasksCmd extends HandleExternalTasksCmd {
+
+  protected long newLockTime;
+
+  public ExtendLockOnExternalTasksCmd(List<String> externalTaskIds, String workerId, long newLockTime) {
+    super(externalTaskIds, workerId);
+    EnsureUtil.ensurePositive(BadUserRequestException.class, "lockTime", newLockTime);
+    this.newLockTime = newLockTime;
+  }
+
+  @Override
+  protected ExternalTaskOperationResult validate(ExternalTaskEntity externalTask) {
+    ExternalTaskOperationResult result = super.validate(externalTask);
+
+    if (result == ExternalTaskOperationResult.SUCCESS
+        && externalTask.getLockExpirationTime().getTime() < ClockUtil.getCurrentTime().getTime()) {
+      return ExternalTaskOperationResult.LOCK_EXPIRED;
+    }
+
+    return result;
+  }
+
+  @Override
+  protected void execute(ExternalTaskEntity externalTask) {
+    externalTask.extendLock(newLockTime);
+  }
+}
@@ -20,6 +20,7 @@ import java.util.*;
 
 import org.camunda.bpm.engine.externaltask.LockedExternalTask;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.db.DbEntity;
 import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
 import org.camunda.bpm.engine.impl.db.entitymanager.OptimisticLockingListener;
@@ -29,8 +30,10 @@ import org.camunda.bpm.engine.impl.externaltask.LockedExternalTaskImpl;
 import org.camunda.bpm.engine.impl.externaltask.TopicFetchInstruction;
 import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
 import org.camunda.bpm.engine.impl.persistence.entity.ExternalTaskEntity;
 import org.camunda.bpm.engine.impl.util.EnsureUtil;
+import org.camunda.bpm.engine.management.Metrics;
 
 /**
  * @author Thorben Lindhauer
@@ -71,6 +74,8 @@ public class FetchExternalTasksCmd implements Command<List<LockedExternalTask>>
 
     final List<LockedExternalTask> result = new ArrayList<LockedExternalTask>();
 
+    prefetchLockedExternalTasks(commandContext, externalTasks);
+
     for (ExternalTaskEntity entity : externalTasks) {
 
       TopicFetchInstruction fetchInstruction = fetchInstructions.get(entity.getTopicName());
@@ -87,6 +92,24 @@ public class FetchExternalTasksCmd implements Command<List<LockedExternalTask>>
     return result;
   }
 
+  protected void prefetchLockedExternalTasks(CommandContext commandContext, List<ExternalTaskEntity> externalTasks) {
+    if (externalTasks.isEmpty()) {
+      return;
+    }
+
+    int queryCount = commandContext.getExternalTaskManager()
+      .prefetchLockedExternalTasks(externalTasks, fetchInstructions);
+
+    LOG.logLockedExternalTasksPrefetched(externalTasks.size(), queryCount);
+
+    ProcessEngineConfigurationImpl processEngineConfiguration = commandContext.getProcessEngineConfiguration();
+    if (processEngineConfiguration.isMetricsEnabled()) {
+      MetricsRegistry metricsRegistry = processEngineConfiguration.getMetricsRegistry();
+      metricsRegistry.markOccurrence(Metrics.EXTERNAL_TASK_FETCHES);
+      metricsRegistry.markOccurrence(Metrics.EXTERNAL_TASK_PREFETCH_QUERIES, queryCount);
+    }
+  }
+
   protected void filterOnOptimisticLockingFailure(CommandContext commandContext, final List<LockedExternalTask> tasks) {
     commandContext.getDbEntityManager().registerOptimisticLockingListener(new OptimisticLockingListener() {
 
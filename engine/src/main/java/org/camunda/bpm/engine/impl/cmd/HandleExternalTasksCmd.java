@@ -0,0 +1,149 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.camunda.bpm.engine.externaltask.ExternalTaskOperationResult;
+import org.camunda.bpm.engine.impl.cfg.CommandChecker;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.ExternalTaskEntity;
+import org.camunda.bpm.engine.impl.util.EnsureUtil;
+
+/**
+ * Performs an operation on a set of external tasks on behalf of a worker in one transaction.
+ * The external tasks and their executions are loaded with one query each. External tasks
+ * that do not exist or are not locked by the worker are skipped and reported in the result.
+ */
+public abstract class HandleExternalTasksCmd implements Command<Map<String, ExternalTaskOperationResult>> {
+
+  protected Set<String> externalTaskIds;
+
+  /**
+   * The reported worker id.
+   */
+  protected String workerId;
+
+  /**
+   * The id of the external task the operation is currently performed on, or
+   * <code>null</code> if the command does not handle a single external task at the moment.
+   */
+  protected String currentExternalTaskId;
+
+  public HandleExternalTasksCmd(List<String> externalTaskIds, String workerId) {
+    this.externalTaskIds = new LinkedHashSet<String>(externalTaskIds);
+    this.workerId = workerId;
+  }
+
+  @Override
+  public Map<String, ExternalTaskOperationResult> execute(CommandContext commandContext) {
+    validateInput();
+    currentExternalTaskId = null;
+
+    List<ExternalTaskEntity> externalTasks = commandContext.getExternalTaskManager()
+        .findExternalTasksByIds(new ArrayList<String>(externalTaskIds));
+
+    Map<String, ExternalTaskEntity> externalTasksById = new HashMap<String, ExternalTaskEntity>();
+    List<String> executionIds = new ArrayList<String>();
+    for (ExternalTaskEntity externalTask : externalTasks) {
+      externalTasksById.put(externalTask.getId(), externalTask);
+      executionIds.add(externalTask.getExecutionId());
+    }
+
+    // load the executions into the entity cache at once
+    commandContext.getExecutionManager().findExecutionsByIds(executionIds);
+
+    Map<String, ExternalTaskOperationResult> results = new LinkedHashMap<String, ExternalTaskOperationResult>();
+    for (String externalTaskId : externalTaskIds) {
+      ExternalTaskEntity externalTask = externalTasksById.get(externalTaskId);
+      ExternalTaskOperationResult result = validate(externalTask);
+
+      if (result == ExternalTaskOperationResult.SUCCESS) {
+        currentExternalTaskId = externalTaskId;
+
+        for (CommandChecker checker : commandContext.getProcessEngineConfiguration().getCommandCheckers()) {
+          checker.checkUpdateProcessInstanceById(externalTask.getProcessInstanceId());
+        }
+
+        execute(externalTask);
+      }
+
+      results.put(externalTaskId, result);
+    }
+    currentExternalTaskId = null;
+
+    return results;
+  }
+
+  /**
+   * Checks whether the operation can be performed on the given external task.
+   *
+   * @param externalTask the external task or <code>null</code> if it does not exist
+   * @return {@link ExternalTaskOperationResult#SUCCESS} if the operation can be performed,
+   *   otherwise the reason why the external task is skipped
+   */
+  protected ExternalTaskOperationResult validate(ExternalTaskEntity externalTask) {
+    if (externalTask == null) {
+      return ExternalTaskOperationResult.NOT_FOUND;
+    }
+    else if (!workerId.equals(externalTask.getWorkerId())) {
+      return ExternalTaskOperationResult.LOCKED_BY_OTHER_WORKER;
+    }
+    else {
+      return ExternalTaskOperationResult.SUCCESS;
+    }
+  }
+
+  /**
+   * Executes the specific operation on one external task.
+   *
+   * @param externalTask the external task which is locked by the worker
+   */
+  protected abstract void execute(ExternalTaskEntity externalTask);
+
+  /**
+   * @return the id of the external task the operation failed on, if the last execution of the
+   *   command failed while handling a single external task; <code>null</code> otherwise,
+   *   e.g. if it failed when flushing the changes of all external tasks
+   */
+  public String getCurrentExternalTaskId() {
+    return currentExternalTaskId;
+  }
+
+  /**
+   * Sets the ids of the external tasks to handle on the next execution of the command.
+   */
+  public void setExternalTaskIds(List<String> externalTaskIds) {
+    this.externalTaskIds = new LinkedHashSet<String>(externalTaskIds);
+  }
+
+  /**
+   * Validates the current input of the command.
+   */
+  public void validateInput() {
+    EnsureUtil.ensureNotContainsNull("externalTaskIds", externalTaskIds);
+    EnsureUtil.ensureNotNull("workerId", workerId);
+  }
+
+}
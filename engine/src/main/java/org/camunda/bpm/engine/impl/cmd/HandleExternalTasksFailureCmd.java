@@ -0,0 +1,51 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.persistence.entity.ExternalTaskEntity;
+import org.camunda.bpm.engine.impl.util.EnsureUtil;
+
+public class HandleExternalTasksFailureCmd extends HandleExternalTasksCmd {
+
+  protected String errorMessage;
+  protected String errorDetails;
+  protected long retryDuration;
+  protected int retries;
+
+  public HandleExternalTasksFailureCmd(List<String> externalTaskIds, String workerId,
+      String errorMessage, String errorDetails, int retries, long retryDuration) {
+    super(externalTaskIds, workerId);
+    this.errorMessage = errorMessage;
+    this.errorDetails = errorDetails;
+    this.retries = retries;
+    this.retryDuration = retryDuration;
+  }
+
+  @Override
+  protected void execute(ExternalTaskEntity externalTask) {
+    externalTask.failed(errorMessage, errorDetails, retries, retryDuration);
+  }
+
+  @Override
+  public void validateInput() {
+    super.validateInput();
+    EnsureUtil.ensureGreaterThanOrEqual("retries", retries, 0);
+    EnsureUtil.ensureGreaterThanOrEqual("retryDuration", retryDuration, 0);
+  }
+}
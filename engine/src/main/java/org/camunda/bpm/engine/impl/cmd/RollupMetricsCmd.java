@@ -0,0 +1,68 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import java.io.Serializable;
+
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.metrics.reporter.DbMetricsReporter;
+import org.camunda.bpm.engine.impl.persistence.entity.MeterLogManager;
+import org.camunda.bpm.engine.impl.persistence.entity.MeterLogRollupEntity;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+
+/**
+ * <p>Aggregates the reported meter logs into hourly and the hourly rollups into daily rollups.</p>
+ *
+ * <p>Only periods which ended at least one reporting interval ago are rolled up, so that
+ * meter logs reported late by other process engines are still included. Concurrent rollups
+ * by several process engines are prevented by the optimistic locking of the properties
+ * holding the rolled up time range.</p>
+ */
+public class RollupMetricsCmd implements Command<Void>, Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  public Void execute(CommandContext commandContext) {
+    ProcessEngineConfigurationImpl processEngineConfiguration = commandContext.getProcessEngineConfiguration();
+    if (!processEngineConfiguration.isMetricsRollupEnabled()) {
+      return null;
+    }
+
+    MeterLogManager meterLogManager = commandContext.getMeterLogManager();
+
+    long now = ClockUtil.getCurrentTime().getTime();
+    long rollupEnd = now - getReportingIntervalInMillis(processEngineConfiguration);
+
+    long hourlyRollupEnd = meterLogManager.rollup(MeterLogRollupEntity.PERIOD_HOUR, rollupEnd);
+    meterLogManager.rollup(MeterLogRollupEntity.PERIOD_DAY, hourlyRollupEnd);
+
+    Integer retentionDays = processEngineConfiguration.getMetricsRawDataRetentionDays();
+    if (retentionDays != null) {
+      meterLogManager.deleteRolledUpMeterLogs(now - retentionDays * 1000L * MeterLogRollupEntity.PERIOD_DAY);
+    }
+
+    return null;
+  }
+
+  protected long getReportingIntervalInMillis(ProcessEngineConfigurationImpl processEngineConfiguration) {
+    DbMetricsReporter dbMetricsReporter = processEngineConfiguration.getDbMetricsReporter();
+    return dbMetricsReporter != null ? dbMetricsReporter.getReportingIntervalInSeconds() * 1000 : 0;
+  }
+
+}
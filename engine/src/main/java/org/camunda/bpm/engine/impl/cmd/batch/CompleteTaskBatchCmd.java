@@ -0,0 +1,95 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd.batch;
+
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotContainsNull;
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotEmpty;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.engine.BadUserRequestException;
+import org.camunda.bpm.engine.authorization.BatchPermissions;
+import org.camunda.bpm.engine.batch.Batch;
+import org.camunda.bpm.engine.history.UserOperationLogEntry;
+import org.camunda.bpm.engine.impl.batch.BatchConfiguration;
+import org.camunda.bpm.engine.impl.batch.builder.BatchBuilder;
+import org.camunda.bpm.engine.impl.batch.task.CompleteTaskBatchConfiguration;
+import org.camunda.bpm.engine.impl.batch.task.CompleteTaskBatchConfigurationJsonConverter;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.PropertyChange;
+import org.camunda.bpm.engine.task.TaskQuery;
+import org.camunda.bpm.engine.variable.VariableMap;
+import org.camunda.bpm.engine.variable.Variables;
+
+/**
+ * Creates a batch which completes tasks.
+ */
+public class CompleteTaskBatchCmd implements Command<Batch> {
+
+  protected List<String> taskIds;
+  protected TaskQuery taskQuery;
+  protected VariableMap variables;
+
+  public CompleteTaskBatchCmd(List<String> taskIds, TaskQuery taskQuery, Map<String, Object> variables) {
+    this.taskIds = taskIds;
+    this.taskQuery = taskQuery;
+    this.variables = Variables.fromMap(variables);
+  }
+
+  @Override
+  public Batch execute(CommandContext commandContext) {
+    Collection<String> collectedTaskIds = SetTaskAssigneeBatchCmd.collectTaskIds(taskIds, taskQuery);
+
+    ensureNotEmpty(BadUserRequestException.class, "taskIds", collectedTaskIds);
+    ensureNotContainsNull(BadUserRequestException.class, "taskIds", collectedTaskIds);
+    ensureSupportedVariables();
+
+    return new BatchBuilder(commandContext)
+        .type(Batch.TYPE_TASK_COMPLETE)
+        .config(getConfiguration(collectedTaskIds))
+        .permission(BatchPermissions.CREATE_BATCH_UPDATE_TASKS)
+        .operationLogHandler(this::writeUserOperationLog)
+        .build();
+  }
+
+  protected void ensureSupportedVariables() {
+    for (String name : variables.keySet()) {
+      if (!CompleteTaskBatchConfigurationJsonConverter.isSupported(variables.getValueTyped(name))) {
+        throw new BadUserRequestException("Variable '" + name + "' cannot be used to complete tasks asynchronously: "
+            + "only string, boolean, number, date and null values are supported");
+      }
+    }
+  }
+
+  protected void writeUserOperationLog(CommandContext commandContext, int numInstances) {
+    List<PropertyChange> propertyChanges = new ArrayList<>();
+    propertyChanges.add(new PropertyChange("nrOfInstances", null, numInstances));
+    propertyChanges.add(new PropertyChange("async", null, true));
+
+    commandContext.getOperationLogManager()
+        .logTaskOperations(UserOperationLogEntry.OPERATION_TYPE_COMPLETE, propertyChanges);
+  }
+
+  public BatchConfiguration getConfiguration(Collection<String> taskIds) {
+    return new CompleteTaskBatchConfiguration(new ArrayList<>(taskIds), variables);
+  }
+
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd.batch;
+
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotContainsNull;
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotEmpty;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.camunda.bpm.engine.BadUserRequestException;
+import org.camunda.bpm.engine.authorization.BatchPermissions;
+import org.camunda.bpm.engine.batch.Batch;
+import org.camunda.bpm.engine.history.UserOperationLogEntry;
+import org.camunda.bpm.engine.impl.TaskQueryImpl;
+import org.camunda.bpm.engine.impl.batch.BatchConfiguration;
+import org.camunda.bpm.engine.impl.batch.builder.BatchBuilder;
+import org.camunda.bpm.engine.impl.batch.task.SetTaskAssigneeBatchConfiguration;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.PropertyChange;
+import org.camunda.bpm.engine.task.TaskQuery;
+
+/**
+ * Creates a batch which claims tasks or sets their assignee.
+ */
+public class SetTaskAssigneeBatchCmd implements Command<Batch> {
+
+  protected List<String> taskIds;
+  protected TaskQuery taskQuery;
+  protected String userId;
+  protected boolean claim;
+
+  public SetTaskAssigneeBatchCmd(List<String> taskIds, TaskQuery taskQuery, String userId, boolean claim) {
+    this.taskIds = taskIds;
+    this.taskQuery = taskQuery;
+    this.userId = userId;
+    this.claim = claim;
+  }
+
+  @Override
+  public Batch execute(CommandContext commandContext) {
+    Collection<String> collectedTaskIds = collectTaskIds(taskIds, taskQuery);
+
+    ensureNotEmpty(BadUserRequestException.class, "taskIds", collectedTaskIds);
+    ensureNotContainsNull(BadUserRequestException.class, "taskIds", collectedTaskIds);
+
+    return new BatchBuilder(commandContext)
+        .type(Batch.TYPE_TASK_SET_ASSIGNEE)
+        .config(getConfiguration(collectedTaskIds))
+        .permission(BatchPermissions.CREATE_BATCH_UPDATE_TASKS)
+        .operationLogHandler(this::writeUserOperationLog)
+        .build();
+  }
+
+  protected static List<String> collectTaskIds(List<String> taskIds, TaskQuery taskQuery) {
+    Set<String> collectedTaskIds = new LinkedHashSet<>();
+
+    if (taskIds != null) {
+      collectedTaskIds.addAll(taskIds);
+    }
+
+    if (taskQuery != null) {
+      collectedTaskIds.addAll(((TaskQueryImpl) taskQuery).listIds());
+    }
+
+    return new ArrayList<>(collectedTaskIds);
+  }
+
+  protected void writeUserOperationLog(CommandContext commandContext, int numInstances) {
+    List<PropertyChange> propertyChanges = new ArrayList<>();
+    propertyChanges.add(new PropertyChange("nrOfInstances", null, numInstances));
+    propertyChanges.add(new PropertyChange("async", null, true));
+    propertyChanges.add(new PropertyChange("assignee", null, userId));
+
+    String operation = claim ? UserOperationLogEntry.OPERATION_TYPE_CLAIM : UserOperationLogEntry.OPERATION_TYPE_ASSIGN;
+
+    commandContext.getOperationLogManager()
+        .logTaskOperations(operation, propertyChanges);
+  }
+
+  public BatchConfiguration getConfiguration(Collection<String> taskIds) {
+    return new SetTaskAssigneeBatchConfiguration(new ArrayList<>(taskIds), userId, claim);
+  }
+
+}
@@ -77,6 +77,7 @@ import org.camunda.bpm.engine.delegate.CaseVariableListener;
 import org.camunda.bpm.engine.delegate.Expression;
 import org.camunda.bpm.engine.delegate.VariableListener;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.cmmn.behavior.CmmnBehaviorLogger;
 import org.camunda.bpm.engine.impl.cmmn.entity.runtime.CaseExecutionEntity;
 import org.camunda.bpm.engine.impl.cmmn.entity.runtime.CaseSentryPartEntity;
@@ -85,12 +86,14 @@ import org.camunda.bpm.engine.impl.cmmn.model.CmmnCaseDefinition;
 import org.camunda.bpm.engine.impl.cmmn.model.CmmnIfPartDeclaration;
 import org.camunda.bpm.engine.impl.cmmn.model.CmmnOnPartDeclaration;
 import org.camunda.bpm.engine.impl.cmmn.model.CmmnSentryDeclaration;
+import org.camunda.bpm.engine.impl.cmmn.model.CmmnSentryIndex;
 import org.camunda.bpm.engine.impl.cmmn.model.CmmnVariableOnPartDeclaration;
 import org.camunda.bpm.engine.impl.cmmn.operation.CmmnAtomicOperation;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.core.instance.CoreExecution;
 import org.camunda.bpm.engine.impl.core.variable.event.VariableEvent;
 import org.camunda.bpm.engine.impl.core.variable.scope.AbstractVariableScope;
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
 import org.camunda.bpm.engine.impl.persistence.entity.TaskEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.TaskEntity.TaskState;
 import org.camunda.bpm.engine.impl.pvm.PvmException;
@@ -99,6 +102,7 @@ import org.camunda.bpm.engine.impl.pvm.runtime.PvmExecutionImpl;
 import org.camunda.bpm.engine.impl.task.TaskDecorator;
 import org.camunda.bpm.engine.impl.variable.listener.CaseVariableListenerInvocation;
 import org.camunda.bpm.engine.impl.variable.listener.DelegateCaseVariableInstanceImpl;
+import org.camunda.bpm.engine.management.Metrics;
 import org.camunda.bpm.engine.task.Task;
 import org.camunda.bpm.engine.variable.value.TypedValue;
 
@@ -312,6 +316,8 @@ public abstract class CmmnExecution extends CoreExecution implements CmmnCaseIns
   // sentry: (2) handle transitions
 
   public void handleChildTransition(CmmnExecution child, String transition) {
+    long startTime = System.nanoTime();
+
     // Step 1: collect all affected sentries
     List<String> affectedSentries = collectAffectedSentries(child, transition);
 
@@ -327,6 +333,8 @@ public abstract class CmmnExecution extends CoreExecution implements CmmnCaseIns
     // Step 4: reset sentries -> satisfied == false
     resetSentries(satisfiedSentries);
 
+    logCaseTransition(startTime);
+
     // Step 5: fire satisfied sentries
     fireSentries(satisfiedSentries);
 
@@ -335,11 +343,21 @@ public abstract class CmmnExecution extends CoreExecution implements CmmnCaseIns
   public void fireIfOnlySentryParts() {
     // the following steps are a workaround, because setVariable()
     // does not check nor fire a sentry!!!
+    long startTime = System.nanoTime();
+
     Set<String> affectedSentries = new HashSet<String>();
-    List<CmmnSentryPart> sentryParts = collectSentryParts(getSentries());
-    for (CmmnSentryPart sentryPart : sentryParts) {
-      if (isNotSatisfiedIfPartOnly(sentryPart)) {
-        affectedSentries.add(sentryPart.getSentryId());
+    Set<String> ifPartOnlySentries = getSentryIndex().getSentriesWithIfPartOnly();
+    if (!ifPartOnlySentries.isEmpty()) {
+      Map<String, List<CmmnSentryPart>> sentries = getSentries();
+      for (String sentryId : ifPartOnlySentries) {
+        List<CmmnSentryPart> sentryParts = sentries.get(sentryId);
+        if (sentryParts != null) {
+          for (CmmnSentryPart sentryPart : sentryParts) {
+            if (isNotSatisfiedIfPartOnly(sentryPart)) {
+              affectedSentries.add(sentryId);
+            }
+          }
+        }
       }
     }
 
@@ -349,12 +367,16 @@ public abstract class CmmnExecution extends CoreExecution implements CmmnCaseIns
     // Step 8: reset sentries -> satisfied == false
     resetSentries(satisfiedSentries);
 
+    logCaseTransition(startTime);
+
     // Step 9: fire satisfied sentries
     fireSentries(satisfiedSentries);
   }
 
   public void handleVariableTransition(String variableName, String transition) {
-    Map<String, List<CmmnSentryPart>> sentries = collectAllSentries();
+    long startTime = System.nanoTime();
+
+    Map<String, List<CmmnSentryPart>> sentries = collectSentriesAffectedByVariable(variableName, transition);
 
     List<CmmnSentryPart> sentryParts = collectSentryParts(sentries);
 
@@ -370,25 +392,36 @@ public abstract class CmmnExecution extends CoreExecution implements CmmnCaseIns
     List<CmmnSentryPart> satisfiedSentryParts = getAffectedSentryParts(sentries, satisfiedSentries);
     resetSentryParts(satisfiedSentryParts);
 
+    logCaseTransition(startTime);
+
     fireSentries(satisfiedSentries);
 
   }
 
   protected List<String> collectAffectedSentries(CmmnExecution child, String transition) {
-    List<? extends CmmnSentryPart> sentryParts = getCaseSentryParts();
-
     List<String> affectedSentries = new ArrayList<String>();
 
-    for (CmmnSentryPart sentryPart : sentryParts) {
+    // only the sentries listening to the transition of the child's
+    // activity are loaded and checked
+    Set<String> candidateSentries = getSentryIndex().getSentriesByOnPart(child.getActivityId(), transition);
 
-      // necessary for backward compatibility
-      String sourceCaseExecutionId = sentryPart.getSourceCaseExecutionId();
-      String sourceRef = sentryPart.getSource();
-      if (child.getActivityId().equals(sourceRef) || child.getId().equals(sourceCaseExecutionId)) {
+    for (String sentryId : candidateSentries) {
+      List<? extends CmmnSentryPart> sentryParts = findSentry(sentryId);
+      if (sentryParts == null) {
+        continue;
+      }
 
-        String standardEvent = sentryPart.getStandardEvent();
-        if (transition.equals(standardEvent)) {
-          addIdIfNotSatisfied(affectedSentries, sentryPart);
+      for (CmmnSentryPart sentryPart : sentryParts) {
+
+        // necessary for backward compatibility
+        String sourceCaseExecutionId = sentryPart.getSourceCaseExecutionId();
+        String sourceRef = sentryPart.getSource();
+        if (child.getActivityId().equals(sourceRef) || child.getId().equals(sourceCaseExecutionId)) {
+
+          String standardEvent = sentryPart.getStandardEvent();
+          if (transition.equals(standardEvent)) {
+            addIdIfNotSatisfied(affectedSentries, sentryPart);
+          }
         }
       }
     }
@@ -460,6 +493,49 @@ public abstract class CmmnExecution extends CoreExecution implements CmmnCaseIns
     return sentries;
   }
 
+  /**
+   * Collects the sentries of this case execution and its descendants which can
+   * become satisfied by the given variable event. The sentry parts of case executions
+   * whose activity declares no such sentry are not loaded.
+   */
+  protected Map<String, List<CmmnSentryPart>> collectSentriesAffectedByVariable(String variableName, String variableEvent) {
+    Map<String, List<CmmnSentryPart>> sentries = new HashMap<String, List<CmmnSentryPart>>();
+    List<? extends CmmnExecution> caseExecutions = getCaseExecutions();
+    for (CmmnExecution caseExecution : caseExecutions) {
+      sentries.putAll(caseExecution.collectSentriesAffectedByVariable(variableName, variableEvent));
+    }
+
+    Set<String> affectedSentryIds = getSentryIndex().getSentriesAffectedByVariable(variableName, variableEvent);
+    if (!affectedSentryIds.isEmpty()) {
+      Map<String, List<CmmnSentryPart>> localSentries = getSentries();
+      for (String sentryId : affectedSentryIds) {
+        List<CmmnSentryPart> sentryParts = localSentries.get(sentryId);
+        if (sentryParts != null) {
+          sentries.put(sentryId, sentryParts);
+        }
+      }
+    }
+
+    return sentries;
+  }
+
+  protected CmmnSentryIndex getSentryIndex() {
+    CmmnActivity activity = getActivity();
+    ensureNotNull(PvmException.class, "Case execution '"+getId()+"': has no current activity.", "activity", activity);
+    return activity.getSentryIndex();
+  }
+
+  protected void logCaseTransition(long startTime) {
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    if (processEngineConfiguration != null && processEngineConfiguration.isMetricsEnabled()) {
+      long durationInMicros = (System.nanoTime() - startTime) / 1000;
+
+      MetricsRegistry metricsRegistry = processEngineConfiguration.getMetricsRegistry();
+      metricsRegistry.markOccurrence(Metrics.CASE_TRANSITIONS);
+      metricsRegistry.markOccurrence(Metrics.CASE_TRANSITION_SENTRY_EVALUATION_TIME, durationInMicros);
+    }
+  }
+
   protected List<CmmnSentryPart> getAffectedSentryParts(Map<String,List<CmmnSentryPart>> allSentries, List<String> affectedSentries) {
     List<CmmnSentryPart> affectedSentryParts = new ArrayList<CmmnSentryPart>();
     for(String affectedSentryId: affectedSentries) {
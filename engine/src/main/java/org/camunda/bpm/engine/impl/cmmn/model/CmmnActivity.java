@@ -47,6 +47,7 @@ public class CmmnActivity extends CoreActivity {
 
   protected List<CmmnSentryDeclaration> sentries = new ArrayList<CmmnSentryDeclaration>();
   protected Map<String, CmmnSentryDeclaration> sentryMap = new HashMap<String, CmmnSentryDeclaration>();
+  protected CmmnSentryIndex sentryIndex;
 
   protected List<CmmnSentryDeclaration> entryCriteria = new ArrayList<CmmnSentryDeclaration>();
   protected List<CmmnSentryDeclaration> exitCriteria = new ArrayList<CmmnSentryDeclaration>();
@@ -141,6 +142,22 @@ public class CmmnActivity extends CoreActivity {
   public void addSentry(CmmnSentryDeclaration sentry) {
     sentryMap.put(sentry.getId(), sentry);
     sentries.add(sentry);
+    sentryIndex = null;
+  }
+
+  /**
+   * Returns the index of the sentries declared by this activity. The index is
+   * built when the case definition is transformed or on first access.
+   */
+  public CmmnSentryIndex getSentryIndex() {
+    if (sentryIndex == null) {
+      initializeSentryIndex();
+    }
+    return sentryIndex;
+  }
+
+  public void initializeSentryIndex() {
+    sentryIndex = new CmmnSentryIndex(sentries);
   }
 
   // entryCriteria
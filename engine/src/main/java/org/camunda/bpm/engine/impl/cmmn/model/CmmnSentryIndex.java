@@ -0,0 +1,123 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmmn.model;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Maps the events a sentry listens to onto the ids of the sentries declared in
+ * a stage, so that a transition only has to evaluate the sentries that
+ * depend on it.
+ */
+public class CmmnSentryIndex implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  // source activity id + standard event => sentry ids
+  protected Map<String, Set<String>> sentriesByOnPart = new HashMap<String, Set<String>>();
+  // variable name + variable event => sentry ids
+  protected Map<String, Set<String>> sentriesByVariableOnPart = new HashMap<String, Set<String>>();
+
+  protected Set<String> sentriesWithIfPart = new LinkedHashSet<String>();
+  protected Set<String> sentriesWithIfPartOnly = new LinkedHashSet<String>();
+
+  public CmmnSentryIndex(List<CmmnSentryDeclaration> sentries) {
+    for (CmmnSentryDeclaration sentry : sentries) {
+      String sentryId = sentry.getId();
+
+      for (CmmnOnPartDeclaration onPart : sentry.getOnParts()) {
+        add(sentriesByOnPart, createKey(onPart.getSource().getId(), onPart.getStandardEvent()), sentryId);
+      }
+
+      for (CmmnVariableOnPartDeclaration variableOnPart : sentry.getVariableOnParts()) {
+        add(sentriesByVariableOnPart, createKey(variableOnPart.getVariableName(), variableOnPart.getVariableEvent()), sentryId);
+      }
+
+      if (sentry.getIfPart() != null) {
+        sentriesWithIfPart.add(sentryId);
+
+        if (sentry.getOnParts().isEmpty() && sentry.getVariableOnParts().isEmpty()) {
+          sentriesWithIfPartOnly.add(sentryId);
+        }
+      }
+    }
+  }
+
+  /**
+   * @return the ids of the sentries with an onPart on the given source activity and standard event
+   */
+  public Set<String> getSentriesByOnPart(String sourceActivityId, String standardEvent) {
+    return get(sentriesByOnPart, createKey(sourceActivityId, standardEvent));
+  }
+
+  /**
+   * @return the ids of the sentries with a variableOnPart on the given variable and variable event
+   */
+  public Set<String> getSentriesByVariableOnPart(String variableName, String variableEvent) {
+    return get(sentriesByVariableOnPart, createKey(variableName, variableEvent));
+  }
+
+  /**
+   * @return the ids of the sentries that can become satisfied by the given variable event, i.e. the
+   *  sentries with a matching variableOnPart and all sentries with an ifPart
+   */
+  public Set<String> getSentriesAffectedByVariable(String variableName, String variableEvent) {
+    Set<String> sentriesByVariable = getSentriesByVariableOnPart(variableName, variableEvent);
+    if (sentriesByVariable.isEmpty()) {
+      return Collections.unmodifiableSet(sentriesWithIfPart);
+    }
+
+    Set<String> result = new LinkedHashSet<String>(sentriesByVariable);
+    result.addAll(sentriesWithIfPart);
+    return result;
+  }
+
+  /**
+   * @return the ids of the sentries that consist of an ifPart only
+   */
+  public Set<String> getSentriesWithIfPartOnly() {
+    return Collections.unmodifiableSet(sentriesWithIfPartOnly);
+  }
+
+  protected static String createKey(String name, String event) {
+    return name + "#" + event;
+  }
+
+  protected static void add(Map<String, Set<String>> index, String key, String sentryId) {
+    Set<String> sentryIds = index.get(key);
+    if (sentryIds == null) {
+      sentryIds = new LinkedHashSet<String>();
+      index.put(key, sentryIds);
+    }
+    sentryIds.add(sentryId);
+  }
+
+  protected static Set<String> get(Map<String, Set<String>> index, String key) {
+    Set<String> sentryIds = index.get(key);
+    if (sentryIds == null) {
+      return Collections.emptySet();
+    }
+    return Collections.unmodifiableSet(sentryIds);
+  }
+
+}
@@ -207,6 +207,9 @@ public class CmmnTransform implements Transform<CaseDefinitionEntity> {
     // transform the onParts of the existing sentries
     transformSentryOnParts(stage);
 
+    // the sentries of the stage are complete now
+    parent.initializeSentryIndex();
+
     // parse planningTable (not yet implemented)
     transformPlanningTable(stage.getPlanningTable(), parent);
 
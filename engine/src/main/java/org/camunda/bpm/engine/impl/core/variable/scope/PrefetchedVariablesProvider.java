@@ -0,0 +1,66 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.core.variable.scope;
+
+import java.util.Collection;
+
+import org.camunda.bpm.engine.impl.core.variable.CoreVariableInstance;
+import org.camunda.bpm.engine.impl.core.variable.scope.VariableStore.VariablesProvider;
+
+/**
+ * Provides variables which were fetched in advance, either all variables of a scope
+ * or only those with certain names. Requests for variables which were not fetched
+ * are delegated to the given fallback provider.
+ */
+public class PrefetchedVariablesProvider<T extends CoreVariableInstance> extends VariableCollectionProvider<T> {
+
+  protected Collection<String> prefetchedVariableNames;
+  protected VariablesProvider<T> fallbackProvider;
+
+  /**
+   * @param variables the fetched variables
+   * @param prefetchedVariableNames the names of the fetched variables, null if all variables were fetched
+   * @param fallbackProvider provides the variables which were not fetched
+   */
+  public PrefetchedVariablesProvider(Collection<T> variables, Collection<String> prefetchedVariableNames, VariablesProvider<T> fallbackProvider) {
+    super(variables);
+    this.prefetchedVariableNames = prefetchedVariableNames;
+    this.fallbackProvider = fallbackProvider;
+  }
+
+  @Override
+  public Collection<T> provideVariables() {
+    if (prefetchedVariableNames == null) {
+      return super.provideVariables();
+    }
+    else {
+      return fallbackProvider.provideVariables();
+    }
+  }
+
+  @Override
+  public Collection<T> provideVariables(Collection<String> variableNames) {
+    if (prefetchedVariableNames == null
+        || (variableNames != null && prefetchedVariableNames.containsAll(variableNames))) {
+      return super.provideVariables(variableNames);
+    }
+    else {
+      return fallbackProvider.provideVariables(variableNames);
+    }
+  }
+
+}
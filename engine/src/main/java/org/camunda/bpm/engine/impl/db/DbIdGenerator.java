@@ -29,6 +29,7 @@ public class DbIdGenerator implements IdGenerator {
   protected int idBlockSize;
   protected long nextId;
   protected long lastId;
+  protected volatile long idBlockRefills;
 
   protected CommandExecutor commandExecutor;
 
@@ -49,6 +50,7 @@ public class DbIdGenerator implements IdGenerator {
     IdBlock idBlock = commandExecutor.execute(new GetNextIdBlockCmd(idBlockSize));
     this.nextId = idBlock.getNextId();
     this.lastId = idBlock.getLastId();
+    idBlockRefills++;
   }
 
   public int getIdBlockSize() {
@@ -59,6 +61,13 @@ public class DbIdGenerator implements IdGenerator {
     this.idBlockSize = idBlockSize;
   }
 
+  /**
+   * @return the number of blocks of IDs fetched from the database so far
+   */
+  public long getIdBlockRefills() {
+    return idBlockRefills;
+  }
+
   public CommandExecutor getCommandExecutor() {
     return commandExecutor;
   }
@@ -652,6 +652,16 @@ public class EnginePersistenceLogger extends ProcessEngineLogger {
         "081", "No startup lock property found in database");
   }
 
+  public void logExecutionTreeRelatedEntitiesPrefetched(String processInstanceId, int executionCount, int queryCount, int queriesSaved) {
+    logDebug(
+        "090",
+        "Prefetched related entities of process instance '{}' with {} executions in {} queries, saving up to {} queries",
+        processInstanceId,
+        executionCount,
+        queryCount,
+        queriesSaved);
+  }
+
   public void printBatchResults(List<BatchResult> results) {
     if (results.size() > 0) {
       StringBuilder sb = new StringBuilder();
@@ -743,4 +753,19 @@ public class EnginePersistenceLogger extends ProcessEngineLogger {
         + "Failed operation: {}",
         operation));
   }
+
+  public void logLockedExternalTasksPrefetched(int externalTaskCount, int queryCount) {
+    logDebug(
+        "092",
+        "Prefetched executions, variables and byte arrays of {} locked external tasks in {} queries",
+        externalTaskCount,
+        queryCount);
+  }
+
+  public ProcessEngineException historicDecisionInputOutputSerializationException(String decisionInstanceId, Throwable cause) {
+    return new ProcessEngineException(exceptionMessage(
+        "091",
+        "Cannot serialize or deserialize the inputs and outputs of historic decision instance '{}'",
+        decisionInstanceId), cause);
+  }
 }
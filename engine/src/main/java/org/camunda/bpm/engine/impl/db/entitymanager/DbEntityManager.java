@@ -30,7 +30,9 @@ import static org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.camunda.bpm.engine.OptimisticLockingException;
 import org.camunda.bpm.engine.ProcessEngineException;
@@ -52,6 +54,8 @@ import org.camunda.bpm.engine.impl.TaskQueryImpl;
 import org.camunda.bpm.engine.impl.UserQueryImpl;
 import org.camunda.bpm.engine.impl.cfg.IdGenerator;
 import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cfg.TransactionListener;
+import org.camunda.bpm.engine.impl.cfg.TransactionState;
 import org.camunda.bpm.engine.impl.cmmn.entity.repository.CaseDefinitionQueryImpl;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.db.DbEntity;
@@ -65,6 +69,7 @@ import org.camunda.bpm.engine.impl.db.PersistenceSession;
 import org.camunda.bpm.engine.impl.db.entitymanager.cache.CachedDbEntity;
 import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityCache;
 import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityState;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.QueryResultCache;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbBulkOperation;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbEntityOperation;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation;
@@ -73,6 +78,7 @@ import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperationManager
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperationType;
 import org.camunda.bpm.engine.impl.identity.db.DbGroupQueryImpl;
 import org.camunda.bpm.engine.impl.identity.db.DbUserQueryImpl;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.interceptor.Session;
 import org.camunda.bpm.engine.impl.jobexecutor.JobExecutorContext;
 import org.camunda.bpm.engine.impl.persistence.entity.ByteArrayEntity;
@@ -103,6 +109,9 @@ public class DbEntityManager implements Session, EntityLoadListener {
   protected PersistenceSession persistenceSession;
   protected boolean isIgnoreForeignKeysForNextFlush;
 
+  /** entity types flushed by this session, invalidated in the query result cache on commit */
+  protected Set<Class<?>> flushedEntityTypes;
+
   public DbEntityManager(IdGenerator idGenerator, PersistenceSession persistenceSession) {
     this.idGenerator = idGenerator;
     this.persistenceSession = persistenceSession;
@@ -308,6 +317,8 @@ public class DbEntityManager implements Session, EntityLoadListener {
 
     LOG.databaseFlushSummary(operationsToFlush);
 
+    invalidateQueryResultCache(operationsToFlush);
+
     // If we want to delete all table data as bulk operation, on tables which have self references,
     // We need to turn the foreign key check off on MySQL and MariaDB.
     // On other databases we have to do nothing, the mapped statement will be empty.
@@ -371,6 +382,45 @@ public class DbEntityManager implements Session, EntityLoadListener {
   }
 
 
+  /**
+   * Invalidates cached query results depending on the flushed entity types, once
+   * on flush and again on commit, since queries of concurrent commands may cache
+   * the previously committed state in between.
+   */
+  protected void invalidateQueryResultCache(List<DbOperation> operationsToFlush) {
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    if (processEngineConfiguration == null) {
+      return;
+    }
+
+    final QueryResultCache queryResultCache = processEngineConfiguration.getQueryResultCache();
+    if (queryResultCache == null) {
+      return;
+    }
+
+    Set<Class<?>> modifiedEntityTypes = new HashSet<Class<?>>();
+    for (DbOperation operation : operationsToFlush) {
+      modifiedEntityTypes.add(operation.getEntityType());
+    }
+
+    queryResultCache.invalidate(modifiedEntityTypes);
+
+    if (flushedEntityTypes == null) {
+      CommandContext commandContext = Context.getCommandContext();
+      if (commandContext == null) {
+        return;
+      }
+
+      flushedEntityTypes = new HashSet<Class<?>>();
+      commandContext.getTransactionContext().addTransactionListener(TransactionState.COMMITTED, new TransactionListener() {
+        public void execute(CommandContext commandContext) {
+          queryResultCache.invalidate(flushedEntityTypes);
+        }
+      });
+    }
+    flushedEntityTypes.addAll(modifiedEntityTypes);
+  }
+
   public void flushEntity(DbEntity entity) {
     CachedDbEntity cachedEntity = dbEntityCache.getCachedEntity(entity);
     if (cachedEntity != null) {
@@ -0,0 +1,450 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.db.entitymanager.cache;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.camunda.bpm.engine.impl.AbstractQuery;
+import org.camunda.bpm.engine.impl.Page;
+import org.camunda.bpm.engine.impl.ProcessDefinitionQueryImpl;
+import org.camunda.bpm.engine.impl.TaskQueryImpl;
+import org.camunda.bpm.engine.impl.cmmn.entity.repository.CaseDefinitionEntity;
+import org.camunda.bpm.engine.impl.cmmn.entity.runtime.CaseExecutionEntity;
+import org.camunda.bpm.engine.impl.filter.FilterQueryImpl;
+import org.camunda.bpm.engine.impl.identity.Authentication;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.AuthorizationEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.DeploymentEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.EventSubscriptionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.FilterEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.IdentityLinkEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.IncidentEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.MembershipEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.TaskEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.TenantMembershipEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceEntity;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.commons.utils.cache.Cache;
+import org.camunda.commons.utils.cache.ConcurrentLruCache;
+
+/**
+ * <p>Caches the results of read-mostly queries across commands for a short time.</p>
+ *
+ * <p>Only queries of registered query types are cached. Results are keyed by the query type,
+ * the values of all query parameters and the current authentication, so results are only
+ * shared between callers which would see the same rows. Whenever a command flushes changes
+ * to an entity type a query type depends on, all cached results of that query type are
+ * invalidated; the time to live bounds the staleness of results written by other engines
+ * of a cluster.</p>
+ *
+ * <p>Callers may modify the entities of a query result, e.g. to save a task afterwards. List
+ * results are therefore only cached for query types which are registered with a
+ * {@link ResultCopier}; the cache keeps copies of the entities and hands out new copies on
+ * every hit. Counts are cached for all registered query types.</p>
+ */
+public class QueryResultCache {
+
+  public static final int DEFAULT_CAPACITY = 1000;
+  public static final long DEFAULT_TIME_TO_LIVE = 5000L;
+
+  public static final String OPERATION_LIST = "list";
+  public static final String OPERATION_COUNT = "count";
+
+  /** query parameter fields which do not contribute to the result or are part of the key otherwise */
+  protected static final Set<String> IGNORED_QUERY_FIELDS = new HashSet<String>(Arrays.asList(
+      "commandExecutor", "validators", "resultType", "maxResultsLimitEnabled", "resultCacheEnabled",
+      "authCheck", "tenantCheck", "databaseType"));
+
+  protected static final int MAX_KEY_DEPTH = 16;
+
+  protected Cache<String, CachedQueryResult> cache;
+  protected long timeToLive;
+
+  protected Map<Class<?>, CachedQueryType> queryTypes = new ConcurrentHashMap<Class<?>, CachedQueryType>();
+  protected Map<Class<?>, List<Field>> keyFields = new ConcurrentHashMap<Class<?>, List<Field>>();
+
+  public QueryResultCache(int capacity, long timeToLive) {
+    this.cache = new ConcurrentLruCache<String, CachedQueryResult>(capacity);
+    this.timeToLive = timeToLive;
+  }
+
+  /**
+   * Enables caching of counts for the given query type. Cached results of the query type are invalidated
+   * when entities of one of the given types (or their subtypes) are inserted, updated or deleted.
+   */
+  public void registerQueryType(Class<?> queryType, Class<?>... entityTypes) {
+    registerQueryType(queryType, null, entityTypes);
+  }
+
+  /**
+   * Enables caching of counts and, if a result copier is given, of list results for the given query type.
+   *
+   * @see #registerQueryType(Class, Class...)
+   */
+  public void registerQueryType(Class<?> queryType, ResultCopier resultCopier, Class<?>... entityTypes) {
+    queryTypes.put(queryType, new CachedQueryType(resultCopier, Arrays.asList(entityTypes)));
+  }
+
+  public void unregisterQueryType(Class<?> queryType) {
+    queryTypes.remove(queryType);
+  }
+
+  public boolean isCacheable(AbstractQuery<?, ?> query) {
+    return queryTypes.containsKey(query.getClass());
+  }
+
+  /**
+   * @return true if list results of the query can be cached, i.e. its query type has a result copier
+   */
+  public boolean isListCacheable(AbstractQuery<?, ?> query) {
+    CachedQueryType queryType = queryTypes.get(query.getClass());
+    return queryType != null && queryType.resultCopier != null;
+  }
+
+  /**
+   * @return new copies of the given results, so that they share no state with any other caller
+   */
+  public List<Object> copyResults(AbstractQuery<?, ?> query, List<?> results) {
+    ResultCopier resultCopier = queryTypes.get(query.getClass()).resultCopier;
+
+    List<Object> copies = new ArrayList<Object>(results.size());
+    for (Object result : results) {
+      copies.add(resultCopier.copy(result));
+    }
+    return copies;
+  }
+
+  /**
+   * @return the cached result or null if there is no valid result cached for the given key
+   */
+  public Object get(AbstractQuery<?, ?> query, String key) {
+    CachedQueryType queryType = queryTypes.get(query.getClass());
+    if (queryType == null) {
+      return null;
+    }
+
+    CachedQueryResult cachedResult = cache.get(key);
+    long now = ClockUtil.getCurrentTime().getTime();
+
+    if (cachedResult == null) {
+      queryType.statistics.miss();
+      return null;
+    }
+
+    if (cachedResult.generation != queryType.generation.get() || now >= cachedResult.cachedAt + timeToLive) {
+      cache.remove(key);
+      queryType.statistics.miss();
+      return null;
+    }
+
+    queryType.statistics.hit(now - cachedResult.cachedAt);
+    return cachedResult.result;
+  }
+
+  /**
+   * @return the current generation of the query type; must be obtained before the query is executed
+   * and passed to {@link #put(AbstractQuery, String, Object, long)} to detect concurrent invalidations
+   */
+  public long getGeneration(AbstractQuery<?, ?> query) {
+    CachedQueryType queryType = queryTypes.get(query.getClass());
+    return queryType != null ? queryType.generation.get() : -1;
+  }
+
+  public void put(AbstractQuery<?, ?> query, String key, Object result, long generation) {
+    CachedQueryType queryType = queryTypes.get(query.getClass());
+    if (queryType != null && queryType.generation.get() == generation) {
+      cache.put(key, new CachedQueryResult(result, ClockUtil.getCurrentTime().getTime(), generation));
+    }
+  }
+
+  /**
+   * Invalidates the cached results of all query types which depend on one of the given entity types.
+   */
+  public void invalidate(Collection<Class<?>> modifiedEntityTypes) {
+    for (CachedQueryType queryType : queryTypes.values()) {
+      if (queryType.dependsOnAny(modifiedEntityTypes)) {
+        queryType.generation.incrementAndGet();
+        queryType.statistics.invalidated();
+      }
+    }
+  }
+
+  public void clear() {
+    cache.clear();
+  }
+
+  public int size() {
+    return cache.size();
+  }
+
+  /**
+   * @return the statistics of the given query type or null if the query type is not cached
+   */
+  public QueryResultCacheStatistics getStatistics(Class<?> queryType) {
+    CachedQueryType cachedQueryType = queryTypes.get(queryType);
+    return cachedQueryType != null ? cachedQueryType.statistics : null;
+  }
+
+  public Set<Class<?>> getQueryTypes() {
+    return Collections.unmodifiableSet(queryTypes.keySet());
+  }
+
+  // keys //////////////////////////////////////////////
+
+  public String createKey(AbstractQuery<?, ?> query, String operation, Page page, CommandContext commandContext) {
+    StringBuilder key = new StringBuilder();
+    key.append(query.getClass().getName()).append('|').append(operation);
+
+    if (page != null) {
+      key.append('|').append(page.getFirstResult()).append(',').append(page.getMaxResults());
+    }
+
+    key.append('|').append(commandContext.isAuthorizationCheckEnabled())
+      .append(',').append(commandContext.isTenantCheckEnabled());
+
+    Authentication authentication = commandContext.getAuthentication();
+    if (authentication != null) {
+      key.append('|');
+      appendValue(key, authentication.getUserId(), null, 0);
+      appendValue(key, authentication.getGroupIds(), null, 0);
+      appendValue(key, authentication.getTenantIds(), null, 0);
+    }
+
+    key.append('|');
+    appendFields(key, query, new IdentityHashMap<Object, Boolean>(), 0);
+
+    return key.toString();
+  }
+
+  protected void appendFields(StringBuilder key, Object object, Map<Object, Boolean> visited, int depth) {
+    visited.put(object, Boolean.TRUE);
+
+    key.append(object.getClass().getName()).append('(');
+    for (Field field : getKeyFields(object.getClass())) {
+      key.append(field.getName()).append('=');
+      try {
+        appendValue(key, field.get(object), visited, depth + 1);
+      }
+      catch (IllegalAccessException e) {
+        // cannot happen for accessible fields; makes the key unique
+        key.append('@').append(System.identityHashCode(object));
+      }
+      key.append(';');
+    }
+    key.append(')');
+  }
+
+  protected void appendValue(StringBuilder key, Object value, Map<Object, Boolean> visited, int depth) {
+    if (value == null) {
+      key.append("null");
+    }
+    else if (value instanceof String) {
+      String string = (String) value;
+      key.append(string.length()).append(':').append(string);
+    }
+    else if (value instanceof Number || value instanceof Boolean || value instanceof Character) {
+      key.append(value);
+    }
+    else if (value instanceof Date) {
+      key.append('d').append(((Date) value).getTime());
+    }
+    else if (value instanceof Enum) {
+      key.append(((Enum<?>) value).name());
+    }
+    else if (value instanceof Class) {
+      key.append(((Class<?>) value).getName());
+    }
+    else if (value.getClass().isArray()) {
+      key.append('[');
+      int length = Array.getLength(value);
+      for (int i = 0; i < length; i++) {
+        appendValue(key, Array.get(value, i), visited, depth);
+        key.append(',');
+      }
+      key.append(']');
+    }
+    else if (value instanceof Collection) {
+      key.append('[');
+      for (Object element : (Collection<?>) value) {
+        appendValue(key, element, visited, depth);
+        key.append(',');
+      }
+      key.append(']');
+    }
+    else if (value instanceof Map) {
+      key.append('{');
+      for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+        appendValue(key, entry.getKey(), visited, depth);
+        key.append('=');
+        appendValue(key, entry.getValue(), visited, depth);
+        key.append(',');
+      }
+      key.append('}');
+    }
+    else if (value.getClass().getName().startsWith("java.")) {
+      key.append(value);
+    }
+    else if (visited == null || depth > MAX_KEY_DEPTH) {
+      // never share results for parameters which cannot be compared
+      key.append('@').append(System.identityHashCode(value));
+    }
+    else if (visited.containsKey(value)) {
+      key.append("@ref");
+    }
+    else {
+      appendFields(key, value, visited, depth);
+    }
+  }
+
+  protected List<Field> getKeyFields(Class<?> type) {
+    List<Field> fields = keyFields.get(type);
+
+    if (fields == null) {
+      fields = new ArrayList<Field>();
+      for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+        for (Field field : current.getDeclaredFields()) {
+          int modifiers = field.getModifiers();
+          if (!Modifier.isStatic(modifiers)
+              && !Modifier.isTransient(modifiers)
+              && !field.isSynthetic()
+              && !IGNORED_QUERY_FIELDS.contains(field.getName())) {
+            field.setAccessible(true);
+            fields.add(field);
+          }
+        }
+      }
+      keyFields.put(type, fields);
+    }
+
+    return fields;
+  }
+
+  // defaults //////////////////////////////////////////
+
+  /**
+   * Registers the task, process definition and filter queries used by the web applications.
+   */
+  public static QueryResultCache createDefaultQueryResultCache(int capacity, long timeToLive) {
+    QueryResultCache queryResultCache = new QueryResultCache(capacity, timeToLive);
+
+    queryResultCache.registerQueryType(TaskQueryImpl.class,
+        new ResultCopier() {
+          public Object copy(Object result) {
+            return ((TaskEntity) result).copy();
+          }
+        },
+        TaskEntity.class,
+        IdentityLinkEntity.class,
+        VariableInstanceEntity.class,
+        ExecutionEntity.class,
+        CaseExecutionEntity.class,
+        ProcessDefinitionEntity.class,
+        CaseDefinitionEntity.class,
+        AuthorizationEntity.class,
+        MembershipEntity.class,
+        TenantMembershipEntity.class);
+
+    queryResultCache.registerQueryType(ProcessDefinitionQueryImpl.class,
+        new ResultCopier() {
+          public Object copy(Object result) {
+            return ((ProcessDefinitionEntity) result).copy();
+          }
+        },
+        ProcessDefinitionEntity.class,
+        DeploymentEntity.class,
+        EventSubscriptionEntity.class,
+        IncidentEntity.class,
+        AuthorizationEntity.class,
+        MembershipEntity.class,
+        TenantMembershipEntity.class);
+
+    queryResultCache.registerQueryType(FilterQueryImpl.class,
+        new ResultCopier() {
+          public Object copy(Object result) {
+            return ((FilterEntity) result).copy();
+          }
+        },
+        FilterEntity.class,
+        AuthorizationEntity.class,
+        MembershipEntity.class);
+
+    return queryResultCache;
+  }
+
+  /**
+   * Creates a copy of a single query result which shares no mutable state with the original.
+   */
+  public interface ResultCopier {
+
+    Object copy(Object result);
+
+  }
+
+  protected static class CachedQueryType {
+
+    protected final ResultCopier resultCopier;
+    protected final List<Class<?>> entityTypes;
+    protected final AtomicLong generation = new AtomicLong();
+    protected final QueryResultCacheStatistics statistics = new QueryResultCacheStatistics();
+
+    public CachedQueryType(ResultCopier resultCopier, List<Class<?>> entityTypes) {
+      this.resultCopier = resultCopier;
+      this.entityTypes = entityTypes;
+    }
+
+    public boolean dependsOnAny(Collection<Class<?>> modifiedEntityTypes) {
+      for (Class<?> modifiedEntityType : modifiedEntityTypes) {
+        for (Class<?> entityType : entityTypes) {
+          if (entityType.isAssignableFrom(modifiedEntityType)) {
+            return true;
+          }
+        }
+      }
+      return false;
+    }
+  }
+
+  protected static class CachedQueryResult {
+
+    protected final Object result;
+    protected final long cachedAt;
+    protected final long generation;
+
+    public CachedQueryResult(Object result, long cachedAt, long generation) {
+      this.result = result;
+      this.cachedAt = cachedAt;
+      this.generation = generation;
+    }
+  }
+
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.db.entitymanager.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hit ratio and staleness of the {@link QueryResultCache} for one query type.
+ */
+public class QueryResultCacheStatistics {
+
+  protected final AtomicLong hitCount = new AtomicLong();
+  protected final AtomicLong missCount = new AtomicLong();
+  protected final AtomicLong invalidationCount = new AtomicLong();
+
+  /** sum of the ages of all results served from the cache in milliseconds */
+  protected final AtomicLong totalHitAge = new AtomicLong();
+  protected final AtomicLong maxHitAge = new AtomicLong();
+
+  public void hit(long age) {
+    hitCount.incrementAndGet();
+    totalHitAge.addAndGet(age);
+
+    long currentMax = maxHitAge.get();
+    while (age > currentMax && !maxHitAge.compareAndSet(currentMax, age)) {
+      currentMax = maxHitAge.get();
+    }
+  }
+
+  public void miss() {
+    missCount.incrementAndGet();
+  }
+
+  public void invalidated() {
+    invalidationCount.incrementAndGet();
+  }
+
+  public long getHitCount() {
+    return hitCount.get();
+  }
+
+  public long getMissCount() {
+    return missCount.get();
+  }
+
+  public long getInvalidationCount() {
+    return invalidationCount.get();
+  }
+
+  /**
+   * @return the ratio of queries answered from the cache, between 0 and 1
+   */
+  public double getHitRatio() {
+    long hits = hitCount.get();
+    long total = hits + missCount.get();
+    return total == 0 ? 0 : (double) hits / total;
+  }
+
+  /**
+   * @return the average age in milliseconds of the results served from the cache
+   */
+  public long getAverageStaleness() {
+    long hits = hitCount.get();
+    return hits == 0 ? 0 : totalHitAge.get() / hits;
+  }
+
+  /**
+   * @return the maximum age in milliseconds of a result served from the cache
+   */
+  public long getMaxStaleness() {
+    return maxHitAge.get();
+  }
+
+  public String toString() {
+    return "QueryResultCacheStatistics[hits=" + getHitCount()
+        + ", misses=" + getMissCount()
+        + ", invalidations=" + getInvalidationCount()
+        + ", averageStaleness=" + getAverageStaleness()
+        + ", maxStaleness=" + getMaxStaleness()
+        + "]";
+  }
+
+}
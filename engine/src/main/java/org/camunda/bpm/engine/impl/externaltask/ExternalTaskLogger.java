@@ -16,6 +16,8 @@
  */
 package org.camunda.bpm.engine.impl.externaltask;
 
+import java.util.Collection;
+
 import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
 import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
@@ -40,4 +42,30 @@ public class ExternalTaskLogger extends ProcessEngineLogger {
         "Could not determine priority for external task created in context of execution {}. Using default priority {}",
         execution, value, e);
   }
+
+  /**
+   * Logs that a chunk of a bulk operation on external tasks failed and was rolled back.
+   *
+   * @param externalTaskIds the ids of the external tasks of the chunk
+   * @param e the exception which was catched
+   */
+  public void bulkOperationChunkFailed(Collection<String> externalTaskIds, RuntimeException e) {
+    logWarn(
+        "002",
+        "Could not handle external tasks {} in one transaction. The operation is rolled back and retried for each of them",
+        externalTaskIds, e);
+  }
+
+  /**
+   * Logs that a bulk operation failed for one external task and was rolled back.
+   *
+   * @param externalTaskId the id of the external task
+   * @param e the exception which was catched
+   */
+  public void bulkOperationFailed(String externalTaskId, RuntimeException e) {
+    logWarn(
+        "003",
+        "Could not handle external task '{}'. The operation is rolled back for this task",
+        externalTaskId, e);
+  }
 }
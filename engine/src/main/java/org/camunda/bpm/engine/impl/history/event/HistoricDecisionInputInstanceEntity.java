@@ -179,6 +179,10 @@ public class HistoricDecisionInputInstanceEntity extends HistoryEvent implements
     byteArrayField.setByteArrayValue(bytes);
   }
 
+  public void setByteArrayValue(byte[] bytes, boolean isTransient) {
+    byteArrayField.setByteArrayValue(bytes, isTransient);
+  }
+
   public void setValue(TypedValue typedValue) {
     typedValueField.setValue(typedValue);
   }
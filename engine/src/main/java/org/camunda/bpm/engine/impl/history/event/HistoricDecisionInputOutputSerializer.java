@@ -0,0 +1,269 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.history.event;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.camunda.bpm.engine.history.HistoricDecisionInputInstance;
+import org.camunda.bpm.engine.history.HistoricDecisionOutputInstance;
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
+
+/**
+ * Writes the inputs and outputs of a {@link HistoricDecisionInstanceEntity} into a single
+ * byte array and restores them from it. The value fields of every input and output are
+ * written as they were produced by the variable serializers, so that the typed values
+ * can be restored exactly as if they had been read from the ACT_HI_DEC_IN and
+ * ACT_HI_DEC_OUT tables.
+ */
+public class HistoricDecisionInputOutputSerializer {
+
+  protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
+
+  protected static final int FORMAT_VERSION = 1;
+
+  public static final String BYTE_ARRAY_NAME = "decision-inputs-outputs";
+
+  public static final String INPUT_ID_INFIX = "-in-";
+  public static final String OUTPUT_ID_INFIX = "-out-";
+
+  public byte[] serialize(HistoricDecisionInstanceEntity decisionInstance) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(bytes);
+
+    try {
+      out.writeInt(FORMAT_VERSION);
+
+      List<HistoricDecisionInputInstance> inputs = decisionInstance.getInputs();
+      out.writeInt(inputs.size());
+      for (HistoricDecisionInputInstance input : inputs) {
+        HistoricDecisionInputInstanceEntity inputEntity = (HistoricDecisionInputInstanceEntity) input;
+        writeString(out, inputEntity.getClauseId());
+        writeString(out, inputEntity.getClauseName());
+        writeValueFields(out, inputEntity.getSerializerName(), inputEntity.getTextValue(), inputEntity.getTextValue2(),
+          inputEntity.getLongValue(), inputEntity.getDoubleValue(), inputEntity.getByteArrayValue());
+        writeDate(out, inputEntity.getCreateTime());
+      }
+
+      List<HistoricDecisionOutputInstance> outputs = decisionInstance.getOutputs();
+      out.writeInt(outputs.size());
+      for (HistoricDecisionOutputInstance output : outputs) {
+        HistoricDecisionOutputInstanceEntity outputEntity = (HistoricDecisionOutputInstanceEntity) output;
+        writeString(out, outputEntity.getClauseId());
+        writeString(out, outputEntity.getClauseName());
+        writeString(out, outputEntity.getRuleId());
+        writeInteger(out, outputEntity.getRuleOrder());
+        writeString(out, outputEntity.getVariableName());
+        writeValueFields(out, outputEntity.getSerializerName(), outputEntity.getTextValue(), outputEntity.getTextValue2(),
+          outputEntity.getLongValue(), outputEntity.getDoubleValue(), outputEntity.getByteArrayValue());
+        writeDate(out, outputEntity.getCreateTime());
+      }
+
+      out.flush();
+    }
+    catch (IOException e) {
+      throw LOG.historicDecisionInputOutputSerializationException(decisionInstance.getId(), e);
+    }
+
+    return bytes.toByteArray();
+  }
+
+  public List<HistoricDecisionInputInstanceEntity> deserializeInputs(HistoricDecisionInstanceEntity decisionInstance, byte[] bytes) {
+    List<HistoricDecisionInputInstanceEntity> inputs = new ArrayList<HistoricDecisionInputInstanceEntity>();
+
+    try {
+      DataInputStream in = open(bytes);
+
+      int inputCount = in.readInt();
+      for (int i = 0; i < inputCount; i++) {
+        HistoricDecisionInputInstanceEntity input = new HistoricDecisionInputInstanceEntity(
+          decisionInstance.getRootProcessInstanceId(), decisionInstance.getRemovalTime());
+        input.setId(decisionInstance.getId() + INPUT_ID_INFIX + i);
+        input.setDecisionInstanceId(decisionInstance.getId());
+        input.setTenantId(decisionInstance.getTenantId());
+
+        input.setClauseId(readString(in));
+        input.setClauseName(readString(in));
+        input.setSerializerName(readString(in));
+        input.setTextValue(readString(in));
+        input.setTextValue2(readString(in));
+        input.setLongValue(readLong(in));
+        input.setDoubleValue(readDouble(in));
+        input.setByteArrayValue(readBytes(in), true);
+        input.setCreateTime(readDate(in));
+
+        inputs.add(input);
+      }
+    }
+    catch (IOException e) {
+      throw LOG.historicDecisionInputOutputSerializationException(decisionInstance.getId(), e);
+    }
+
+    return inputs;
+  }
+
+  public List<HistoricDecisionOutputInstanceEntity> deserializeOutputs(HistoricDecisionInstanceEntity decisionInstance, byte[] bytes) {
+    List<HistoricDecisionOutputInstanceEntity> outputs = new ArrayList<HistoricDecisionOutputInstanceEntity>();
+
+    try {
+      DataInputStream in = open(bytes);
+
+      // skip the inputs
+      int inputCount = in.readInt();
+      for (int i = 0; i < inputCount; i++) {
+        readString(in);
+        readString(in);
+        readString(in);
+        readString(in);
+        readString(in);
+        readLong(in);
+        readDouble(in);
+        readBytes(in);
+        readDate(in);
+      }
+
+      int outputCount = in.readInt();
+      for (int i = 0; i < outputCount; i++) {
+        HistoricDecisionOutputInstanceEntity output = new HistoricDecisionOutputInstanceEntity(
+          decisionInstance.getRootProcessInstanceId(), decisionInstance.getRemovalTime());
+        output.setId(decisionInstance.getId() + OUTPUT_ID_INFIX + i);
+        output.setDecisionInstanceId(decisionInstance.getId());
+        output.setTenantId(decisionInstance.getTenantId());
+
+        output.setClauseId(readString(in));
+        output.setClauseName(readString(in));
+        output.setRuleId(readString(in));
+        output.setRuleOrder(readInteger(in));
+        output.setVariableName(readString(in));
+        output.setSerializerName(readString(in));
+        output.setTextValue(readString(in));
+        output.setTextValue2(readString(in));
+        output.setLongValue(readLong(in));
+        output.setDoubleValue(readDouble(in));
+        output.setByteArrayValue(readBytes(in), true);
+        output.setCreateTime(readDate(in));
+
+        outputs.add(output);
+      }
+    }
+    catch (IOException e) {
+      throw LOG.historicDecisionInputOutputSerializationException(decisionInstance.getId(), e);
+    }
+
+    return outputs;
+  }
+
+  protected DataInputStream open(byte[] bytes) throws IOException {
+    DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+
+    int version = in.readInt();
+    if (version != FORMAT_VERSION) {
+      throw new IOException("Unsupported format version " + version);
+    }
+
+    return in;
+  }
+
+  protected void writeValueFields(DataOutputStream out, String serializerName, String textValue, String textValue2,
+      Long longValue, Double doubleValue, byte[] byteArrayValue) throws IOException {
+    writeString(out, serializerName);
+    writeString(out, textValue);
+    writeString(out, textValue2);
+    writeLong(out, longValue);
+    writeDouble(out, doubleValue);
+    writeBytes(out, byteArrayValue);
+  }
+
+  // every nullable value is prefixed with a flag which indicates whether it is present
+
+  protected void writeString(DataOutputStream out, String value) throws IOException {
+    writeBytes(out, value != null ? value.getBytes(StandardCharsets.UTF_8) : null);
+  }
+
+  protected String readString(DataInputStream in) throws IOException {
+    byte[] bytes = readBytes(in);
+    return bytes != null ? new String(bytes, StandardCharsets.UTF_8) : null;
+  }
+
+  protected void writeBytes(DataOutputStream out, byte[] value) throws IOException {
+    out.writeBoolean(value != null);
+    if (value != null) {
+      out.writeInt(value.length);
+      out.write(value);
+    }
+  }
+
+  protected byte[] readBytes(DataInputStream in) throws IOException {
+    if (in.readBoolean()) {
+      byte[] bytes = new byte[in.readInt()];
+      in.readFully(bytes);
+      return bytes;
+    }
+    return null;
+  }
+
+  protected void writeLong(DataOutputStream out, Long value) throws IOException {
+    out.writeBoolean(value != null);
+    if (value != null) {
+      out.writeLong(value);
+    }
+  }
+
+  protected Long readLong(DataInputStream in) throws IOException {
+    return in.readBoolean() ? in.readLong() : null;
+  }
+
+  protected void writeInteger(DataOutputStream out, Integer value) throws IOException {
+    out.writeBoolean(value != null);
+    if (value != null) {
+      out.writeInt(value);
+    }
+  }
+
+  protected Integer readInteger(DataInputStream in) throws IOException {
+    return in.readBoolean() ? in.readInt() : null;
+  }
+
+  protected void writeDouble(DataOutputStream out, Double value) throws IOException {
+    out.writeBoolean(value != null);
+    if (value != null) {
+      out.writeDouble(value);
+    }
+  }
+
+  protected Double readDouble(DataInputStream in) throws IOException {
+    return in.readBoolean() ? in.readDouble() : null;
+  }
+
+  protected void writeDate(DataOutputStream out, Date value) throws IOException {
+    writeLong(out, value != null ? value.getTime() : null);
+  }
+
+  protected Date readDate(DataInputStream in) throws IOException {
+    Long time = readLong(in);
+    return time != null ? new Date(time) : null;
+  }
+
+}
@@ -58,6 +58,8 @@ public class HistoricDecisionInstanceEntity extends HistoryEvent implements Hist
   protected String userId;
   protected String tenantId;
 
+  protected String inputOutputByteArrayId;
+
   protected List<HistoricDecisionInputInstance> inputs;
   protected List<HistoricDecisionOutputInstance> outputs;
 
@@ -203,4 +205,12 @@ public class HistoricDecisionInstanceEntity extends HistoryEvent implements Hist
   public void setDecisionRequirementsDefinitionKey(String decisionRequirementsDefinitionKey) {
     this.decisionRequirementsDefinitionKey = decisionRequirementsDefinitionKey;
   }
+
+  public String getInputOutputByteArrayId() {
+    return inputOutputByteArrayId;
+  }
+
+  public void setInputOutputByteArrayId(String inputOutputByteArrayId) {
+    this.inputOutputByteArrayId = inputOutputByteArrayId;
+  }
 }
@@ -24,6 +24,7 @@ import org.camunda.bpm.engine.history.CleanableHistoricDecisionInstanceReportRes
 import org.camunda.bpm.engine.impl.CleanableHistoricDecisionInstanceReportImpl;
 import org.camunda.bpm.engine.impl.HistoricDecisionInstanceQueryImpl;
 import org.camunda.bpm.engine.impl.Page;
+import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.db.DbEntity;
 import org.camunda.bpm.engine.impl.db.ListQueryParameterObject;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation;
@@ -31,6 +32,7 @@ import org.camunda.bpm.engine.impl.persistence.AbstractHistoricManager;
 import org.camunda.bpm.engine.impl.persistence.entity.ByteArrayEntity;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
 import org.camunda.bpm.engine.impl.variable.serializer.AbstractTypedValueSerializer;
+import org.camunda.bpm.engine.repository.ResourceTypes;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -71,6 +73,7 @@ public class HistoricDecisionInstanceManager extends AbstractHistoricManager {
   }
 
   public void deleteHistoricDecisionInstanceByIds(List<String> decisionInstanceIds) {
+    getDbEntityManager().deletePreserveOrder(ByteArrayEntity.class, "deleteHistoricDecisionInputOutputByteArraysByDecisionInstanceIds", decisionInstanceIds);
     getDbEntityManager().deletePreserveOrder(ByteArrayEntity.class, "deleteHistoricDecisionInputInstanceByteArraysByDecisionInstanceIds", decisionInstanceIds);
     getDbEntityManager().deletePreserveOrder(ByteArrayEntity.class, "deleteHistoricDecisionOutputInstanceByteArraysByDecisionInstanceIds", decisionInstanceIds);
     getDbEntityManager().deletePreserveOrder(HistoricDecisionInputInstanceEntity.class, "deleteHistoricDecisionInputInstanceByDecisionInstanceIds", decisionInstanceIds);
@@ -92,10 +95,35 @@ public class HistoricDecisionInstanceManager extends AbstractHistoricManager {
   }
 
   protected void insertHistoricDecisionInstance(HistoricDecisionInstanceEntity historicDecisionInstance) {
-    getDbEntityManager().insert(historicDecisionInstance);
+    if (Context.getProcessEngineConfiguration().isHistoricDecisionInputOutputCompact()) {
+      insertHistoricDecisionInputOutputByteArray(historicDecisionInstance);
+      getDbEntityManager().insert(historicDecisionInstance);
+    }
+    else {
+      getDbEntityManager().insert(historicDecisionInstance);
+
+      insertHistoricDecisionInputInstances(historicDecisionInstance.getInputs(), historicDecisionInstance.getId());
+      insertHistoricDecisionOutputInstances(historicDecisionInstance.getOutputs(), historicDecisionInstance.getId());
+    }
+  }
+
+  protected void insertHistoricDecisionInputOutputByteArray(HistoricDecisionInstanceEntity historicDecisionInstance) {
+    byte[] bytes = new HistoricDecisionInputOutputSerializer().serialize(historicDecisionInstance);
+
+    // the values are part of the serialized inputs and outputs; the byte arrays created
+    // by the variable serializers have not been flushed yet and can be dropped
+    for (HistoricDecisionInputInstance input : historicDecisionInstance.getInputs()) {
+      ((HistoricDecisionInputInstanceEntity) input).setByteArrayValue(null);
+    }
+    for (HistoricDecisionOutputInstance output : historicDecisionInstance.getOutputs()) {
+      ((HistoricDecisionOutputInstanceEntity) output).setByteArrayValue(null);
+    }
+
+    ByteArrayEntity byteArray = new ByteArrayEntity(HistoricDecisionInputOutputSerializer.BYTE_ARRAY_NAME, bytes,
+      ResourceTypes.HISTORY, historicDecisionInstance.getRootProcessInstanceId(), historicDecisionInstance.getRemovalTime());
+    getByteArrayManager().insertByteArray(byteArray);
 
-    insertHistoricDecisionInputInstances(historicDecisionInstance.getInputs(), historicDecisionInstance.getId());
-    insertHistoricDecisionOutputInstances(historicDecisionInstance.getOutputs(), historicDecisionInstance.getId());
+    historicDecisionInstance.setInputOutputByteArrayId(byteArray.getId());
   }
 
   protected void insertHistoricDecisionInputInstances(List<HistoricDecisionInputInstance> inputs, String decisionInstanceId) {
@@ -134,17 +162,85 @@ public class HistoricDecisionInstanceManager extends AbstractHistoricManager {
   public void enrichHistoricDecisionsWithInputsAndOutputs(HistoricDecisionInstanceQueryImpl query, List<HistoricDecisionInstance> decisionInstances) {
     Map<String, HistoricDecisionInstanceEntity> decisionInstancesById =
       new HashMap<String, HistoricDecisionInstanceEntity>();
+    Map<String, HistoricDecisionInstanceEntity> compactDecisionInstancesById =
+      new HashMap<String, HistoricDecisionInstanceEntity>();
     for(HistoricDecisionInstance decisionInstance : decisionInstances) {
-      decisionInstancesById.put(decisionInstance.getId(), (HistoricDecisionInstanceEntity) decisionInstance);
+      HistoricDecisionInstanceEntity decisionInstanceEntity = (HistoricDecisionInstanceEntity) decisionInstance;
+      if (decisionInstanceEntity.getInputOutputByteArrayId() != null) {
+        compactDecisionInstancesById.put(decisionInstance.getId(), decisionInstanceEntity);
+      }
+      else {
+        decisionInstancesById.put(decisionInstance.getId(), decisionInstanceEntity);
+      }
     }
 
-    if (!decisionInstances.isEmpty() && query.isIncludeInput()) {
+    if (!decisionInstancesById.isEmpty() && query.isIncludeInput()) {
       appendHistoricDecisionInputInstances(decisionInstancesById, query);
     }
 
-    if(!decisionInstances.isEmpty() && query.isIncludeOutputs()) {
+    if(!decisionInstancesById.isEmpty() && query.isIncludeOutputs()) {
       appendHistoricDecisionOutputInstances(decisionInstancesById, query);
     }
+
+    if (!compactDecisionInstancesById.isEmpty() && (query.isIncludeInput() || query.isIncludeOutputs())) {
+      appendHistoricDecisionInputOutputInstancesFromByteArrays(compactDecisionInstancesById, query);
+    }
+  }
+
+  protected void appendHistoricDecisionInputOutputInstancesFromByteArrays(Map<String, HistoricDecisionInstanceEntity> decisionInstancesById, HistoricDecisionInstanceQueryImpl query) {
+    Map<String, byte[]> bytesByByteArrayId = findHistoricDecisionInputOutputByteArrays(decisionInstancesById.values());
+    HistoricDecisionInputOutputSerializer serializer = new HistoricDecisionInputOutputSerializer();
+
+    if (query.isIncludeInput()) {
+      initializeInputInstances(decisionInstancesById.values());
+    }
+    if (query.isIncludeOutputs()) {
+      initializeOutputInstances(decisionInstancesById.values());
+    }
+
+    for (HistoricDecisionInstanceEntity decisionInstance : decisionInstancesById.values()) {
+      byte[] bytes = bytesByByteArrayId.get(decisionInstance.getInputOutputByteArrayId());
+      if (bytes == null) {
+        // the byte array has been removed in parallel
+        continue;
+      }
+
+      if (query.isIncludeInput()) {
+        for (HistoricDecisionInputInstanceEntity decisionInputInstance : serializer.deserializeInputs(decisionInstance, bytes)) {
+          decisionInstance.addInput(decisionInputInstance);
+
+          if (!isBinaryValue(decisionInputInstance) || query.isByteArrayFetchingEnabled()) {
+            fetchVariableValue(decisionInputInstance, query.isCustomObjectDeserializationEnabled());
+          }
+        }
+      }
+
+      if (query.isIncludeOutputs()) {
+        for (HistoricDecisionOutputInstanceEntity decisionOutputInstance : serializer.deserializeOutputs(decisionInstance, bytes)) {
+          decisionInstance.addOutput(decisionOutputInstance);
+
+          if (!isBinaryValue(decisionOutputInstance) || query.isByteArrayFetchingEnabled()) {
+            fetchVariableValue(decisionOutputInstance, query.isCustomObjectDeserializationEnabled());
+          }
+        }
+      }
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  protected Map<String, byte[]> findHistoricDecisionInputOutputByteArrays(Collection<HistoricDecisionInstanceEntity> decisionInstances) {
+    List<String> byteArrayIds = new ArrayList<String>();
+    for (HistoricDecisionInstanceEntity decisionInstance : decisionInstances) {
+      byteArrayIds.add(decisionInstance.getInputOutputByteArrayId());
+    }
+
+    Map<String, byte[]> bytesByByteArrayId = new HashMap<String, byte[]>();
+    List<ByteArrayEntity> byteArrays = getDbEntityManager().selectList("selectByteArrays", byteArrayIds);
+    for (ByteArrayEntity byteArray : byteArrays) {
+      bytesByByteArrayId.put(byteArray.getId(), byteArray.getBytes());
+    }
+
+    return bytesByByteArrayId;
   }
 
   @SuppressWarnings("unchecked")
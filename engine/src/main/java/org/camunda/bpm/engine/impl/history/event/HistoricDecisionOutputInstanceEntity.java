@@ -210,6 +210,10 @@ public class HistoricDecisionOutputInstanceEntity extends HistoryEvent implement
     byteArrayField.setByteArrayValue(bytes);
   }
 
+  public void setByteArrayValue(byte[] bytes, boolean isTransient) {
+    byteArrayField.setByteArrayValue(bytes, isTransient);
+  }
+
   public void setValue(TypedValue typedValue) {
     typedValueField.setValue(typedValue);
   }
@@ -45,6 +45,13 @@ public class UserOperationLogEntryEventEntity extends HistoryEvent implements Us
   protected String externalTaskId;
   protected String annotation;
 
+  /**
+   * All property changes of the entry as JSON if the entry is stored compactly,
+   * see {@link UserOperationLogPropertyChangesSerializer}
+   */
+  protected String propertyChanges;
+  protected Integer propertyChangeCount;
+
   public String getOperationId() {
     return operationId;
   }
@@ -189,6 +196,22 @@ public class UserOperationLogEntryEventEntity extends HistoryEvent implements Us
     this.annotation = annotation;
   }
 
+  public String getPropertyChanges() {
+    return propertyChanges;
+  }
+
+  public void setPropertyChanges(String propertyChanges) {
+    this.propertyChanges = propertyChanges;
+  }
+
+  public Integer getPropertyChangeCount() {
+    return propertyChangeCount;
+  }
+
+  public void setPropertyChangeCount(Integer propertyChangeCount) {
+    this.propertyChangeCount = propertyChangeCount;
+  }
+
   @Override
   public String toString() {
     return this.getClass().getSimpleName()
@@ -216,6 +239,7 @@ public class UserOperationLogEntryEventEntity extends HistoryEvent implements Us
         + ", entityType=" + entityType
         + ", category=" + category
         + ", annotation=" + annotation
+        + ", propertyChanges=" + propertyChanges
         + "]";
   }
 }
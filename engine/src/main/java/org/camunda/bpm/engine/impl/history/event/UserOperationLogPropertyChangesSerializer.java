@@ -0,0 +1,237 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.history.event;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.camunda.bpm.engine.history.UserOperationLogEntry;
+import org.camunda.bpm.engine.impl.persistence.entity.PropertyChange;
+import org.camunda.bpm.engine.impl.util.JsonUtil;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+
+/**
+ * Writes all property changes of a user operation log entry into a single JSON
+ * payload stored in ACT_HI_OP_LOG.PROPERTY_CHANGES_ and restores one
+ * {@link UserOperationLogEntry} per property change from it.
+ */
+public class UserOperationLogPropertyChangesSerializer {
+
+  /**
+   * The maximum length of the payload; entries with longer payloads are stored
+   * with one row per property change. Matches the smallest column size among
+   * the supported databases.
+   */
+  public static final int MAX_PAYLOAD_LENGTH = 2000;
+
+  /**
+   * Separates the id of a compact row from the index of the property change
+   * in the ids of the entries expanded from this row.
+   */
+  public static final String ENTRY_ID_SEPARATOR = ":";
+
+  public static final String PROPERTY = "property";
+  public static final String ORG_VALUE = "orgValue";
+  public static final String NEW_VALUE = "newValue";
+
+  /**
+   * @return the payload or null if it exceeds {@link #MAX_PAYLOAD_LENGTH} or a property
+   * is changed more than once, since queries by property count a compact row only once
+   */
+  public String serialize(List<PropertyChange> propertyChanges) {
+    JsonArray payload = JsonUtil.createArray();
+    Set<String> propertyNames = new HashSet<String>();
+
+    for (PropertyChange propertyChange : propertyChanges) {
+      if (!propertyNames.add(propertyChange.getPropertyName())) {
+        return null;
+      }
+
+      JsonObject change = JsonUtil.createObject();
+      JsonUtil.addField(change, PROPERTY, propertyChange.getPropertyName());
+      JsonUtil.addField(change, ORG_VALUE, propertyChange.getOrgValueString());
+      JsonUtil.addField(change, NEW_VALUE, propertyChange.getNewValueString());
+      payload.add(change);
+    }
+
+    String serializedPayload = payload.toString();
+    if (serializedPayload.length() > MAX_PAYLOAD_LENGTH) {
+      return null;
+    }
+    return serializedPayload;
+  }
+
+  /**
+   * @return one entry per property change of the given entry with an id of its own,
+   * see {@link #createEntryId(String, int)}; the entry itself if its property changes
+   * are not stored compactly
+   */
+  public List<UserOperationLogEntryEventEntity> expand(UserOperationLogEntryEventEntity entry) {
+    List<UserOperationLogEntryEventEntity> entries = new ArrayList<UserOperationLogEntryEventEntity>();
+
+    if (entry.getPropertyChanges() == null) {
+      entries.add(entry);
+      return entries;
+    }
+
+    JsonArray payload = JsonUtil.getGsonMapper().fromJson(entry.getPropertyChanges(), JsonArray.class);
+    for (int i = 0; i < payload.size(); i++) {
+      JsonElement element = payload.get(i);
+      if (element.isJsonNull()) {
+        // the entry of this change was deleted
+        continue;
+      }
+
+      JsonObject change = JsonUtil.getObject(element);
+      entries.add(copy(entry,
+          createEntryId(entry.getId(), i),
+          getStringOrNull(change, PROPERTY),
+          getStringOrNull(change, ORG_VALUE),
+          getStringOrNull(change, NEW_VALUE)));
+    }
+
+    return entries;
+  }
+
+  /**
+   * Removes a property change from the payload. The change is replaced with
+   * <code>null</code>, so the indexes of the other changes and thereby the ids
+   * of their entries remain the same.
+   *
+   * @return the payload without the change, the unchanged payload if there is no
+   * change with this index, or null if no change is left
+   */
+  public String remove(String payload, int index) {
+    JsonArray changes = JsonUtil.getGsonMapper().fromJson(payload, JsonArray.class);
+    if (index >= changes.size() || changes.get(index).isJsonNull()) {
+      return payload;
+    }
+
+    changes.set(index, JsonNull.INSTANCE);
+
+    for (JsonElement change : changes) {
+      if (!change.isJsonNull()) {
+        return changes.toString();
+      }
+    }
+    return null;
+  }
+
+  public static String createEntryId(String rowId, int index) {
+    return rowId + ENTRY_ID_SEPARATOR + index;
+  }
+
+  /**
+   * @return the id of the compact row the entry with the given id may be expanded from,
+   * or null if the id has not the format of {@link #createEntryId(String, int)}
+   */
+  public static String getRowId(String entryId) {
+    int separatorIndex = entryId.lastIndexOf(ENTRY_ID_SEPARATOR);
+    int indexLength = entryId.length() - separatorIndex - 1;
+    if (separatorIndex < 1 || indexLength < 1 || indexLength > 9) {
+      return null;
+    }
+
+    for (char c : entryId.substring(separatorIndex + 1).toCharArray()) {
+      if (!Character.isDigit(c)) {
+        return null;
+      }
+    }
+    return entryId.substring(0, separatorIndex);
+  }
+
+  /**
+   * @return the index of the property change of an entry whose id has the
+   * format of {@link #createEntryId(String, int)}
+   */
+  public static int getIndex(String entryId) {
+    return Integer.parseInt(entryId.substring(entryId.lastIndexOf(ENTRY_ID_SEPARATOR) + 1));
+  }
+
+  /**
+   * @return the LIKE pattern matching payloads which contain a change of the given property,
+   * using backslash as escape character
+   */
+  public static String createPropertyPattern(String property) {
+    JsonObject propertyField = JsonUtil.createObject();
+    JsonUtil.addField(propertyField, PROPERTY, property);
+
+    // strip the braces of {"property":"..."}
+    String field = propertyField.toString();
+    field = field.substring(1, field.length() - 1);
+
+    StringBuilder pattern = new StringBuilder("%");
+    for (char c : field.toCharArray()) {
+      if (c == '%' || c == '_' || c == '\\') {
+        pattern.append('\\');
+      }
+      pattern.append(c);
+    }
+    return pattern.append('%').toString();
+  }
+
+  protected String getStringOrNull(JsonObject json, String memberName) {
+    if (json.has(memberName) && !json.get(memberName).isJsonNull()) {
+      return json.get(memberName).getAsString();
+    }
+    return null;
+  }
+
+  protected UserOperationLogEntryEventEntity copy(UserOperationLogEntryEventEntity entry,
+      String id, String property, String orgValue, String newValue) {
+
+    UserOperationLogEntryEventEntity copy = new UserOperationLogEntryEventEntity();
+
+    copy.setId(id);
+    copy.setDeploymentId(entry.getDeploymentId());
+    copy.setProcessDefinitionId(entry.getProcessDefinitionId());
+    copy.setProcessDefinitionKey(entry.getProcessDefinitionKey());
+    copy.setRootProcessInstanceId(entry.getRootProcessInstanceId());
+    copy.setProcessInstanceId(entry.getProcessInstanceId());
+    copy.setExecutionId(entry.getExecutionId());
+    copy.setCaseDefinitionId(entry.getCaseDefinitionId());
+    copy.setCaseInstanceId(entry.getCaseInstanceId());
+    copy.setCaseExecutionId(entry.getCaseExecutionId());
+    copy.setTaskId(entry.getTaskId());
+    copy.setJobId(entry.getJobId());
+    copy.setJobDefinitionId(entry.getJobDefinitionId());
+    copy.setBatchId(entry.getBatchId());
+    copy.setUserId(entry.getUserId());
+    copy.setTimestamp(entry.getTimestamp());
+    copy.setOperationId(entry.getOperationId());
+    copy.setOperationType(entry.getOperationType());
+    copy.setEntityType(entry.getEntityType());
+    copy.setTenantId(entry.getTenantId());
+    copy.setRemovalTime(entry.getRemovalTime());
+    copy.setCategory(entry.getCategory());
+    copy.setExternalTaskId(entry.getExternalTaskId());
+    copy.setAnnotation(entry.getAnnotation());
+
+    copy.setProperty(property);
+    copy.setOrgValue(orgValue);
+    copy.setNewValue(newValue);
+
+    return copy;
+  }
+
+}
@@ -53,6 +53,7 @@ import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
 import org.camunda.bpm.engine.impl.history.event.HistoryEventType;
 import org.camunda.bpm.engine.impl.history.event.HistoryEventTypes;
 import org.camunda.bpm.engine.impl.history.event.UserOperationLogEntryEventEntity;
+import org.camunda.bpm.engine.impl.history.event.UserOperationLogPropertyChangesSerializer;
 import org.camunda.bpm.engine.impl.migration.instance.MigratingActivityInstance;
 import org.camunda.bpm.engine.impl.oplog.UserOperationLogContext;
 import org.camunda.bpm.engine.impl.oplog.UserOperationLogContextEntry;
@@ -798,14 +799,34 @@ public class DefaultHistoryEventProducer implements HistoryEventProducer {
     String operationId = Context.getCommandContext().getOperationId();
     context.setOperationId(operationId);
 
+    boolean isCompact = Context.getProcessEngineConfiguration().isUserOperationLogCompact();
+
     for (UserOperationLogContextEntry entry : context.getEntries()) {
-      for (PropertyChange propertyChange : entry.getPropertyChanges()) {
+      List<PropertyChange> propertyChanges = entry.getPropertyChanges();
+
+      String compactPropertyChanges = null;
+      if (isCompact && propertyChanges.size() > 1) {
+        compactPropertyChanges = new UserOperationLogPropertyChangesSerializer().serialize(propertyChanges);
+      }
+
+      if (compactPropertyChanges != null) {
         UserOperationLogEntryEventEntity evt = new UserOperationLogEntryEventEntity();
 
-        initUserOperationLogEvent(evt, context, entry, propertyChange);
+        initUserOperationLogEvent(evt, context, entry, PropertyChange.EMPTY_CHANGE);
+        evt.setPropertyChanges(compactPropertyChanges);
+        evt.setPropertyChangeCount(propertyChanges.size());
 
         historyEvents.add(evt);
       }
+      else {
+        for (PropertyChange propertyChange : propertyChanges) {
+          UserOperationLogEntryEventEntity evt = new UserOperationLogEntryEventEntity();
+
+          initUserOperationLogEvent(evt, context, entry, propertyChange);
+
+          historyEvents.add(evt);
+        }
+      }
     }
 
     return historyEvents;
@@ -20,7 +20,6 @@ import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
 
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
@@ -83,6 +82,7 @@ import org.camunda.bpm.engine.impl.persistence.entity.JobDefinitionManager;
 import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.JobManager;
 import org.camunda.bpm.engine.impl.persistence.entity.MeterLogManager;
+import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionStatisticsCounterManager;
 import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionManager;
 import org.camunda.bpm.engine.impl.persistence.entity.PropertyManager;
 import org.camunda.bpm.engine.impl.persistence.entity.ReportManager;
@@ -119,7 +119,7 @@ public class CommandContext {
 
   protected JobEntity currentJob = null;
 
-  protected List<CommandContextListener> commandContextListeners = new LinkedList<CommandContextListener>();
+  protected List<CommandContextListener> commandContextListeners = new ArrayList<CommandContextListener>();
 
   protected String operationId;
 
@@ -242,8 +242,9 @@ public class CommandContext {
   }
 
   protected void fireCommandContextClose() {
-    for (CommandContextListener listener : commandContextListeners) {
-      listener.onCommandContextClose(this);
+    // listeners may register further listeners while the context is closing
+    for (int i = 0; i < commandContextListeners.size(); i++) {
+      commandContextListeners.get(i).onCommandContextClose(this);
     }
   }
 
@@ -328,6 +329,10 @@ public class CommandContext {
     return getSession(MeterLogManager.class);
   }
 
+  public ProcessDefinitionStatisticsCounterManager getProcessDefinitionStatisticsCounterManager() {
+    return getSession(ProcessDefinitionStatisticsCounterManager.class);
+  }
+
   public IdentityLinkManager getIdentityLinkManager() {
     return getSession(IdentityLinkManager.class);
   }
@@ -17,11 +17,15 @@
 package org.camunda.bpm.engine.impl.jobexecutor;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
+import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
+
 
 /**
  * @author Tom Baeyens
@@ -33,6 +37,7 @@ public class AcquiredJobs {
 
   protected List<List<String>> acquiredJobBatches = new ArrayList<List<String>>();
   protected Set<String> acquiredJobs = new HashSet<String>();
+  protected Map<String, JobEntity> jobSnapshots = new HashMap<String, JobEntity>();
 
   protected int numberOfJobsFailedToLock = 0;
 
@@ -58,6 +63,18 @@ public class AcquiredJobs {
     addJobIdBatch(list);
   }
 
+  /**
+   * Keeps the complete state of an acquired job so that it can be executed
+   * without reloading it from the database.
+   */
+  public void addJobSnapshot(JobEntity job) {
+    jobSnapshots.put(job.getId(), job);
+  }
+
+  public Map<String, JobEntity> getJobSnapshots() {
+    return jobSnapshots;
+  }
+
   public boolean contains(String jobId) {
     return acquiredJobs.contains(jobId);
   }
@@ -70,6 +87,7 @@ public class AcquiredJobs {
     numberOfJobsFailedToLock++;
 
     acquiredJobs.remove(id);
+    jobSnapshots.remove(id);
 
     Iterator<List<String>> batchIterator = acquiredJobBatches.iterator();
     while (batchIterator.hasNext()) {
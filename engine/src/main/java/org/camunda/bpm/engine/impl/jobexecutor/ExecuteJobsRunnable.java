@@ -25,6 +25,7 @@ import org.camunda.bpm.engine.impl.cmd.UnlockJobCmd;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
 import org.camunda.bpm.engine.impl.interceptor.ProcessDataContext;
+import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
 import org.camunda.bpm.engine.impl.util.ClassLoaderUtil;
 
 import java.util.List;
@@ -68,7 +69,8 @@ public class ExecuteJobsRunnable implements Runnable {
         if (jobExecutor.isActive()) {
           JobFailureCollector jobFailureCollector = new JobFailureCollector(nextJobId);
           try {
-            ExecuteJobHelper.executeJob(nextJobId, commandExecutor, jobFailureCollector, new ExecuteJobsCmd(nextJobId, jobFailureCollector), engineConfiguration);
+            ExecuteJobsCmd executeJobsCmd = new ExecuteJobsCmd(nextJobId, takeJobSnapshot(nextJobId), jobFailureCollector);
+            ExecuteJobHelper.executeJob(nextJobId, commandExecutor, jobFailureCollector, executeJobsCmd, engineConfiguration);
           } catch(Throwable t) {
             if (ProcessEngineLogger.shouldLogJobException(engineConfiguration, jobFailureCollector.getJob())) {
               ExecuteJobHelper.LOGGING_HANDLER.exceptionWhileExecutingJob(nextJobId, t);
@@ -83,6 +85,7 @@ public class ExecuteJobsRunnable implements Runnable {
           }
         } else {
             try {
+              takeJobSnapshot(nextJobId);
               unlockJob(nextJobId, commandExecutor);
             }
             catch(Throwable t) {
@@ -110,6 +113,16 @@ public class ExecuteJobsRunnable implements Runnable {
     ExecuteJobHelper.executeJob(nextJobId, commandExecutor);
   }
 
+  /**
+   * @return the job as it was acquired if the job executor reuses acquired jobs, null otherwise
+   */
+  protected JobEntity takeJobSnapshot(String jobId) {
+    if (jobExecutor.isReuseAcquiredJobs()) {
+      return jobExecutor.takeAcquiredJobSnapshot(processEngine, jobId);
+    }
+    return null;
+  }
+
   protected void unlockJob(String nextJobId, CommandExecutor commandExecutor) {
     commandExecutor.execute(new UnlockJobCmd(nextJobId));
   }
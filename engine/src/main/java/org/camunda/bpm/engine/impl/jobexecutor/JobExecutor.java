@@ -16,14 +16,19 @@
  */
 package org.camunda.bpm.engine.impl.jobexecutor;
 
+import java.util.Date;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import org.camunda.bpm.engine.impl.ProcessEngineImpl;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
 import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
 import org.camunda.bpm.engine.management.Metrics;
 import org.camunda.bpm.engine.runtime.Job;
 
@@ -74,6 +79,17 @@ public abstract class JobExecutor {
   protected String lockOwner = UUID.randomUUID().toString();
   protected int lockTimeInMillis = 5 * 60 * 1000;
 
+  /**
+   * If true, jobs are acquired with their complete state and job definition and
+   * executed without selecting them again from the database. Before an acquired job is
+   * executed, only its revision is selected; the job is skipped if it was deleted and
+   * loaded again if it was modified since acquisition.
+   */
+  protected boolean reuseAcquiredJobs = false;
+
+  /** the acquired jobs that have not been executed yet, keyed by process engine name and job id */
+  protected Map<String, JobEntity> acquiredJobSnapshots = new ConcurrentHashMap<String, JobEntity>();
+
   public void start() {
     if (isActive) {
       return;
@@ -92,6 +108,7 @@ public abstract class JobExecutor {
     acquireJobsRunnable.stop();
     stopExecutingJobs();
     ensureCleanup();
+    acquiredJobSnapshots.clear();
     isActive = false;
   }
 
@@ -168,6 +185,14 @@ public abstract class JobExecutor {
     }
   }
 
+  public void logJobLoadRoundTrips(ProcessEngineImpl engine, int numRoundTrips) {
+    if (engine != null && numRoundTrips > 0 && engine.getProcessEngineConfiguration().isMetricsEnabled()) {
+      engine.getProcessEngineConfiguration()
+        .getMetricsRegistry()
+        .markOccurrence(Metrics.JOB_LOAD_ROUND_TRIPS, numRoundTrips);
+    }
+  }
+
   public void logRejectedExecution(ProcessEngineImpl engine, int numJobs) {
     if (engine != null && engine.getProcessEngineConfiguration().isMetricsEnabled()) {
       engine.getProcessEngineConfiguration()
@@ -347,6 +372,55 @@ public abstract class JobExecutor {
 		jobAcquisitionThread = null;
 	}
 
+  /**
+   * Makes the jobs acquired for the given process engine available to
+   * {@link #takeAcquiredJobSnapshot(ProcessEngineImpl, String)}. Snapshots
+   * whose lock has expired in the meantime are discarded.
+   */
+  public void registerAcquiredJobSnapshots(ProcessEngineImpl processEngine, AcquiredJobs acquiredJobs) {
+    Date now = ClockUtil.getCurrentTime();
+
+    Iterator<JobEntity> snapshotIterator = acquiredJobSnapshots.values().iterator();
+    while (snapshotIterator.hasNext()) {
+      if (isLockExpired(snapshotIterator.next(), now)) {
+        snapshotIterator.remove();
+      }
+    }
+
+    for (JobEntity job : acquiredJobs.getJobSnapshots().values()) {
+      acquiredJobSnapshots.put(getSnapshotKey(processEngine, job.getId()), job);
+    }
+  }
+
+  /**
+   * Returns the job as it was acquired and removes it, so that each snapshot is used at most once.
+   *
+   * @return the acquired job or null if there is no snapshot or the lock of the job has expired
+   */
+  public JobEntity takeAcquiredJobSnapshot(ProcessEngineImpl processEngine, String jobId) {
+    JobEntity job = acquiredJobSnapshots.remove(getSnapshotKey(processEngine, jobId));
+    if (job != null && isLockExpired(job, ClockUtil.getCurrentTime())) {
+      return null;
+    }
+    return job;
+  }
+
+  protected String getSnapshotKey(ProcessEngineImpl processEngine, String jobId) {
+    return processEngine.getName() + "/" + jobId;
+  }
+
+  protected boolean isLockExpired(JobEntity job, Date now) {
+    return job.getLockExpirationTime() == null || !job.getLockExpirationTime().after(now);
+  }
+
+  public boolean isReuseAcquiredJobs() {
+    return reuseAcquiredJobs;
+  }
+
+  public void setReuseAcquiredJobs(boolean reuseAcquiredJobs) {
+    this.reuseAcquiredJobs = reuseAcquiredJobs;
+  }
+
   public AcquireJobsRunnable getAcquireJobsRunnable() {
     return acquireJobsRunnable;
   }
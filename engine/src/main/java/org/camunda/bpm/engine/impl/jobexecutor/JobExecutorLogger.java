@@ -192,4 +192,10 @@ public class JobExecutorLogger extends ProcessEngineLogger {
       "Batch window for history cleanup was not calculated. History cleanup job(s) will be suspended.");
   }
 
+  public void virtualThreadsNotSupported(String name) {
+    logWarn(
+      "029",
+      "Virtual threads are not supported by the Java runtime. Job executor '{}' falls back to platform threads.", name);
+  }
+
 }
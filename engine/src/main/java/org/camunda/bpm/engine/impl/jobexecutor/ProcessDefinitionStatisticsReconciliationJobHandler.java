@@ -0,0 +1,88 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.jobexecutor;
+
+import java.util.Date;
+
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.jobexecutor.ProcessDefinitionStatisticsReconciliationJobHandler.ProcessDefinitionStatisticsReconciliationJobConfiguration;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.MessageEntity;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+
+/**
+ * Job handler which reconciles the materialized process definition statistics
+ * with the runtime tables and schedules its next execution.
+ */
+public class ProcessDefinitionStatisticsReconciliationJobHandler implements JobHandler<ProcessDefinitionStatisticsReconciliationJobConfiguration> {
+
+  public static final String TYPE = "procdef-statistics-reconciliation";
+
+  public String getType() {
+    return TYPE;
+  }
+
+  public void execute(ProcessDefinitionStatisticsReconciliationJobConfiguration configuration, ExecutionEntity execution, CommandContext commandContext, String tenantId) {
+    ProcessEngineConfigurationImpl processEngineConfiguration = commandContext.getProcessEngineConfiguration();
+    if (!processEngineConfiguration.isProcessDefinitionStatisticsMaterialized()) {
+      // the job ends if the feature is disabled, it is created again on the next start of an engine with the feature enabled
+      return;
+    }
+
+    commandContext.getProcessDefinitionStatisticsCounterManager().reconcile();
+
+    // the currently executed job is still returned, stop rescheduling if other engines have created one as well
+    if (commandContext.getJobManager().findJobsByHandlerType(TYPE).size() <= 1) {
+      scheduleJob(commandContext);
+    }
+  }
+
+  public static JobEntity scheduleJob(CommandContext commandContext) {
+    int interval = commandContext.getProcessEngineConfiguration().getProcessDefinitionStatisticsReconciliationInterval();
+
+    MessageEntity job = new MessageEntity();
+    job.setJobHandlerType(TYPE);
+    job.setDuedate(new Date(ClockUtil.getCurrentTime().getTime() + interval * 1000L));
+
+    job.insert();
+    return job;
+  }
+
+  public static boolean isJobScheduled(CommandContext commandContext) {
+    return !commandContext.getJobManager().findJobsByHandlerType(TYPE).isEmpty();
+  }
+
+  @Override
+  public ProcessDefinitionStatisticsReconciliationJobConfiguration newConfiguration(String canonicalString) {
+    return new ProcessDefinitionStatisticsReconciliationJobConfiguration();
+  }
+
+  public static class ProcessDefinitionStatisticsReconciliationJobConfiguration implements JobHandlerConfiguration {
+
+    @Override
+    public String toCanonicalString() {
+      return null;
+    }
+  }
+
+  public void onDelete(ProcessDefinitionStatisticsReconciliationJobConfiguration configuration, JobEntity jobEntity) {
+    // do nothing
+  }
+
+}
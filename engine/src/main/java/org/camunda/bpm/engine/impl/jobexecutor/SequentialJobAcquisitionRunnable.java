@@ -48,6 +48,8 @@ public class SequentialJobAcquisitionRunnable extends AcquireJobsRunnable {
 
   protected JobAcquisitionContext acquisitionContext;
 
+  protected volatile long lastAcquisitionCycleTime = -1;
+
   public SequentialJobAcquisitionRunnable(JobExecutor jobExecutor) {
     super(jobExecutor);
     acquisitionContext = initializeAcquisitionContext();
@@ -84,6 +86,7 @@ public class SequentialJobAcquisitionRunnable extends AcquireJobsRunnable {
 
       acquisitionContext.setJobAdded(isJobAdded);
       configureNextAcquisitionCycle(acquisitionContext, acquisitionStrategy);
+      lastAcquisitionCycleTime = System.currentTimeMillis() - acquisitionContext.getAcquisitionTime();
       //The clear had to be done after the configuration, since a hint can be
       //appear in the suspend and the flag shouldn't be cleaned in this case.
       //The loop will restart after suspend with the isJobAdded flag and
@@ -123,6 +126,14 @@ public class SequentialJobAcquisitionRunnable extends AcquireJobsRunnable {
 
   }
 
+  /**
+   * @return the time in milliseconds it took to acquire and submit the jobs in the
+   * last acquisition cycle (excluding the wait time), or -1 if no cycle has completed yet
+   */
+  public long getLastAcquisitionCycleTime() {
+    return lastAcquisitionCycleTime;
+  }
+
   protected void executeJobs(JobAcquisitionContext context, ProcessEngineImpl currentProcessEngine, AcquiredJobs acquiredJobs) {
     // submit those jobs that were acquired in previous cycles but could not be scheduled for execution
     List<List<String>> additionalJobs = context.getAdditionalJobsByEngine().get(currentProcessEngine.getName());
@@ -161,6 +172,10 @@ public class SequentialJobAcquisitionRunnable extends AcquireJobsRunnable {
       acquiredJobs = new AcquiredJobs(numJobsToAcquire);
     }
 
+    if (jobExecutor.isReuseAcquiredJobs()) {
+      jobExecutor.registerAcquiredJobSnapshots(currentProcessEngine, acquiredJobs);
+    }
+
     context.submitAcquiredJobs(currentProcessEngine.getName(), acquiredJobs);
 
     jobExecutor.logAcquiredJobs(currentProcessEngine, acquiredJobs.size());
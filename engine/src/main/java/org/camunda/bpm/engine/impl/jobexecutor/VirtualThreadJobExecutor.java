@@ -0,0 +1,151 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.jobexecutor;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+
+/**
+ * <p>A {@link JobExecutor} which executes every batch of acquired jobs on a
+ * virtual thread of its own. It is meant for job workloads which mostly block
+ * on I/O (e.g. delegates calling remote services or databases), where a pool of
+ * platform threads large enough to keep the throughput up is costly.</p>
+ *
+ * <p>Instead of a bounded thread pool, the number of concurrently executed job
+ * batches is bounded by a {@link Semaphore} of {@link #getMaxConcurrentJobs()} permits.
+ * If no permit is available, the jobs are passed to the {@link RejectedJobsHandler}
+ * which by default lets the job acquisition back off.</p>
+ *
+ * <p>Virtual threads require Java 21 or later. On earlier Java runtimes, the job
+ * executor falls back to platform threads which are created on demand, still
+ * bounded by the semaphore.</p>
+ */
+public class VirtualThreadJobExecutor extends JobExecutor {
+
+  private final static JobExecutorLogger LOG = ProcessEngineLogger.JOB_EXECUTOR_LOGGER;
+
+  protected int maxConcurrentJobs = 100;
+
+  protected ExecutorService executorService;
+  protected Semaphore semaphore;
+
+  protected void startExecutingJobs() {
+    if (executorService == null || executorService.isShutdown()) {
+      executorService = createExecutorService();
+      semaphore = new Semaphore(maxConcurrentJobs);
+    }
+
+    startJobAcquisitionThread();
+  }
+
+  protected void stopExecutingJobs() {
+    stopJobAcquisitionThread();
+
+    executorService.shutdown();
+
+    // Waits for 1 minute to finish all currently executing jobs
+    try {
+      if(!executorService.awaitTermination(60L, TimeUnit.SECONDS)) {
+        LOG.timeoutDuringShutdown();
+      }
+    } catch (InterruptedException e) {
+      LOG.interruptedWhileShuttingDownjobExecutor(e);
+    }
+  }
+
+  public void executeJobs(List<String> jobIds, ProcessEngineImpl processEngine) {
+    if (!semaphore.tryAcquire()) {
+      rejectJobs(jobIds, processEngine);
+      return;
+    }
+
+    try {
+      executorService.execute(new PermitReleasingRunnable(getExecuteJobsRunnable(jobIds, processEngine), semaphore));
+
+    } catch (RejectedExecutionException e) {
+      semaphore.release();
+      rejectJobs(jobIds, processEngine);
+    }
+  }
+
+  protected void rejectJobs(List<String> jobIds, ProcessEngineImpl processEngine) {
+    logRejectedExecution(processEngine, jobIds.size());
+    rejectedJobsHandler.jobsRejected(jobIds, processEngine, this);
+  }
+
+  protected ExecutorService createExecutorService() {
+    try {
+      // resolved reflectively as the engine is compiled against Java versions without virtual threads
+      Method newVirtualThreadPerTaskExecutor = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+      return (ExecutorService) newVirtualThreadPerTaskExecutor.invoke(null);
+
+    } catch (Exception e) {
+      LOG.virtualThreadsNotSupported(getName());
+      return Executors.newCachedThreadPool();
+    }
+  }
+
+  /**
+   * @return the number of permits currently available for executing job batches
+   */
+  public int getAvailablePermits() {
+    return semaphore != null ? semaphore.availablePermits() : maxConcurrentJobs;
+  }
+
+  // getters and setters //////////////////////////////////////////////////////
+
+  public int getMaxConcurrentJobs() {
+    return maxConcurrentJobs;
+  }
+
+  public void setMaxConcurrentJobs(int maxConcurrentJobs) {
+    this.maxConcurrentJobs = maxConcurrentJobs;
+  }
+
+  public ExecutorService getExecutorService() {
+    return executorService;
+  }
+
+  protected static class PermitReleasingRunnable implements Runnable {
+
+    protected final Runnable delegate;
+    protected final Semaphore semaphore;
+
+    public PermitReleasingRunnable(Runnable delegate, Semaphore semaphore) {
+      this.delegate = delegate;
+      this.semaphore = semaphore;
+    }
+
+    public void run() {
+      try {
+        delegate.run();
+      }
+      finally {
+        semaphore.release();
+      }
+    }
+  }
+
+}
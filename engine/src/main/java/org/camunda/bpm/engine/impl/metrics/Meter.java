@@ -28,6 +28,9 @@ public class Meter {
 
   protected AtomicLong counter = new AtomicLong(0);
 
+  // not reset when the meter is reported, see #getTotal()
+  protected AtomicLong total = new AtomicLong(0);
+
   protected String name;
 
   public Meter(String name) {
@@ -36,10 +39,12 @@ public class Meter {
 
   public void mark() {
     counter.incrementAndGet();
+    total.incrementAndGet();
   }
 
   public void markTimes(long times) {
     counter.addAndGet(times);
+    total.addAndGet(times);
   }
 
   public String getName() {
@@ -58,4 +63,12 @@ public class Meter {
     return counter.get();
   }
 
+  /**
+   * @return the number of occurrences since the meter was created, which
+   * in contrast to {@link #get()} is not reset by {@link #getAndClear()}
+   */
+  public long getTotal() {
+    return total.get();
+  }
+
 }
@@ -32,4 +32,19 @@ public class MetricsLogger extends ProcessEngineLogger {
         "001", "Could not collect and log metrics", e);
   }
 
+  /**
+   * @param e - the thrown exception
+   */
+  public void couldNotRollupMetrics(Exception e) {
+    logDebug(
+        "002", "Could not roll up metrics", e);
+  }
+
+  public void incompleteMetricsQueryNotAlignedWithRollups(String metricName, int rawDataRetentionDays) {
+    logWarn(
+        "003", "Metrics query for '{}' is not aligned with the hourly rollups and reads meter logs older than the raw data retention of {} days. "
+            + "The result does not contain the deleted meter logs. Align start date, end date and interval with full hours to read the rollups.",
+        metricName, rawDataRetentionDays);
+  }
+
 }
@@ -47,6 +47,10 @@ public class MetricsQueryImpl extends ListQueryParameterObject implements Serial
   protected Long interval;
   protected Boolean aggregateByReporter;
 
+  // set by the meter log manager if rollups can be used
+  protected Long hourlyRollupEndMilliseconds;
+  protected Long dailyRollupEndMilliseconds;
+
   protected transient CommandExecutor commandExecutor;
 
   public MetricsQueryImpl(CommandExecutor commandExecutor) {
@@ -181,6 +185,27 @@ public class MetricsQueryImpl extends ListQueryParameterObject implements Serial
     return interval;
   }
 
+  /**
+   * @param hourlyRollupEndMilliseconds meter logs before are read from the hourly rollups, null to read all meter logs
+   * @param dailyRollupEndMilliseconds hourly rollups before are read from the daily rollups, null to not use daily rollups
+   */
+  public void setRollupBoundaries(Long hourlyRollupEndMilliseconds, Long dailyRollupEndMilliseconds) {
+    this.hourlyRollupEndMilliseconds = hourlyRollupEndMilliseconds;
+    this.dailyRollupEndMilliseconds = dailyRollupEndMilliseconds;
+  }
+
+  public Long getHourlyRollupEndMilliseconds() {
+    return hourlyRollupEndMilliseconds;
+  }
+
+  public Long getDailyRollupEndMilliseconds() {
+    return dailyRollupEndMilliseconds;
+  }
+
+  public Long getRawDataStartMilliseconds() {
+    return hourlyRollupEndMilliseconds;
+  }
+
   @Override
   public int getMaxResults() {
     if (maxResults > DEFAULT_LIMIT_SELECT_INTERVAL) {
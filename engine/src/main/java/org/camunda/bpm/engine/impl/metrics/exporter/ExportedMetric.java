@@ -0,0 +1,76 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics.exporter;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * <p>A metric of a process engine which is read from memory whenever it is exported,
+ * see {@link ProcessEngineMetricsCollector}.</p>
+ *
+ * <p>Metric names are lower case and dot separated (e.g. <code>camunda.job.executor.threads.active</code>),
+ * exporters convert them to the naming convention of their format.</p>
+ */
+public abstract class ExportedMetric {
+
+  public enum Type {
+    /** a value which only increases while the process engine is running */
+    COUNTER,
+    /** a value which may increase and decrease */
+    GAUGE
+  }
+
+  protected final String name;
+  protected final String description;
+  protected final Type type;
+  protected final Map<String, String> tags = new LinkedHashMap<String, String>();
+
+  public ExportedMetric(String name, String description, Type type) {
+    this.name = name;
+    this.description = description;
+    this.type = type;
+  }
+
+  public ExportedMetric tag(String key, String value) {
+    tags.put(key, value);
+    return this;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public String getDescription() {
+    return description;
+  }
+
+  public Type getType() {
+    return type;
+  }
+
+  public Map<String, String> getTags() {
+    return Collections.unmodifiableMap(tags);
+  }
+
+  /**
+   * @return the current value of the metric
+   */
+  public abstract double getValue();
+
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics.exporter;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>Writes {@link ExportedMetric exported metrics} in the
+ * <a href="https://openmetrics.io">OpenMetrics</a> text format, which can be scraped by Prometheus.</p>
+ *
+ * <p>Dots and dashes in metric names are replaced by underscores, and counters get
+ * the suffix <code>_total</code>.</p>
+ */
+public class OpenMetricsWriter {
+
+  public static final String CONTENT_TYPE = "application/openmetrics-text; version=1.0.0; charset=utf-8";
+
+  public String write(List<ExportedMetric> metrics) {
+    StringWriter writer = new StringWriter();
+    try {
+      write(metrics, writer);
+    }
+    catch (IOException e) {
+      // cannot happen for a string writer
+      throw new IllegalStateException(e);
+    }
+    return writer.toString();
+  }
+
+  public void write(List<ExportedMetric> metrics, Writer writer) throws IOException {
+    for (List<ExportedMetric> family : groupByName(metrics).values()) {
+      ExportedMetric first = family.get(0);
+      String name = sanitizeName(first.getName());
+      String type = first.getType() == ExportedMetric.Type.COUNTER ? "counter" : "gauge";
+      String sampleName = first.getType() == ExportedMetric.Type.COUNTER ? name + "_total" : name;
+
+      writer.write("# TYPE " + name + " " + type + "\n");
+      if (first.getDescription() != null) {
+        writer.write("# HELP " + name + " " + escape(first.getDescription()) + "\n");
+      }
+
+      for (ExportedMetric metric : family) {
+        writer.write(sampleName);
+        writeTags(metric.getTags(), writer);
+        writer.write(" ");
+        writer.write(formatValue(metric.getValue()));
+        writer.write("\n");
+      }
+    }
+    writer.write("# EOF\n");
+  }
+
+  protected Map<String, List<ExportedMetric>> groupByName(List<ExportedMetric> metrics) {
+    Map<String, List<ExportedMetric>> families = new LinkedHashMap<String, List<ExportedMetric>>();
+    for (ExportedMetric metric : metrics) {
+      List<ExportedMetric> family = families.get(metric.getName());
+      if (family == null) {
+        family = new ArrayList<ExportedMetric>();
+        families.put(metric.getName(), family);
+      }
+      family.add(metric);
+    }
+    return families;
+  }
+
+  protected void writeTags(Map<String, String> tags, Writer writer) throws IOException {
+    if (tags.isEmpty()) {
+      return;
+    }
+
+    writer.write("{");
+    boolean first = true;
+    for (Map.Entry<String, String> tag : tags.entrySet()) {
+      if (!first) {
+        writer.write(",");
+      }
+      writer.write(sanitizeName(tag.getKey()));
+      writer.write("=\"");
+      writer.write(escape(String.valueOf(tag.getValue())));
+      writer.write("\"");
+      first = false;
+    }
+    writer.write("}");
+  }
+
+  protected String sanitizeName(String name) {
+    StringBuilder sanitized = new StringBuilder(name.length());
+    for (int i = 0; i < name.length(); i++) {
+      char c = name.charAt(i);
+      boolean valid = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '_' || (c >= '0' && c <= '9' && i > 0);
+      sanitized.append(valid ? c : '_');
+    }
+    return sanitized.toString();
+  }
+
+  protected String escape(String value) {
+    return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+  }
+
+  protected String formatValue(double value) {
+    if (Double.isNaN(value)) {
+      return "NaN";
+    }
+    else if (Double.isInfinite(value)) {
+      return value > 0 ? "+Inf" : "-Inf";
+    }
+    else if (value == Math.rint(value) && Math.abs(value) < 1L << 53) {
+      return Long.toString((long) value);
+    }
+    else {
+      return Double.toString(value);
+    }
+  }
+
+}
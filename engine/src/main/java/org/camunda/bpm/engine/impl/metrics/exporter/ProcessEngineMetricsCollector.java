@@ -0,0 +1,187 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics.exporter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.camunda.bpm.engine.impl.cfg.IdGenerator;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.db.DbIdGenerator;
+import org.camunda.bpm.engine.impl.jobexecutor.AcquireJobsRunnable;
+import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
+import org.camunda.bpm.engine.impl.jobexecutor.SequentialJobAcquisitionRunnable;
+import org.camunda.bpm.engine.impl.jobexecutor.ThreadPoolJobExecutor;
+import org.camunda.bpm.engine.impl.jobexecutor.VirtualThreadJobExecutor;
+import org.camunda.bpm.engine.impl.metrics.Meter;
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.DeploymentCache;
+import org.camunda.commons.utils.cache.Cache;
+
+/**
+ * <p>Provides the metrics of a process engine for pull-based monitoring systems. In contrast
+ * to the {@link org.camunda.bpm.engine.management.MetricsQuery metrics query}, all values are
+ * read from memory, so exporting them does not access the database.</p>
+ *
+ * <p>The metrics consist of</p>
+ * <ul>
+ *   <li>a counter for each meter of the {@link MetricsRegistry} with the occurrences since the
+ *   process engine was started</li>
+ *   <li>gauges for the queue depth, active threads and acquisition cycle time of the job executor</li>
+ *   <li>gauges for the sizes of the deployment caches</li>
+ *   <li>a counter for the blocks of IDs fetched by the {@link DbIdGenerator}</li>
+ * </ul>
+ *
+ * <p>All metrics are tagged with the name of the process engine.</p>
+ */
+public class ProcessEngineMetricsCollector {
+
+  public static final String METRIC_NAME_PREFIX = "camunda.";
+  public static final String TAG_ENGINE = "engine";
+  public static final String TAG_CACHE = "cache";
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+
+  public ProcessEngineMetricsCollector(ProcessEngineConfigurationImpl processEngineConfiguration) {
+    this.processEngineConfiguration = processEngineConfiguration;
+  }
+
+  /**
+   * @return the metrics of the process engine; their values are read on {@link ExportedMetric#getValue()}
+   */
+  public List<ExportedMetric> getMetrics() {
+    List<ExportedMetric> metrics = new ArrayList<ExportedMetric>();
+
+    addMeters(metrics);
+    addJobExecutorMetrics(metrics);
+    addDeploymentCacheMetrics(metrics);
+    addIdGeneratorMetrics(metrics);
+
+    String engineName = processEngineConfiguration.getProcessEngineName();
+    for (ExportedMetric metric : metrics) {
+      metric.tag(TAG_ENGINE, engineName);
+    }
+
+    return metrics;
+  }
+
+  protected void addMeters(List<ExportedMetric> metrics) {
+    MetricsRegistry metricsRegistry = processEngineConfiguration.getMetricsRegistry();
+    if (metricsRegistry == null) {
+      return;
+    }
+
+    for (final Meter meter : metricsRegistry.getMeters().values()) {
+      String name = METRIC_NAME_PREFIX + meter.getName().replace('-', '.');
+      metrics.add(new ExportedMetric(name, "Occurrences of " + meter.getName(), ExportedMetric.Type.COUNTER) {
+        public double getValue() {
+          return meter.getTotal();
+        }
+      });
+    }
+  }
+
+  protected void addJobExecutorMetrics(List<ExportedMetric> metrics) {
+    final JobExecutor jobExecutor = processEngineConfiguration.getJobExecutor();
+
+    if (jobExecutor instanceof ThreadPoolJobExecutor) {
+      final ThreadPoolJobExecutor threadPoolJobExecutor = (ThreadPoolJobExecutor) jobExecutor;
+
+      metrics.add(new ExportedMetric("camunda.job.executor.queue.depth",
+          "Job batches waiting for a job executor thread", ExportedMetric.Type.GAUGE) {
+        public double getValue() {
+          ThreadPoolExecutor threadPoolExecutor = threadPoolJobExecutor.getThreadPoolExecutor();
+          return threadPoolExecutor != null ? threadPoolExecutor.getQueue().size() : 0;
+        }
+      });
+      metrics.add(new ExportedMetric("camunda.job.executor.threads.active",
+          "Job executor threads executing jobs", ExportedMetric.Type.GAUGE) {
+        public double getValue() {
+          ThreadPoolExecutor threadPoolExecutor = threadPoolJobExecutor.getThreadPoolExecutor();
+          return threadPoolExecutor != null ? threadPoolExecutor.getActiveCount() : 0;
+        }
+      });
+    }
+    else if (jobExecutor instanceof VirtualThreadJobExecutor) {
+      final VirtualThreadJobExecutor virtualThreadJobExecutor = (VirtualThreadJobExecutor) jobExecutor;
+
+      // job batches are never queued, they are rejected if no permit is available
+      metrics.add(new ExportedMetric("camunda.job.executor.threads.active",
+          "Job executor threads executing jobs", ExportedMetric.Type.GAUGE) {
+        public double getValue() {
+          return virtualThreadJobExecutor.getMaxConcurrentJobs() - virtualThreadJobExecutor.getAvailablePermits();
+        }
+      });
+    }
+
+    if (jobExecutor != null) {
+      // the acquisition runnable is created when the job executor is started
+      metrics.add(new ExportedMetric("camunda.job.acquisition.cycle.duration.seconds",
+          "Duration of the last job acquisition cycle without wait time", ExportedMetric.Type.GAUGE) {
+        public double getValue() {
+          AcquireJobsRunnable acquireJobsRunnable = jobExecutor.getAcquireJobsRunnable();
+          if (acquireJobsRunnable instanceof SequentialJobAcquisitionRunnable) {
+            long cycleTime = ((SequentialJobAcquisitionRunnable) acquireJobsRunnable).getLastAcquisitionCycleTime();
+            return Math.max(0, cycleTime) / 1000.0;
+          }
+          return 0;
+        }
+      });
+    }
+  }
+
+  protected void addDeploymentCacheMetrics(List<ExportedMetric> metrics) {
+    DeploymentCache deploymentCache = processEngineConfiguration.getDeploymentCache();
+    if (deploymentCache == null) {
+      return;
+    }
+
+    addCacheSize(metrics, "process-definition", deploymentCache.getProcessDefinitionCache());
+    addCacheSize(metrics, "case-definition", deploymentCache.getCaseDefinitionCache());
+    addCacheSize(metrics, "decision-definition", deploymentCache.getDecisionDefinitionCache());
+    addCacheSize(metrics, "decision-requirements-definition", deploymentCache.getDecisionRequirementsDefinitionCache());
+    addCacheSize(metrics, "bpmn-model-instance", deploymentCache.getBpmnModelInstanceCache());
+    addCacheSize(metrics, "cmmn-model-instance", deploymentCache.getCmmnModelInstanceCache());
+    addCacheSize(metrics, "dmn-model-instance", deploymentCache.getDmnDefinitionCache());
+  }
+
+  protected void addCacheSize(List<ExportedMetric> metrics, String cacheName, final Cache<?, ?> cache) {
+    metrics.add(new ExportedMetric("camunda.deployment.cache.size",
+        "Entries of the deployment cache", ExportedMetric.Type.GAUGE) {
+      public double getValue() {
+        return cache.size();
+      }
+    }.tag(TAG_CACHE, cacheName));
+  }
+
+  protected void addIdGeneratorMetrics(List<ExportedMetric> metrics) {
+    IdGenerator idGenerator = processEngineConfiguration.getIdGenerator();
+
+    if (idGenerator instanceof DbIdGenerator) {
+      final DbIdGenerator dbIdGenerator = (DbIdGenerator) idGenerator;
+
+      metrics.add(new ExportedMetric("camunda.id.generator.block.refills",
+          "Blocks of IDs fetched from the database", ExportedMetric.Type.COUNTER) {
+        public double getValue() {
+          return dbIdGenerator.getIdBlockRefills();
+        }
+      });
+    }
+  }
+
+}
@@ -21,6 +21,7 @@ import java.util.List;
 import java.util.TimerTask;
 
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.cmd.RollupMetricsCmd;
 import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
@@ -82,6 +83,18 @@ public class MetricsCollectionTask extends TimerTask {
         return null;
       }
     });
+
+    rollupMetrics();
+  }
+
+  protected void rollupMetrics() {
+    try {
+      commandExecutor.execute(new RollupMetricsCmd());
+    }
+    catch (Exception e) {
+      // another process engine may have rolled up the metrics concurrently
+      LOG.couldNotRollupMetrics(e);
+    }
   }
 
   public String getReporter() {
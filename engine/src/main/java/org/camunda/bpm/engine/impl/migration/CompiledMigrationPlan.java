@@ -0,0 +1,115 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.migration;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.camunda.bpm.engine.impl.pvm.process.ActivityImpl;
+import org.camunda.bpm.engine.impl.util.CollectionUtil;
+import org.camunda.bpm.engine.migration.MigrationInstruction;
+import org.camunda.bpm.engine.migration.MigrationPlan;
+
+/**
+ * <p>The part of a {@link MigrationPlan} that is the same for every migrated process instance:
+ * the instructions organized by source activity and their resolved target activities.</p>
+ *
+ * <p>A compiled plan refers to the deployed source and target process definitions it was compiled
+ * for and must not be used for other instances of these definitions, e.g. after they were evicted
+ * from the deployment cache and parsed again.</p>
+ */
+public class CompiledMigrationPlan {
+
+  protected ProcessDefinitionEntity sourceProcessDefinition;
+  protected ProcessDefinitionEntity targetProcessDefinition;
+
+  protected Map<String, List<MigrationInstruction>> instructionsBySourceScope = new HashMap<String, List<MigrationInstruction>>();
+  protected Map<String, ActivityImpl> targetActivities = new HashMap<String, ActivityImpl>();
+
+  public CompiledMigrationPlan(MigrationPlan migrationPlan,
+                               ProcessDefinitionEntity sourceProcessDefinition,
+                               ProcessDefinitionEntity targetProcessDefinition) {
+    this.sourceProcessDefinition = sourceProcessDefinition;
+    this.targetProcessDefinition = targetProcessDefinition;
+
+    for (MigrationInstruction instruction : migrationPlan.getInstructions()) {
+      CollectionUtil.addToMapOfLists(instructionsBySourceScope, instruction.getSourceActivityId(), instruction);
+
+      String targetActivityId = instruction.getTargetActivityId();
+      if (!targetActivities.containsKey(targetActivityId)) {
+        targetActivities.put(targetActivityId, targetProcessDefinition.findActivity(targetActivityId));
+      }
+    }
+  }
+
+  public boolean isCompiledFor(ProcessDefinitionEntity sourceProcessDefinition, ProcessDefinitionEntity targetProcessDefinition) {
+    return this.sourceProcessDefinition == sourceProcessDefinition
+        && this.targetProcessDefinition == targetProcessDefinition;
+  }
+
+  public ProcessDefinitionEntity getSourceProcessDefinition() {
+    return sourceProcessDefinition;
+  }
+
+  public ProcessDefinitionEntity getTargetProcessDefinition() {
+    return targetProcessDefinition;
+  }
+
+  public List<MigrationInstruction> getInstructionsBySourceScope(String sourceScopeId) {
+    List<MigrationInstruction> instructions = instructionsBySourceScope.get(sourceScopeId);
+    return instructions != null ? instructions : Collections.<MigrationInstruction>emptyList();
+  }
+
+  public ActivityImpl getTargetActivity(MigrationInstruction instruction) {
+    String targetActivityId = instruction.getTargetActivityId();
+
+    if (targetActivities.containsKey(targetActivityId)) {
+      return targetActivities.get(targetActivityId);
+    }
+    else {
+      return targetProcessDefinition.findActivity(targetActivityId);
+    }
+  }
+
+  /**
+   * @return a key that is equal for migration plans with the same source and target
+   *   process definitions and instructions
+   */
+  public static String createKey(MigrationPlan migrationPlan) {
+    StringBuilder key = new StringBuilder();
+    key.append(migrationPlan.getSourceProcessDefinitionId())
+      .append("->")
+      .append(migrationPlan.getTargetProcessDefinitionId());
+
+    for (MigrationInstruction instruction : migrationPlan.getInstructions()) {
+      key.append('|')
+        .append(instruction.getSourceActivityId())
+        .append("->")
+        .append(instruction.getTargetActivityId());
+
+      if (instruction.isUpdateEventTrigger()) {
+        key.append("(updateEventTrigger)");
+      }
+    }
+
+    return key.toString();
+  }
+
+}
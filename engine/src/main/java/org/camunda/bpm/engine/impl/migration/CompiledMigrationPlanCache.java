@@ -0,0 +1,88 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.migration;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.camunda.bpm.engine.migration.MigrationPlan;
+import org.camunda.commons.utils.cache.Cache;
+import org.camunda.commons.utils.cache.ConcurrentLruCache;
+
+/**
+ * <p>Bounded cache of {@link CompiledMigrationPlan}s shared by all migration commands of a
+ * process engine, so that the batch jobs of one migration batch compile its plan only once.</p>
+ *
+ * <p>Plans are keyed by their source and target process definitions and instructions. A cached
+ * plan is only returned if it was compiled for the currently deployed process definitions.</p>
+ */
+public class CompiledMigrationPlanCache {
+
+  public static final int DEFAULT_CAPACITY = 100;
+
+  protected Cache<String, CompiledMigrationPlan> cache;
+
+  protected AtomicLong hitCount = new AtomicLong();
+  protected AtomicLong missCount = new AtomicLong();
+
+  public CompiledMigrationPlanCache() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  public CompiledMigrationPlanCache(int capacity) {
+    this.cache = new ConcurrentLruCache<String, CompiledMigrationPlan>(capacity);
+  }
+
+  /**
+   * @return the compiled plan, compiling and caching it if it was not compiled for the
+   *   given process definitions before
+   */
+  public CompiledMigrationPlan get(MigrationPlan migrationPlan,
+                                   ProcessDefinitionEntity sourceProcessDefinition,
+                                   ProcessDefinitionEntity targetProcessDefinition) {
+    String key = CompiledMigrationPlan.createKey(migrationPlan);
+    CompiledMigrationPlan compiledPlan = cache.get(key);
+
+    if (compiledPlan != null && compiledPlan.isCompiledFor(sourceProcessDefinition, targetProcessDefinition)) {
+      hitCount.incrementAndGet();
+    }
+    else {
+      missCount.incrementAndGet();
+      compiledPlan = new CompiledMigrationPlan(migrationPlan, sourceProcessDefinition, targetProcessDefinition);
+      cache.put(key, compiledPlan);
+    }
+
+    return compiledPlan;
+  }
+
+  public void clear() {
+    cache.clear();
+  }
+
+  public int size() {
+    return cache.size();
+  }
+
+  public long getHitCount() {
+    return hitCount.get();
+  }
+
+  public long getMissCount() {
+    return missCount.get();
+  }
+
+}
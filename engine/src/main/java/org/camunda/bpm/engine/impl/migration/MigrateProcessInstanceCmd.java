@@ -21,6 +21,7 @@ import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotContainsNull;
 import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotEmpty;
 import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -33,8 +34,10 @@ import org.camunda.bpm.engine.BadUserRequestException;
 import org.camunda.bpm.engine.impl.ProcessEngineImpl;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
 import org.camunda.bpm.engine.impl.cfg.CommandChecker;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.context.ProcessApplicationContextUtil;
+import org.camunda.bpm.engine.impl.db.sql.DbSqlSessionFactory;
 import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.migration.instance.DeleteUnmappedInstanceVisitor;
@@ -58,6 +61,8 @@ import org.camunda.bpm.engine.impl.migration.validation.instance.MigratingTransi
 import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
 import org.camunda.bpm.engine.impl.tree.ReferenceWalker;
+import org.camunda.bpm.engine.impl.util.CollectionUtil;
+import org.camunda.bpm.engine.management.Metrics;
 import org.camunda.bpm.engine.migration.MigrationPlan;
 
 /**
@@ -72,6 +77,11 @@ import org.camunda.bpm.engine.migration.MigrationPlan;
  *       and io mappings. This is performed in a top-down fashion in the activity instance tree and
  *       ensures that the "upstream" tree is always consistent with respect to the new process definition.
  * </ol>
+ *
+ * The migration plan is compiled once per source and target definition and shared by all
+ * process instances (see {@link CompiledMigrationPlanCache}). If custom listeners and io mappings
+ * are skipped, the entities of all process instances are loaded with one query per entity type.
+ *
  * @author Thorben Lindhauer
  */
 public class MigrateProcessInstanceCmd extends AbstractMigrationCmd implements Command<Void> {
@@ -111,20 +121,87 @@ public class MigrateProcessInstanceCmd extends AbstractMigrationCmd implements C
           false);
     }
 
+    final CompiledMigrationPlan compiledMigrationPlan =
+        compileMigrationPlan(commandContext, migrationPlan, sourceDefinition, targetDefinition);
+
+    ProcessEngineImpl processEngine = commandContext.getProcessEngineConfiguration()
+        .getProcessEngine();
+    final MigratingInstanceParser migratingInstanceParser = new MigratingInstanceParser(processEngine);
+
     commandContext.runWithoutAuthorization((Callable<Void>) () -> {
-      for (String processInstanceId : processInstanceIds) {
-        migrateProcessInstance(commandContext, processInstanceId, migrationPlan, targetDefinition);
+      // prefetch and migrate one partition at a time to respect the bind parameter limit of the database
+      List<List<String>> partitions = CollectionUtil.partition(new ArrayList<>(processInstanceIds),
+          DbSqlSessionFactory.MAXIMUM_NUMBER_PARAMS);
+
+      for (List<String> partition : partitions) {
+        if (isPrefetchingAllowed()) {
+          migratingInstanceParser.prefetch(partition);
+        }
+
+        for (String processInstanceId : partition) {
+          migrateProcessInstance(commandContext, processInstanceId, migrationPlan, targetDefinition,
+              compiledMigrationPlan, migratingInstanceParser);
+        }
       }
       return null;
     });
 
+    ProcessEngineConfigurationImpl processEngineConfiguration = commandContext.getProcessEngineConfiguration();
+    if (processEngineConfiguration.isMetricsEnabled()) {
+      processEngineConfiguration.getMetricsRegistry()
+        .markOccurrence(Metrics.MIGRATED_PROCESS_INSTANCES, processInstanceIds.size());
+    }
+
     return null;
   }
 
+  protected CompiledMigrationPlan compileMigrationPlan(CommandContext commandContext,
+                                                       MigrationPlan migrationPlan,
+                                                       ProcessDefinitionEntity sourceProcessDefinition,
+                                                       ProcessDefinitionEntity targetProcessDefinition) {
+    CompiledMigrationPlanCache compiledMigrationPlanCache = commandContext.getProcessEngineConfiguration()
+        .getCompiledMigrationPlanCache();
+
+    if (compiledMigrationPlanCache != null) {
+      return compiledMigrationPlanCache.get(migrationPlan, sourceProcessDefinition, targetProcessDefinition);
+    }
+    else {
+      return new CompiledMigrationPlan(migrationPlan, sourceProcessDefinition, targetProcessDefinition);
+    }
+  }
+
+  /**
+   * Entities can only be loaded in advance for all process instances if migrating
+   * one process instance cannot touch another one, i.e. no custom code is invoked.
+   */
+  protected boolean isPrefetchingAllowed() {
+    return executionBuilder.isSkipCustomListeners() && executionBuilder.isSkipIoMappings();
+  }
+
   public Void migrateProcessInstance(CommandContext commandContext,
                                      String processInstanceId,
                                      MigrationPlan migrationPlan,
                                      ProcessDefinitionEntity targetProcessDefinition) {
+    ProcessDefinitionEntity sourceProcessDefinition = commandContext.getProcessEngineConfiguration()
+        .getDeploymentCache()
+        .findDeployedProcessDefinitionById(migrationPlan.getSourceProcessDefinitionId());
+
+    CompiledMigrationPlan compiledMigrationPlan =
+        compileMigrationPlan(commandContext, migrationPlan, sourceProcessDefinition, targetProcessDefinition);
+
+    ProcessEngineImpl processEngine = commandContext.getProcessEngineConfiguration()
+        .getProcessEngine();
+
+    return migrateProcessInstance(commandContext, processInstanceId, migrationPlan, targetProcessDefinition,
+        compiledMigrationPlan, new MigratingInstanceParser(processEngine));
+  }
+
+  public Void migrateProcessInstance(CommandContext commandContext,
+                                     String processInstanceId,
+                                     MigrationPlan migrationPlan,
+                                     ProcessDefinitionEntity targetProcessDefinition,
+                                     CompiledMigrationPlan compiledMigrationPlan,
+                                     MigratingInstanceParser migratingInstanceParser) {
     ensureNotNull(BadUserRequestException.class,
         "Process instance id cannot be null", "process instance id", processInstanceId);
 
@@ -139,13 +216,8 @@ public class MigrateProcessInstanceCmd extends AbstractMigrationCmd implements C
         new MigratingProcessInstanceValidationReportImpl();
 
     // Initialize migration: match migration instructions to activity instances and collect required entities
-    ProcessEngineImpl processEngine = commandContext.getProcessEngineConfiguration()
-        .getProcessEngine();
-
-    MigratingInstanceParser migratingInstanceParser = new MigratingInstanceParser(processEngine);
-
     final MigratingProcessInstance migratingProcessInstance =
-        migratingInstanceParser.parse(processInstanceId, migrationPlan, processInstanceReport);
+        migratingInstanceParser.parse(processInstanceId, compiledMigrationPlan, processInstanceReport);
 
     validateInstructions(commandContext, migratingProcessInstance, processInstanceReport);
 
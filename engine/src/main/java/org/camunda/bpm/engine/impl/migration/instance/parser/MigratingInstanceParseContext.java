@@ -25,6 +25,7 @@ import java.util.Map;
 import org.camunda.bpm.engine.impl.ActivityExecutionTreeMapping;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.migration.CompiledMigrationPlan;
 import org.camunda.bpm.engine.impl.migration.instance.MigratingActivityInstance;
 import org.camunda.bpm.engine.impl.migration.instance.MigratingEventScopeInstance;
 import org.camunda.bpm.engine.impl.migration.instance.MigratingExternalTaskInstance;
@@ -75,7 +76,7 @@ public class MigratingInstanceParseContext {
   protected ProcessDefinitionEntity targetProcessDefinition;
   protected Map<String, List<JobDefinitionEntity>> targetJobDefinitions;
   protected ActivityExecutionTreeMapping mapping;
-  protected Map<String, List<MigrationInstruction>> instructionsBySourceScope;
+  protected CompiledMigrationPlan compiledMigrationPlan;
 
   protected MigratingInstanceParser parser;
 
@@ -84,12 +85,21 @@ public class MigratingInstanceParseContext {
       MigrationPlan migrationPlan,
       ExecutionEntity processInstance,
       ProcessDefinitionEntity targetProcessDefinition) {
+    this(parser,
+        new CompiledMigrationPlan(migrationPlan, processInstance.getProcessDefinition(), targetProcessDefinition),
+        processInstance);
+  }
+
+  public MigratingInstanceParseContext(
+      MigratingInstanceParser parser,
+      CompiledMigrationPlan compiledMigrationPlan,
+      ExecutionEntity processInstance) {
     this.parser = parser;
     this.sourceProcessDefinition = processInstance.getProcessDefinition();
-    this.targetProcessDefinition = targetProcessDefinition;
+    this.targetProcessDefinition = compiledMigrationPlan.getTargetProcessDefinition();
     this.migratingProcessInstance = new MigratingProcessInstance(processInstance.getId(), sourceProcessDefinition, targetProcessDefinition);
     this.mapping = new ActivityExecutionTreeMapping(Context.getCommandContext(), processInstance.getId());
-    this.instructionsBySourceScope = organizeInstructionsBySourceScope(migrationPlan);
+    this.compiledMigrationPlan = compiledMigrationPlan;
   }
 
   public MigratingInstanceParseContext jobs(Collection<JobEntity> jobs) {
@@ -192,7 +202,7 @@ public class MigratingInstanceParseContext {
 
   public ActivityImpl getTargetActivity(MigrationInstruction instruction) {
     if (instruction != null) {
-      return targetProcessDefinition.findActivity(instruction.getTargetActivityId());
+      return compiledMigrationPlan.getTargetActivity(instruction);
     }
     else {
       return null;
@@ -220,9 +230,9 @@ public class MigratingInstanceParseContext {
 
   // TODO: conditions would go here
   public MigrationInstruction getInstructionFor(String scopeId) {
-    List<MigrationInstruction> instructions = instructionsBySourceScope.get(scopeId);
+    List<MigrationInstruction> instructions = compiledMigrationPlan.getInstructionsBySourceScope(scopeId);
 
-    if (instructions == null || instructions.isEmpty()) {
+    if (instructions.isEmpty()) {
       return null;
     }
     else {
@@ -247,9 +257,9 @@ public class MigratingInstanceParseContext {
   }
 
   public MigrationInstruction findSingleMigrationInstruction(String sourceScopeId) {
-    List<MigrationInstruction> instructions = instructionsBySourceScope.get(sourceScopeId);
+    List<MigrationInstruction> instructions = compiledMigrationPlan.getInstructionsBySourceScope(sourceScopeId);
 
-    if (instructions != null && !instructions.isEmpty()) {
+    if (!instructions.isEmpty()) {
       return instructions.get(0);
     }
     else {
@@ -258,16 +268,6 @@ public class MigratingInstanceParseContext {
 
   }
 
-  protected Map<String, List<MigrationInstruction>> organizeInstructionsBySourceScope(MigrationPlan migrationPlan) {
-    Map<String, List<MigrationInstruction>> organizedInstructions = new HashMap<String, List<MigrationInstruction>>();
-
-    for (MigrationInstruction instruction : migrationPlan.getInstructions()) {
-      CollectionUtil.addToMapOfLists(organizedInstructions, instruction.getSourceActivityId(), instruction);
-    }
-
-    return organizedInstructions;
-  }
-
   public void handleDependentActivityInstanceJobs(MigratingActivityInstance migratingInstance, List<JobEntity> jobs) {
     parser.getDependentActivityInstanceJobHandler().handle(this, migratingInstance, jobs);
   }
@@ -16,11 +16,18 @@
  */
 package org.camunda.bpm.engine.impl.migration.instance.parser;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.camunda.bpm.engine.ProcessEngine;
 import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.db.sql.DbSqlSessionFactory;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.migration.CompiledMigrationPlan;
 import org.camunda.bpm.engine.impl.migration.instance.MigratingActivityInstance;
 import org.camunda.bpm.engine.impl.migration.instance.MigratingProcessElementInstance;
 import org.camunda.bpm.engine.impl.migration.instance.MigratingProcessInstance;
@@ -36,6 +43,7 @@ import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.TaskEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceEntity;
 import org.camunda.bpm.engine.impl.tree.TreeVisitor;
+import org.camunda.bpm.engine.impl.util.CollectionUtil;
 import org.camunda.bpm.engine.migration.MigrationPlan;
 import org.camunda.bpm.engine.runtime.ActivityInstance;
 import org.camunda.bpm.engine.runtime.TransitionInstance;
@@ -68,11 +76,94 @@ public class MigratingInstanceParser {
   protected MigratingInstanceParseHandler<IncidentEntity> incidentHandler =
       new IncidentInstanceHandler();
 
+  /**
+   * Entities loaded in advance by {@link #prefetch(List)}, grouped by process instance id;
+   * null if nothing was prefetched
+   */
+  protected Map<String, List<ExecutionEntity>> prefetchedExecutions;
+  protected Map<String, List<EventSubscriptionEntity>> prefetchedEventSubscriptions;
+  protected Map<String, List<ExternalTaskEntity>> prefetchedExternalTasks;
+  protected Map<String, List<IncidentEntity>> prefetchedIncidents;
+  protected Map<String, List<JobEntity>> prefetchedJobs;
+  protected Map<String, List<TaskEntity>> prefetchedTasks;
+  protected Map<String, List<VariableInstanceEntity>> prefetchedVariables;
+
+  protected Set<String> prefetchedProcessInstanceIds = new HashSet<String>();
+
+  protected Map<String, List<JobDefinitionEntity>> jobDefinitionsByProcessDefinition = new HashMap<String, List<JobDefinitionEntity>>();
+
   public MigratingInstanceParser(ProcessEngine engine) {
     this.engine = engine;
   }
 
+  /**
+   * Loads the executions, event subscriptions, external tasks, incidents, jobs, tasks and variables
+   * of all given process instances with one query per entity type. Subsequent calls to
+   * {@link #parse(String, CompiledMigrationPlan, MigratingProcessInstanceValidationReportImpl)}
+   * for these process instances use the prefetched entities instead of querying them one by one.
+   * Entities prefetched by a previous call are discarded.
+   *
+   * The number of process instance ids must not exceed {@link DbSqlSessionFactory#MAXIMUM_NUMBER_PARAMS},
+   * callers partition larger lists and parse each partition after prefetching it.
+   *
+   * Must only be used if migrating one process instance cannot modify the entities of another
+   * process instance in the list, i.e. when custom listeners and io mappings are skipped.
+   */
+  public void prefetch(List<String> processInstanceIds) {
+    CommandContext commandContext = Context.getCommandContext();
+    prefetchedProcessInstanceIds.clear();
+    prefetchedProcessInstanceIds.addAll(processInstanceIds);
+
+    prefetchedExecutions = new HashMap<String, List<ExecutionEntity>>();
+    for (ExecutionEntity execution : commandContext.getExecutionManager().findExecutionsByProcessInstanceIds(processInstanceIds)) {
+      CollectionUtil.addToMapOfLists(prefetchedExecutions, execution.getProcessInstanceId(), execution);
+    }
+
+    prefetchedEventSubscriptions = new HashMap<String, List<EventSubscriptionEntity>>();
+    for (EventSubscriptionEntity eventSubscription : commandContext.getEventSubscriptionManager().findEventSubscriptionsByProcessInstanceIds(processInstanceIds)) {
+      CollectionUtil.addToMapOfLists(prefetchedEventSubscriptions, eventSubscription.getProcessInstanceId(), eventSubscription);
+    }
+
+    prefetchedExternalTasks = new HashMap<String, List<ExternalTaskEntity>>();
+    for (ExternalTaskEntity externalTask : commandContext.getExternalTaskManager().findExternalTasksByProcessInstanceIds(processInstanceIds)) {
+      CollectionUtil.addToMapOfLists(prefetchedExternalTasks, externalTask.getProcessInstanceId(), externalTask);
+    }
+
+    prefetchedIncidents = new HashMap<String, List<IncidentEntity>>();
+    for (IncidentEntity incident : commandContext.getIncidentManager().findIncidentsByProcessInstanceIds(processInstanceIds)) {
+      CollectionUtil.addToMapOfLists(prefetchedIncidents, incident.getProcessInstanceId(), incident);
+    }
+
+    prefetchedJobs = new HashMap<String, List<JobEntity>>();
+    for (JobEntity job : commandContext.getJobManager().findJobsByProcessInstanceIds(processInstanceIds)) {
+      CollectionUtil.addToMapOfLists(prefetchedJobs, job.getProcessInstanceId(), job);
+    }
+
+    prefetchedTasks = new HashMap<String, List<TaskEntity>>();
+    for (TaskEntity task : commandContext.getTaskManager().findTasksByProcessInstanceIds(processInstanceIds)) {
+      CollectionUtil.addToMapOfLists(prefetchedTasks, task.getProcessInstanceId(), task);
+    }
+
+    prefetchedVariables = new HashMap<String, List<VariableInstanceEntity>>();
+    for (VariableInstanceEntity variable : commandContext.getVariableInstanceManager().findVariableInstancesByProcessInstanceIds(processInstanceIds)) {
+      CollectionUtil.addToMapOfLists(prefetchedVariables, variable.getProcessInstanceId(), variable);
+    }
+  }
+
   public MigratingProcessInstance parse(String processInstanceId, MigrationPlan migrationPlan, MigratingProcessInstanceValidationReportImpl processInstanceReport) {
+    ProcessDefinitionEntity targetProcessDefinition = Context
+      .getProcessEngineConfiguration()
+      .getDeploymentCache()
+      .findDeployedProcessDefinitionById(migrationPlan.getTargetProcessDefinitionId());
+    ExecutionEntity processInstance = Context.getCommandContext().getExecutionManager().findExecutionById(processInstanceId);
+
+    CompiledMigrationPlan compiledMigrationPlan = new CompiledMigrationPlan(migrationPlan,
+        processInstance.getProcessDefinition(), targetProcessDefinition);
+
+    return parse(processInstanceId, compiledMigrationPlan, processInstanceReport);
+  }
+
+  public MigratingProcessInstance parse(String processInstanceId, CompiledMigrationPlan compiledMigrationPlan, MigratingProcessInstanceValidationReportImpl processInstanceReport) {
 
     CommandContext commandContext = Context.getCommandContext();
     List<EventSubscriptionEntity> eventSubscriptions = fetchEventSubscriptions(commandContext, processInstanceId);
@@ -82,17 +173,15 @@ public class MigratingInstanceParser {
     List<JobEntity> jobs = fetchJobs(commandContext, processInstanceId);
     List<TaskEntity> tasks = fetchTasks(commandContext, processInstanceId);
     List<VariableInstanceEntity> variables = fetchVariables(commandContext, processInstanceId);
+    prefetchedProcessInstanceIds.remove(processInstanceId);
 
     ExecutionEntity processInstance = commandContext.getExecutionManager().findExecutionById(processInstanceId);
     processInstance.restoreProcessInstance(executions, eventSubscriptions, variables, tasks, jobs, incidents, externalTasks);
 
-    ProcessDefinitionEntity targetProcessDefinition = Context
-      .getProcessEngineConfiguration()
-      .getDeploymentCache()
-      .findDeployedProcessDefinitionById(migrationPlan.getTargetProcessDefinitionId());
+    ProcessDefinitionEntity targetProcessDefinition = compiledMigrationPlan.getTargetProcessDefinition();
     List<JobDefinitionEntity> targetJobDefinitions = fetchJobDefinitions(commandContext, targetProcessDefinition.getId());
 
-    final MigratingInstanceParseContext parseContext = new MigratingInstanceParseContext(this, migrationPlan, processInstance, targetProcessDefinition)
+    final MigratingInstanceParseContext parseContext = new MigratingInstanceParseContext(this, compiledMigrationPlan, processInstance)
       .eventSubscriptions(eventSubscriptions)
       .externalTasks(externalTasks)
       .incidents(incidents)
@@ -164,35 +253,82 @@ public class MigratingInstanceParser {
   }
 
   protected List<ExecutionEntity> fetchExecutions(CommandContext commandContext, String processInstanceId) {
+    List<ExecutionEntity> prefetched = removePrefetched(prefetchedExecutions, processInstanceId);
+    if (prefetched != null) {
+      return prefetched;
+    }
     return commandContext.getExecutionManager().findExecutionsByProcessInstanceId(processInstanceId);
   }
 
   protected List<EventSubscriptionEntity> fetchEventSubscriptions(CommandContext commandContext, String processInstanceId) {
+    List<EventSubscriptionEntity> prefetched = removePrefetched(prefetchedEventSubscriptions, processInstanceId);
+    if (prefetched != null) {
+      return prefetched;
+    }
     return commandContext.getEventSubscriptionManager().findEventSubscriptionsByProcessInstanceId(processInstanceId);
   }
 
   protected List<ExternalTaskEntity> fetchExternalTasks(CommandContext commandContext, String processInstanceId) {
+    List<ExternalTaskEntity> prefetched = removePrefetched(prefetchedExternalTasks, processInstanceId);
+    if (prefetched != null) {
+      return prefetched;
+    }
     return commandContext.getExternalTaskManager().findExternalTasksByProcessInstanceId(processInstanceId);
   }
 
   protected List<JobEntity> fetchJobs(CommandContext commandContext, String processInstanceId) {
+    List<JobEntity> prefetched = removePrefetched(prefetchedJobs, processInstanceId);
+    if (prefetched != null) {
+      return prefetched;
+    }
     return commandContext.getJobManager().findJobsByProcessInstanceId(processInstanceId);
   }
 
   protected List<IncidentEntity> fetchIncidents(CommandContext commandContext, String processInstanceId) {
+    List<IncidentEntity> prefetched = removePrefetched(prefetchedIncidents, processInstanceId);
+    if (prefetched != null) {
+      return prefetched;
+    }
     return commandContext.getIncidentManager().findIncidentsByProcessInstance(processInstanceId);
   }
 
   protected List<TaskEntity> fetchTasks(CommandContext commandContext, String processInstanceId) {
+    List<TaskEntity> prefetched = removePrefetched(prefetchedTasks, processInstanceId);
+    if (prefetched != null) {
+      return prefetched;
+    }
     return commandContext.getTaskManager().findTasksByProcessInstanceId(processInstanceId);
   }
 
   protected List<JobDefinitionEntity> fetchJobDefinitions(CommandContext commandContext, String processDefinitionId) {
-    return commandContext.getJobDefinitionManager().findByProcessDefinitionId(processDefinitionId);
+    List<JobDefinitionEntity> jobDefinitions = jobDefinitionsByProcessDefinition.get(processDefinitionId);
+    if (jobDefinitions == null) {
+      jobDefinitions = commandContext.getJobDefinitionManager().findByProcessDefinitionId(processDefinitionId);
+      jobDefinitionsByProcessDefinition.put(processDefinitionId, jobDefinitions);
+    }
+    return jobDefinitions;
   }
 
   protected List<VariableInstanceEntity> fetchVariables(CommandContext commandContext, String processInstanceId) {
+    List<VariableInstanceEntity> prefetched = removePrefetched(prefetchedVariables, processInstanceId);
+    if (prefetched != null) {
+      return prefetched;
+    }
     return commandContext.getVariableInstanceManager().findVariableInstancesByProcessInstanceId(processInstanceId);
   }
 
+  /**
+   * @return the prefetched entities of the process instance or null if it was not prefetched
+   */
+  protected <T> List<T> removePrefetched(Map<String, List<T>> prefetched, String processInstanceId) {
+    if (prefetched == null || !prefetchedProcessInstanceIds.contains(processInstanceId)) {
+      return null;
+    }
+    List<T> entities = prefetched.remove(processInstanceId);
+    if (entities == null) {
+      entities = new ArrayList<T>();
+    }
+    return entities;
+  }
+
 }
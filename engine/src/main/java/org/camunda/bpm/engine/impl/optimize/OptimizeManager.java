@@ -130,7 +130,8 @@ public class OptimizeManager extends AbstractManager {
     params.put("operationTypes", operationTypes);
     params.put("maxResults", maxResults);
 
-    return getDbEntityManager().selectList("selectHistoricUserOperationLogPage", params);
+    List<UserOperationLogEntry> entries = getDbEntityManager().selectList("selectHistoricUserOperationLogPage", params);
+    return getUserOperationLogManager().expandCompactEntries(entries, null);
   }
 
   @SuppressWarnings("unchecked")
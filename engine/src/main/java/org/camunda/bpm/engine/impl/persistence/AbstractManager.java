@@ -60,6 +60,7 @@ import org.camunda.bpm.engine.impl.persistence.entity.IdentityLinkManager;
 import org.camunda.bpm.engine.impl.persistence.entity.JobDefinitionManager;
 import org.camunda.bpm.engine.impl.persistence.entity.JobManager;
 import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionManager;
+import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionStatisticsCounterManager;
 import org.camunda.bpm.engine.impl.persistence.entity.ResourceManager;
 import org.camunda.bpm.engine.impl.persistence.entity.TaskManager;
 import org.camunda.bpm.engine.impl.persistence.entity.TaskReportManager;
@@ -198,6 +199,10 @@ public abstract class AbstractManager implements Session {
     return getSession(HistoricExternalTaskLogManager.class);
   }
 
+  protected ProcessDefinitionStatisticsCounterManager getProcessDefinitionStatisticsCounterManager() {
+    return getSession(ProcessDefinitionStatisticsCounterManager.class);
+  }
+
   protected JobManager getJobManager() {
     return getSession(JobManager.class);
   }
@@ -266,6 +271,10 @@ public abstract class AbstractManager implements Session {
     return Context.getProcessEngineConfiguration().isAuthorizationEnabled();
   }
 
+  protected boolean isProcessDefinitionStatisticsMaterialized() {
+    return Context.getProcessEngineConfiguration().isProcessDefinitionStatisticsMaterialized();
+  }
+
   protected Authentication getCurrentAuthentication() {
     return Context.getCommandContext().getAuthentication();
   }
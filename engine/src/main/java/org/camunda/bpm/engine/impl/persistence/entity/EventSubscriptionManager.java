@@ -261,6 +261,14 @@ public class EventSubscriptionManager extends AbstractManager {
     return getDbEntityManager().selectList("selectEventSubscriptionsByProcessInstanceId", processInstanceId);
   }
 
+  @SuppressWarnings("unchecked")
+  public List<EventSubscriptionEntity> findEventSubscriptionsByProcessInstanceIds(List<String> processInstanceIds) {
+    if (processInstanceIds.isEmpty()) {
+      return new ArrayList<EventSubscriptionEntity>();
+    }
+    return getDbEntityManager().selectList("selectEventSubscriptionsByProcessInstanceIds", processInstanceIds);
+  }
+
   /**
    * @return the message start event subscriptions with the given message name (from any tenant)
    *
@@ -271,6 +279,19 @@ public class EventSubscriptionManager extends AbstractManager {
     return getDbEntityManager().selectList("selectMessageStartEventSubscriptionByName", configureParameterizedQuery(messageName));
   }
 
+  /**
+   * @return the message event subscriptions of active executions with one of the given message names
+   *   and whose process instance has one of the given business keys
+   */
+  @SuppressWarnings("unchecked")
+  public List<EventSubscriptionEntity> findMessageEventSubscriptionsByNamesAndBusinessKeys(List<String> messageNames, List<String> businessKeys) {
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("messageNames", messageNames);
+    parameters.put("businessKeys", businessKeys);
+
+    return getDbEntityManager().selectList("selectMessageEventSubscriptionsByNamesAndBusinessKeys", configureParameterizedQuery(parameters));
+  }
+
   /**
    * @return the message start event subscription with the given message name and tenant id
    *
@@ -38,6 +38,11 @@ public class EverLivingJobEntity extends JobEntity {
     return TYPE;
   }
 
+  @Override
+  protected JobEntity newInstance() {
+    return new EverLivingJobEntity();
+  }
+
   @Override
   protected void postExecute(CommandContext commandContext) {
     LOG.debugJobExecuted(this);
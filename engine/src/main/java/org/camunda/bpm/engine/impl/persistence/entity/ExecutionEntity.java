@@ -57,6 +57,7 @@ import org.camunda.bpm.engine.impl.history.event.HistoryEventProcessor;
 import org.camunda.bpm.engine.impl.history.event.HistoryEventTypes;
 import org.camunda.bpm.engine.impl.history.producer.HistoryEventProducer;
 import org.camunda.bpm.engine.impl.interceptor.AtomicOperationInvocation;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.jobexecutor.MessageJobDeclaration;
 import org.camunda.bpm.engine.impl.jobexecutor.TimerDeclarationImpl;
 import org.camunda.bpm.engine.impl.persistence.entity.util.FormPropertyStartContext;
@@ -78,6 +79,7 @@ import org.camunda.bpm.engine.impl.util.BitMaskUtil;
 import org.camunda.bpm.engine.impl.util.CollectionUtil;
 import org.camunda.bpm.engine.impl.variable.VariableDeclaration;
 import org.camunda.bpm.engine.repository.ProcessDefinition;
+import org.camunda.bpm.engine.management.Metrics;
 import org.camunda.bpm.engine.runtime.Execution;
 import org.camunda.bpm.engine.runtime.Job;
 import org.camunda.bpm.engine.runtime.ProcessInstance;
@@ -1337,7 +1339,111 @@ public class ExecutionEntity extends PvmExecutionImpl implements Execution, Proc
       }
     }
 
-    processInstance.restoreProcessInstance(executions, null, null, null, null, null, null);
+    if (isRelatedEntitiesPrefetchRequired(executions.size())) {
+      processInstance.restoreProcessInstanceWithRelatedEntities(executions);
+    }
+    else {
+      processInstance.restoreProcessInstance(executions, null, null, null, null, null, null);
+    }
+  }
+
+  protected boolean isRelatedEntitiesPrefetchRequired(int executionCount) {
+    int threshold = Context.getProcessEngineConfiguration().getExecutionTreeRelatedEntitiesPrefetchThreshold();
+    return threshold > 0 && executionCount >= threshold;
+  }
+
+  /**
+   * Restores the process instance tree like {@link #restoreProcessInstance} and fetches
+   * the tasks, event subscriptions, jobs, external tasks, incidents and variables of the
+   * given executions with one query per entity type. Without prefetching, each of these
+   * collections is fetched lazily with one query per execution.
+   *
+   * Collections which are already initialized are left untouched, since they may
+   * contain changes which are not yet flushed to the database.
+   *
+   * @param executions
+   *   all executions of this process instance
+   */
+  protected void restoreProcessInstanceWithRelatedEntities(Collection<ExecutionEntity> executions) {
+    CommandContext commandContext = Context.getCommandContext();
+
+    Set<String> withoutEventSubscriptions = new HashSet<>();
+    Set<String> withoutTasks = new HashSet<>();
+    Set<String> withoutJobs = new HashSet<>();
+    Set<String> withoutIncidents = new HashSet<>();
+    Set<String> withoutExternalTasks = new HashSet<>();
+    for (ExecutionEntity execution : executions) {
+      if (execution.eventSubscriptions == null) {
+        withoutEventSubscriptions.add(execution.getId());
+      }
+      if (execution.tasks == null) {
+        withoutTasks.add(execution.getId());
+      }
+      if (execution.jobs == null) {
+        withoutJobs.add(execution.getId());
+      }
+      if (execution.incidents == null) {
+        withoutIncidents.add(execution.getId());
+      }
+      if (execution.externalTasks == null) {
+        withoutExternalTasks.add(execution.getId());
+      }
+    }
+
+    // only restore collections which would otherwise be lazy loaded
+    List<EventSubscriptionEntity> eventSubscriptions = new ArrayList<>();
+    for (EventSubscriptionEntity eventSubscription : commandContext.getEventSubscriptionManager()
+        .findEventSubscriptionsByProcessInstanceId(processInstanceId)) {
+      if (withoutEventSubscriptions.contains(eventSubscription.getExecutionId())) {
+        eventSubscriptions.add(eventSubscription);
+      }
+    }
+
+    List<TaskEntity> tasks = new ArrayList<>();
+    for (TaskEntity task : commandContext.getTaskManager().findTasksByProcessInstanceId(processInstanceId)) {
+      if (withoutTasks.contains(task.getExecutionId())) {
+        tasks.add(task);
+      }
+    }
+
+    List<JobEntity> jobs = new ArrayList<>();
+    for (JobEntity job : commandContext.getJobManager().findJobsByProcessInstanceId(processInstanceId)) {
+      if (withoutJobs.contains(job.getExecutionId())) {
+        jobs.add(job);
+      }
+    }
+
+    List<IncidentEntity> incidents = new ArrayList<>();
+    for (IncidentEntity incident : commandContext.getIncidentManager().findIncidentsByProcessInstance(processInstanceId)) {
+      if (withoutIncidents.contains(incident.getExecutionId())) {
+        incidents.add(incident);
+      }
+    }
+
+    List<ExternalTaskEntity> externalTasks = new ArrayList<>();
+    for (ExternalTaskEntity externalTask : commandContext.getExternalTaskManager()
+        .findExternalTasksByProcessInstanceId(processInstanceId)) {
+      if (withoutExternalTasks.contains(externalTask.getExecutionId())) {
+        externalTasks.add(externalTask);
+      }
+    }
+
+    List<VariableInstanceEntity> variables = commandContext.getVariableInstanceManager()
+        .findVariableInstancesByProcessInstanceId(processInstanceId);
+
+    restoreProcessInstance(executions, eventSubscriptions, variables, tasks, jobs, incidents, externalTasks);
+
+    int queryCount = 6;
+    int lazyQueryCount = withoutEventSubscriptions.size() + withoutTasks.size() + withoutJobs.size()
+        + withoutIncidents.size() + withoutExternalTasks.size() + executions.size() + tasks.size();
+    int queriesSaved = Math.max(0, lazyQueryCount - queryCount);
+    LOG.logExecutionTreeRelatedEntitiesPrefetched(processInstanceId, executions.size(), queryCount, queriesSaved);
+
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    if (processEngineConfiguration.isMetricsEnabled()) {
+      processEngineConfiguration.getMetricsRegistry()
+          .markOccurrence(Metrics.EXECUTION_TREE_PREFETCH_QUERIES_SAVED, queriesSaved);
+    }
   }
 
   /**
@@ -1355,6 +1461,8 @@ public class ExecutionEntity extends PvmExecutionImpl implements Execution, Proc
    * @param jobs
    * @param tasks
    * @param incidents
+   *   If not null, the corresponding collections of the executions are initialized
+   *   with the given entities only and are not lazy loaded anymore
    */
   public void restoreProcessInstance(Collection<ExecutionEntity> executions,
       Collection<EventSubscriptionEntity> eventSubscriptions,
@@ -1389,6 +1497,18 @@ public class ExecutionEntity extends PvmExecutionImpl implements Execution, Proc
       if(execution.eventSubscriptions == null && eventSubscriptions != null) {
         execution.eventSubscriptions = new ArrayList<>();
       }
+      if(execution.tasks == null && tasks != null) {
+        execution.tasks = new ArrayList<>();
+      }
+      if(execution.jobs == null && jobs != null) {
+        execution.jobs = new ArrayList<>();
+      }
+      if(execution.incidents == null && incidents != null) {
+        execution.incidents = new ArrayList<>();
+      }
+      if(execution.externalTasks == null && externalTasks != null) {
+        execution.externalTasks = new ArrayList<>();
+      }
       if(variables != null) {
         execution.variableStore.setVariablesProvider(
             new VariableCollectionProvider<>(variablesByScope.get(execution.id)));
@@ -16,6 +16,7 @@
  */
 package org.camunda.bpm.engine.impl.persistence.entity;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
@@ -44,11 +45,17 @@ public class ExecutionManager extends AbstractManager {
 
   public void insertExecution(ExecutionEntity execution) {
     getDbEntityManager().insert(execution);
+    if (isProcessDefinitionStatisticsMaterialized()) {
+      getProcessDefinitionStatisticsCounterManager().onExecutionInserted(execution);
+    }
     createDefaultAuthorizations(execution);
   }
 
   public void deleteExecution(ExecutionEntity execution) {
     getDbEntityManager().delete(execution);
+    if (isProcessDefinitionStatisticsMaterialized()) {
+      getProcessDefinitionStatisticsCounterManager().onExecutionDeleted(execution);
+    }
     if (execution.isProcessInstanceExecution()) {
       deleteAuthorizations(Resources.PROCESS_INSTANCE, execution.getProcessInstanceId());
     }
@@ -112,6 +119,22 @@ public class ExecutionManager extends AbstractManager {
     return getDbEntityManager().selectList("selectExecutionsByProcessInstanceId", processInstanceId);
   }
 
+  @SuppressWarnings("unchecked")
+  public List<ExecutionEntity> findExecutionsByProcessInstanceIds(List<String> processInstanceIds) {
+    if (processInstanceIds.isEmpty()) {
+      return new ArrayList<ExecutionEntity>();
+    }
+    return getDbEntityManager().selectList("selectExecutionsByProcessInstanceIds", processInstanceIds);
+  }
+
+  @SuppressWarnings("unchecked")
+  public List<ExecutionEntity> findExecutionsByIds(List<String> executionIds) {
+    if (executionIds.isEmpty()) {
+      return new ArrayList<>();
+    }
+    return getDbEntityManager().selectList("selectExecutionsByIds", executionIds);
+  }
+
   public ExecutionEntity findExecutionById(String executionId) {
     return getDbEntityManager().selectById(ExecutionEntity.class, executionId);
   }
@@ -19,8 +19,10 @@ package org.camunda.bpm.engine.impl.persistence.entity;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.camunda.bpm.engine.externaltask.ExternalTask;
 import org.camunda.bpm.engine.impl.Direction;
@@ -31,12 +33,15 @@ import org.camunda.bpm.engine.impl.QueryOrderingProperty;
 import org.camunda.bpm.engine.impl.cfg.TransactionListener;
 import org.camunda.bpm.engine.impl.cfg.TransactionState;
 import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.core.variable.scope.PrefetchedVariablesProvider;
 import org.camunda.bpm.engine.impl.db.ListQueryParameterObject;
 import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManager;
+import org.camunda.bpm.engine.impl.db.sql.DbSqlSessionFactory;
 import org.camunda.bpm.engine.impl.externaltask.TopicFetchInstruction;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.persistence.AbstractManager;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.impl.util.CollectionUtil;
 
 /**
  * @author Thorben Lindhauer
@@ -50,6 +55,14 @@ public class ExternalTaskManager extends AbstractManager {
     return getDbEntityManager().selectById(ExternalTaskEntity.class, id);
   }
 
+  @SuppressWarnings("unchecked")
+  public List<ExternalTaskEntity> findExternalTasksByIds(List<String> ids) {
+    if (ids.isEmpty()) {
+      return new ArrayList<ExternalTaskEntity>();
+    }
+    return getDbEntityManager().selectList("selectExternalTasksByIds", ids);
+  }
+
   public void insert(ExternalTaskEntity externalTask) {
     getDbEntityManager().insert(externalTask);
     fireExternalTaskAvailableEvent();
@@ -69,6 +82,14 @@ public class ExternalTaskManager extends AbstractManager {
     return getDbEntityManager().selectList("selectExternalTasksByProcessInstanceId", processInstanceId);
   }
 
+  @SuppressWarnings("unchecked")
+  public List<ExternalTaskEntity> findExternalTasksByProcessInstanceIds(List<String> processInstanceIds) {
+    if (processInstanceIds.isEmpty()) {
+      return new ArrayList<ExternalTaskEntity>();
+    }
+    return getDbEntityManager().selectList("selectExternalTasksByProcessInstanceIds", processInstanceIds);
+  }
+
   public List<ExternalTaskEntity> selectExternalTasksForTopics(Collection<TopicFetchInstruction> queryFilters, int maxResults, boolean usePriority) {
     if (queryFilters.isEmpty()) {
       return new ArrayList<ExternalTaskEntity>();
@@ -89,6 +110,138 @@ public class ExternalTaskManager extends AbstractManager {
     return manager.selectList("selectExternalTasksForTopics", parameter);
   }
 
+  /**
+   * <p>Fetches everything that is needed to map the given locked external tasks to
+   * {@link org.camunda.bpm.engine.externaltask.LockedExternalTask}s with a fixed number of
+   * queries instead of lazily per external task: their executions (and, for non-local variables,
+   * the ancestors of the executions level by level), the requested variables of all these
+   * executions and the byte arrays of these variables and of the error details. The ids and
+   * variable names are partitioned so that no statement exceeds
+   * {@link DbSqlSessionFactory#MAXIMUM_NUMBER_PARAMS} parameters.</p>
+   *
+   * <p>The fetched entities are added to the entity cache. Variables which were not
+   * fetched are still loaded on demand.</p>
+   *
+   * @return the number of performed queries
+   */
+  public int prefetchLockedExternalTasks(List<ExternalTaskEntity> externalTasks, Map<String, TopicFetchInstruction> fetchInstructions) {
+    if (externalTasks.isEmpty()) {
+      return 0;
+    }
+
+    int queryCount = 0;
+
+    Set<String> executionIds = new HashSet<String>();
+    Set<String> hierarchicalExecutionIds = new HashSet<String>();
+    Set<String> variableNames = new HashSet<String>();
+    boolean fetchAllVariables = false;
+
+    for (ExternalTaskEntity externalTask : externalTasks) {
+      TopicFetchInstruction fetchInstruction = fetchInstructions.get(externalTask.getTopicName());
+      executionIds.add(externalTask.getExecutionId());
+
+      if (!fetchInstruction.isLocalVariables()) {
+        hierarchicalExecutionIds.add(externalTask.getExecutionId());
+      }
+
+      List<String> variablesToFetch = fetchInstruction.getVariablesToFetch();
+      if (variablesToFetch == null) {
+        fetchAllVariables = true;
+      }
+      else {
+        variableNames.addAll(variablesToFetch);
+      }
+    }
+
+    // executions, one query per level of the execution tree
+    Map<String, ExecutionEntity> executions = new HashMap<String, ExecutionEntity>();
+    Set<String> requestedExecutionIds = new HashSet<String>(executionIds);
+    Set<String> executionIdsToFetch = executionIds;
+
+    while (!executionIdsToFetch.isEmpty()) {
+      for (List<String> ids : CollectionUtil.partition(new ArrayList<String>(executionIdsToFetch), DbSqlSessionFactory.MAXIMUM_NUMBER_PARAMS)) {
+        for (ExecutionEntity execution : getProcessInstanceManager().findExecutionsByIds(ids)) {
+          executions.put(execution.getId(), execution);
+        }
+        queryCount++;
+      }
+
+      executionIdsToFetch = new HashSet<String>();
+      for (String executionId : hierarchicalExecutionIds) {
+        ExecutionEntity execution = executions.get(executionId);
+        while (execution != null && execution.getParentId() != null) {
+          String parentId = execution.getParentId();
+          if (!executions.containsKey(parentId) && requestedExecutionIds.add(parentId)) {
+            executionIdsToFetch.add(parentId);
+          }
+          execution = executions.get(parentId);
+        }
+      }
+    }
+
+    for (ExternalTaskEntity externalTask : externalTasks) {
+      ExecutionEntity execution = executions.get(externalTask.getExecutionId());
+      if (execution != null) {
+        externalTask.setExecution(execution);
+      }
+    }
+
+    // variables of all executions
+    Collection<String> prefetchedVariableNames = fetchAllVariables ? null : variableNames;
+    List<VariableInstanceEntity> variables = new ArrayList<VariableInstanceEntity>();
+
+    if (!executions.isEmpty() && (fetchAllVariables || !variableNames.isEmpty())) {
+      // the execution ids and the variable names share the parameter limit of a statement
+      List<List<String>> variableNamePartitions = new ArrayList<List<String>>();
+      if (fetchAllVariables) {
+        variableNamePartitions.add(null);
+      }
+      else {
+        variableNamePartitions.addAll(CollectionUtil.partition(new ArrayList<String>(variableNames), DbSqlSessionFactory.MAXIMUM_NUMBER_PARAMS / 2));
+      }
+
+      for (List<String> names : variableNamePartitions) {
+        int executionIdPartitionSize = DbSqlSessionFactory.MAXIMUM_NUMBER_PARAMS - (names == null ? 0 : names.size());
+
+        for (List<String> ids : CollectionUtil.partition(new ArrayList<String>(executions.keySet()), executionIdPartitionSize)) {
+          variables.addAll(getVariableInstanceManager().findVariableInstancesByExecutionIdsAndVariableNames(ids, names));
+          queryCount++;
+        }
+      }
+    }
+
+    Map<String, List<VariableInstanceEntity>> variablesByExecution = new HashMap<String, List<VariableInstanceEntity>>();
+    for (VariableInstanceEntity variable : variables) {
+      CollectionUtil.addToMapOfLists(variablesByExecution, variable.getExecutionId(), variable);
+    }
+    for (ExecutionEntity execution : executions.values()) {
+      execution.variableStore.setVariablesProvider(new PrefetchedVariablesProvider<VariableInstanceEntity>(
+          variablesByExecution.get(execution.getId()), prefetchedVariableNames, execution));
+    }
+
+    // byte arrays of the variables and error details
+    List<String> byteArrayIds = new ArrayList<String>();
+    for (VariableInstanceEntity variable : variables) {
+      if (variable.getByteArrayValueId() != null) {
+        byteArrayIds.add(variable.getByteArrayValueId());
+      }
+    }
+    for (ExternalTaskEntity externalTask : externalTasks) {
+      if (externalTask.getErrorDetailsByteArrayId() != null) {
+        byteArrayIds.add(externalTask.getErrorDetailsByteArrayId());
+      }
+    }
+
+    if (!byteArrayIds.isEmpty()) {
+      for (List<String> ids : CollectionUtil.partition(byteArrayIds, DbSqlSessionFactory.MAXIMUM_NUMBER_PARAMS)) {
+        getDbEntityManager().selectList("selectByteArrays", ids);
+        queryCount++;
+      }
+    }
+
+    return queryCount;
+  }
+
   public List<ExternalTask> findExternalTasksByQueryCriteria(ExternalTaskQueryImpl externalTaskQuery) {
     configureQuery(externalTaskQuery);
     return getDbEntityManager().selectList("selectExternalTaskByQueryCriteria", externalTaskQuery);
@@ -219,6 +219,17 @@ public class FilterEntity implements Filter, Serializable, DbEntity, HasDbRevisi
     return copy;
   }
 
+  /**
+   * Creates a new filter with the persistent state of this filter, see {@link #copyFilter()}.
+   */
+  public FilterEntity copy() {
+    FilterEntity copy = copyFilter();
+    copy.setId(getId());
+    copy.setRevision(getRevision());
+    copy.postLoad();
+    return copy;
+  }
+
   public void postLoad() {
     if (query != null) {
       query.addValidator(StoredQueryValidator.get());
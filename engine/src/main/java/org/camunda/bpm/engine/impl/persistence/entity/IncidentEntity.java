@@ -38,6 +38,7 @@ import org.camunda.bpm.engine.impl.history.event.HistoryEventTypes;
 import org.camunda.bpm.engine.impl.history.producer.HistoryEventProducer;
 import org.camunda.bpm.engine.impl.incident.IncidentContext;
 import org.camunda.bpm.engine.impl.incident.IncidentLogger;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
 import org.camunda.bpm.engine.runtime.Incident;
 
@@ -172,6 +173,13 @@ public class IncidentEntity implements Incident, DbEntity, HasDbRevision, HasDbR
       .getDbEntityManager()
       .insert(incident);
 
+    CommandContext commandContext = Context.getCommandContext();
+    if (commandContext.getProcessEngineConfiguration().isProcessDefinitionStatisticsMaterialized()) {
+      commandContext
+        .getProcessDefinitionStatisticsCounterManager()
+        .onIncidentInserted(incident);
+    }
+
     incident.fireHistoricIncidentEvent(HistoryEventTypes.INCIDENT_CREATE);
   }
 
@@ -216,6 +224,13 @@ public class IncidentEntity implements Incident, DbEntity, HasDbRevision, HasDbR
       .getDbEntityManager()
       .delete(this);
 
+    CommandContext commandContext = Context.getCommandContext();
+    if (commandContext.getProcessEngineConfiguration().isProcessDefinitionStatisticsMaterialized()) {
+      commandContext
+        .getProcessDefinitionStatisticsCounterManager()
+        .onIncidentDeleted(this);
+    }
+
     // update historic incident
     HistoryEventType eventType = resolved ? HistoryEventTypes.INCIDENT_RESOLVE : HistoryEventTypes.INCIDENT_DELETE;
     fireHistoricIncidentEvent(eventType);
@@ -16,6 +16,7 @@
  */
 package org.camunda.bpm.engine.impl.persistence.entity;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -40,6 +41,14 @@ public class IncidentManager extends AbstractManager {
     return getDbEntityManager().selectList("selectIncidentsByProcessInstanceId", id);
   }
 
+  @SuppressWarnings("unchecked")
+  public List<IncidentEntity> findIncidentsByProcessInstanceIds(List<String> processInstanceIds) {
+    if (processInstanceIds.isEmpty()) {
+      return new ArrayList<IncidentEntity>();
+    }
+    return getDbEntityManager().selectList("selectIncidentsByProcessInstanceIds", processInstanceIds);
+  }
+
   public long findIncidentCountByQueryCriteria(IncidentQueryImpl incidentQuery) {
     configureQuery(incidentQuery);
     return (Long) getDbEntityManager().selectOne("selectIncidentCountByQueryCriteria", incidentQuery);
@@ -88,6 +88,25 @@ public class JobDefinitionEntity implements JobDefinition, HasDbRevision, HasDbR
     return state;
   }
 
+  /**
+   * Creates a new job definition with the persistent state of this job definition,
+   * so that it can be used in another command context than this job definition.
+   */
+  public JobDefinitionEntity copy() {
+    JobDefinitionEntity jobDefinition = new JobDefinitionEntity();
+    jobDefinition.id = id;
+    jobDefinition.revision = revision;
+    jobDefinition.processDefinitionId = processDefinitionId;
+    jobDefinition.processDefinitionKey = processDefinitionKey;
+    jobDefinition.activityId = activityId;
+    jobDefinition.jobType = jobType;
+    jobDefinition.jobConfiguration = jobConfiguration;
+    jobDefinition.suspensionState = suspensionState;
+    jobDefinition.jobPriority = jobPriority;
+    jobDefinition.tenantId = tenantId;
+    return jobDefinition;
+  }
+
   // getters / setters /////////////////////////////////
 
   public int getRevisionNext() {
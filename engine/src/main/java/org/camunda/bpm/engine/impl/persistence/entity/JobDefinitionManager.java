@@ -16,6 +16,7 @@
  */
 package org.camunda.bpm.engine.impl.persistence.entity;
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -43,6 +44,11 @@ public class JobDefinitionManager extends AbstractManager {
     return getDbEntityManager().selectList("selectJobDefinitionsByProcessDefinitionId", processDefinitionId);
   }
 
+  @SuppressWarnings("unchecked")
+  public List<JobDefinitionEntity> findByIds(Collection<String> jobDefinitionIds) {
+    return getDbEntityManager().selectList("selectJobDefinitionsByIds", jobDefinitionIds);
+  }
+
   public void deleteJobDefinitionsByProcessDefinitionId(String id) {
     getDbEntityManager().delete(JobDefinitionEntity.class, "deleteJobDefinitionsByProcessDefinitionId", id);
   }
@@ -212,6 +212,50 @@ public abstract class JobEntity extends AcquirableJobEntity implements Serializa
     return persistentState;
   }
 
+  /**
+   * Creates a new job of the same type with the persistent state of this job.
+   * The copy does not reference the execution of this job and works on a copy
+   * of its job definition, so that it can be used in another command context
+   * than this job. A job definition which is not a {@link JobDefinitionEntity}
+   * is not copied and loaded again on demand.
+   */
+  public JobEntity copy() {
+    JobEntity job = newInstance();
+    job.copyPersistentState(this);
+    return job;
+  }
+
+  protected abstract JobEntity newInstance();
+
+  protected void copyPersistentState(JobEntity job) {
+    id = job.id;
+    revision = job.revision;
+    lockOwner = job.lockOwner;
+    lockExpirationTime = job.lockExpirationTime;
+    duedate = job.duedate;
+    isExclusive = job.isExclusive;
+    executionId = job.executionId;
+    processInstanceId = job.processInstanceId;
+    processDefinitionId = job.processDefinitionId;
+    processDefinitionKey = job.processDefinitionKey;
+    retries = job.retries;
+    suspensionState = job.suspensionState;
+    jobHandlerType = job.jobHandlerType;
+    jobHandlerConfiguration = job.jobHandlerConfiguration;
+    exceptionByteArrayId = job.exceptionByteArrayId;
+    exceptionMessage = job.exceptionMessage;
+    failedActivityId = job.failedActivityId;
+    deploymentId = job.deploymentId;
+    jobDefinitionId = job.jobDefinitionId;
+    if (job.jobDefinition instanceof JobDefinitionEntity) {
+      jobDefinition = ((JobDefinitionEntity) job.jobDefinition).copy();
+    }
+    priority = job.priority;
+    tenantId = job.tenantId;
+    createTime = job.createTime;
+    sequenceCounter = job.sequenceCounter;
+  }
+
   public void setExecution(ExecutionEntity execution) {
     if (execution != null) {
       this.execution = execution;
@@ -289,6 +333,13 @@ public abstract class JobEntity extends AcquirableJobEntity implements Serializa
     if(retries == 0 && this.retries > 0) {
       createFailedJobIncident();
     }
+
+    CommandContext commandContext = Context.getCommandContext();
+    if (commandContext != null && retries != this.retries
+        && commandContext.getProcessEngineConfiguration().isProcessDefinitionStatisticsMaterialized()) {
+      commandContext.getProcessDefinitionStatisticsCounterManager().onJobRetriesChanged(this, retries);
+    }
+
     this.retries = retries;
   }
 
@@ -74,6 +74,9 @@ public class JobManager extends AbstractManager {
     job.setCreateTime(ClockUtil.getCurrentTime());
 
     getDbEntityManager().insert(job);
+    if (isProcessDefinitionStatisticsMaterialized()) {
+      getProcessDefinitionStatisticsCounterManager().onJobInserted(job);
+    }
     getHistoricJobLogManager().fireJobCreatedEvent(job);
   }
 
@@ -83,6 +86,9 @@ public class JobManager extends AbstractManager {
 
   public void deleteJob(JobEntity job, boolean fireDeleteEvent) {
     getDbEntityManager().delete(job);
+    if (isProcessDefinitionStatisticsMaterialized()) {
+      getProcessDefinitionStatisticsCounterManager().onJobDeleted(job);
+    }
 
     if (fireDeleteEvent) {
       getHistoricJobLogManager().fireJobDeletedEvent(job);
@@ -185,8 +191,27 @@ public class JobManager extends AbstractManager {
     return (JobEntity) getDbEntityManager().selectOne("selectJob", jobId);
   }
 
+  /**
+   * @return the revision of the job or null if the job does not exist
+   */
+  public Integer findJobRevisionById(String jobId) {
+    return (Integer) getDbEntityManager().selectOne("selectJobRevision", jobId);
+  }
+
   @SuppressWarnings("unchecked")
   public List<AcquirableJobEntity> findNextJobsToExecute(Page page) {
+    return getDbEntityManager().selectList("selectNextJobsToExecute", createNextJobsToExecuteParameters(), page);
+  }
+
+  /**
+   * Like {@link #findNextJobsToExecute(Page)} but selects the complete job rows.
+   */
+  @SuppressWarnings("unchecked")
+  public List<JobEntity> findNextFullJobsToExecute(Page page) {
+    return getDbEntityManager().selectList("selectNextFullJobsToExecute", createNextJobsToExecuteParameters(), page);
+  }
+
+  protected Map<String, Object> createNextJobsToExecuteParameters() {
     ProcessEngineConfigurationImpl engineConfiguration = Context.getProcessEngineConfiguration();
 
     Map<String,Object> params = new HashMap<>();
@@ -218,7 +243,7 @@ public class JobManager extends AbstractManager {
     // don't apply default sorting
     params.put("applyOrdering", !orderingProperties.isEmpty());
 
-    return getDbEntityManager().selectList("selectNextJobsToExecute", params, page);
+    return params;
   }
 
   @SuppressWarnings("unchecked")
@@ -231,6 +256,14 @@ public class JobManager extends AbstractManager {
     return getDbEntityManager().selectList("selectJobsByProcessInstanceId", processInstanceId);
   }
 
+  @SuppressWarnings("unchecked")
+  public List<JobEntity> findJobsByProcessInstanceIds(List<String> processInstanceIds) {
+    if (processInstanceIds.isEmpty()) {
+      return new ArrayList<JobEntity>();
+    }
+    return getDbEntityManager().selectList("selectJobsByProcessInstanceIds", processInstanceIds);
+  }
+
   @SuppressWarnings("unchecked")
   public List<JobEntity> findJobsByJobDefinitionId(String jobDefinitionId) {
     return getDbEntityManager().selectList("selectJobsByJobDefinitionId", jobDefinitionId);
@@ -43,6 +43,11 @@ public class MessageEntity extends JobEntity {
     return TYPE;
   }
 
+  @Override
+  protected JobEntity newInstance() {
+    return new MessageEntity();
+  }
+
   @Override
   public String toString() {
     return this.getClass().getSimpleName()
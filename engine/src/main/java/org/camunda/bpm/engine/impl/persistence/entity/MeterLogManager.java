@@ -23,8 +23,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.metrics.Meter;
+import org.camunda.bpm.engine.impl.metrics.MetricsLogger;
 import org.camunda.bpm.engine.impl.metrics.MetricsQueryImpl;
 import org.camunda.bpm.engine.impl.persistence.AbstractManager;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
@@ -36,17 +39,41 @@ import org.camunda.bpm.engine.management.MetricIntervalValue;
  */
 public class MeterLogManager extends AbstractManager {
 
+  protected static final MetricsLogger LOG = ProcessEngineLogger.METRICS_LOGGER;
+
   public static final String SELECT_METER_INTERVAL = "selectMeterLogAggregatedByTimeInterval";
   public static final String SELECT_METER_SUM = "selectMeterLogSum";
   public static final String DELETE_ALL_METER = "deleteAllMeterLogEntries";
   public static final String DELETE_ALL_METER_BY_TIMESTAMP_AND_REPORTER = "deleteMeterLogEntriesByTimestampAndReporter";
 
+  public static final String SELECT_METER_MIN_MILLISECONDS = "selectMeterLogMinMilliseconds";
+  public static final String SELECT_METER_ROLLUP_MIN_MILLISECONDS = "selectMeterLogRollupMinMilliseconds";
+  public static final String SELECT_METER_AGGREGATED_BY_PERIOD = "selectMeterLogsAggregatedByPeriod";
+  public static final String SELECT_METER_ROLLUP_AGGREGATED_BY_PERIOD = "selectMeterLogRollupsAggregatedByPeriod";
+  public static final String DELETE_ALL_METER_ROLLUP = "deleteAllMeterLogRollups";
+  public static final String DELETE_ALL_METER_ROLLUP_BY_TIMESTAMP_AND_REPORTER = "deleteMeterLogRollupsByTimestampAndReporter";
+
+  /**
+   * Properties holding the end of the rolled up time range, i.e. all meter logs
+   * before that point in time are contained in the rollups of that period.
+   */
+  public static final String HOURLY_ROLLUP_END_PROPERTY = "metrics.rollup.hourly.end";
+  public static final String DAILY_ROLLUP_END_PROPERTY = "metrics.rollup.daily.end";
+
+  /**
+   * Maximum number of periods aggregated in a single rollup to keep the
+   * transaction short when catching up with existing meter logs.
+   */
+  public static final int MAX_ROLLUP_PERIODS = 7 * 24;
+
   public void insert(MeterLogEntity meterLogEntity) {
     getDbEntityManager()
      .insert(meterLogEntity);
   }
 
   public Long executeSelectSum(MetricsQueryImpl query) {
+    applyRollups(query, false);
+
     Long result = (Long) getDbEntityManager().selectOne(SELECT_METER_SUM, query);
     result = result != null ? result : 0;
 
@@ -64,6 +91,8 @@ public class MeterLogManager extends AbstractManager {
   }
 
   public List<MetricIntervalValue> executeSelectInterval(MetricsQueryImpl query) {
+    applyRollups(query, true);
+
     List<MetricIntervalValue> intervalResult = getDbEntityManager().selectList(SELECT_METER_INTERVAL, query);
     intervalResult = intervalResult != null ? intervalResult : new ArrayList<MetricIntervalValue>();
 
@@ -110,10 +139,164 @@ public class MeterLogManager extends AbstractManager {
 
   }
 
+  /**
+   * Lets the query read the time range covered by rollups from the rollups and only the
+   * remainder from the meter logs. Rollups are only used if the requested time range and
+   * interval are aligned with the rollup periods.
+   */
+  protected void applyRollups(MetricsQueryImpl query, boolean isIntervalQuery) {
+    query.setRollupBoundaries(null, null);
+
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    if (!processEngineConfiguration.isMetricsRollupEnabled()) {
+      return;
+    }
+
+    Long hourlyRollupEnd = getRollupEnd(HOURLY_ROLLUP_END_PROPERTY);
+    if (hourlyRollupEnd == null) {
+      return;
+    }
+
+    if (!isAlignedWith(query, isIntervalQuery, MeterLogRollupEntity.PERIOD_HOUR)) {
+      checkRawDataRetention(query, processEngineConfiguration, hourlyRollupEnd);
+      return;
+    }
+
+    Long dailyRollupEnd = getRollupEnd(DAILY_ROLLUP_END_PROPERTY);
+    if (dailyRollupEnd != null && !isAlignedWith(query, isIntervalQuery, MeterLogRollupEntity.PERIOD_DAY)) {
+      dailyRollupEnd = null;
+    }
+
+    query.setRollupBoundaries(hourlyRollupEnd, dailyRollupEnd);
+  }
+
+  /**
+   * Meter logs which are contained in the rollups are deleted after the raw data retention,
+   * so a query which is not aligned with the rollups cannot return the complete data of that time range.
+   */
+  protected void checkRawDataRetention(MetricsQueryImpl query, ProcessEngineConfigurationImpl processEngineConfiguration, long hourlyRollupEnd) {
+    Integer retentionDays = processEngineConfiguration.getMetricsRawDataRetentionDays();
+    if (retentionDays == null) {
+      return;
+    }
+
+    long retentionStart = ClockUtil.getCurrentTime().getTime() - retentionDays * 1000L * MeterLogRollupEntity.PERIOD_DAY;
+    long deletedBefore = Math.min(retentionStart, hourlyRollupEnd);
+
+    if (query.getStartDate() == null || query.getStartDateMilliseconds() < deletedBefore) {
+      LOG.incompleteMetricsQueryNotAlignedWithRollups(query.getName(), retentionDays);
+    }
+  }
+
+  protected boolean isAlignedWith(MetricsQueryImpl query, boolean isIntervalQuery, int period) {
+    long periodMillis = period * 1000L;
+
+    return (!isIntervalQuery || query.getInterval() % period == 0)
+        && (query.getStartDate() == null || query.getStartDateMilliseconds() % periodMillis == 0)
+        && (query.getEndDate() == null || query.getEndDateMilliseconds() % periodMillis == 0);
+  }
+
+  protected Long getRollupEnd(String propertyName) {
+    PropertyEntity property = getDbEntityManager().selectById(PropertyEntity.class, propertyName);
+    return property != null ? Long.valueOf(property.getValue()) : null;
+  }
+
+  /**
+   * Aggregates the meter logs (for hourly rollups) or the hourly rollups (for daily rollups)
+   * of all periods which have not been rolled up yet and end before the given point in time.
+   *
+   * @return the end of the rolled up time range
+   */
+  public long rollup(int period, long endMilliseconds) {
+    long periodMillis = period * 1000L;
+    String propertyName = period == MeterLogRollupEntity.PERIOD_DAY ? DAILY_ROLLUP_END_PROPERTY : HOURLY_ROLLUP_END_PROPERTY;
+
+    PropertyEntity rollupEndProperty = getDbEntityManager().selectById(PropertyEntity.class, propertyName);
+
+    long rollupStart;
+    if (rollupEndProperty != null) {
+      rollupStart = Long.valueOf(rollupEndProperty.getValue());
+    }
+    else {
+      Long firstMilliseconds = selectFirstMillisecondsToRollup(period);
+      rollupStart = firstMilliseconds != null ? floor(firstMilliseconds, periodMillis) : floor(endMilliseconds, periodMillis);
+    }
+
+    long rollupEnd = Math.min(floor(endMilliseconds, periodMillis), rollupStart + MAX_ROLLUP_PERIODS * periodMillis);
+    if (rollupEnd <= rollupStart) {
+      return rollupStart;
+    }
+
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("period", period);
+    parameters.put("sourcePeriod", MeterLogRollupEntity.PERIOD_HOUR);
+    parameters.put("startMilliseconds", rollupStart);
+    parameters.put("endMilliseconds", rollupEnd);
+
+    String statement = period == MeterLogRollupEntity.PERIOD_DAY ? SELECT_METER_ROLLUP_AGGREGATED_BY_PERIOD : SELECT_METER_AGGREGATED_BY_PERIOD;
+    List<MetricIntervalValue> aggregates = getDbEntityManager().selectList(statement, parameters);
+
+    for (MetricIntervalValue aggregate : aggregates) {
+      getDbEntityManager().insert(new MeterLogRollupEntity(aggregate.getName(), aggregate.getReporter(),
+          aggregate.getValue(), aggregate.getTimestamp().getTime(), period));
+    }
+
+    if (rollupEndProperty != null) {
+      rollupEndProperty.setValue(Long.toString(rollupEnd));
+    }
+    else {
+      getDbEntityManager().insert(new PropertyEntity(propertyName, Long.toString(rollupEnd)));
+    }
+
+    return rollupEnd;
+  }
+
+  protected Long selectFirstMillisecondsToRollup(int period) {
+    if (period == MeterLogRollupEntity.PERIOD_DAY) {
+      Map<String, Object> parameters = new HashMap<String, Object>();
+      parameters.put("period", MeterLogRollupEntity.PERIOD_HOUR);
+      return (Long) getDbEntityManager().selectOne(SELECT_METER_ROLLUP_MIN_MILLISECONDS, parameters);
+    }
+    else {
+      return (Long) getDbEntityManager().selectOne(SELECT_METER_MIN_MILLISECONDS, null);
+    }
+  }
+
+  protected long floor(long milliseconds, long periodMillis) {
+    return milliseconds - (milliseconds % periodMillis);
+  }
+
+  /**
+   * Deletes meter logs before the given point in time which are contained in the hourly rollups.
+   */
+  public void deleteRolledUpMeterLogs(long beforeMilliseconds) {
+    Long hourlyRollupEnd = getRollupEnd(HOURLY_ROLLUP_END_PROPERTY);
+    if (hourlyRollupEnd != null) {
+      Map<String, Object> parameters = new HashMap<String, Object>();
+      parameters.put("milliseconds", Math.min(beforeMilliseconds, hourlyRollupEnd) - 1);
+      getDbEntityManager().delete(MeterLogEntity.class, DELETE_ALL_METER_BY_TIMESTAMP_AND_REPORTER, parameters);
+    }
+  }
+
   public void deleteAll() {
     getDbEntityManager().delete(MeterLogEntity.class, DELETE_ALL_METER, null);
+    getDbEntityManager().delete(MeterLogRollupEntity.class, DELETE_ALL_METER_ROLLUP, null);
+
+    deleteRollupEnd(HOURLY_ROLLUP_END_PROPERTY);
+    deleteRollupEnd(DAILY_ROLLUP_END_PROPERTY);
+  }
+
+  protected void deleteRollupEnd(String propertyName) {
+    PropertyEntity property = getDbEntityManager().selectById(PropertyEntity.class, propertyName);
+    if (property != null) {
+      getDbEntityManager().delete(property);
+    }
   }
 
+  /**
+   * Deletes the meter logs up to the given point in time and the rollups of all periods which
+   * end at or before that point in time, i.e. which contain no meter log after it.
+   */
   public void deleteByTimestampAndReporter(Date timestamp, String reporter) {
     Map<String, Object> parameters = new HashMap<String, Object>();
     if (timestamp != null) {
@@ -121,6 +304,7 @@ public class MeterLogManager extends AbstractManager {
     }
     parameters.put("reporter", reporter);
     getDbEntityManager().delete(MeterLogEntity.class, DELETE_ALL_METER_BY_TIMESTAMP_AND_REPORTER, parameters);
+    getDbEntityManager().delete(MeterLogRollupEntity.class, DELETE_ALL_METER_ROLLUP_BY_TIMESTAMP_AND_REPORTER, parameters);
   }
 
 }
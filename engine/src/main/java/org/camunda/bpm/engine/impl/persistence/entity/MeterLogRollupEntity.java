@@ -0,0 +1,112 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.entity;
+
+import java.io.Serializable;
+
+import org.camunda.bpm.engine.impl.db.DbEntity;
+
+/**
+ * Sum of the {@link MeterLogEntity meter logs} of a metric and reporter in a period
+ * of time, e.g. an hour or a day.
+ */
+public class MeterLogRollupEntity implements DbEntity, Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  public static final int PERIOD_HOUR = 60 * 60;
+  public static final int PERIOD_DAY = 24 * PERIOD_HOUR;
+
+  protected String id;
+
+  protected String name;
+
+  protected String reporter;
+
+  protected long value;
+
+  /** start of the period */
+  protected long milliseconds;
+
+  /** length of the period in seconds */
+  protected int period;
+
+  public MeterLogRollupEntity(String name, String reporter, long value, long milliseconds, int period) {
+    this.name = name;
+    this.reporter = reporter;
+    this.value = value;
+    this.milliseconds = milliseconds;
+    this.period = period;
+  }
+
+  public MeterLogRollupEntity() {
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public void setId(String id) {
+    this.id = id;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  public String getReporter() {
+    return reporter;
+  }
+
+  public void setReporter(String reporter) {
+    this.reporter = reporter;
+  }
+
+  public long getValue() {
+    return value;
+  }
+
+  public void setValue(long value) {
+    this.value = value;
+  }
+
+  public long getMilliseconds() {
+    return milliseconds;
+  }
+
+  public void setMilliseconds(long milliseconds) {
+    this.milliseconds = milliseconds;
+  }
+
+  public int getPeriod() {
+    return period;
+  }
+
+  public void setPeriod(int period) {
+    this.period = period;
+  }
+
+  public Object getPersistentState() {
+    // immutable
+    return MeterLogRollupEntity.class;
+  }
+
+}
@@ -292,6 +292,31 @@ public class ProcessDefinitionEntity extends ProcessDefinitionImpl implements Pr
     return persistentState;
   }
 
+  /**
+   * Creates a new process definition with the persistent state of this process
+   * definition and its documentation. The parsed activities are not copied.
+   */
+  public ProcessDefinitionEntity copy() {
+    ProcessDefinitionEntity processDefinition = new ProcessDefinitionEntity();
+    processDefinition.setId(getId());
+    processDefinition.revision = revision;
+    processDefinition.category = category;
+    processDefinition.setName(getName());
+    processDefinition.setProperty(BpmnParse.PROPERTYNAME_DOCUMENTATION, getDescription());
+    processDefinition.key = key;
+    processDefinition.version = version;
+    processDefinition.deploymentId = deploymentId;
+    processDefinition.resourceName = resourceName;
+    processDefinition.diagramResourceName = diagramResourceName;
+    processDefinition.hasStartFormKey = hasStartFormKey;
+    processDefinition.suspensionState = suspensionState;
+    processDefinition.tenantId = tenantId;
+    processDefinition.versionTag = versionTag;
+    processDefinition.historyTimeToLive = historyTimeToLive;
+    processDefinition.isStartableInTasklist = isStartableInTasklist;
+    return processDefinition;
+  }
+
   public String getKey() {
     return key;
   }
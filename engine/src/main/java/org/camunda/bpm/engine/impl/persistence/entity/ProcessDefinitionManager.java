@@ -378,6 +378,11 @@ public class ProcessDefinitionManager extends AbstractManager implements Abstrac
     // delete job definitions
     getJobDefinitionManager().deleteJobDefinitionsByProcessDefinitionId(processDefinition.getId());
 
+    // delete materialized statistics
+    if (isProcessDefinitionStatisticsMaterialized()) {
+      getProcessDefinitionStatisticsCounterManager().deleteCountersByProcessDefinitionId(processDefinitionId);
+    }
+
   }
 
 
@@ -0,0 +1,118 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.entity;
+
+import java.io.Serializable;
+
+import org.camunda.bpm.engine.impl.db.DbEntity;
+
+/**
+ * A row of the materialized process definition statistics. Counters are stored
+ * as deltas, the value of a counter is the sum of all rows with the same
+ * process definition, tenant, type and incident type.
+ */
+public class ProcessDefinitionStatisticsCounterEntity implements DbEntity, Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  protected String id;
+  protected String processDefinitionId;
+  protected String tenantId;
+  protected String type;
+  protected String incidentType;
+  protected long value;
+
+  public ProcessDefinitionStatisticsCounterEntity() {
+  }
+
+  public ProcessDefinitionStatisticsCounterEntity(String processDefinitionId, String tenantId, String type, String incidentType) {
+    this.processDefinitionId = processDefinitionId;
+    this.tenantId = tenantId;
+    this.type = type;
+    this.incidentType = incidentType;
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public void setId(String id) {
+    this.id = id;
+  }
+
+  public String getProcessDefinitionId() {
+    return processDefinitionId;
+  }
+
+  public void setProcessDefinitionId(String processDefinitionId) {
+    this.processDefinitionId = processDefinitionId;
+  }
+
+  public String getTenantId() {
+    return tenantId;
+  }
+
+  public void setTenantId(String tenantId) {
+    this.tenantId = tenantId;
+  }
+
+  public String getType() {
+    return type;
+  }
+
+  public void setType(String type) {
+    this.type = type;
+  }
+
+  public String getIncidentType() {
+    return incidentType;
+  }
+
+  public void setIncidentType(String incidentType) {
+    this.incidentType = incidentType;
+  }
+
+  public long getValue() {
+    return value;
+  }
+
+  public void setValue(long value) {
+    this.value = value;
+  }
+
+  public void add(long delta) {
+    value += delta;
+  }
+
+  public Object getPersistentState() {
+    // immutable
+    return ProcessDefinitionStatisticsCounterEntity.class;
+  }
+
+  @Override
+  public String toString() {
+    return this.getClass().getSimpleName()
+           + "[id=" + id
+           + ", processDefinitionId=" + processDefinitionId
+           + ", tenantId=" + tenantId
+           + ", type=" + type
+           + ", incidentType=" + incidentType
+           + ", value=" + value
+           + "]";
+  }
+
+}
@@ -0,0 +1,274 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.entity;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.db.sql.DbSqlSessionFactory;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.interceptor.CommandContextListener;
+import org.camunda.bpm.engine.impl.persistence.AbstractManager;
+import org.camunda.bpm.engine.impl.util.CollectionUtil;
+
+/**
+ * <p>Maintains the materialized process definition statistics stored in
+ * <code>ACT_RU_PROCDEF_STATS</code> if
+ * {@link org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl#isProcessDefinitionStatisticsMaterialized()}
+ * is enabled.</p>
+ *
+ * <p>The changes of a command are collected while it is executed and written as
+ * delta rows when the command context is closed, i.e. they are flushed in the same
+ * transaction as the executions, jobs and incidents they are counting. Concurrent
+ * transactions never update the same row. The reconciliation job periodically
+ * compacts the rows of each counter and corrects its value from the runtime tables.
+ * Delta rows written while the reconciliation runs are not compacted.</p>
+ */
+public class ProcessDefinitionStatisticsCounterManager extends AbstractManager implements CommandContextListener {
+
+  public static final String TYPE_INSTANCES = "instances";
+  public static final String TYPE_FAILED_JOBS = "failed-jobs";
+  public static final String TYPE_INCIDENTS = "incidents";
+  public static final String TYPE_ROOT_INCIDENTS = "root-incidents";
+
+  protected Set<ExecutionEntity> insertedExecutions = new LinkedHashSet<ExecutionEntity>();
+  protected Set<JobEntity> insertedJobs = new LinkedHashSet<JobEntity>();
+  protected Set<IncidentEntity> insertedIncidents = new LinkedHashSet<IncidentEntity>();
+
+  protected Map<String, ProcessDefinitionStatisticsCounterEntity> deltas = new HashMap<String, ProcessDefinitionStatisticsCounterEntity>();
+
+  protected boolean listenerRegistered = false;
+
+  // executions ////////////////////////////////////////////////////////
+
+  public void onExecutionInserted(ExecutionEntity execution) {
+    if (isEnabled()) {
+      // the process definition is not yet known when an execution is inserted
+      insertedExecutions.add(execution);
+      registerListener();
+    }
+  }
+
+  public void onExecutionDeleted(ExecutionEntity execution) {
+    if (isEnabled() && !insertedExecutions.remove(execution) && execution.isProcessInstanceExecution()) {
+      addDelta(execution.getProcessDefinitionId(), execution.getTenantId(), TYPE_INSTANCES, null, -1);
+    }
+  }
+
+  // jobs //////////////////////////////////////////////////////////////
+
+  public void onJobInserted(JobEntity job) {
+    if (isEnabled()) {
+      insertedJobs.add(job);
+      registerListener();
+    }
+  }
+
+  public void onJobDeleted(JobEntity job) {
+    if (isEnabled() && !insertedJobs.remove(job) && job.getRetries() == 0) {
+      addDelta(job.getProcessDefinitionId(), job.getTenantId(), TYPE_FAILED_JOBS, null, -1);
+    }
+  }
+
+  /**
+   * Must be invoked before the new retries are applied to the job.
+   */
+  public void onJobRetriesChanged(JobEntity job, int newRetries) {
+    // new jobs are counted when the command context is closed
+    if (isEnabled() && !insertedJobs.contains(job) && getDbEntityManager().contains(job)) {
+      if (job.getRetries() > 0 && newRetries == 0) {
+        addDelta(job.getProcessDefinitionId(), job.getTenantId(), TYPE_FAILED_JOBS, null, 1);
+      }
+      else if (job.getRetries() == 0 && newRetries > 0) {
+        addDelta(job.getProcessDefinitionId(), job.getTenantId(), TYPE_FAILED_JOBS, null, -1);
+      }
+    }
+  }
+
+  // incidents /////////////////////////////////////////////////////////
+
+  public void onIncidentInserted(IncidentEntity incident) {
+    if (isEnabled()) {
+      insertedIncidents.add(incident);
+      registerListener();
+    }
+  }
+
+  public void onIncidentDeleted(IncidentEntity incident) {
+    if (isEnabled() && !insertedIncidents.remove(incident)) {
+      addIncidentDeltas(incident, -1);
+    }
+  }
+
+  protected void addIncidentDeltas(IncidentEntity incident, long delta) {
+    addDelta(incident.getProcessDefinitionId(), incident.getTenantId(), TYPE_INCIDENTS, incident.getIncidentType(), delta);
+    if (incident.getId() != null && incident.getId().equals(incident.getRootCauseIncidentId())) {
+      addDelta(incident.getProcessDefinitionId(), incident.getTenantId(), TYPE_ROOT_INCIDENTS, incident.getIncidentType(), delta);
+    }
+  }
+
+  // counters //////////////////////////////////////////////////////////
+
+  protected void addDelta(String processDefinitionId, String tenantId, String type, String incidentType, long delta) {
+    if (processDefinitionId == null) {
+      return;
+    }
+
+    String key = getKey(processDefinitionId, tenantId, type, incidentType);
+    ProcessDefinitionStatisticsCounterEntity counter = deltas.get(key);
+    if (counter == null) {
+      counter = new ProcessDefinitionStatisticsCounterEntity(processDefinitionId, tenantId, type, incidentType);
+      deltas.put(key, counter);
+    }
+    counter.add(delta);
+
+    registerListener();
+  }
+
+  public void deleteCountersByProcessDefinitionId(String processDefinitionId) {
+    getDbEntityManager().delete(ProcessDefinitionStatisticsCounterEntity.class,
+        "deleteProcessDefinitionStatisticsCountersByProcessDefinitionId", processDefinitionId);
+  }
+
+  public boolean hasCounters() {
+    return (Long) getDbEntityManager().selectOne("selectProcessDefinitionStatisticsCounterRowCount", null) > 0;
+  }
+
+  /**
+   * Compacts every counter into a single row holding the total aggregated from
+   * the runtime tables. Counters without a row yet are inserted.
+   */
+  public void reconcile() {
+    reconcile(selectCounterSnapshot());
+  }
+
+  /**
+   * Selects all counter rows together with the totals aggregated from the runtime
+   * tables. The totals have no row id.
+   */
+  @SuppressWarnings("unchecked")
+  public List<ProcessDefinitionStatisticsCounterTotal> selectCounterSnapshot() {
+    return getDbEntityManager().selectList("selectProcessDefinitionStatisticsCounterSnapshot");
+  }
+
+  /**
+   * Compacts the counter rows of the given snapshot into a single row per counter
+   * holding the total of the snapshot. Rows inserted after the snapshot was selected
+   * are kept, since the changes they count are not contained in the totals.
+   */
+  public void reconcile(List<ProcessDefinitionStatisticsCounterTotal> snapshot) {
+    Map<String, ProcessDefinitionStatisticsCounterTotal> totals = new HashMap<String, ProcessDefinitionStatisticsCounterTotal>();
+    Map<String, List<String>> rowIds = new HashMap<String, List<String>>();
+    Map<String, ProcessDefinitionStatisticsCounterTotal> counterRows = new HashMap<String, ProcessDefinitionStatisticsCounterTotal>();
+    for (ProcessDefinitionStatisticsCounterTotal row : snapshot) {
+      String key = getKey(row.getProcessDefinitionId(), row.getTenantId(), row.getType(), row.getIncidentType());
+      if (row.getRowId() == null) {
+        totals.put(key, row);
+      }
+      else {
+        CollectionUtil.addToMapOfLists(rowIds, key, row.getRowId());
+        counterRows.put(key, row);
+      }
+    }
+
+    List<String> compactedRowIds = new ArrayList<String>();
+    for (Map.Entry<String, List<String>> idsOfCounter : rowIds.entrySet()) {
+      String key = idsOfCounter.getKey();
+      ProcessDefinitionStatisticsCounterTotal total = totals.remove(key);
+      List<String> ids = idsOfCounter.getValue();
+
+      ProcessDefinitionStatisticsCounterEntity counter = createCounter(counterRows.get(key), total);
+      counter.setId(ids.get(0));
+      getDbEntityManager().update(ProcessDefinitionStatisticsCounterEntity.class, "updateProcessDefinitionStatisticsCounterValue", counter);
+
+      compactedRowIds.addAll(ids.subList(1, ids.size()));
+    }
+
+    for (List<String> ids : CollectionUtil.partition(compactedRowIds, DbSqlSessionFactory.MAXIMUM_NUMBER_PARAMS)) {
+      getDbEntityManager().delete(ProcessDefinitionStatisticsCounterEntity.class, "deleteProcessDefinitionStatisticsCounterRowsByIds", ids);
+    }
+
+    for (ProcessDefinitionStatisticsCounterTotal total : totals.values()) {
+      getDbEntityManager().insert(createCounter(total, total));
+    }
+  }
+
+  protected ProcessDefinitionStatisticsCounterEntity createCounter(ProcessDefinitionStatisticsCounterTotal key, ProcessDefinitionStatisticsCounterTotal total) {
+    ProcessDefinitionStatisticsCounterEntity counter = new ProcessDefinitionStatisticsCounterEntity(key.getProcessDefinitionId(),
+        key.getTenantId(), key.getType(), key.getIncidentType());
+    counter.setValue(total != null ? total.getValue() : 0);
+    return counter;
+  }
+
+  protected String getKey(String processDefinitionId, String tenantId, String type, String incidentType) {
+    return processDefinitionId + "|" + tenantId + "|" + type + "|" + incidentType;
+  }
+
+  // command context lifecycle /////////////////////////////////////////
+
+  public void onCommandContextClose(CommandContext commandContext) {
+    for (ExecutionEntity execution : insertedExecutions) {
+      if (execution.isProcessInstanceExecution()) {
+        addDelta(execution.getProcessDefinitionId(), execution.getTenantId(), TYPE_INSTANCES, null, 1);
+      }
+    }
+    for (JobEntity job : insertedJobs) {
+      if (job.getRetries() == 0) {
+        addDelta(job.getProcessDefinitionId(), job.getTenantId(), TYPE_FAILED_JOBS, null, 1);
+      }
+    }
+    for (IncidentEntity incident : insertedIncidents) {
+      addIncidentDeltas(incident, 1);
+    }
+
+    for (ProcessDefinitionStatisticsCounterEntity counter : deltas.values()) {
+      if (counter.getValue() != 0) {
+        getDbEntityManager().insert(counter);
+      }
+    }
+
+    clear();
+  }
+
+  public void onCommandFailed(CommandContext commandContext, Throwable t) {
+    clear();
+  }
+
+  protected void clear() {
+    insertedExecutions.clear();
+    insertedJobs.clear();
+    insertedIncidents.clear();
+    deltas.clear();
+  }
+
+  protected void registerListener() {
+    if (!listenerRegistered) {
+      getCommandContext().registerCommandContextListener(this);
+      listenerRegistered = true;
+    }
+  }
+
+  protected boolean isEnabled() {
+    return Context.getProcessEngineConfiguration().isProcessDefinitionStatisticsMaterialized();
+  }
+
+}
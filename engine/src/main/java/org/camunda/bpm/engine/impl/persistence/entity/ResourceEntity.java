@@ -17,8 +17,11 @@
 package org.camunda.bpm.engine.impl.persistence.entity;
 
 import java.io.Serializable;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
 
+import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.impl.db.DbEntity;
 import org.camunda.bpm.engine.repository.Resource;
 
@@ -38,6 +41,7 @@ public class ResourceEntity implements Serializable, DbEntity, Resource {
   protected String tenantId;
   protected Integer type;
   protected Date createTime;
+  protected String hash;
 
   public String getId() {
     return id;
@@ -61,6 +65,7 @@ public class ResourceEntity implements Serializable, DbEntity, Resource {
 
   public void setBytes(byte[] bytes) {
     this.bytes = bytes;
+    this.hash = null;
   }
 
   public String getDeploymentId() {
@@ -111,6 +116,37 @@ public class ResourceEntity implements Serializable, DbEntity, Resource {
     this.createTime = createTime;
   }
 
+  /**
+   * @return the SHA-256 hash of the resource bytes as hex string. Resources deployed
+   * before the hash was introduced get their hash computed from their bytes, if these are loaded.
+   */
+  public String getHash() {
+    if (hash == null && bytes != null) {
+      hash = hash(bytes);
+    }
+    return hash;
+  }
+
+  public void setHash(String hash) {
+    this.hash = hash;
+  }
+
+  protected static String hash(byte[] bytes) {
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+
+      StringBuilder hash = new StringBuilder(digest.length * 2);
+      for (byte b : digest) {
+        hash.append(Character.forDigit((b >> 4) & 0xF, 16));
+        hash.append(Character.forDigit(b & 0xF, 16));
+      }
+      return hash.toString();
+    }
+    catch (NoSuchAlgorithmException e) {
+      throw new ProcessEngineException("Cannot hash resource bytes", e);
+    }
+  }
+
   @Override
   public String toString() {
     return this.getClass().getSimpleName()
@@ -121,6 +157,7 @@ public class ResourceEntity implements Serializable, DbEntity, Resource {
            + ", tenantId=" + tenantId
            + ", type=" + type
            + ", createTime=" + createTime
+           + ", hash=" + hash
            + "]";
   }
 
@@ -17,6 +17,7 @@
 package org.camunda.bpm.engine.impl.persistence.entity;
 
 import org.camunda.bpm.engine.impl.cmd.LicenseCmd;
+import org.camunda.bpm.engine.impl.db.ListQueryParameterObject;
 import org.camunda.bpm.engine.impl.persistence.AbstractManager;
 
 import java.util.HashMap;
@@ -91,6 +92,30 @@ public class ResourceManager extends AbstractManager {
     return existingResourcesByName;
   }
 
+  /**
+   * Like {@link #findLatestResourcesByDeploymentName(String, Set, String, String)} but the
+   * returned resources only carry their hash and meta data, not their bytes. The resources
+   * are not put into the entity cache, so that later selects of these resources load their bytes.
+   */
+  @SuppressWarnings("unchecked")
+  public Map<String, ResourceEntity> findLatestResourceHashesByDeploymentName(String deploymentName, Set<String> resourcesToFind, String source, String tenantId) {
+    Map<String, Object> params = new HashMap<String, Object>();
+    params.put("deploymentName", deploymentName);
+    params.put("resourcesToFind", resourcesToFind);
+    params.put("source", source);
+    params.put("tenantId", tenantId);
+
+    List<ResourceEntity> resources = (List<ResourceEntity>) getDbSqlSession()
+        .selectList("selectLatestResourceHashesByDeploymentName", new ListQueryParameterObject(params, 0, Integer.MAX_VALUE));
+
+    Map<String, ResourceEntity> existingResourcesByName = new HashMap<String, ResourceEntity>();
+    for (ResourceEntity existingResource : resources) {
+      existingResourcesByName.put(existingResource.getName(), existingResource);
+    }
+
+    return existingResourcesByName;
+  }
+
   public ResourceEntity findLicenseKeyResource() {
     PropertyEntity licenseProperty = (PropertyEntity) getDbEntityManager().selectOne("selectProperty", LicenseCmd.LICENSE_KEY_BYTE_ARRAY_ID);
     return licenseProperty == null ? null : (ResourceEntity) getDbEntityManager().selectOne("selectResourceById", licenseProperty.value);
@@ -23,6 +23,7 @@ import org.camunda.bpm.engine.impl.DeploymentStatisticsQueryImpl;
 import org.camunda.bpm.engine.impl.Page;
 import org.camunda.bpm.engine.impl.ProcessDefinitionStatisticsQueryImpl;
 import org.camunda.bpm.engine.impl.batch.BatchStatisticsQueryImpl;
+import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.persistence.AbstractManager;
 import org.camunda.bpm.engine.management.ActivityStatistics;
@@ -43,11 +44,17 @@ public class StatisticsManager extends AbstractManager {
   @SuppressWarnings("unchecked")
   public List<ProcessDefinitionStatistics> getStatisticsGroupedByProcessDefinitionVersion(ProcessDefinitionStatisticsQueryImpl query, Page page) {
     configureQuery(query);
+    if (isProcessDefinitionStatisticsMaterialized()) {
+      return getDbEntityManager().selectList("selectMaterializedProcessDefinitionStatistics", query, page);
+    }
     return getDbEntityManager().selectList("selectProcessDefinitionStatistics", query, page);
   }
 
   public long getStatisticsCountGroupedByProcessDefinitionVersion(ProcessDefinitionStatisticsQueryImpl query) {
     configureQuery(query);
+    if (isProcessDefinitionStatisticsMaterialized()) {
+      return (Long) getDbEntityManager().selectOne("selectMaterializedProcessDefinitionStatisticsCount", query);
+    }
     return (Long) getDbEntityManager().selectOne("selectProcessDefinitionStatisticsCount", query);
   }
 
@@ -89,6 +96,10 @@ public class StatisticsManager extends AbstractManager {
     getTenantManager().configureQuery(query);
   }
 
+  protected boolean isProcessDefinitionStatisticsMaterialized() {
+    return Context.getProcessEngineConfiguration().isProcessDefinitionStatisticsMaterialized();
+  }
+
   protected void configureQuery(ProcessDefinitionStatisticsQueryImpl query) {
     getAuthorizationManager().configureProcessDefinitionStatisticsQuery(query);
     getTenantManager().configureQuery(query);
@@ -89,6 +89,8 @@ public class TableDataManager extends AbstractManager {
     persistentObjectToTableNameMap.put(FilterEntity.class, "ACT_RU_FILTER");
 
     persistentObjectToTableNameMap.put(MeterLogEntity.class, "ACT_RU_METER_LOG");
+    persistentObjectToTableNameMap.put(MeterLogRollupEntity.class, "ACT_RU_METER_ROLLUP");
+    persistentObjectToTableNameMap.put(ProcessDefinitionStatisticsCounterEntity.class, "ACT_RU_PROCDEF_STATS");
     // repository
     persistentObjectToTableNameMap.put(DeploymentEntity.class, "ACT_RE_DEPLOYMENT");
     persistentObjectToTableNameMap.put(ProcessDefinitionEntity.class, "ACT_RE_PROCDEF");
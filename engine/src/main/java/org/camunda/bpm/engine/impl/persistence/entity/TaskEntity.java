@@ -440,6 +440,38 @@ public class TaskEntity extends AbstractVariableScope implements Task, DelegateT
     return persistentState;
   }
 
+  /**
+   * Creates a new task with the persistent state of this task. The copy does not
+   * reference any related entities, so that it shares no state with this task.
+   */
+  public TaskEntity copy() {
+    TaskEntity task = new TaskEntity();
+    task.id = id;
+    task.revision = revision;
+    task.name = name;
+    task.description = description;
+    task.priority = priority;
+    task.createTime = createTime;
+    task.owner = owner;
+    task.assignee = assignee;
+    task.delegationState = delegationState;
+    task.parentTaskId = parentTaskId;
+    task.executionId = executionId;
+    task.processInstanceId = processInstanceId;
+    task.processDefinitionId = processDefinitionId;
+    task.caseExecutionId = caseExecutionId;
+    task.caseInstanceId = caseInstanceId;
+    task.caseDefinitionId = caseDefinitionId;
+    task.taskDefinitionKey = taskDefinitionKey;
+    task.dueDate = dueDate;
+    task.followUpDate = followUpDate;
+    task.suspensionState = suspensionState;
+    task.tenantId = tenantId;
+    task.isFormKeyInitialized = isFormKeyInitialized;
+    task.formKey = formKey;
+    return task;
+  }
+
   @Override
   public int getRevisionNext() {
     return revision+1;
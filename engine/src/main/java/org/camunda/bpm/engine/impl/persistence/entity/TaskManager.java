@@ -18,18 +18,23 @@ package org.camunda.bpm.engine.impl.persistence.entity;
 
 import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.camunda.bpm.engine.authorization.Resources;
 import org.camunda.bpm.engine.impl.Page;
 import org.camunda.bpm.engine.impl.TaskQueryImpl;
 import org.camunda.bpm.engine.impl.cfg.auth.ResourceAuthorizationProvider;
 import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.core.variable.scope.VariableCollectionProvider;
 import org.camunda.bpm.engine.impl.db.ListQueryParameterObject;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.persistence.AbstractManager;
+import org.camunda.bpm.engine.impl.util.CollectionUtil;
 import org.camunda.bpm.engine.task.Task;
 
 
@@ -110,6 +115,59 @@ public class TaskManager extends AbstractManager {
     return getDbEntityManager().selectById(TaskEntity.class, id);
   }
 
+  @SuppressWarnings("unchecked")
+  public List<TaskEntity> findTasksByIds(List<String> ids) {
+    if (ids.isEmpty()) {
+      return new ArrayList<>();
+    }
+    return getDbEntityManager().selectList("selectTasksByIds", ids);
+  }
+
+  /**
+   * Fetches the given tasks, their executions and the variables of both with
+   * one query per entity type. The fetched entities are added to the entity
+   * cache, so that subsequent lookups by id do not hit the database.
+   *
+   * @return the tasks that exist, tasks which are not found are omitted
+   */
+  public List<TaskEntity> prefetchTasks(List<String> ids) {
+    List<TaskEntity> tasks = findTasksByIds(ids);
+
+    List<String> taskIds = new ArrayList<>();
+    Set<String> executionIds = new HashSet<>();
+    for (TaskEntity task : tasks) {
+      taskIds.add(task.getId());
+      if (task.getExecutionId() != null) {
+        executionIds.add(task.getExecutionId());
+      }
+    }
+
+    VariableInstanceManager variableInstanceManager = getVariableInstanceManager();
+
+    Map<String, List<VariableInstanceEntity>> taskVariables = new HashMap<>();
+    for (VariableInstanceEntity variable : variableInstanceManager.findVariableInstancesByTaskIds(taskIds)) {
+      CollectionUtil.addToMapOfLists(taskVariables, variable.getTaskId(), variable);
+    }
+    for (TaskEntity task : tasks) {
+      task.variableStore.setVariablesProvider(new VariableCollectionProvider<>(taskVariables.get(task.getId())));
+    }
+
+    if (!executionIds.isEmpty()) {
+      List<String> executionIdList = new ArrayList<>(executionIds);
+      List<ExecutionEntity> executions = getProcessInstanceManager().findExecutionsByIds(executionIdList);
+
+      Map<String, List<VariableInstanceEntity>> executionVariables = new HashMap<>();
+      for (VariableInstanceEntity variable : variableInstanceManager.findVariableInstancesByExecutionIds(executionIdList)) {
+        CollectionUtil.addToMapOfLists(executionVariables, variable.getExecutionId(), variable);
+      }
+      for (ExecutionEntity execution : executions) {
+        execution.variableStore.setVariablesProvider(new VariableCollectionProvider<>(executionVariables.get(execution.getId())));
+      }
+    }
+
+    return tasks;
+  }
+
   @SuppressWarnings("unchecked")
   public List<TaskEntity> findTasksByExecutionId(String executionId) {
     return getDbEntityManager().selectList("selectTasksByExecutionId", executionId);
@@ -124,6 +182,14 @@ public class TaskManager extends AbstractManager {
     return getDbEntityManager().selectList("selectTasksByProcessInstanceId", processInstanceId);
   }
 
+  @SuppressWarnings("unchecked")
+  public List<TaskEntity> findTasksByProcessInstanceIds(List<String> processInstanceIds) {
+    if (processInstanceIds.isEmpty()) {
+      return new ArrayList<TaskEntity>();
+    }
+    return getDbEntityManager().selectList("selectTasksByProcessInstanceIds", processInstanceIds);
+  }
+
 
   @Deprecated
   public List<Task> findTasksByQueryCriteria(TaskQueryImpl taskQuery, Page page) {
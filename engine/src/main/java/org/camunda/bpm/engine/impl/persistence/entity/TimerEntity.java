@@ -71,6 +71,19 @@ public class TimerEntity extends JobEntity {
     priority = te.priority;
   }
 
+  @Override
+  protected JobEntity newInstance() {
+    return new TimerEntity();
+  }
+
+  @Override
+  protected void copyPersistentState(JobEntity job) {
+    super.copyPersistentState(job);
+    TimerEntity timer = (TimerEntity) job;
+    repeat = timer.repeat;
+    repeatOffset = timer.repeatOffset;
+  }
+
   @Override
   protected void preExecute(CommandContext commandContext) {
     if (getJobHandler() instanceof TimerEventJobHandler) {
@@ -39,6 +39,7 @@ import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
 import org.camunda.bpm.engine.impl.history.event.HistoryEventProcessor;
 import org.camunda.bpm.engine.impl.history.event.HistoryEventTypes;
 import org.camunda.bpm.engine.impl.history.event.UserOperationLogEntryEventEntity;
+import org.camunda.bpm.engine.impl.history.event.UserOperationLogPropertyChangesSerializer;
 import org.camunda.bpm.engine.impl.history.producer.HistoryEventProducer;
 import org.camunda.bpm.engine.impl.identity.IdentityOperationResult;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
@@ -57,19 +58,154 @@ import org.camunda.bpm.engine.impl.util.StringUtil;
  */
 public class UserOperationLogManager extends AbstractHistoricManager {
 
+  /** Number of rows whose entry counts are read at once when seeking the first row of a page in compact mode */
+  public static final int COMPACT_ROW_SEEK_BATCH_SIZE = 1000;
+
   public UserOperationLogEntry findOperationLogById(String entryId) {
-    return getDbEntityManager().selectById(UserOperationLogEntryEventEntity.class, entryId);
+    UserOperationLogEntryEventEntity compactRow = findCompactRowOfEntry(entryId);
+    if (compactRow == null) {
+      return getDbEntityManager().selectById(UserOperationLogEntryEventEntity.class, entryId);
+    }
+
+    for (UserOperationLogEntryEventEntity entry : new UserOperationLogPropertyChangesSerializer().expand(compactRow)) {
+      if (entry.getId().equals(entryId)) {
+        return entry;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * @return the compact row the entry with the given id is expanded from, or null if
+   * the id belongs to a row of its own
+   */
+  protected UserOperationLogEntryEventEntity findCompactRowOfEntry(String entryId) {
+    String rowId = UserOperationLogPropertyChangesSerializer.getRowId(entryId);
+    if (rowId == null
+        || getDbEntityManager().selectById(UserOperationLogEntryEventEntity.class, entryId) != null) {
+      return null;
+    }
+
+    UserOperationLogEntryEventEntity row = getDbEntityManager().selectById(UserOperationLogEntryEventEntity.class, rowId);
+    if (row == null || row.getPropertyChanges() == null) {
+      return null;
+    }
+    return row;
   }
 
   public long findOperationLogEntryCountByQueryCriteria(UserOperationLogQueryImpl query) {
     getAuthorizationManager().configureUserOperationLogQuery(query);
+
+    if (Context.getProcessEngineConfiguration().isUserOperationLogCompact()) {
+      return (Long) getDbEntityManager().selectOne("selectCompactUserOperationLogEntryCountByQueryCriteria", query);
+    }
     return (Long) getDbEntityManager().selectOne("selectUserOperationLogEntryCountByQueryCriteria", query);
   }
 
   @SuppressWarnings("unchecked")
   public List<UserOperationLogEntry> findOperationLogEntriesByQueryCriteria(UserOperationLogQueryImpl query, Page page) {
     getAuthorizationManager().configureUserOperationLogQuery(query);
-    return getDbEntityManager().selectList("selectUserOperationLogEntriesByQueryCriteria", query, page);
+
+    if (page == null || !Context.getProcessEngineConfiguration().isUserOperationLogCompact()) {
+      // compact rows written before the compact mode was disabled are paged as one row
+      List<UserOperationLogEntry> entries = getDbEntityManager().selectList("selectUserOperationLogEntriesByQueryCriteria", query, page);
+      entries = expandCompactEntries(entries, query.getProperty());
+
+      if (page != null && entries.size() > page.getMaxResults()) {
+        return new ArrayList<UserOperationLogEntry>(entries.subList(0, page.getMaxResults()));
+      }
+      return entries;
+    }
+
+    // a compact row expands into several entries, so the row the page starts with
+    // is looked up by the number of entries of the rows in front of it
+    int firstResult = page.getFirstResult();
+    int maxResults = page.getMaxResults();
+
+    int firstRow = firstResult;
+    int skippedEntries = 0;
+
+    if (query.getProperty() == null) {
+      int[] rowAndSkippedEntries = seekCompactRow(query, firstResult);
+      if (rowAndSkippedEntries == null) {
+        return new ArrayList<UserOperationLogEntry>();
+      }
+      firstRow = rowAndSkippedEntries[0];
+      skippedEntries = rowAndSkippedEntries[1];
+    }
+
+    // every row expands into at least one entry
+    List<UserOperationLogEntry> rows = getDbEntityManager().selectList("selectUserOperationLogEntriesByQueryCriteria", query, new Page(firstRow, maxResults));
+    List<UserOperationLogEntry> entries = expandCompactEntries(rows, query.getProperty());
+
+    if (skippedEntries >= entries.size()) {
+      return new ArrayList<UserOperationLogEntry>();
+    }
+    int lastEntry = (int) Math.min(entries.size(), (long) skippedEntries + maxResults);
+    return new ArrayList<UserOperationLogEntry>(entries.subList(skippedEntries, lastEntry));
+  }
+
+  /**
+   * Reads the number of entries of the rows in front of the given entry in batches of
+   * {@link #COMPACT_ROW_SEEK_BATCH_SIZE} rows, without reading or expanding the rows themselves.
+   *
+   * @return the index of the row the entry is expanded from and the number of entries of
+   * this row in front of the entry, or null if there are less entries
+   */
+  @SuppressWarnings("unchecked")
+  protected int[] seekCompactRow(UserOperationLogQueryImpl query, int firstResult) {
+    int row = 0;
+    int entriesBeforeRow = 0;
+
+    while (entriesBeforeRow < firstResult) {
+      // every row holds at least one entry, so the entry is within the next rows
+      int rowsToRead = Math.min(COMPACT_ROW_SEEK_BATCH_SIZE, firstResult - entriesBeforeRow);
+      List<Integer> entryCounts = getDbEntityManager().selectList("selectUserOperationLogEntryPropertyCountsByQueryCriteria", query, new Page(row, rowsToRead));
+
+      for (Integer entryCount : entryCounts) {
+        int entriesOfRow = entryCount == null ? 1 : entryCount;
+        if (entriesBeforeRow + entriesOfRow > firstResult) {
+          return new int[] { row, firstResult - entriesBeforeRow };
+        }
+        entriesBeforeRow += entriesOfRow;
+        row++;
+      }
+
+      if (entryCounts.size() < rowsToRead) {
+        return null;
+      }
+    }
+
+    return new int[] { row, 0 };
+  }
+
+  /**
+   * Replaces every entry which holds several property changes with one entry per
+   * property change; if a property is given, only the changes of this property are kept.
+   */
+  public List<UserOperationLogEntry> expandCompactEntries(List<UserOperationLogEntry> entries, String property) {
+    UserOperationLogPropertyChangesSerializer serializer = null;
+    List<UserOperationLogEntry> expandedEntries = new ArrayList<UserOperationLogEntry>();
+
+    for (UserOperationLogEntry entry : entries) {
+      UserOperationLogEntryEventEntity entity = (UserOperationLogEntryEventEntity) entry;
+
+      if (entity.getPropertyChanges() == null) {
+        expandedEntries.add(entity);
+      }
+      else {
+        if (serializer == null) {
+          serializer = new UserOperationLogPropertyChangesSerializer();
+        }
+        for (UserOperationLogEntryEventEntity expandedEntry : serializer.expand(entity)) {
+          if (property == null || property.equals(expandedEntry.getProperty())) {
+            expandedEntries.add(expandedEntry);
+          }
+        }
+      }
+    }
+
+    return expandedEntries;
   }
 
   public void addRemovalTimeToUserOperationLogByRootProcessInstanceId(String rootProcessInstanceId, Date removalTime) {
@@ -101,7 +237,39 @@ public class UserOperationLogManager extends AbstractHistoricManager {
 
   public void deleteOperationLogEntryById(String entryId) {
     if (isHistoryEventProduced()) {
-      getDbEntityManager().delete(UserOperationLogEntryEventEntity.class, "deleteUserOperationLogEntryById", entryId);
+      UserOperationLogEntryEventEntity compactRow = findCompactRowOfEntry(entryId);
+      if (compactRow == null) {
+        getDbEntityManager().delete(UserOperationLogEntryEventEntity.class, "deleteUserOperationLogEntryById", entryId);
+      }
+      else {
+        deletePropertyChange(compactRow, UserOperationLogPropertyChangesSerializer.getIndex(entryId));
+      }
+    }
+  }
+
+  /**
+   * Deletes a single entry of a compact row by removing its property change
+   * from the row, the row itself only if no other change is left.
+   */
+  protected void deletePropertyChange(UserOperationLogEntryEventEntity compactRow, int index) {
+    String propertyChanges = compactRow.getPropertyChanges();
+    String remainingPropertyChanges = new UserOperationLogPropertyChangesSerializer().remove(propertyChanges, index);
+
+    if (remainingPropertyChanges == null) {
+      getDbEntityManager().delete(UserOperationLogEntryEventEntity.class, "deleteUserOperationLogEntryById", compactRow.getId());
+    }
+    else if (!remainingPropertyChanges.equals(propertyChanges)) {
+      Map<String, Object> parameters = new HashMap<>();
+      parameters.put("id", compactRow.getId());
+      parameters.put("propertyChanges", remainingPropertyChanges);
+      parameters.put("propertyChangeCount", compactRow.getPropertyChangeCount() - 1);
+
+      getDbEntityManager()
+          .updatePreserveOrder(UserOperationLogEntryEventEntity.class, "updateOperationLogPropertyChangesById", parameters);
+
+      // keep the cached row in sync for further deletions in the same command
+      compactRow.setPropertyChanges(remainingPropertyChanges);
+      compactRow.setPropertyChangeCount(compactRow.getPropertyChangeCount() - 1);
     }
   }
 
@@ -205,6 +373,19 @@ public class UserOperationLogManager extends AbstractHistoricManager {
     }
   }
 
+  public void logTaskOperations(String operation, List<PropertyChange> propertyChanges) {
+    if (isUserOperationLogEnabled()) {
+      UserOperationLogContext context = new UserOperationLogContext();
+      UserOperationLogContextEntryBuilder entryBuilder =
+          UserOperationLogContextEntryBuilder.entry(operation, EntityTypes.TASK)
+            .propertyChanges(propertyChanges)
+            .category(UserOperationLogEntry.CATEGORY_OPERATOR);
+
+      context.addEntry(entryBuilder.create());
+      fireUserOperationLog(context);
+    }
+  }
+
   public void logTaskOperations(String operation, TaskEntity task, List<PropertyChange> propertyChanges) {
     if (isUserOperationLogEnabled()) {
       UserOperationLogContext context = new UserOperationLogContext();
@@ -31,6 +31,7 @@ import org.camunda.bpm.engine.impl.cmmn.entity.runtime.CaseExecutionEntity;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.context.ProcessApplicationContextUtil;
 import org.camunda.bpm.engine.impl.core.variable.CoreVariableInstance;
+import org.camunda.bpm.engine.impl.core.variable.scope.AbstractVariableScope;
 import org.camunda.bpm.engine.impl.db.DbEntity;
 import org.camunda.bpm.engine.impl.db.DbEntityLifecycleAware;
 import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
@@ -115,6 +116,14 @@ public class VariableInstanceEntity implements VariableInstance, CoreVariableIns
   // transient properties
   protected ExecutionEntity execution;
 
+  /**
+   * Set while a coalesced update of this variable waits for its history
+   * event, see {@link VariableInstanceHistoryListener}.
+   */
+  protected AbstractVariableScope deferredUpdateSourceScope;
+
+  protected boolean byteArrayValueWritten = false;
+
   // Default constructor for SQL mapping
   public VariableInstanceEntity() {
     typedValueField.addImplicitUpdateListener(this);
@@ -249,6 +258,7 @@ public class VariableInstanceEntity implements VariableInstance, CoreVariableIns
 
   public void setByteArrayValue(byte[] bytes) {
     byteArrayField.setByteArrayValue(bytes, isTransient);
+    byteArrayValueWritten = true;
   }
 
   protected void deleteByteArrayValue() {
@@ -270,29 +280,73 @@ public class VariableInstanceEntity implements VariableInstance, CoreVariableIns
   }
 
   public void setValue(TypedValue value) {
-    // clear value fields
-    clearValueFields();
+    if (isUpdateCoalescing()) {
+      // keep the byte array, so that the serialized value can be written into it again
+      clearValueFields(false);
+      byteArrayValueWritten = false;
 
-    typedValueField.setValue(value);
+      typedValueField.setValue(value, true);
+
+      if (!typedValueField.isValueWritePending() && !byteArrayValueWritten) {
+        clearByteArrayValue();
+      }
+    }
+    else {
+      // clear value fields
+      clearValueFields();
+
+      typedValueField.setValue(value);
+    }
   }
 
   public void clearValueFields() {
+    clearValueFields(true);
+  }
+
+  protected void clearValueFields(boolean clearByteArray) {
     this.longValue = null;
     this.doubleValue = null;
     this.textValue = null;
     this.textValue2 = null;
     typedValueField.clear();
 
+    if (clearByteArray) {
+      clearByteArrayValue();
+    }
+  }
+
+  protected void clearByteArrayValue() {
     if(byteArrayField.getByteArrayId() != null) {
       deleteByteArrayValue();
       setByteArrayValueId(null);
     }
   }
 
+  protected boolean isUpdateCoalescing() {
+    return !isTransient
+        && Context.getProcessEngineConfiguration() != null
+        && Context.getProcessEngineConfiguration().isVariableUpdateCoalescing();
+  }
+
+  /**
+   * Writes a value whose serialization has been deferred by a coalesced update.
+   */
+  public void writePendingValue() {
+    typedValueField.writePendingValue();
+  }
+
   public String getTypeName() {
     return typedValueField.getTypeName();
   }
 
+  public AbstractVariableScope getDeferredUpdateSourceScope() {
+    return deferredUpdateSourceScope;
+  }
+
+  public void setDeferredUpdateSourceScope(AbstractVariableScope deferredUpdateSourceScope) {
+    this.deferredUpdateSourceScope = deferredUpdateSourceScope;
+  }
+
   // entity lifecycle /////////////////////////////////////////////////////////
 
   public void postLoad() {
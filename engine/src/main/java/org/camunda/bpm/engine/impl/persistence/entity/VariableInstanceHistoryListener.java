@@ -24,6 +24,8 @@ import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
 import org.camunda.bpm.engine.impl.history.event.HistoryEventProcessor;
 import org.camunda.bpm.engine.impl.history.event.HistoryEventTypes;
 import org.camunda.bpm.engine.impl.history.producer.HistoryEventProducer;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.interceptor.CommandContextListener;
 
 /**
  * @author Thorben Lindhauer
@@ -47,6 +49,9 @@ public class VariableInstanceHistoryListener implements VariableInstanceLifecycl
 
   @Override
   public void onDelete(final VariableInstanceEntity variableInstance, final AbstractVariableScope sourceScope) {
+    // a deferred update of a deleted variable is dropped
+    variableInstance.setDeferredUpdateSourceScope(null);
+
     if (getHistoryLevel().isHistoryEventProduced(HistoryEventTypes.VARIABLE_INSTANCE_DELETE, variableInstance) && !variableInstance.isTransient()) {
       HistoryEventProcessor.processHistoryEvents(new HistoryEventProcessor.HistoryEventCreator() {
         @Override
@@ -60,16 +65,70 @@ public class VariableInstanceHistoryListener implements VariableInstanceLifecycl
   @Override
   public void onUpdate(final VariableInstanceEntity variableInstance, final AbstractVariableScope sourceScope) {
     if (getHistoryLevel().isHistoryEventProduced(HistoryEventTypes.VARIABLE_INSTANCE_UPDATE, variableInstance) && !variableInstance.isTransient()) {
-      HistoryEventProcessor.processHistoryEvents(new HistoryEventProcessor.HistoryEventCreator() {
-        @Override
-        public HistoryEvent createHistoryEvent(HistoryEventProducer producer) {
-          return producer.createHistoricVariableUpdateEvt(variableInstance, sourceScope);
-        }
-      });
+      CommandContext commandContext = Context.getCommandContext();
+
+      if (Context.getProcessEngineConfiguration().isVariableUpdateCoalescing() && commandContext != null) {
+        // only the last update within the command is logged
+        variableInstance.setDeferredUpdateSourceScope(sourceScope);
+        commandContext.registerCommandContextListener(new DeferredUpdateListener(variableInstance));
+      }
+      else {
+        fireUpdateEvent(variableInstance, sourceScope);
+      }
     }
   }
 
+  protected void fireUpdateEvent(final VariableInstanceEntity variableInstance, final AbstractVariableScope sourceScope) {
+    HistoryEventProcessor.processHistoryEvents(new HistoryEventProcessor.HistoryEventCreator() {
+      @Override
+      public HistoryEvent createHistoryEvent(HistoryEventProducer producer) {
+        return producer.createHistoricVariableUpdateEvt(variableInstance, sourceScope);
+      }
+    });
+  }
+
   protected HistoryLevel getHistoryLevel() {
     return Context.getProcessEngineConfiguration().getHistoryLevel();
   }
+
+  /**
+   * Produces the update event of a variable with its final value when the
+   * command context closes. Listeners are equal per variable instance, so the
+   * command context registers only one of them for each variable.
+   */
+  protected class DeferredUpdateListener implements CommandContextListener {
+
+    protected final VariableInstanceEntity variableInstance;
+
+    public DeferredUpdateListener(VariableInstanceEntity variableInstance) {
+      this.variableInstance = variableInstance;
+    }
+
+    @Override
+    public void onCommandContextClose(CommandContext commandContext) {
+      AbstractVariableScope sourceScope = variableInstance.getDeferredUpdateSourceScope();
+
+      if (sourceScope != null) {
+        variableInstance.setDeferredUpdateSourceScope(null);
+        variableInstance.writePendingValue();
+        fireUpdateEvent(variableInstance, sourceScope);
+      }
+    }
+
+    @Override
+    public void onCommandFailed(CommandContext commandContext, Throwable t) {
+      variableInstance.setDeferredUpdateSourceScope(null);
+    }
+
+    @Override
+    public int hashCode() {
+      return System.identityHashCode(variableInstance);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      return obj instanceof DeferredUpdateListener
+          && ((DeferredUpdateListener) obj).variableInstance == variableInstance;
+    }
+  }
 }
@@ -16,6 +16,7 @@
  */
 package org.camunda.bpm.engine.impl.persistence.entity;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
@@ -56,11 +57,60 @@ public class VariableInstanceManager extends AbstractManager {
     return getDbEntityManager().selectList("selectVariablesByExecutionId", parameter);
   }
 
+  /**
+   * @return the variables of all given tasks, fetched with a single query
+   */
+  @SuppressWarnings("unchecked")
+  public List<VariableInstanceEntity> findVariableInstancesByTaskIds(List<String> taskIds) {
+    if (taskIds.isEmpty()) {
+      return new ArrayList<VariableInstanceEntity>();
+    }
+    return getDbEntityManager().selectList("selectVariablesByTaskIds", taskIds);
+  }
+
+  /**
+   * @return the variables which are local to the given executions (i.e. not
+   * task variables), fetched with a single query
+   */
+  @SuppressWarnings("unchecked")
+  public List<VariableInstanceEntity> findVariableInstancesByExecutionIds(List<String> executionIds) {
+    if (executionIds.isEmpty()) {
+      return new ArrayList<VariableInstanceEntity>();
+    }
+    return getDbEntityManager().selectList("selectVariablesByExecutionIds", executionIds);
+  }
+
+  /**
+   * @param variableNames the names of the variables to fetch, null to fetch all variables;
+   * must not be empty
+   *
+   * @return the variables with the given names which are local to the given executions
+   * (i.e. not task variables), fetched with a single query
+   */
+  @SuppressWarnings("unchecked")
+  public List<VariableInstanceEntity> findVariableInstancesByExecutionIdsAndVariableNames(List<String> executionIds, Collection<String> variableNames) {
+    if (executionIds.isEmpty()) {
+      return new ArrayList<VariableInstanceEntity>();
+    }
+    Map<String, Object> parameter = new HashMap<String, Object>();
+    parameter.put("executionIds", executionIds);
+    parameter.put("variableNames", variableNames);
+    return getDbEntityManager().selectList("selectVariablesByExecutionIdsAndVariableNames", parameter);
+  }
+
   @SuppressWarnings("unchecked")
   public List<VariableInstanceEntity> findVariableInstancesByProcessInstanceId(String processInstanceId) {
     return getDbEntityManager().selectList("selectVariablesByProcessInstanceId", processInstanceId);
   }
 
+  @SuppressWarnings("unchecked")
+  public List<VariableInstanceEntity> findVariableInstancesByProcessInstanceIds(List<String> processInstanceIds) {
+    if (processInstanceIds.isEmpty()) {
+      return new ArrayList<VariableInstanceEntity>();
+    }
+    return getDbEntityManager().selectList("selectVariablesByProcessInstanceIds", processInstanceIds);
+  }
+
   public List<VariableInstanceEntity> findVariableInstancesByCaseExecutionId(String caseExecutionId) {
     return findVariableInstancesByCaseExecutionIdAndVariableNames(caseExecutionId, null);
   }
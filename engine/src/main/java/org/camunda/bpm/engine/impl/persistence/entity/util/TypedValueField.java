@@ -61,6 +61,7 @@ public class TypedValueField implements DbEntityLifecycleAware, CommandContextLi
   protected final ValueFields valueFields;
 
   protected boolean notifyOnImplicitUpdates = false;
+  protected boolean valueWritePending = false;
   protected List<TypedValueUpdateListener> updateListeners;
 
   public TypedValueField(ValueFields valueFields, boolean notifyOnImplicitUpdates) {
@@ -96,6 +97,7 @@ public class TypedValueField implements DbEntityLifecycleAware, CommandContextLi
 
       if (cachedValue != null && (asTransientValue ^ cachedValue.isTransient())) {
         // clear cached value if the value is not transient, but a transient value is requested
+        writePendingValue();
         cachedValue = null;
       }
     }
@@ -118,6 +120,14 @@ public class TypedValueField implements DbEntityLifecycleAware, CommandContextLi
   }
 
   public TypedValue setValue(TypedValue value) {
+    return setValue(value, false);
+  }
+
+  /**
+   * @param deferWrite if true, a mutable value is not serialized right away
+   *   but when the command context closes, see {@link #writePendingValue()}
+   */
+  public TypedValue setValue(TypedValue value, boolean deferWrite) {
     // determine serializer to use
     serializer = getSerializers().findSerializerForValue(value,
         Context.getProcessEngineConfiguration().getFallbackSerializerFactory());
@@ -129,7 +139,13 @@ public class TypedValueField implements DbEntityLifecycleAware, CommandContextLi
     }
 
     // set new value
-    writeValue(value, valueFields);
+    if (deferWrite && notifyOnImplicitUpdates && isMutableValue(value) && Context.getCommandContext() != null) {
+      valueWritePending = true;
+    }
+    else {
+      valueWritePending = false;
+      writeValue(value, valueFields);
+    }
 
     // cache the value
     cachedValue = value;
@@ -143,6 +159,20 @@ public class TypedValueField implements DbEntityLifecycleAware, CommandContextLi
     return value;
   }
 
+  public boolean isValueWritePending() {
+    return valueWritePending;
+  }
+
+  /**
+   * Serializes a value whose write has been deferred into the value fields.
+   */
+  public void writePendingValue() {
+    if (valueWritePending) {
+      valueWritePending = false;
+      writeValue(cachedValue, valueFields);
+    }
+  }
+
   public boolean isMutable() {
     return isMutableValue(cachedValue);
   }
@@ -153,7 +183,7 @@ public class TypedValueField implements DbEntityLifecycleAware, CommandContextLi
   }
 
   protected boolean isValuedImplicitlyUpdated() {
-    if (cachedValue != null && isMutableValue(cachedValue)) {
+    if (cachedValue != null && !valueWritePending && isMutableValue(cachedValue)) {
       byte[] byteArray = valueFields.getByteArrayValue();
 
       ValueFieldsImpl tempValueFields = new ValueFieldsImpl();
@@ -175,6 +205,9 @@ public class TypedValueField implements DbEntityLifecycleAware, CommandContextLi
   @Override
   public void onCommandContextClose(CommandContext commandContext) {
     notifyImplicitValueUpdate();
+    // the value is written now if it was deferred, either on an explicit
+    // update or by the implicit update above
+    writePendingValue();
   }
 
   public void notifyImplicitValueUpdate() {
@@ -300,5 +333,6 @@ public class TypedValueField implements DbEntityLifecycleAware, CommandContextLi
 
   public void clear() {
     cachedValue = null;
+    valueWritePending = false;
   }
 }
@@ -19,6 +19,7 @@ package org.camunda.bpm.engine.impl.repository;
 import org.camunda.bpm.engine.ProcessEngine;
 import org.camunda.bpm.engine.RepositoryService;
 import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.persistence.entity.ResourceEntity;
 import org.camunda.bpm.engine.repository.CandidateDeployment;
 import org.camunda.bpm.engine.repository.Deployment;
 import org.camunda.bpm.engine.repository.DeploymentHandler;
@@ -84,6 +85,15 @@ public class DefaultDeploymentHandler implements DeploymentHandler {
   }
 
   protected boolean resourcesDiffer(Resource resource, Resource existing) {
+    if (resource instanceof ResourceEntity && existing instanceof ResourceEntity) {
+      // the existing resource may only be loaded with its hash
+      String hash = ((ResourceEntity) resource).getHash();
+      String existingHash = ((ResourceEntity) existing).getHash();
+      if (hash != null && existingHash != null) {
+        return !hash.equals(existingHash);
+      }
+    }
+
     byte[] bytes = resource.getBytes();
     byte[] savedBytes = existing.getBytes();
     return !Arrays.equals(bytes, savedBytes);
@@ -0,0 +1,74 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.runtime;
+
+import org.camunda.bpm.engine.runtime.BulkMessageCorrelationResult;
+import org.camunda.bpm.engine.runtime.MessageCorrelationResult;
+
+public class BulkMessageCorrelationResultImpl implements BulkMessageCorrelationResult {
+
+  protected String messageName;
+  protected String businessKey;
+  protected MessageCorrelationResult correlationResult;
+  protected String errorMessage;
+
+  public BulkMessageCorrelationResultImpl(String messageName, String businessKey) {
+    this.messageName = messageName;
+    this.businessKey = businessKey;
+  }
+
+  public static BulkMessageCorrelationResultImpl correlated(String messageName, String businessKey, MessageCorrelationResult correlationResult) {
+    BulkMessageCorrelationResultImpl result = new BulkMessageCorrelationResultImpl(messageName, businessKey);
+    result.correlationResult = correlationResult;
+    return result;
+  }
+
+  public static BulkMessageCorrelationResultImpl notCorrelated(String messageName, String businessKey, String errorMessage) {
+    BulkMessageCorrelationResultImpl result = new BulkMessageCorrelationResultImpl(messageName, businessKey);
+    result.errorMessage = errorMessage;
+    return result;
+  }
+
+  public String getMessageName() {
+    return messageName;
+  }
+
+  public String getBusinessKey() {
+    return businessKey;
+  }
+
+  public boolean isCorrelated() {
+    return correlationResult != null;
+  }
+
+  public MessageCorrelationResult getCorrelationResult() {
+    return correlationResult;
+  }
+
+  public String getErrorMessage() {
+    return errorMessage;
+  }
+
+  @Override
+  public String toString() {
+    return "BulkMessageCorrelationResultImpl [messageName=" + messageName
+        + ", businessKey=" + businessKey
+        + ", correlated=" + isCorrelated()
+        + ", errorMessage=" + errorMessage + "]";
+  }
+
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.scripting;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.script.CompiledScript;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.commons.utils.cache.Cache;
+import org.camunda.commons.utils.cache.ConcurrentLruCache;
+
+/**
+ * <p>Bounded cache of compiled scripts shared by all {@link SourceExecutableScript}s of a process engine.</p>
+ *
+ * <p>Scripts are keyed by their language, the class loader of the process application whose script
+ * engine compiled them and a SHA-256 hash of their source. Script engines are cached once per language
+ * and process application, so scripts of redeployed process definitions or definitions evicted from the
+ * deployment cache do not have to be compiled again. Only scripts compiled by cached script engines may
+ * be put into this cache, since the compiled script keeps its script engine alive.</p>
+ *
+ * <p>Scripts compiled by the script engine of a process application are removed by
+ * {@link #removeProcessApplication(String)} when it is undeployed, so that the cache does not keep
+ * its class loader alive.</p>
+ */
+public class CompiledScriptCache {
+
+  public static final int DEFAULT_CAPACITY = 1000;
+
+  protected Cache<CompiledScriptKey, CompiledScript> cache;
+
+  protected AtomicLong hitCount = new AtomicLong();
+  protected AtomicLong missCount = new AtomicLong();
+
+  public CompiledScriptCache() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  public CompiledScriptCache(int capacity) {
+    this.cache = new ConcurrentLruCache<CompiledScriptKey, CompiledScript>(capacity);
+  }
+
+  /**
+   * @param processApplicationName the name of the process application which provided the script engine
+   *   or null if the script engine is not provided by a process application
+   * @param processApplicationClassLoader the class loader of that process application or null
+   * @param language the language of the script
+   *
+   * @return the compiled script or null if the source was not compiled for the given language and process application before
+   */
+  public CompiledScript get(String processApplicationName, ClassLoader processApplicationClassLoader, String language, String source) {
+    CompiledScript compiledScript = cache.get(new CompiledScriptKey(processApplicationName, processApplicationClassLoader, language, hash(source)));
+
+    if (compiledScript != null) {
+      hitCount.incrementAndGet();
+    }
+    else {
+      missCount.incrementAndGet();
+    }
+
+    return compiledScript;
+  }
+
+  public void put(String processApplicationName, ClassLoader processApplicationClassLoader, String language, String source, CompiledScript compiledScript) {
+    cache.put(new CompiledScriptKey(processApplicationName, processApplicationClassLoader, language, hash(source)), compiledScript);
+  }
+
+  /**
+   * Removes all scripts compiled by the script engines of the given process application.
+   */
+  public void removeProcessApplication(String processApplicationName) {
+    for (CompiledScriptKey key : cache.keySet()) {
+      if (processApplicationName.equals(key.processApplicationName)) {
+        cache.remove(key);
+      }
+    }
+  }
+
+  public void clear() {
+    cache.clear();
+  }
+
+  public int size() {
+    return cache.size();
+  }
+
+  public long getHitCount() {
+    return hitCount.get();
+  }
+
+  public long getMissCount() {
+    return missCount.get();
+  }
+
+  protected String hash(String source) {
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256").digest(source.getBytes(StandardCharsets.UTF_8));
+
+      StringBuilder hash = new StringBuilder(digest.length * 2);
+      for (byte b : digest) {
+        hash.append(Character.forDigit((b >> 4) & 0xF, 16));
+        hash.append(Character.forDigit(b & 0xF, 16));
+      }
+      return hash.toString();
+
+    } catch (NoSuchAlgorithmException e) {
+      throw new ProcessEngineException("Cannot hash script source", e);
+    }
+  }
+
+  protected static class CompiledScriptKey {
+
+    protected final String processApplicationName;
+    protected final ClassLoader processApplicationClassLoader;
+    protected final String language;
+    protected final String sourceHash;
+
+    public CompiledScriptKey(String processApplicationName, ClassLoader processApplicationClassLoader, String language, String sourceHash) {
+      this.processApplicationName = processApplicationName;
+      this.processApplicationClassLoader = processApplicationClassLoader;
+      this.language = language;
+      this.sourceHash = sourceHash;
+    }
+
+    public int hashCode() {
+      int result = System.identityHashCode(processApplicationClassLoader);
+      result = 31 * result + language.hashCode();
+      result = 31 * result + sourceHash.hashCode();
+      return result;
+    }
+
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof CompiledScriptKey)) {
+        return false;
+      }
+      CompiledScriptKey other = (CompiledScriptKey) obj;
+      return processApplicationClassLoader == other.processApplicationClassLoader
+          && language.equals(other.language)
+          && sourceHash.equals(other.sourceHash);
+    }
+  }
+
+}
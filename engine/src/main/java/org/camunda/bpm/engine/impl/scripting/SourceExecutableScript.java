@@ -22,6 +22,9 @@ import javax.script.CompiledScript;
 import javax.script.ScriptEngine;
 import javax.script.ScriptException;
 
+import org.camunda.bpm.application.ProcessApplicationReference;
+import org.camunda.bpm.application.ProcessApplicationUnavailableException;
+import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.ScriptCompilationException;
 import org.camunda.bpm.engine.ScriptEvaluationException;
 import org.camunda.bpm.engine.delegate.BpmnError;
@@ -29,6 +32,8 @@ import org.camunda.bpm.engine.delegate.VariableScope;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
 import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
+import org.camunda.bpm.engine.management.Metrics;
 
 /**
  * A script which is provided as source code.
@@ -81,7 +86,7 @@ public class SourceExecutableScript extends CompiledExecutableScript {
         synchronized (this) {
           if (getCompiledScript() == null && shouldBeCompiled) {
             // try to compile script
-            compiledScript = compile(engine, language, scriptSource);
+            compiledScript = getOrCompileScript(engine, processEngineConfiguration);
 
             // either the script was successfully compiled or it can't be
             // compiled but we won't try it again
@@ -97,6 +102,82 @@ public class SourceExecutableScript extends CompiledExecutableScript {
     }
   }
 
+  /**
+   * Looks up the script in the {@link CompiledScriptCache} of the process engine before compiling it.
+   * Scripts compiled by script engines which are not cached are not put into the cache.
+   */
+  protected CompiledScript getOrCompileScript(ScriptEngine engine, ProcessEngineConfigurationImpl processEngineConfiguration) {
+    CompiledScriptCache compiledScriptCache = null;
+    String processApplicationName = null;
+    ClassLoader processApplicationClassLoader = null;
+    String cacheLanguage = language.toLowerCase();
+
+    if (isCachable(engine)) {
+      compiledScriptCache = processEngineConfiguration.getCompiledScriptCache();
+
+      ProcessApplicationReference processApplication = getProcessApplication(processEngineConfiguration);
+      if (processApplication != null) {
+        processApplicationName = processApplication.getName();
+        processApplicationClassLoader = getProcessApplicationClassLoader(processApplication);
+      }
+    }
+
+    if (compiledScriptCache != null) {
+      CompiledScript cachedScript = compiledScriptCache.get(processApplicationName, processApplicationClassLoader, cacheLanguage, scriptSource);
+      if (cachedScript != null) {
+        return cachedScript;
+      }
+    }
+
+    long startTime = System.nanoTime();
+    CompiledScript compiledScript = compile(engine, language, scriptSource);
+
+    if (compiledScript != null) {
+      if (compiledScriptCache != null) {
+        compiledScriptCache.put(processApplicationName, processApplicationClassLoader, cacheLanguage, scriptSource, compiledScript);
+      }
+
+      if (processEngineConfiguration.isMetricsEnabled()) {
+        long durationInMicros = (System.nanoTime() - startTime) / 1000;
+
+        MetricsRegistry metricsRegistry = processEngineConfiguration.getMetricsRegistry();
+        metricsRegistry.markOccurrence(Metrics.SCRIPT_COMPILATIONS);
+        metricsRegistry.markOccurrence(Metrics.SCRIPT_COMPILATION_TIME, durationInMicros);
+      }
+    }
+
+    return compiledScript;
+  }
+
+  /**
+   * Script engines are only cached if they declare to be threadsafe, see
+   * {@link org.camunda.bpm.engine.impl.scripting.engine.ScriptEngineResolver#isCachable(ScriptEngine)}.
+   * A new engine is created for every evaluation otherwise, so a cached compiled script would never be reused.
+   */
+  protected boolean isCachable(ScriptEngine engine) {
+    return engine.getFactory().getParameter("THREADING") != null;
+  }
+
+  /**
+   * @return the current process application if its script engines are used, null otherwise
+   */
+  protected ProcessApplicationReference getProcessApplication(ProcessEngineConfigurationImpl processEngineConfiguration) {
+    ProcessApplicationReference processApplication = Context.getCurrentProcessApplication();
+    if (processApplication != null && processEngineConfiguration.isEnableFetchScriptEngineFromProcessApplication()) {
+      return processApplication;
+    }
+    return null;
+  }
+
+  protected ClassLoader getProcessApplicationClassLoader(ProcessApplicationReference processApplication) {
+    try {
+      return processApplication.getProcessApplication().getProcessApplicationClassloader();
+    }
+    catch (ProcessApplicationUnavailableException e) {
+      throw new ProcessEngineException("Process Application is unavailable.", e);
+    }
+  }
+
   public CompiledScript compile(ScriptEngine scriptEngine, String language, String src) {
     if(scriptEngine instanceof Compilable && !scriptEngine.getFactory().getLanguageName().equalsIgnoreCase("ecmascript")) {
       Compilable compilingEngine = (Compilable) scriptEngine;
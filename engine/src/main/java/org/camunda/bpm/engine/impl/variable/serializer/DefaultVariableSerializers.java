@@ -18,9 +18,13 @@ package org.camunda.bpm.engine.impl.variable.serializer;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.impl.context.Context;
@@ -35,9 +39,33 @@ public class DefaultVariableSerializers implements Serializable, VariableSeriali
 
   private static final long serialVersionUID = 1L;
 
+  /**
+   * Built-in serializers which decide whether they can handle an untyped value
+   * based on the Java class of the value only.
+   */
+  protected static final Set<Class<?>> CLASS_BASED_SERIALIZERS = new HashSet<Class<?>>(Arrays.<Class<?>>asList(
+      NullValueSerializer.class,
+      StringValueSerializer.class,
+      BooleanValueSerializer.class,
+      ShortValueSerializer.class,
+      IntegerValueSerializer.class,
+      LongValueSerlializer.class,
+      DateValueSerializer.class,
+      DoubleValueSerializer.class,
+      ByteArrayValueSerializer.class));
+
   protected List<TypedValueSerializer<?>> serializerList = new ArrayList<TypedValueSerializer<?>>();
   protected Map<String, TypedValueSerializer<?>> serializerMap = new HashMap<String, TypedValueSerializer<?>>();
 
+  /**
+   * Serializers resolved for untyped values by the Java class of the value and for
+   * typed primitive values by their value type. Only filled with results that the
+   * scan in {@link #findSerializerForValue(TypedValue, VariableSerializerFactory)}
+   * would return for every value of that class or type, see {@link #resolvePrimitiveSerializer(TypedValue)}.
+   */
+  protected transient Map<Class<?>, TypedValueSerializer<?>> untypedValueSerializers;
+  protected transient Map<ValueType, TypedValueSerializer<?>> primitiveValueSerializers;
+
   public DefaultVariableSerializers() {
   }
 
@@ -52,15 +80,18 @@ public class DefaultVariableSerializers implements Serializable, VariableSeriali
 
   public TypedValueSerializer<?> findSerializerForValue(TypedValue value, VariableSerializerFactory fallBackSerializerFactory) {
 
-    String defaultSerializationFormat = Context.getProcessEngineConfiguration().getDefaultSerializationFormat();
-
-    List<TypedValueSerializer<?>> matchedSerializers = new ArrayList<TypedValueSerializer<?>>();
-
     ValueType type = value.getType();
     if (type != null && type.isAbstract()) {
       throw new ProcessEngineException("Cannot serialize value of abstract type " + type.getName());
     }
 
+    TypedValueSerializer<?> primitiveSerializer = resolvePrimitiveSerializer(value);
+    if (primitiveSerializer != null) {
+      return primitiveSerializer;
+    }
+
+    List<TypedValueSerializer<?>> matchedSerializers = new ArrayList<TypedValueSerializer<?>>();
+
     for (TypedValueSerializer<?> serializer : serializerList) {
       if(type == null || serializer.getType().equals(type)) {
 
@@ -92,6 +123,7 @@ public class DefaultVariableSerializers implements Serializable, VariableSeriali
     }
     else {
       // ambiguous match, use default serializer
+      String defaultSerializationFormat = Context.getProcessEngineConfiguration().getDefaultSerializationFormat();
       if(defaultSerializationFormat != null) {
         for (TypedValueSerializer<?> typedValueSerializer : matchedSerializers) {
           if(defaultSerializationFormat.equals(typedValueSerializer.getSerializationDataformat())) {
@@ -109,6 +141,103 @@ public class DefaultVariableSerializers implements Serializable, VariableSeriali
     return findSerializerForValue(value, null);
   }
 
+  /**
+   * <p>Fast path for primitive values which avoids scanning the serializer list.</p>
+   *
+   * <p>The scan stops at the first primitive serializer that can handle a value:</p>
+   * <ul>
+   *   <li>For a typed primitive value, this is the first serializer of its type if that one
+   *   can handle the value.</li>
+   *   <li>For an untyped value, the result is the same for all values of a Java class as long as
+   *   the matching serializer is only preceded by built-in primitive serializers, which decide
+   *   on the Java class of the value only (see {@link #CLASS_BASED_SERIALIZERS}).</li>
+   * </ul>
+   *
+   * <p>These results are remembered. In all other cases (e.g. custom serializers registered
+   * before the built-in ones, object values) this returns null and the list is scanned.</p>
+   */
+  protected TypedValueSerializer<?> resolvePrimitiveSerializer(TypedValue value) {
+    ValueType type = value.getType();
+
+    if (type == null) {
+      Object javaValue = value.getValue();
+      Class<?> javaType = javaValue != null ? javaValue.getClass() : Void.class;
+
+      Map<Class<?>, TypedValueSerializer<?>> serializers = getUntypedValueSerializers();
+      TypedValueSerializer<?> serializer = serializers.get(javaType);
+      if (serializer == null) {
+        serializer = findClassBasedSerializer(value);
+        if (serializer != null) {
+          serializers.put(javaType, serializer);
+        }
+      }
+      return serializer;
+    }
+    else if (type.isPrimitiveValueType()) {
+      Map<ValueType, TypedValueSerializer<?>> serializers = getPrimitiveValueSerializers();
+      TypedValueSerializer<?> serializer = serializers.get(type);
+      if (serializer == null) {
+        serializer = findFirstSerializerOfType(type);
+        if (serializer != null) {
+          serializers.put(type, serializer);
+        }
+      }
+      if (serializer != null && serializer.canHandle(value)) {
+        return serializer;
+      }
+    }
+
+    return null;
+  }
+
+  /**
+   * @return the first serializer that can handle the untyped value if it is only preceded by
+   *   serializers which decide on the Java class of the value, null otherwise
+   */
+  protected TypedValueSerializer<?> findClassBasedSerializer(TypedValue value) {
+    for (TypedValueSerializer<?> serializer : serializerList) {
+      if (!CLASS_BASED_SERIALIZERS.contains(serializer.getClass())) {
+        return null;
+      }
+      if (serializer.canHandle(value)) {
+        return serializer;
+      }
+    }
+    return null;
+  }
+
+  protected TypedValueSerializer<?> findFirstSerializerOfType(ValueType type) {
+    for (TypedValueSerializer<?> serializer : serializerList) {
+      if (serializer.getType().equals(type)) {
+        return serializer;
+      }
+    }
+    return null;
+  }
+
+  protected Map<Class<?>, TypedValueSerializer<?>> getUntypedValueSerializers() {
+    Map<Class<?>, TypedValueSerializer<?>> serializers = untypedValueSerializers;
+    if (serializers == null) {
+      serializers = new ConcurrentHashMap<Class<?>, TypedValueSerializer<?>>();
+      untypedValueSerializers = serializers;
+    }
+    return serializers;
+  }
+
+  protected Map<ValueType, TypedValueSerializer<?>> getPrimitiveValueSerializers() {
+    Map<ValueType, TypedValueSerializer<?>> serializers = primitiveValueSerializers;
+    if (serializers == null) {
+      serializers = new ConcurrentHashMap<ValueType, TypedValueSerializer<?>>();
+      primitiveValueSerializers = serializers;
+    }
+    return serializers;
+  }
+
+  protected void clearResolvedSerializers() {
+    untypedValueSerializers = null;
+    primitiveValueSerializers = null;
+  }
+
   public DefaultVariableSerializers addSerializer(TypedValueSerializer<?> serializer) {
     return addSerializer(serializer, serializerList.size());
   }
@@ -116,6 +245,7 @@ public class DefaultVariableSerializers implements Serializable, VariableSeriali
   public DefaultVariableSerializers addSerializer(TypedValueSerializer<?> serializer, int index) {
     serializerList.add(index, serializer);
     serializerMap.put(serializer.getName(), serializer);
+    clearResolvedSerializers();
     return this;
   }
 
@@ -126,6 +256,7 @@ public class DefaultVariableSerializers implements Serializable, VariableSeriali
     for (TypedValueSerializer<?> serializer : serializerList) {
       serializerMap.put(serializer.getName(), serializer);
     }
+    clearResolvedSerializers();
   }
 
   public int getSerializerIndex(TypedValueSerializer<?> serializer) {
@@ -144,6 +275,7 @@ public class DefaultVariableSerializers implements Serializable, VariableSeriali
   public VariableSerializers removeSerializer(TypedValueSerializer<?> serializer) {
     serializerList.remove(serializer);
     serializerMap.remove(serializer.getName());
+    clearResolvedSerializers();
     return this;
   }
 
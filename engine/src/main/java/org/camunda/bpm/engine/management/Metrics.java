@@ -55,6 +55,62 @@ public class Metrics {
    */
   public final static String JOB_LOCKED_EXCLUSIVE = "job-locked-exclusive";
 
+  /**
+   * Number of database round trips performed to load acquired jobs and their
+   * job definitions for execution. Relate it to the number of executed jobs to
+   * obtain the round trips per job. The revision check of jobs which are reused
+   * from acquisition counts as a round trip as well.
+   */
+  public final static String JOB_LOAD_ROUND_TRIPS = "job-load-round-trips";
+
+  /**
+   * Number of fetch and lock requests for external tasks which locked at least one external task.
+   */
+  public final static String EXTERNAL_TASK_FETCHES = "external-task-fetches";
+
+  /**
+   * Number of database queries performed to load the executions, variables and byte arrays
+   * of locked external tasks. Divide by {@link #EXTERNAL_TASK_FETCHES} to obtain the queries
+   * per fetch.
+   */
+  public final static String EXTERNAL_TASK_PREFETCH_QUERIES = "external-task-prefetch-queries";
+
+  /**
+   * Number of lazy database queries saved by fetching the related entities of wide
+   * execution trees together with the tree, see
+   * {@link org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl#setExecutionTreeRelatedEntitiesPrefetchThreshold(int)}.
+   */
+  public final static String EXECUTION_TREE_PREFETCH_QUERIES_SAVED = "execution-tree-prefetch-queries-saved";
+
+  /**
+   * Number of case execution transitions and variable events for which sentries were evaluated.
+   */
+  public final static String CASE_TRANSITIONS = "case-transitions";
+
+  /**
+   * Accumulated time in microseconds spent collecting and evaluating the sentries affected by
+   * case transitions, excluding the plan items triggered by satisfied sentries.
+   * Divide by {@link #CASE_TRANSITIONS} to obtain the average latency.
+   */
+  public final static String CASE_TRANSITION_SENTRY_EVALUATION_TIME = "case-transition-sentry-evaluation-time";
+
+  /**
+   * Number of script sources compiled by the process engine. Scripts served from the
+   * compiled script cache are not counted.
+   */
+  public final static String SCRIPT_COMPILATIONS = "script-compilations";
+
+  /**
+   * Accumulated time in microseconds spent compiling script sources.
+   * Divide by {@link #SCRIPT_COMPILATIONS} to obtain the average compilation time.
+   */
+  public final static String SCRIPT_COMPILATION_TIME = "script-compilation-time";
+
+  /**
+   * Number of process instances migrated to another process definition.
+   */
+  public final static String MIGRATED_PROCESS_INSTANCES = "migrated-process-instances";
+
   /**
    * Number of executed decision elements in the DMN engine.
    */
@@ -0,0 +1,87 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.runtime;
+
+import org.camunda.bpm.engine.AuthorizationException;
+import org.camunda.bpm.engine.authorization.Permissions;
+import org.camunda.bpm.engine.authorization.Resources;
+
+import java.util.List;
+
+/**
+ * <p>A fluent builder for correlating many messages at once.</p>
+ *
+ * <p>Each message is defined by a {@link MessageCorrelationBuilder} and is correlated
+ * like {@link MessageCorrelationBuilder#correlateWithResult()}. Messages which are
+ * correlated by message name and business key only are resolved together with
+ * set-based queries. The messages are correlated in the given order and in as few
+ * transactions as possible: a new transaction is started when the chunk size is
+ * reached or when a message has the same business key as a message which was
+ * already correlated within the current transaction. Any other message is
+ * correlated in a transaction of its own.</p>
+ */
+public interface BulkMessageCorrelationBuilder {
+
+  /**
+   * <p>Adds a message to correlate. The terminal operations of the given
+   * builder must not be invoked.</p>
+   *
+   * @param messageCorrelation the message correlation created by
+   *          {@link org.camunda.bpm.engine.RuntimeService#createMessageCorrelation(String)}
+   * @return the builder
+   */
+  BulkMessageCorrelationBuilder correlation(MessageCorrelationBuilder messageCorrelation);
+
+  /**
+   * <p>Adds messages to correlate, see {@link #correlation(MessageCorrelationBuilder)}.</p>
+   *
+   * @param messageCorrelations the message correlations
+   * @return the builder
+   */
+  BulkMessageCorrelationBuilder correlations(List<MessageCorrelationBuilder> messageCorrelations);
+
+  /**
+   * <p>Sets the maximum number of messages which are correlated in one transaction.
+   * By default all messages are correlated in a single transaction.</p>
+   *
+   * @param chunkSize the maximum number of messages per transaction, must be positive
+   * @return the builder
+   */
+  BulkMessageCorrelationBuilder chunkSize(int chunkSize);
+
+  /**
+   * <p>Correlates the messages.</p>
+   *
+   * <p>A message which does not match exactly one execution or process definition
+   * does not fail the correlation but is reported by a result which is not
+   * {@link BulkMessageCorrelationResult#isCorrelated() correlated}. Any other
+   * exception rolls back the transaction of the current chunk and is rethrown;
+   * chunks which were correlated before are committed.</p>
+   *
+   * @return the results in the order in which the messages were added
+   *
+   * @throws AuthorizationException
+   *          if the user has no {@link Permissions#UPDATE} permission on {@link Resources#PROCESS_INSTANCE}
+   *          or no {@link Permissions#UPDATE_INSTANCE} permission on {@link Resources#PROCESS_DEFINITION}
+   *          (in case a message is correlated to a waiting execution) or
+   *          no {@link Permissions#CREATE} permission on {@link Resources#PROCESS_INSTANCE} and
+   *          no {@link Permissions#CREATE_INSTANCE} permission on {@link Resources#PROCESS_DEFINITION}
+   *          (in case a message starts a process instance)
+   */
+  List<BulkMessageCorrelationResult> correlate();
+
+}
@@ -52,6 +52,7 @@ create table ACT_GE_BYTEARRAY (
     CREATE_TIME_ timestamp,
     ROOT_PROC_INST_ID_ varchar(64),
     REMOVAL_TIME_ timestamp,
+    HASH_ varchar(64),
     primary key (ID_)
 );
 
@@ -289,6 +290,26 @@ create table ACT_RU_METER_LOG (
   primary key (ID_)
 );
 
+create table ACT_RU_METER_ROLLUP (
+  ID_ varchar(64) not null,
+  NAME_ varchar(64) not null,
+  REPORTER_ varchar(255),
+  VALUE_ bigint,
+  MILLISECONDS_ bigint not null,
+  PERIOD_ integer not null,
+  primary key (ID_)
+);
+
+create table ACT_RU_PROCDEF_STATS (
+  ID_ varchar(64) not null,
+  PROC_DEF_ID_ varchar(64) not null,
+  TENANT_ID_ varchar(64),
+  TYPE_ varchar(64) not null,
+  INCIDENT_TYPE_ varchar(255),
+  VALUE_ bigint,
+  primary key (ID_)
+);
+
 create table ACT_RU_EXT_TASK (
   ID_ varchar(64) not null,
   REV_ integer not null,
@@ -353,11 +374,14 @@ create index ACT_IDX_JOBDEF_TENANT_ID on ACT_RU_JOBDEF(TENANT_ID_);
 CREATE INDEX ACT_IDX_METER_LOG_MS ON ACT_RU_METER_LOG(MILLISECONDS_);
 CREATE INDEX ACT_IDX_METER_LOG_NAME_MS ON ACT_RU_METER_LOG(NAME_, MILLISECONDS_);
 CREATE INDEX ACT_IDX_METER_LOG_REPORT ON ACT_RU_METER_LOG(NAME_, REPORTER_, MILLISECONDS_);
+CREATE INDEX ACT_IDX_METER_ROLLUP ON ACT_RU_METER_ROLLUP(PERIOD_, NAME_, MILLISECONDS_);
 
 -- old metric timestamp column
 CREATE INDEX ACT_IDX_METER_LOG_TIME ON ACT_RU_METER_LOG(TIMESTAMP_);
 CREATE INDEX ACT_IDX_METER_LOG ON ACT_RU_METER_LOG(NAME_, TIMESTAMP_);
 
+create index ACT_IDX_PROCDEF_STATS_PROCDEF on ACT_RU_PROCDEF_STATS(PROC_DEF_ID_);
+
 create index ACT_IDX_EXT_TASK_TOPIC ON ACT_RU_EXT_TASK(TOPIC_NAME_);
 create index ACT_IDX_EXT_TASK_TENANT_ID ON ACT_RU_EXT_TASK(TENANT_ID_);
 create index ACT_IDX_EXT_TASK_PRIORITY ON ACT_RU_EXT_TASK(PRIORITY_);
@@ -38,6 +38,7 @@ create table ACT_HI_DECINST (
     DEC_REQ_ID_ varchar(64),
     DEC_REQ_KEY_ varchar(255),
     TENANT_ID_ varchar(64),
+    INOUT_BYTEARRAY_ID_ varchar(64),
     primary key (ID_)
 );
 
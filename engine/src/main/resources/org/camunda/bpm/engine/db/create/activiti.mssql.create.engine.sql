@@ -52,6 +52,7 @@ create table ACT_GE_BYTEARRAY (
     CREATE_TIME_ datetime2,
     ROOT_PROC_INST_ID_ nvarchar(64),
     REMOVAL_TIME_ datetime2,
+    HASH_ nvarchar(64),
     primary key (ID_)
 );
 
@@ -286,6 +287,26 @@ create table ACT_RU_METER_LOG (
   primary key (ID_)
 );
 
+create table ACT_RU_METER_ROLLUP (
+  ID_ nvarchar(64) not null,
+  NAME_ nvarchar(64) not null,
+  REPORTER_ nvarchar(255),
+  VALUE_ numeric(19,0),
+  MILLISECONDS_ numeric(19,0) not null,
+  PERIOD_ int not null,
+  primary key (ID_)
+);
+
+create table ACT_RU_PROCDEF_STATS (
+  ID_ nvarchar(64) not null,
+  PROC_DEF_ID_ nvarchar(64) not null,
+  TENANT_ID_ nvarchar(64),
+  TYPE_ nvarchar(64) not null,
+  INCIDENT_TYPE_ nvarchar(255),
+  VALUE_ numeric(19,0),
+  primary key (ID_)
+);
+
 create table ACT_RU_EXT_TASK (
   ID_ nvarchar(64) not null,
   REV_ integer not null,
@@ -353,11 +374,14 @@ create unique index ACT_UNIQ_VARIABLE on ACT_RU_VARIABLE(VAR_SCOPE_, NAME_);
 CREATE INDEX ACT_IDX_METER_LOG_MS ON ACT_RU_METER_LOG(MILLISECONDS_);
 CREATE INDEX ACT_IDX_METER_LOG_NAME_MS ON ACT_RU_METER_LOG(NAME_, MILLISECONDS_);
 CREATE INDEX ACT_IDX_METER_LOG_REPORT ON ACT_RU_METER_LOG(NAME_, REPORTER_, MILLISECONDS_);
+CREATE INDEX ACT_IDX_METER_ROLLUP ON ACT_RU_METER_ROLLUP(PERIOD_, NAME_, MILLISECONDS_);
 
 -- old metric timestamp column
 CREATE INDEX ACT_IDX_METER_LOG_TIME ON ACT_RU_METER_LOG(TIMESTAMP_);
 CREATE INDEX ACT_IDX_METER_LOG ON ACT_RU_METER_LOG(NAME_, TIMESTAMP_);
 
+create index ACT_IDX_PROCDEF_STATS_PROCDEF on ACT_RU_PROCDEF_STATS(PROC_DEF_ID_);
+
 create index ACT_IDX_EXT_TASK_TOPIC on ACT_RU_EXT_TASK(TOPIC_NAME_);
 create index ACT_IDX_EXT_TASK_TENANT_ID on ACT_RU_EXT_TASK(TENANT_ID_);
 create index ACT_IDX_EXT_TASK_PRIORITY ON ACT_RU_EXT_TASK(PRIORITY_);
@@ -231,6 +231,8 @@ create table ACT_HI_OP_LOG (
 	CATEGORY_ nvarchar(64),
 	EXTERNAL_TASK_ID_ nvarchar(64),
 	ANNOTATION_ nvarchar(4000),
+    PROPERTY_CHANGES_ nvarchar(4000),
+    PROPERTY_COUNT_ int,
     primary key (ID_)
 );
 
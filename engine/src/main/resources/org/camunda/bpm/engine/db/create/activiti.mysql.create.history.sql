@@ -232,6 +232,8 @@ create table ACT_HI_OP_LOG (
 	CATEGORY_ varchar(64),
 	EXTERNAL_TASK_ID_ varchar(64),
 	ANNOTATION_ varchar(4000),
+    PROPERTY_CHANGES_ varchar(4000),
+    PROPERTY_COUNT_ integer,
     primary key (ID_)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8 COLLATE utf8_bin;
 
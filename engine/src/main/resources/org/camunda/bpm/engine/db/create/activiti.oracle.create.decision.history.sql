@@ -38,6 +38,7 @@ create table ACT_HI_DECINST (
     DEC_REQ_ID_ NVARCHAR2(64),
     DEC_REQ_KEY_ NVARCHAR2(255),
     TENANT_ID_ NVARCHAR2(64),
+    INOUT_BYTEARRAY_ID_ NVARCHAR2(64),
     primary key (ID_)
 );
 
@@ -232,6 +232,8 @@ create table ACT_HI_OP_LOG (
 	CATEGORY_ NVARCHAR2(64),
 	EXTERNAL_TASK_ID_ NVARCHAR2(64),
 	ANNOTATION_ NVARCHAR2(2000),
+    PROPERTY_CHANGES_ NVARCHAR2(2000),
+    PROPERTY_COUNT_ INTEGER,
     primary key (ID_)
 );
 
@@ -138,11 +138,14 @@ drop index ACT_IDX_TASK_PROC_DEF_ID;
 DROP INDEX ACT_IDX_METER_LOG_MS;
 DROP INDEX ACT_IDX_METER_LOG_NAME_MS;
 DROP INDEX ACT_IDX_METER_LOG_REPORT;
+DROP INDEX ACT_IDX_METER_ROLLUP;
 
 -- old metric timestamp column
 DROP INDEX ACT_IDX_METER_LOG_TIME;
 DROP INDEX ACT_IDX_METER_LOG;
 
+drop index ACT_IDX_PROCDEF_STATS_PROCDEF;
+
 drop index ACT_IDX_AUTH_RESOURCE_ID;
 drop index ACT_IDX_EXT_TASK_TOPIC;
 drop index ACT_IDX_EXT_TASK_EXEC;
@@ -191,6 +194,8 @@ drop table ACT_RU_INCIDENT;
 drop table ACT_RU_AUTHORIZATION;
 drop table ACT_RU_FILTER;
 drop table ACT_RU_METER_LOG;
+drop table ACT_RU_METER_ROLLUP;
+drop table ACT_RU_PROCDEF_STATS;
 drop table ACT_RU_EXT_TASK;
 drop table ACT_RU_BATCH;
 drop table ACT_GE_SCHEMA_LOG;
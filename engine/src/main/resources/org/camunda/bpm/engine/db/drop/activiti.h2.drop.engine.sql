@@ -130,11 +130,14 @@ drop index ACT_IDX_INC_JOB_DEF;
 DROP INDEX ACT_IDX_METER_LOG_MS;
 DROP INDEX ACT_IDX_METER_LOG_NAME_MS;
 DROP INDEX ACT_IDX_METER_LOG_REPORT;
+DROP INDEX ACT_IDX_METER_ROLLUP;
 
 -- old metric timestamp column
 DROP INDEX ACT_IDX_METER_LOG_TIME;
 DROP INDEX ACT_IDX_METER_LOG;
 
+drop index ACT_IDX_PROCDEF_STATS_PROCDEF;
+
 drop index ACT_IDX_AUTH_RESOURCE_ID;
 drop index ACT_IDX_EXT_TASK_TOPIC;
 drop index ACT_IDX_EXT_TASK_EXEC;
@@ -184,6 +187,8 @@ drop table ACT_RU_INCIDENT if exists;
 drop table ACT_RU_AUTHORIZATION if exists;
 drop table ACT_RU_FILTER if exists;
 drop table ACT_RU_METER_LOG if exists;
+drop table ACT_RU_METER_ROLLUP if exists;
+drop table ACT_RU_PROCDEF_STATS if exists;
 drop table ACT_RU_EXT_TASK if exists;
 drop table ACT_RU_BATCH if exists;
 drop table ACT_GE_SCHEMA_LOG if exists;
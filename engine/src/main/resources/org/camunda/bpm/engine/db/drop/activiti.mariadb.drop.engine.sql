@@ -32,11 +32,14 @@ drop index ACT_IDX_AUTH_GROUP_ID on ACT_RU_AUTHORIZATION;
 DROP INDEX ACT_IDX_METER_LOG_MS ON ACT_RU_METER_LOG;
 DROP INDEX ACT_IDX_METER_LOG_NAME_MS ON ACT_RU_METER_LOG;
 DROP INDEX ACT_IDX_METER_LOG_REPORT ON ACT_RU_METER_LOG;
+DROP INDEX ACT_IDX_METER_ROLLUP ON ACT_RU_METER_ROLLUP;
 
 -- old metric timestamp column
 DROP INDEX ACT_IDX_METER_LOG_TIME ON ACT_RU_METER_LOG;
 DROP INDEX ACT_IDX_METER_LOG ON ACT_RU_METER_LOG;
 
+DROP INDEX ACT_IDX_PROCDEF_STATS_PROCDEF ON ACT_RU_PROCDEF_STATS;
+
 
 drop index ACT_IDX_EXT_TASK_TOPIC on ACT_RU_EXT_TASK;
 
@@ -176,6 +179,8 @@ drop table if exists ACT_RU_INCIDENT;
 drop table if exists ACT_RU_AUTHORIZATION;
 drop table if exists ACT_RU_FILTER;
 drop table if exists ACT_RU_METER_LOG;
+drop table if exists ACT_RU_METER_ROLLUP;
+drop table if exists ACT_RU_PROCDEF_STATS;
 drop table if exists ACT_RU_EXT_TASK;
 drop table if exists ACT_RU_BATCH;
 drop table if exists ACT_GE_SCHEMA_LOG;
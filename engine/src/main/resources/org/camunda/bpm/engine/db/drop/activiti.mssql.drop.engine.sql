@@ -36,11 +36,14 @@ drop index ACT_RU_AUTHORIZATION.ACT_IDX_AUTH_GROUP_ID;
 DROP INDEX ACT_RU_METER_LOG.ACT_IDX_METER_LOG_MS;
 DROP INDEX ACT_RU_METER_LOG.ACT_IDX_METER_LOG_NAME_MS;
 DROP INDEX ACT_RU_METER_LOG.ACT_IDX_METER_LOG_REPORT;
+DROP INDEX ACT_RU_METER_ROLLUP.ACT_IDX_METER_ROLLUP;
 
 -- old metric timestamp column
 DROP INDEX ACT_RU_METER_LOG.ACT_IDX_METER_LOG_TIME;
 DROP INDEX ACT_RU_METER_LOG.ACT_IDX_METER_LOG;
 
+DROP INDEX ACT_RU_PROCDEF_STATS.ACT_IDX_PROCDEF_STATS_PROCDEF;
+
 
 -- indexes for concurrency problems - https://app.camunda.com/jira/browse/CAM-1646 --
 drop index ACT_RU_EXECUTION.ACT_IDX_EXECUTION_PROC;
@@ -192,6 +195,8 @@ if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = '
 if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_RU_AUTHORIZATION') drop table ACT_RU_AUTHORIZATION;
 if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_RU_FILTER') drop table ACT_RU_FILTER;
 if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_RU_METER_LOG') drop table ACT_RU_METER_LOG;
+if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_RU_METER_ROLLUP') drop table ACT_RU_METER_ROLLUP;
+if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_RU_PROCDEF_STATS') drop table ACT_RU_PROCDEF_STATS;
 if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_RU_EXT_TASK') drop table ACT_RU_EXT_TASK;
 if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_RU_BATCH') drop table ACT_RU_BATCH;
 if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_GE_SCHEMA_LOG') drop table ACT_GE_SCHEMA_LOG;
@@ -38,3 +38,44 @@ ALTER TABLE ACT_RU_INCIDENT
 
 ALTER TABLE ACT_HI_INCIDENT
   ADD FAILED_ACTIVITY_ID_ varchar(255);
+
+-- materialized process definition statistics
+create table ACT_RU_PROCDEF_STATS (
+  ID_ varchar(64) not null,
+  PROC_DEF_ID_ varchar(64) not null,
+  TENANT_ID_ varchar(64),
+  TYPE_ varchar(64) not null,
+  INCIDENT_TYPE_ varchar(255),
+  VALUE_ bigint,
+  primary key (ID_)
+);
+
+create index ACT_IDX_PROCDEF_STATS_PROCDEF on ACT_RU_PROCDEF_STATS(PROC_DEF_ID_);
+
+-- compact decision input and output storage
+ALTER TABLE ACT_HI_DECINST
+  ADD INOUT_BYTEARRAY_ID_ varchar(64);
+
+-- pre-aggregated metrics
+create table ACT_RU_METER_ROLLUP (
+  ID_ varchar(64) not null,
+  NAME_ varchar(64) not null,
+  REPORTER_ varchar(255),
+  VALUE_ bigint,
+  MILLISECONDS_ bigint not null,
+  PERIOD_ integer not null,
+  primary key (ID_)
+);
+
+CREATE INDEX ACT_IDX_METER_ROLLUP ON ACT_RU_METER_ROLLUP(PERIOD_, NAME_, MILLISECONDS_);
+
+-- content hash of deployment resources
+ALTER TABLE ACT_GE_BYTEARRAY
+  ADD HASH_ varchar(64);
+
+-- compact user operation log entries
+ALTER TABLE ACT_HI_OP_LOG
+  ADD PROPERTY_CHANGES_ varchar(4000);
+
+ALTER TABLE ACT_HI_OP_LOG
+  ADD PROPERTY_COUNT_ integer;
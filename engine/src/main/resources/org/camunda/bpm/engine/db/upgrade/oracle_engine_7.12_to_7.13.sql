@@ -38,3 +38,44 @@ ALTER TABLE ACT_RU_INCIDENT
 
 ALTER TABLE ACT_HI_INCIDENT
   ADD FAILED_ACTIVITY_ID_ NVARCHAR2(255);
+
+-- materialized process definition statistics
+create table ACT_RU_PROCDEF_STATS (
+  ID_ NVARCHAR2(64) not null,
+  PROC_DEF_ID_ NVARCHAR2(64) not null,
+  TENANT_ID_ NVARCHAR2(64),
+  TYPE_ NVARCHAR2(64) not null,
+  INCIDENT_TYPE_ NVARCHAR2(255),
+  VALUE_ NUMBER(19,0),
+  primary key (ID_)
+);
+
+create index ACT_IDX_PROCDEF_STATS_PROCDEF on ACT_RU_PROCDEF_STATS(PROC_DEF_ID_);
+
+-- compact decision input and output storage
+ALTER TABLE ACT_HI_DECINST
+  ADD INOUT_BYTEARRAY_ID_ NVARCHAR2(64);
+
+-- pre-aggregated metrics
+create table ACT_RU_METER_ROLLUP (
+  ID_ NVARCHAR2(64) not null,
+  NAME_ NVARCHAR2(64) not null,
+  REPORTER_ NVARCHAR2(255),
+  VALUE_ NUMBER(19,0),
+  MILLISECONDS_ NUMBER(19,0) not null,
+  PERIOD_ INTEGER not null,
+  primary key (ID_)
+);
+
+CREATE INDEX ACT_IDX_METER_ROLLUP ON ACT_RU_METER_ROLLUP(PERIOD_, NAME_, MILLISECONDS_);
+
+-- content hash of deployment resources
+ALTER TABLE ACT_GE_BYTEARRAY
+  ADD HASH_ NVARCHAR2(64);
+
+-- compact user operation log entries
+ALTER TABLE ACT_HI_OP_LOG
+  ADD PROPERTY_CHANGES_ NVARCHAR2(2000);
+
+ALTER TABLE ACT_HI_OP_LOG
+  ADD PROPERTY_COUNT_ INTEGER;
@@ -0,0 +1,253 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.cfg;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import org.camunda.bpm.engine.FilterService;
+import org.camunda.bpm.engine.IdentityService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.filter.Filter;
+import org.camunda.bpm.engine.impl.TaskQueryImpl;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.QueryResultCache;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.QueryResultCacheStatistics;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.task.Task;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class QueryResultCacheTest {
+
+  protected ProcessEngineRule engineRule = new ProvidedProcessEngineRule();
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected TaskService taskService;
+  protected FilterService filterService;
+  protected IdentityService identityService;
+
+  protected QueryResultCache queryResultCache;
+
+  @Before
+  public void setUp() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    taskService = engineRule.getTaskService();
+    filterService = engineRule.getFilterService();
+    identityService = engineRule.getIdentityService();
+
+    queryResultCache = QueryResultCache.createDefaultQueryResultCache(100, 5000L);
+    processEngineConfiguration.setQueryResultCache(queryResultCache);
+  }
+
+  @After
+  public void tearDown() {
+    processEngineConfiguration.setQueryResultCache(null);
+    identityService.clearAuthentication();
+    ClockUtil.reset();
+
+    for (Filter filter : filterService.createFilterQuery().list()) {
+      filterService.deleteFilter(filter.getId());
+    }
+    for (Task task : taskService.createTaskQuery().list()) {
+      taskService.deleteTask(task.getId(), true);
+    }
+  }
+
+  @Test
+  public void shouldServeTaskQueryFromCache() {
+    // given
+    createTask("aTask");
+    List<Task> tasks = taskService.createTaskQuery().taskName("aTask").list();
+
+    // when
+    List<Task> cachedTasks = taskService.createTaskQuery().taskName("aTask").list();
+
+    // then
+    assertThat(cachedTasks).hasSize(1);
+    assertThat(cachedTasks.get(0).getId()).isEqualTo(tasks.get(0).getId());
+    assertThat(getStatistics().getHitCount()).isEqualTo(1);
+    assertThat(getStatistics().getMissCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldNotShareResultsOfDifferentParameters() {
+    // given
+    createTask("aTask");
+    createTask("anotherTask");
+    taskService.createTaskQuery().taskName("aTask").list();
+
+    // when
+    List<Task> tasks = taskService.createTaskQuery().taskName("anotherTask").list();
+
+    // then
+    assertThat(tasks).hasSize(1);
+    assertThat(tasks.get(0).getName()).isEqualTo("anotherTask");
+    assertThat(getStatistics().getHitCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldCacheCount() {
+    // given
+    createTask("aTask");
+    taskService.createTaskQuery().count();
+
+    // when
+    long count = taskService.createTaskQuery().count();
+
+    // then
+    assertThat(count).isEqualTo(1);
+    assertThat(getStatistics().getHitCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldInvalidateOnWrite() {
+    // given
+    createTask("aTask");
+    assertThat(taskService.createTaskQuery().count()).isEqualTo(1);
+
+    // when
+    createTask("anotherTask");
+
+    // then
+    assertThat(taskService.createTaskQuery().count()).isEqualTo(2);
+    assertThat(getStatistics().getHitCount()).isEqualTo(0);
+    assertThat(getStatistics().getInvalidationCount()).isGreaterThan(0);
+  }
+
+  @Test
+  public void shouldNotShareResultsBetweenUsers() {
+    // given
+    createTask("aTask");
+    identityService.setAuthentication("kermit", Arrays.asList("accounting"));
+    taskService.createTaskQuery().list();
+
+    // when
+    identityService.setAuthentication("fozzie", Arrays.asList("accounting"));
+    taskService.createTaskQuery().list();
+
+    // then
+    assertThat(getStatistics().getHitCount()).isEqualTo(0);
+    assertThat(getStatistics().getMissCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldExpireCachedResults() {
+    // given
+    createTask("aTask");
+    Date now = new Date();
+    ClockUtil.setCurrentTime(now);
+    taskService.createTaskQuery().list();
+
+    // when
+    ClockUtil.setCurrentTime(new Date(now.getTime() + 5000L));
+    taskService.createTaskQuery().list();
+
+    // then
+    assertThat(getStatistics().getHitCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldReportStaleness() {
+    // given
+    createTask("aTask");
+    Date now = new Date();
+    ClockUtil.setCurrentTime(now);
+    taskService.createTaskQuery().list();
+
+    // when
+    ClockUtil.setCurrentTime(new Date(now.getTime() + 1000L));
+    taskService.createTaskQuery().list();
+
+    // then
+    assertThat(getStatistics().getHitRatio()).isEqualTo(0.5);
+    assertThat(getStatistics().getMaxStaleness()).isEqualTo(1000L);
+    assertThat(getStatistics().getAverageStaleness()).isEqualTo(1000L);
+  }
+
+  @Test
+  public void shouldNotShareModifiedResults() {
+    // given
+    createTask("aTask");
+    Task task = taskService.createTaskQuery().singleResult();
+
+    // when
+    task.setName("modifiedTask");
+
+    // then
+    Task cachedTask = taskService.createTaskQuery().singleResult();
+    assertThat(cachedTask).isNotSameAs(task);
+    assertThat(cachedTask.getName()).isEqualTo("aTask");
+    assertThat(getStatistics().getHitCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldSaveCachedResult() {
+    // given
+    createTask("aTask");
+    taskService.createTaskQuery().singleResult();
+    Task task = taskService.createTaskQuery().singleResult();
+
+    // when
+    task.setName("modifiedTask");
+    taskService.saveTask(task);
+
+    // then
+    assertThat(taskService.createTaskQuery().singleResult().getName()).isEqualTo("modifiedTask");
+  }
+
+  @Test
+  public void shouldServeFilterResultsFromCache() {
+    // given
+    createTask("aTask");
+    Filter filter = filterService.newTaskFilter("tasks")
+        .setQuery(taskService.createTaskQuery().taskName("aTask"));
+    filterService.saveFilter(filter);
+    filterService.list(filter.getId());
+
+    // when
+    List<Task> tasks = filterService.list(filter.getId());
+
+    // then
+    assertThat(tasks).hasSize(1);
+    assertThat(getStatistics().getHitCount()).isEqualTo(1);
+  }
+
+  protected void createTask(String name) {
+    Task task = taskService.newTask();
+    task.setName(name);
+    taskService.saveTask(task);
+  }
+
+  protected QueryResultCacheStatistics getStatistics() {
+    return queryResultCache.getStatistics(TaskQueryImpl.class);
+  }
+
+}
@@ -0,0 +1,363 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.externaltask;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.engine.ExternalTaskService;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.authorization.Permissions;
+import org.camunda.bpm.engine.authorization.Resources;
+import org.camunda.bpm.engine.externaltask.ExternalTask;
+import org.camunda.bpm.engine.externaltask.ExternalTaskOperationResult;
+import org.camunda.bpm.engine.externaltask.LockedExternalTask;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.api.authorization.util.AuthorizationTestBaseRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class ExternalTaskBulkOperationsTest {
+
+  protected static final String WORKER_ID = "worker";
+  protected static final String TOPIC = "topic";
+  protected static final String FAILING_TOPIC = "failingTopic";
+  protected static final long LOCK_DURATION = 10000L;
+
+  protected static final BpmnModelInstance PROCESS = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .serviceTask("externalTask")
+        .camundaType("external")
+        .camundaTopic(TOPIC)
+      .userTask("afterExternalTask")
+      .endEvent()
+      .moveToActivity("externalTask")
+      .boundaryEvent()
+        .error("errorCode")
+      .userTask("afterBpmnError")
+      .endEvent()
+      .done();
+
+  protected static final BpmnModelInstance FAILING_PROCESS = Bpmn.createExecutableProcess("failingProcess")
+      .startEvent()
+      .serviceTask("externalTask")
+        .camundaType("external")
+        .camundaTopic(FAILING_TOPIC)
+      .serviceTask("failingTask")
+        .camundaClass("org.camunda.bpm.engine.test.api.externaltask.NotExistingDelegate")
+      .endEvent()
+      .done();
+
+  protected ProcessEngineRule engineRule = new ProvidedProcessEngineRule();
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+  protected AuthorizationTestBaseRule authRule = new AuthorizationTestBaseRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule).around(authRule);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected RuntimeService runtimeService;
+  protected TaskService taskService;
+  protected ExternalTaskService externalTaskService;
+
+  protected int defaultChunkSize;
+
+  @Before
+  public void init() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    runtimeService = engineRule.getRuntimeService();
+    taskService = engineRule.getTaskService();
+    externalTaskService = engineRule.getExternalTaskService();
+
+    defaultChunkSize = processEngineConfiguration.getExternalTaskBulkChunkSize();
+
+    testRule.deploy(PROCESS, FAILING_PROCESS);
+  }
+
+  @After
+  public void tearDown() {
+    authRule.disableAuthorization();
+    processEngineConfiguration.setExternalTaskBulkChunkSize(defaultChunkSize);
+    ClockUtil.reset();
+  }
+
+  @Test
+  public void shouldCompleteExternalTasks() {
+    // given
+    ProcessInstance firstProcessInstance = runtimeService.startProcessInstanceByKey("process");
+    ProcessInstance secondProcessInstance = runtimeService.startProcessInstanceByKey("process");
+    List<LockedExternalTask> tasks = fetchAndLock(TOPIC, 2);
+
+    Map<String, Map<String, Object>> variables = new LinkedHashMap<String, Map<String, Object>>();
+    variables.put(tasks.get(0).getId(), Variables.createVariables().putValue("foo", "bar"));
+    variables.put(tasks.get(1).getId(), null);
+
+    // when
+    Map<String, ExternalTaskOperationResult> results = externalTaskService.completeAll(WORKER_ID, variables);
+
+    // then
+    assertThat(results).containsOnlyKeys(tasks.get(0).getId(), tasks.get(1).getId());
+    assertThat(results.values()).containsOnly(ExternalTaskOperationResult.SUCCESS);
+
+    assertThat(externalTaskService.createExternalTaskQuery().count()).isEqualTo(0);
+    assertThat(taskService.createTaskQuery().taskDefinitionKey("afterExternalTask").count()).isEqualTo(2);
+
+    String processInstanceWithVariable = tasks.get(0).getProcessInstanceId();
+    assertThat(runtimeService.getVariable(processInstanceWithVariable, "foo")).isEqualTo("bar");
+    assertThat(Arrays.asList(firstProcessInstance.getId(), secondProcessInstance.getId())).contains(processInstanceWithVariable);
+  }
+
+  @Test
+  public void shouldSkipExternalTasksNotLockedByWorker() {
+    // given
+    runtimeService.startProcessInstanceByKey("process");
+    runtimeService.startProcessInstanceByKey("process");
+    List<LockedExternalTask> tasks = fetchAndLock(TOPIC, 1);
+    String lockedTaskId = tasks.get(0).getId();
+    String notLockedTaskId = externalTaskService.createExternalTaskQuery().notLocked().singleResult().getId();
+
+    Map<String, Map<String, Object>> variables = new HashMap<String, Map<String, Object>>();
+    variables.put(lockedTaskId, null);
+    variables.put(notLockedTaskId, null);
+    variables.put("notExisting", null);
+
+    // when
+    Map<String, ExternalTaskOperationResult> results = externalTaskService.completeAll(WORKER_ID, variables);
+
+    // then
+    assertThat(results)
+      .containsEntry(lockedTaskId, ExternalTaskOperationResult.SUCCESS)
+      .containsEntry(notLockedTaskId, ExternalTaskOperationResult.LOCKED_BY_OTHER_WORKER)
+      .containsEntry("notExisting", ExternalTaskOperationResult.NOT_FOUND);
+
+    assertThat(externalTaskService.createExternalTaskQuery().externalTaskId(notLockedTaskId).count()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldExtendLocks() {
+    // given
+    ClockUtil.setCurrentTime(new Date());
+    runtimeService.startProcessInstanceByKey("process");
+    runtimeService.startProcessInstanceByKey("process");
+    List<String> externalTaskIds = getIds(fetchAndLock(TOPIC, 2));
+
+    // when
+    Map<String, ExternalTaskOperationResult> results = externalTaskService.extendLocks(WORKER_ID, externalTaskIds, 2 * LOCK_DURATION);
+
+    // then
+    assertThat(results.values()).containsOnly(ExternalTaskOperationResult.SUCCESS);
+
+    Date expectedLockExpirationTime = new Date(ClockUtil.getCurrentTime().getTime() + 2 * LOCK_DURATION);
+    for (ExternalTask externalTask : externalTaskService.createExternalTaskQuery().list()) {
+      assertThat(externalTask.getLockExpirationTime()).isInSameSecondAs(expectedLockExpirationTime);
+    }
+  }
+
+  @Test
+  public void shouldNotExtendExpiredLocks() {
+    // given
+    runtimeService.startProcessInstanceByKey("process");
+    List<String> externalTaskIds = getIds(fetchAndLock(TOPIC, 1));
+
+    ClockUtil.setCurrentTime(new Date(ClockUtil.getCurrentTime().getTime() + 2 * LOCK_DURATION));
+
+    // when
+    Map<String, ExternalTaskOperationResult> results = externalTaskService.extendLocks(WORKER_ID, externalTaskIds, LOCK_DURATION);
+
+    // then
+    assertThat(results).containsEntry(externalTaskIds.get(0), ExternalTaskOperationResult.LOCK_EXPIRED);
+  }
+
+  @Test
+  public void shouldHandleFailures() {
+    // given
+    runtimeService.startProcessInstanceByKey("process");
+    runtimeService.startProcessInstanceByKey("process");
+    List<String> externalTaskIds = getIds(fetchAndLock(TOPIC, 2));
+
+    // when
+    Map<String, ExternalTaskOperationResult> results = externalTaskService
+        .handleFailures(WORKER_ID, externalTaskIds, "errorMessage", "errorDetails", 3, 0);
+
+    // then
+    assertThat(results.values()).containsOnly(ExternalTaskOperationResult.SUCCESS);
+
+    for (ExternalTask externalTask : externalTaskService.createExternalTaskQuery().list()) {
+      assertThat(externalTask.getRetries()).isEqualTo(3);
+      assertThat(externalTask.getErrorMessage()).isEqualTo("errorMessage");
+      assertThat(externalTaskService.getExternalTaskErrorDetails(externalTask.getId())).isEqualTo("errorDetails");
+    }
+  }
+
+  @Test
+  public void shouldHandleBpmnErrors() {
+    // given
+    runtimeService.startProcessInstanceByKey("process");
+    runtimeService.startProcessInstanceByKey("process");
+    List<String> externalTaskIds = getIds(fetchAndLock(TOPIC, 2));
+
+    // when
+    Map<String, ExternalTaskOperationResult> results = externalTaskService
+        .handleBpmnErrors(WORKER_ID, externalTaskIds, "errorCode", "errorMessage", null);
+
+    // then
+    assertThat(results.values()).containsOnly(ExternalTaskOperationResult.SUCCESS);
+    assertThat(taskService.createTaskQuery().taskDefinitionKey("afterBpmnError").count()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldHandleExternalTasksInChunks() {
+    // given
+    processEngineConfiguration.setExternalTaskBulkChunkSize(2);
+
+    for (int i = 0; i < 5; i++) {
+      runtimeService.startProcessInstanceByKey("process");
+    }
+    List<String> externalTaskIds = getIds(fetchAndLock(TOPIC, 5));
+
+    // when
+    Map<String, ExternalTaskOperationResult> results = externalTaskService
+        .handleFailures(WORKER_ID, externalTaskIds, "errorMessage", null, 3, 0);
+
+    // then
+    assertThat(results.keySet()).containsExactlyElementsOf(externalTaskIds);
+    assertThat(results.values()).containsOnly(ExternalTaskOperationResult.SUCCESS);
+    assertThat(externalTaskService.createExternalTaskQuery().withRetriesLeft().count()).isEqualTo(5);
+  }
+
+  @Test
+  public void shouldRollbackOnlyFailingChunk() {
+    // given
+    processEngineConfiguration.setExternalTaskBulkChunkSize(1);
+
+    runtimeService.startProcessInstanceByKey("process");
+    runtimeService.startProcessInstanceByKey("failingProcess");
+    String externalTaskId = fetchAndLock(TOPIC, 1).get(0).getId();
+    String failingExternalTaskId = fetchAndLock(FAILING_TOPIC, 1).get(0).getId();
+
+    Map<String, Map<String, Object>> variables = new LinkedHashMap<String, Map<String, Object>>();
+    variables.put(failingExternalTaskId, null);
+    variables.put(externalTaskId, null);
+
+    // when
+    Map<String, ExternalTaskOperationResult> results = externalTaskService.completeAll(WORKER_ID, variables);
+
+    // then
+    assertThat(results)
+      .containsEntry(failingExternalTaskId, ExternalTaskOperationResult.FAILED)
+      .containsEntry(externalTaskId, ExternalTaskOperationResult.SUCCESS);
+
+    ExternalTask failingExternalTask = externalTaskService.createExternalTaskQuery().singleResult();
+    assertThat(failingExternalTask.getId()).isEqualTo(failingExternalTaskId);
+    assertThat(failingExternalTask.getWorkerId()).isEqualTo(WORKER_ID);
+  }
+
+  @Test
+  public void shouldRollbackOnlyFailingExternalTaskOfChunk() {
+    // given
+    runtimeService.startProcessInstanceByKey("process");
+    runtimeService.startProcessInstanceByKey("failingProcess");
+    runtimeService.startProcessInstanceByKey("process");
+    List<String> externalTaskIds = getIds(fetchAndLock(TOPIC, 2));
+    String failingExternalTaskId = fetchAndLock(FAILING_TOPIC, 1).get(0).getId();
+
+    Map<String, Map<String, Object>> variables = new LinkedHashMap<String, Map<String, Object>>();
+    variables.put(externalTaskIds.get(0), null);
+    variables.put(failingExternalTaskId, null);
+    variables.put(externalTaskIds.get(1), null);
+
+    // when
+    Map<String, ExternalTaskOperationResult> results = externalTaskService.completeAll(WORKER_ID, variables);
+
+    // then
+    assertThat(results.keySet()).containsExactlyElementsOf(variables.keySet());
+    assertThat(results)
+      .containsEntry(externalTaskIds.get(0), ExternalTaskOperationResult.SUCCESS)
+      .containsEntry(failingExternalTaskId, ExternalTaskOperationResult.FAILED)
+      .containsEntry(externalTaskIds.get(1), ExternalTaskOperationResult.SUCCESS);
+
+    assertThat(taskService.createTaskQuery().taskDefinitionKey("afterExternalTask").count()).isEqualTo(2);
+    ExternalTask failingExternalTask = externalTaskService.createExternalTaskQuery().singleResult();
+    assertThat(failingExternalTask.getId()).isEqualTo(failingExternalTaskId);
+  }
+
+  @Test
+  public void shouldReportMissingAuthorizationPerExternalTask() {
+    // given
+    processEngineConfiguration.setExternalTaskBulkChunkSize(2);
+
+    ProcessInstance authorizedProcessInstance = runtimeService.startProcessInstanceByKey("process");
+    runtimeService.startProcessInstanceByKey("process");
+    ProcessInstance otherAuthorizedProcessInstance = runtimeService.startProcessInstanceByKey("process");
+    List<LockedExternalTask> externalTasks = fetchAndLock(TOPIC, 3);
+
+    authRule.createGrantAuthorization(Resources.PROCESS_INSTANCE, authorizedProcessInstance.getId(), "user", Permissions.UPDATE);
+    authRule.createGrantAuthorization(Resources.PROCESS_INSTANCE, otherAuthorizedProcessInstance.getId(), "user", Permissions.UPDATE);
+    authRule.enableAuthorization("user");
+
+    // when
+    Map<String, ExternalTaskOperationResult> results = externalTaskService
+        .extendLocks(WORKER_ID, getIds(externalTasks), LOCK_DURATION);
+
+    // then
+    authRule.disableAuthorization();
+
+    for (LockedExternalTask externalTask : externalTasks) {
+      String processInstanceId = externalTask.getProcessInstanceId();
+      if (processInstanceId.equals(authorizedProcessInstance.getId())
+          || processInstanceId.equals(otherAuthorizedProcessInstance.getId())) {
+        assertThat(results).containsEntry(externalTask.getId(), ExternalTaskOperationResult.SUCCESS);
+      }
+      else {
+        assertThat(results).containsEntry(externalTask.getId(), ExternalTaskOperationResult.NOT_AUTHORIZED);
+      }
+    }
+  }
+
+  protected List<LockedExternalTask> fetchAndLock(String topic, int maxTasks) {
+    return externalTaskService.fetchAndLock(maxTasks, WORKER_ID)
+      .topic(topic, LOCK_DURATION)
+      .execute();
+  }
+
+  protected List<String> getIds(List<LockedExternalTask> externalTasks) {
+    String[] ids = new String[externalTasks.size()];
+    for (int i = 0; i < ids.length; i++) {
+      ids[i] = externalTasks.get(i).getId();
+    }
+    return Arrays.asList(ids);
+  }
+
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.externaltask;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.ExternalTaskService;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.externaltask.LockedExternalTask;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.management.Metrics;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.camunda.commons.testing.ProcessEngineLoggingRule;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+import ch.qos.logback.classic.Level;
+
+public class ExternalTaskVariablePrefetchTest {
+
+  protected static final String WORKER_ID = "worker";
+  protected static final String TOPIC = "topic";
+  protected static final long LOCK_DURATION = 10000L;
+
+  protected static final String SELECT_EXECUTIONS_LOGGER = "org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity.selectExecutionsByIds";
+  protected static final String SELECT_VARIABLES_LOGGER = "org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceEntity.selectVariablesByExecutionIdsAndVariableNames";
+  protected static final String SELECT_BYTE_ARRAYS_LOGGER = "org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceEntity.selectByteArrays";
+  protected static final String SELECT_VARIABLE_LOGGER = "org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceEntity.selectVariablesByExecutionId";
+
+  protected static final BpmnModelInstance PROCESS = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .serviceTask("externalTask")
+        .camundaType("external")
+        .camundaTopic(TOPIC)
+        .multiInstance()
+          .cardinality("3")
+        .multiInstanceDone()
+      .endEvent()
+      .done();
+
+  protected ProcessEngineRule engineRule = new ProvidedProcessEngineRule();
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  @Rule
+  public ProcessEngineLoggingRule loggingRule = new ProcessEngineLoggingRule()
+      .watch(SELECT_EXECUTIONS_LOGGER, Level.DEBUG)
+      .watch(SELECT_VARIABLES_LOGGER, Level.DEBUG)
+      .watch(SELECT_BYTE_ARRAYS_LOGGER, Level.DEBUG)
+      .watch(SELECT_VARIABLE_LOGGER, Level.DEBUG);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected RuntimeService runtimeService;
+  protected ExternalTaskService externalTaskService;
+
+  @Before
+  public void init() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    runtimeService = engineRule.getRuntimeService();
+    externalTaskService = engineRule.getExternalTaskService();
+
+    testRule.deploy(PROCESS);
+  }
+
+  @Test
+  public void shouldFetchVariablesOfAllTasksWithConstantNumberOfQueries() {
+    // given
+    runtimeService.startProcessInstanceByKey("process", Variables.createVariables()
+        .putValue("foo", "bar")
+        .putValue("bytes", Variables.byteArrayValue("baz".getBytes())));
+    long fetches = getMeterTotal(Metrics.EXTERNAL_TASK_FETCHES);
+    long queries = getMeterTotal(Metrics.EXTERNAL_TASK_PREFETCH_QUERIES);
+
+    // when
+    List<LockedExternalTask> tasks = externalTaskService.fetchAndLock(3, WORKER_ID)
+      .topic(TOPIC, LOCK_DURATION)
+      .variables("foo", "bytes", "loopCounter")
+      .execute();
+
+    // then
+    assertThat(tasks).hasSize(3);
+    for (LockedExternalTask task : tasks) {
+      assertThat(task.getVariables()).containsOnlyKeys("foo", "bytes", "loopCounter");
+      assertThat(task.getVariables().get("foo")).isEqualTo("bar");
+      assertThat((byte[]) task.getVariables().get("bytes")).isEqualTo("baz".getBytes());
+    }
+
+    // three levels of executions, the variables and the byte arrays
+    assertThat(loggingRule.getFilteredLog(SELECT_EXECUTIONS_LOGGER, "Preparing")).hasSize(3);
+    assertThat(loggingRule.getFilteredLog(SELECT_VARIABLES_LOGGER, "Preparing")).hasSize(1);
+    assertThat(loggingRule.getFilteredLog(SELECT_BYTE_ARRAYS_LOGGER, "Preparing")).hasSize(1);
+    // and no variables are loaded per execution
+    assertThat(loggingRule.getFilteredLog(SELECT_VARIABLE_LOGGER, "Preparing")).isEmpty();
+
+    assertThat(getMeterTotal(Metrics.EXTERNAL_TASK_FETCHES)).isEqualTo(fetches + 1);
+    assertThat(getMeterTotal(Metrics.EXTERNAL_TASK_PREFETCH_QUERIES)).isEqualTo(queries + 5);
+  }
+
+  @Test
+  public void shouldFetchLocalVariables() {
+    // given
+    runtimeService.startProcessInstanceByKey("process", Variables.createVariables().putValue("foo", "bar"));
+
+    // when
+    List<LockedExternalTask> tasks = externalTaskService.fetchAndLock(3, WORKER_ID)
+      .topic(TOPIC, LOCK_DURATION)
+      .variables("foo", "loopCounter")
+      .localVariables()
+      .execute();
+
+    // then
+    assertThat(tasks).hasSize(3);
+    for (LockedExternalTask task : tasks) {
+      assertThat(task.getVariables()).containsOnlyKeys("loopCounter");
+    }
+  }
+
+  @Test
+  public void shouldFetchAllVariables() {
+    // given
+    runtimeService.startProcessInstanceByKey("process", Variables.createVariables().putValue("foo", "bar"));
+
+    // when
+    List<LockedExternalTask> tasks = externalTaskService.fetchAndLock(3, WORKER_ID)
+      .topic(TOPIC, LOCK_DURATION)
+      .execute();
+
+    // then
+    assertThat(tasks).hasSize(3);
+    for (LockedExternalTask task : tasks) {
+      assertThat(task.getVariables()).containsKeys("foo", "loopCounter", "nrOfInstances");
+    }
+  }
+
+  @Test
+  public void shouldFetchErrorDetails() {
+    // given
+    runtimeService.startProcessInstanceByKey("process");
+    List<LockedExternalTask> tasks = externalTaskService.fetchAndLock(3, WORKER_ID)
+      .topic(TOPIC, LOCK_DURATION)
+      .execute();
+    for (LockedExternalTask task : tasks) {
+      externalTaskService.handleFailure(task.getId(), WORKER_ID, "failed", "details of " + task.getId(), 1, 0);
+    }
+
+    // when
+    tasks = externalTaskService.fetchAndLock(3, WORKER_ID)
+      .topic(TOPIC, LOCK_DURATION)
+      .execute();
+
+    // then
+    assertThat(tasks).hasSize(3);
+    for (LockedExternalTask task : tasks) {
+      assertThat(task.getErrorDetails()).isEqualTo("details of " + task.getId());
+    }
+  }
+
+  protected long getMeterTotal(String name) {
+    return processEngineConfiguration.getMetricsRegistry().getMeterByName(name).getTotal();
+  }
+
+}
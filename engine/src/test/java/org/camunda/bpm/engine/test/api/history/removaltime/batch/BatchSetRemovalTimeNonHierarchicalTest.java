@@ -41,7 +41,9 @@ import org.camunda.bpm.engine.history.HistoricProcessInstanceQuery;
 import org.camunda.bpm.engine.history.HistoricTaskInstance;
 import org.camunda.bpm.engine.history.HistoricVariableInstance;
 import org.camunda.bpm.engine.history.UserOperationLogEntry;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.history.event.HistoricDecisionInputInstanceEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoricDecisionInstanceEntity;
 import org.camunda.bpm.engine.impl.history.event.HistoricDecisionOutputInstanceEntity;
 import org.camunda.bpm.engine.impl.history.event.HistoricExternalTaskLogEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.AttachmentEntity;
@@ -1201,6 +1203,52 @@ public class BatchSetRemovalTimeNonHierarchicalTest {
     assertThat(byteArrayEntity.getRemovalTime()).isEqualTo(REMOVAL_TIME);
   }
 
+  @Test
+  @Deployment(resources = {
+    "org/camunda/bpm/engine/test/api/history/testDmnWithPojo.dmn11.xml"
+  })
+  public void shouldSetRemovalTime_ByteArray_DecisionInputOutputCompact() {
+    // given
+    ProcessEngineConfigurationImpl processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    processEngineConfiguration.setHistoricDecisionInputOutputCompact(true);
+
+    try {
+      testRule.process().ruleTask("testDecision").deploy().startWithVariables(
+        Variables.createVariables()
+          .putValue("pojo", new TestPojo("okay", 13.37))
+      );
+    }
+    finally {
+      processEngineConfiguration.setHistoricDecisionInputOutputCompact(false);
+    }
+
+    HistoricDecisionInstance historicDecisionInstance = historyService.createHistoricDecisionInstanceQuery()
+      .rootDecisionInstancesOnly()
+      .singleResult();
+
+    String byteArrayId = ((HistoricDecisionInstanceEntity) historicDecisionInstance).getInputOutputByteArrayId();
+
+    ByteArrayEntity byteArrayEntity = testRule.findByteArrayById(byteArrayId);
+
+    // assume
+    assertThat(byteArrayEntity.getRemovalTime()).isNull();
+
+    HistoricProcessInstanceQuery query = historyService.createHistoricProcessInstanceQuery();
+
+    // when
+    testRule.syncExec(
+      historyService.setRemovalTimeToHistoricProcessInstances()
+        .absoluteRemovalTime(REMOVAL_TIME)
+        .byQuery(query)
+        .executeAsync()
+    );
+
+    byteArrayEntity = testRule.findByteArrayById(byteArrayId);
+
+    // then
+    assertThat(byteArrayEntity.getRemovalTime()).isEqualTo(REMOVAL_TIME);
+  }
+
   @Test
   @Deployment(resources = {
     "org/camunda/bpm/engine/test/api/history/testDmnWithPojo.dmn11.xml"
@@ -0,0 +1,323 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.mgmt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.impl.BootstrapEngineCommand;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.jobexecutor.ProcessDefinitionStatisticsReconciliationJobHandler;
+import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionStatisticsCounterEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionStatisticsCounterManager;
+import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionStatisticsCounterTotal;
+import org.camunda.bpm.engine.management.IncidentStatistics;
+import org.camunda.bpm.engine.management.ProcessDefinitionStatistics;
+import org.camunda.bpm.engine.runtime.Incident;
+import org.camunda.bpm.engine.runtime.Job;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class MaterializedProcessDefinitionStatisticsTest {
+
+  protected static final BpmnModelInstance PROCESS = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .serviceTask()
+        .camundaAsyncBefore()
+        .camundaExpression("${true}")
+      .userTask()
+      .endEvent()
+      .done();
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule(configuration ->
+      configuration.setProcessDefinitionStatisticsMaterialized(true));
+
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected RuntimeService runtimeService;
+  protected ManagementService managementService;
+
+  @Before
+  public void init() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    runtimeService = engineRule.getRuntimeService();
+    managementService = engineRule.getManagementService();
+
+    deleteReconciliationJobs();
+  }
+
+  @After
+  public void tearDown() {
+    processEngineConfiguration.setProcessDefinitionStatisticsMaterialized(true);
+    deleteReconciliationJobs();
+  }
+
+  @Test
+  public void shouldCountInstancesFailedJobsAndIncidents() {
+    // given
+    String processDefinitionId = testRule.deployAndGetDefinition(PROCESS).getId();
+    runtimeService.startProcessInstanceByKey("process");
+    runtimeService.startProcessInstanceByKey("process");
+    runtimeService.startProcessInstanceByKey("process");
+
+    // when
+    Job job = managementService.createJobQuery().listPage(0, 1).get(0);
+    managementService.setJobRetries(job.getId(), 0);
+
+    // then
+    ProcessDefinitionStatistics statistics = getStatistics();
+    assertThat(statistics.getId()).isEqualTo(processDefinitionId);
+    assertThat(statistics.getInstances()).isEqualTo(3);
+    assertThat(statistics.getFailedJobs()).isEqualTo(1);
+    assertThat(statistics.getIncidentStatistics()).hasSize(1);
+
+    IncidentStatistics incidentStatistics = statistics.getIncidentStatistics().get(0);
+    assertThat(incidentStatistics.getIncidentType()).isEqualTo(Incident.FAILED_JOB_HANDLER_TYPE);
+    assertThat(incidentStatistics.getIncidentCount()).isEqualTo(1);
+
+    assertMatchesAggregatedStatistics(statistics);
+  }
+
+  @Test
+  public void shouldDecrementCountsWhenInstancesEnd() {
+    // given
+    testRule.deploy(PROCESS);
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process");
+    runtimeService.startProcessInstanceByKey("process");
+
+    Job job = managementService.createJobQuery().processInstanceId(processInstance.getId()).singleResult();
+    managementService.setJobRetries(job.getId(), 0);
+
+    // when
+    managementService.setJobRetries(job.getId(), 1);
+    managementService.executeJob(job.getId());
+    engineRule.getTaskService().complete(engineRule.getTaskService().createTaskQuery()
+        .processInstanceId(processInstance.getId()).singleResult().getId());
+
+    // then
+    ProcessDefinitionStatistics statistics = getStatistics();
+    assertThat(statistics.getInstances()).isEqualTo(1);
+    assertThat(statistics.getFailedJobs()).isEqualTo(0);
+    assertThat(statistics.getIncidentStatistics()).isEmpty();
+
+    assertMatchesAggregatedStatistics(statistics);
+  }
+
+  @Test
+  public void shouldNotCountInstanceStartedAndDeletedInSameCommand() {
+    // given
+    testRule.deploy(Bpmn.createExecutableProcess("process").startEvent().endEvent().done());
+
+    // when
+    runtimeService.startProcessInstanceByKey("process");
+
+    // then
+    assertThat(getStatistics().getInstances()).isEqualTo(0);
+    assertThat(getCounterRowCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldCorrectAndCompactCountersOnReconciliation() {
+    // given
+    final String processDefinitionId = testRule.deployAndGetDefinition(PROCESS).getId();
+    runtimeService.startProcessInstanceByKey("process");
+    runtimeService.startProcessInstanceByKey("process");
+
+    // a counter which is out of sync
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        ProcessDefinitionStatisticsCounterEntity counter = new ProcessDefinitionStatisticsCounterEntity(processDefinitionId,
+            null, ProcessDefinitionStatisticsCounterManager.TYPE_INSTANCES, null);
+        counter.setValue(5);
+        commandContext.getDbEntityManager().insert(counter);
+        return null;
+      }
+    });
+    assertThat(getStatistics().getInstances()).isEqualTo(7);
+    assertThat(getCounterRowCount()).isEqualTo(3);
+
+    // when
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        commandContext.getProcessDefinitionStatisticsCounterManager().reconcile();
+        return null;
+      }
+    });
+
+    // then
+    assertThat(getStatistics().getInstances()).isEqualTo(2);
+    assertThat(getCounterRowCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldKeepDeltaInsertedDuringReconciliation() {
+    // given
+    testRule.deploy(PROCESS);
+    runtimeService.startProcessInstanceByKey("process");
+    runtimeService.startProcessInstanceByKey("process");
+    assertThat(getCounterRowCount()).isEqualTo(2);
+
+    // when
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        ProcessDefinitionStatisticsCounterManager counterManager = commandContext.getProcessDefinitionStatisticsCounterManager();
+        List<ProcessDefinitionStatisticsCounterTotal> snapshot = counterManager.selectCounterSnapshot();
+
+        // a delta which is committed after the snapshot is selected
+        processEngineConfiguration.getCommandExecutorTxRequiresNew().execute(new Command<Void>() {
+          public Void execute(CommandContext commandContext) {
+            runtimeService.startProcessInstanceByKey("process");
+            return null;
+          }
+        });
+
+        counterManager.reconcile(snapshot);
+        return null;
+      }
+    });
+
+    // then
+    ProcessDefinitionStatistics statistics = getStatistics();
+    assertThat(statistics.getInstances()).isEqualTo(3);
+    assertThat(getCounterRowCount()).isEqualTo(2);
+    assertMatchesAggregatedStatistics(statistics);
+  }
+
+  @Test
+  public void shouldScheduleReconciliationJob() {
+    // when
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(new BootstrapEngineCommand());
+
+    // then
+    List<Job> jobs = getReconciliationJobs();
+    assertThat(jobs).hasSize(1);
+
+    // and the job reschedules itself
+    managementService.executeJob(jobs.get(0).getId());
+
+    List<Job> rescheduledJobs = getReconciliationJobs();
+    assertThat(rescheduledJobs).hasSize(1);
+    assertThat(rescheduledJobs.get(0).getId()).isNotEqualTo(jobs.get(0).getId());
+  }
+
+  @Test
+  public void shouldInitializeCountersOnBootstrap() {
+    // given
+    processEngineConfiguration.setProcessDefinitionStatisticsMaterialized(false);
+    testRule.deploy(PROCESS);
+    runtimeService.startProcessInstanceByKey("process");
+    runtimeService.startProcessInstanceByKey("process");
+    processEngineConfiguration.setProcessDefinitionStatisticsMaterialized(true);
+
+    assertThat(getCounterRowCount()).isEqualTo(0);
+
+    // when
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(new BootstrapEngineCommand());
+
+    // then
+    ProcessDefinitionStatistics statistics = getStatistics();
+    assertThat(statistics.getInstances()).isEqualTo(2);
+    assertMatchesAggregatedStatistics(statistics);
+  }
+
+  @Test
+  public void shouldNotOpenCounterSessionWhenDisabled() {
+    // given
+    processEngineConfiguration.setProcessDefinitionStatisticsMaterialized(false);
+    testRule.deploy(PROCESS);
+
+    // when
+    boolean sessionOpened = processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Boolean>() {
+      public Boolean execute(CommandContext commandContext) {
+        engineRule.getRuntimeService().startProcessInstanceByKey("process");
+        return commandContext.getSessions().containsKey(ProcessDefinitionStatisticsCounterManager.class);
+      }
+    });
+
+    // then
+    assertThat(sessionOpened).isFalse();
+    assertThat(getCounterRowCount()).isEqualTo(0);
+  }
+
+  protected ProcessDefinitionStatistics getStatistics() {
+    List<ProcessDefinitionStatistics> statistics = managementService.createProcessDefinitionStatisticsQuery()
+        .includeFailedJobs()
+        .includeIncidents()
+        .list();
+    assertThat(statistics).hasSize(1);
+    return statistics.get(0);
+  }
+
+  protected void assertMatchesAggregatedStatistics(ProcessDefinitionStatistics materializedStatistics) {
+    processEngineConfiguration.setProcessDefinitionStatisticsMaterialized(false);
+    ProcessDefinitionStatistics statistics = getStatistics();
+    processEngineConfiguration.setProcessDefinitionStatisticsMaterialized(true);
+
+    assertThat(materializedStatistics.getInstances()).isEqualTo(statistics.getInstances());
+    assertThat(materializedStatistics.getFailedJobs()).isEqualTo(statistics.getFailedJobs());
+    assertThat(materializedStatistics.getIncidentStatistics()).hasSameSizeAs(statistics.getIncidentStatistics());
+  }
+
+  protected long getCounterRowCount() {
+    return managementService.getTableCount().get(managementService.getTableName(ProcessDefinitionStatisticsCounterEntity.class));
+  }
+
+  protected List<Job> getReconciliationJobs() {
+    return processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<List<Job>>() {
+      public List<Job> execute(CommandContext commandContext) {
+        return commandContext.getJobManager().findJobsByHandlerType(ProcessDefinitionStatisticsReconciliationJobHandler.TYPE);
+      }
+    });
+  }
+
+  protected void deleteReconciliationJobs() {
+    final List<Job> jobs = getReconciliationJobs();
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        for (Job job : jobs) {
+          commandContext.getJobManager().deleteJob((JobEntity) job);
+        }
+        commandContext.getHistoricJobLogManager().deleteHistoricJobLogsByHandlerType(ProcessDefinitionStatisticsReconciliationJobHandler.TYPE);
+        return null;
+      }
+    });
+  }
+
+}
@@ -0,0 +1,266 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.mgmt.metrics;
+
+import static org.camunda.bpm.engine.management.Metrics.ACTIVTY_INSTANCE_START;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cmd.RollupMetricsCmd;
+import org.camunda.bpm.engine.impl.metrics.Meter;
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.management.MetricIntervalValue;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.commons.testing.ProcessEngineLoggingRule;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import ch.qos.logback.classic.Level;
+
+public class MetricsRollupTest {
+
+  protected static final String REPORTER_ID = "REPORTER_ID";
+  protected static final long HOUR = 60 * 60 * 1000L;
+  protected static final long DAY = 24 * HOUR;
+  protected static final long START = 2 * DAY;
+  protected static final long REPORT_INTERVAL = 20 * 60 * 1000L;
+  protected static final int DAYS = 3;
+
+  protected static final String METRICS_LOGGER = "org.camunda.bpm.engine.metrics";
+  protected static final String SELECT_PROPERTY_LOGGER = "org.camunda.bpm.engine.impl.persistence.entity.PropertyEntity.selectProperty";
+
+  @Rule
+  public ProcessEngineRule engineRule = new ProvidedProcessEngineRule();
+
+  @Rule
+  public ProcessEngineLoggingRule loggingRule = new ProcessEngineLoggingRule()
+      .watch(METRICS_LOGGER)
+      .watch(SELECT_PROPERTY_LOGGER, Level.DEBUG);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected ManagementService managementService;
+  protected MetricsRegistry metricsRegistry;
+  protected String lastReporterId;
+  protected long reportedValue;
+
+  @Before
+  public void setUp() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    managementService = engineRule.getManagementService();
+    metricsRegistry = processEngineConfiguration.getMetricsRegistry();
+
+    clearMetrics();
+
+    processEngineConfiguration.setDbMetricsReporterActivate(true);
+    lastReporterId = processEngineConfiguration.getDbMetricsReporter().getMetricsCollectionTask().getReporter();
+    processEngineConfiguration.getDbMetricsReporter().setReporterId(REPORTER_ID);
+  }
+
+  @After
+  public void tearDown() {
+    ClockUtil.reset();
+    processEngineConfiguration.setMetricsRollupEnabled(false);
+    processEngineConfiguration.setMetricsRawDataRetentionDays(null);
+    processEngineConfiguration.setDbMetricsReporterActivate(false);
+    processEngineConfiguration.getDbMetricsReporter().setReporterId(lastReporterId);
+    clearMetrics();
+  }
+
+  @Test
+  public void shouldReturnSameIntervalsFromRollups() {
+    // given
+    reportMetrics();
+    List<String> hourlyIntervals = toStrings(managementService.createMetricsQuery().name(ACTIVTY_INSTANCE_START).interval(3600));
+    List<String> dailyIntervals = toStrings(managementService.createMetricsQuery().name(ACTIVTY_INSTANCE_START).interval(86400));
+    long sum = managementService.createMetricsQuery().name(ACTIVTY_INSTANCE_START).sum();
+
+    // when
+    processEngineConfiguration.setMetricsRollupEnabled(true);
+    ClockUtil.setCurrentTime(new Date(START + DAYS * DAY + HOUR));
+    rollupMetrics();
+
+    // then
+    assertEquals(DAYS * 24, hourlyIntervals.size());
+    assertEquals(DAYS, dailyIntervals.size());
+    assertEquals(reportedValue, sum);
+
+    assertEquals(hourlyIntervals, toStrings(managementService.createMetricsQuery().name(ACTIVTY_INSTANCE_START).interval(3600)));
+    assertEquals(dailyIntervals, toStrings(managementService.createMetricsQuery().name(ACTIVTY_INSTANCE_START).interval(86400)));
+    assertEquals(sum, managementService.createMetricsQuery().name(ACTIVTY_INSTANCE_START).sum());
+  }
+
+  @Test
+  public void shouldRollupWhileReporting() {
+    // given
+    processEngineConfiguration.setMetricsRollupEnabled(true);
+
+    // when
+    reportMetrics();
+
+    // then
+    assertEquals(reportedValue, managementService.createMetricsQuery().name(ACTIVTY_INSTANCE_START).sum());
+    assertEquals(reportedValue, sumOf(managementService.createMetricsQuery().name(ACTIVTY_INSTANCE_START).interval(3600)));
+    assertEquals(reportedValue, sumOf(managementService.createMetricsQuery().name(ACTIVTY_INSTANCE_START).interval(86400)));
+    assertEquals(reportedValue, sumOf(managementService.createMetricsQuery().name(ACTIVTY_INSTANCE_START).interval(900)));
+  }
+
+  @Test
+  public void shouldUseRawDataForUnalignedTimeRange() {
+    // given
+    processEngineConfiguration.setMetricsRollupEnabled(true);
+    reportMetrics();
+
+    // when
+    long sum = managementService.createMetricsQuery()
+        .name(ACTIVTY_INSTANCE_START)
+        .startDate(new Date(START + HOUR + REPORT_INTERVAL))
+        .endDate(new Date(START + 2 * HOUR))
+        .sum();
+
+    // then only the reports at 01:20 and 01:40 are counted
+    assertEquals(valueAt(START + HOUR + REPORT_INTERVAL) + valueAt(START + HOUR + 2 * REPORT_INTERVAL), sum);
+  }
+
+  @Test
+  public void shouldDeleteRolledUpRawData() {
+    // given
+    processEngineConfiguration.setMetricsRollupEnabled(true);
+    processEngineConfiguration.setMetricsRawDataRetentionDays(1);
+    reportMetrics();
+
+    // when
+    ClockUtil.setCurrentTime(new Date(START + DAYS * DAY + HOUR));
+    rollupMetrics();
+
+    // then the aligned queries still contain all reported metrics
+    assertEquals(reportedValue, managementService.createMetricsQuery().name(ACTIVTY_INSTANCE_START).sum());
+    assertEquals(DAYS * 24, managementService.createMetricsQuery().name(ACTIVTY_INSTANCE_START).interval(3600).size());
+
+    // and the unaligned queries only the metrics of the last day
+    List<MetricIntervalValue> intervals = managementService.createMetricsQuery().name(ACTIVTY_INSTANCE_START).interval(900);
+    for (MetricIntervalValue interval : intervals) {
+      assertTrue(interval.getTimestamp().getTime() >= START + (DAYS - 1) * DAY);
+    }
+  }
+
+  @Test
+  public void shouldNotSelectRollupsWhenDisabled() {
+    // given
+    reportMetrics();
+
+    // when
+    long sum = managementService.createMetricsQuery().name(ACTIVTY_INSTANCE_START).sum();
+
+    // then
+    assertEquals(reportedValue, sum);
+    assertTrue(loggingRule.getFilteredLog(SELECT_PROPERTY_LOGGER, "Preparing").isEmpty());
+  }
+
+  @Test
+  public void shouldOnlyDeleteRollupsOfPeriodsEndingBeforeTimestamp() {
+    // given
+    processEngineConfiguration.setMetricsRollupEnabled(true);
+    reportMetrics();
+    ClockUtil.setCurrentTime(new Date(START + DAYS * DAY + HOUR));
+    rollupMetrics();
+
+    // when the meter logs up to 01:20 are deleted
+    managementService.deleteMetrics(new Date(START + HOUR + REPORT_INTERVAL));
+
+    // then the rollup of the first hour is deleted, but not the one of the second hour
+    List<MetricIntervalValue> intervals = managementService.createMetricsQuery()
+        .name(ACTIVTY_INSTANCE_START)
+        .startDate(new Date(START))
+        .endDate(new Date(START + 2 * HOUR))
+        .interval(3600);
+
+    assertEquals(1, intervals.size());
+    assertEquals(START + HOUR, intervals.get(0).getTimestamp().getTime());
+    assertEquals(valueAt(START + HOUR) + valueAt(START + HOUR + REPORT_INTERVAL) + valueAt(START + HOUR + 2 * REPORT_INTERVAL),
+        intervals.get(0).getValue());
+  }
+
+  @Test
+  public void shouldLogUnalignedQueryAfterRawDataRetention() {
+    // given
+    processEngineConfiguration.setMetricsRollupEnabled(true);
+    processEngineConfiguration.setMetricsRawDataRetentionDays(1);
+    reportMetrics();
+    ClockUtil.setCurrentTime(new Date(START + DAYS * DAY + HOUR));
+    rollupMetrics();
+
+    // when
+    managementService.createMetricsQuery().name(ACTIVTY_INSTANCE_START).interval(900);
+
+    // then
+    assertEquals(1, loggingRule.getFilteredLog(METRICS_LOGGER, "is not aligned with the hourly rollups").size());
+  }
+
+  protected void reportMetrics() {
+    for (long time = START; time < START + DAYS * DAY; time += REPORT_INTERVAL) {
+      ClockUtil.setCurrentTime(new Date(time));
+      long value = valueAt(time);
+      metricsRegistry.markOccurrence(ACTIVTY_INSTANCE_START, value);
+      reportedValue += value;
+      processEngineConfiguration.getDbMetricsReporter().reportNow();
+    }
+  }
+
+  protected long valueAt(long time) {
+    return (time - START) / REPORT_INTERVAL % 7 + 1;
+  }
+
+  protected void rollupMetrics() {
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(new RollupMetricsCmd());
+  }
+
+  protected void clearMetrics() {
+    Collection<Meter> meters = metricsRegistry.getMeters().values();
+    for (Meter meter : meters) {
+      meter.getAndClear();
+    }
+    managementService.deleteMetrics(null);
+  }
+
+  protected List<String> toStrings(List<MetricIntervalValue> intervals) {
+    List<String> result = new ArrayList<String>();
+    for (MetricIntervalValue interval : intervals) {
+      result.add(interval.getTimestamp().getTime() + " " + interval.getName() + " " + interval.getReporter() + " " + interval.getValue());
+    }
+    return result;
+  }
+
+  protected long sumOf(List<MetricIntervalValue> intervals) {
+    long sum = 0;
+    for (MetricIntervalValue interval : intervals) {
+      sum += interval.getValue();
+    }
+    return sum;
+  }
+
+}
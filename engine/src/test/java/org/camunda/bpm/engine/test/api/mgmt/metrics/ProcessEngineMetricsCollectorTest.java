@@ -0,0 +1,122 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.mgmt.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.metrics.exporter.ExportedMetric;
+import org.camunda.bpm.engine.impl.metrics.exporter.OpenMetricsWriter;
+import org.camunda.bpm.engine.impl.metrics.exporter.ProcessEngineMetricsCollector;
+import org.camunda.bpm.engine.management.Metrics;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class ProcessEngineMetricsCollectorTest {
+
+  protected ProcessEngineRule engineRule = new ProvidedProcessEngineRule();
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected ProcessEngineMetricsCollector collector;
+
+  @Before
+  public void setUp() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    collector = new ProcessEngineMetricsCollector(processEngineConfiguration);
+  }
+
+  @Test
+  public void shouldExportMeterTotalWhichIsNotResetByReporting() {
+    // given
+    double before = getValue("camunda.activity.instance.start", null);
+
+    // when
+    processEngineConfiguration.getMetricsRegistry().markOccurrence(Metrics.ACTIVTY_INSTANCE_START, 3);
+    processEngineConfiguration.getDbMetricsReporter().reportNow();
+
+    // then
+    assertThat(getValue("camunda.activity.instance.start", null)).isEqualTo(before + 3);
+
+    engineRule.getManagementService().deleteMetrics(null);
+  }
+
+  @Test
+  public void shouldExportDeploymentCacheSize() {
+    // given
+    processEngineConfiguration.getDeploymentCache().discardProcessDefinitionCache();
+
+    // when
+    testRule.deploy(Bpmn.createExecutableProcess("process").startEvent().endEvent().done());
+
+    // then
+    assertThat(getValue("camunda.deployment.cache.size", "process-definition")).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldExportJobExecutorAndIdGeneratorMetrics() {
+    // when
+    List<ExportedMetric> metrics = collector.getMetrics();
+
+    // then
+    assertThat(metrics).extracting("name")
+      .contains("camunda.job.executor.queue.depth",
+          "camunda.job.executor.threads.active",
+          "camunda.job.acquisition.cycle.duration.seconds");
+
+    for (ExportedMetric metric : metrics) {
+      assertThat(metric.getTags()).containsEntry(ProcessEngineMetricsCollector.TAG_ENGINE, processEngineConfiguration.getProcessEngineName());
+    }
+  }
+
+  @Test
+  public void shouldWriteOpenMetricsText() {
+    // when
+    String text = new OpenMetricsWriter().write(collector.getMetrics());
+
+    // then
+    String engineTag = "engine=\"" + processEngineConfiguration.getProcessEngineName() + "\"";
+    assertThat(text)
+      .contains("# TYPE camunda_activity_instance_start counter\n")
+      .contains("camunda_activity_instance_start_total{" + engineTag + "} ")
+      .contains("# TYPE camunda_deployment_cache_size gauge\n")
+      .contains("camunda_deployment_cache_size{cache=\"process-definition\"," + engineTag + "} ")
+      .endsWith("# EOF\n");
+  }
+
+  protected double getValue(String name, String cache) {
+    for (ExportedMetric metric : collector.getMetrics()) {
+      if (metric.getName().equals(name)
+          && (cache == null || cache.equals(metric.getTags().get(ProcessEngineMetricsCollector.TAG_CACHE)))) {
+        return metric.getValue();
+      }
+    }
+    throw new AssertionError("metric " + name + " not found");
+  }
+
+}
@@ -0,0 +1,260 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.runtime.BulkMessageCorrelationResult;
+import org.camunda.bpm.engine.runtime.MessageCorrelationBuilder;
+import org.camunda.bpm.engine.runtime.MessageCorrelationResultType;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class BulkMessageCorrelationTest {
+
+  protected static final BpmnModelInstance CATCH_PROCESS = Bpmn.createExecutableProcess("catchProcess")
+      .startEvent()
+      .intermediateCatchEvent("catch")
+        .message("continue")
+      .userTask("afterCatch")
+      .endEvent()
+      .done();
+
+  protected static final BpmnModelInstance TWO_CATCHES_PROCESS = Bpmn.createExecutableProcess("twoCatchesProcess")
+      .startEvent()
+      .intermediateCatchEvent("firstCatch")
+        .message("continue")
+      .intermediateCatchEvent("secondCatch")
+        .message("continue")
+      .userTask("afterCatches")
+      .endEvent()
+      .done();
+
+  protected static final BpmnModelInstance MESSAGE_START_PROCESS = Bpmn.createExecutableProcess("messageStartProcess")
+      .startEvent()
+        .message("start")
+      .userTask("afterStart")
+      .endEvent()
+      .done();
+
+  protected static final BpmnModelInstance CANCELLING_PROCESS = Bpmn.createExecutableProcess("cancellingProcess")
+      .startEvent()
+      .intermediateCatchEvent("catchCancel")
+        .message("cancel")
+      .serviceTask("cancelOther")
+        .camundaExpression("${execution.processEngineServices.runtimeService.deleteProcessInstance(otherProcessInstanceId, null)}")
+      .endEvent()
+      .done();
+
+  protected ProcessEngineRule engineRule = new ProvidedProcessEngineRule();
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected RuntimeService runtimeService;
+  protected TaskService taskService;
+
+  @Before
+  public void init() {
+    runtimeService = engineRule.getRuntimeService();
+    taskService = engineRule.getTaskService();
+  }
+
+  @Test
+  public void shouldCorrelateMessagesByBusinessKey() {
+    // given
+    testRule.deploy(CATCH_PROCESS);
+    List<MessageCorrelationBuilder> correlations = new ArrayList<MessageCorrelationBuilder>();
+    for (int i = 0; i < 5; i++) {
+      runtimeService.startProcessInstanceByKey("catchProcess", "key" + i);
+      correlations.add(runtimeService.createMessageCorrelation("continue").processInstanceBusinessKey("key" + i));
+    }
+
+    // when
+    List<BulkMessageCorrelationResult> results = runtimeService.createBulkMessageCorrelation()
+        .correlations(correlations)
+        .correlate();
+
+    // then
+    assertThat(results).hasSize(5);
+    for (int i = 0; i < 5; i++) {
+      BulkMessageCorrelationResult result = results.get(i);
+      assertThat(result.isCorrelated()).isTrue();
+      assertThat(result.getBusinessKey()).isEqualTo("key" + i);
+      assertThat(result.getCorrelationResult().getResultType()).isEqualTo(MessageCorrelationResultType.Execution);
+    }
+    assertThat(taskService.createTaskQuery().taskDefinitionKey("afterCatch").count()).isEqualTo(5);
+    assertThat(runtimeService.createEventSubscriptionQuery().count()).isZero();
+  }
+
+  @Test
+  public void shouldStartProcessInstancesByMessage() {
+    // given
+    testRule.deploy(MESSAGE_START_PROCESS);
+
+    // when
+    List<BulkMessageCorrelationResult> results = runtimeService.createBulkMessageCorrelation()
+        .correlation(runtimeService.createMessageCorrelation("start").processInstanceBusinessKey("a"))
+        .correlation(runtimeService.createMessageCorrelation("start").processInstanceBusinessKey("b"))
+        .correlate();
+
+    // then
+    assertThat(results).hasSize(2);
+    for (BulkMessageCorrelationResult result : results) {
+      assertThat(result.isCorrelated()).isTrue();
+      ProcessInstance processInstance = result.getCorrelationResult().getProcessInstance();
+      assertThat(processInstance.getBusinessKey()).isEqualTo(result.getBusinessKey());
+    }
+    assertThat(runtimeService.createProcessInstanceQuery().processDefinitionKey("messageStartProcess").count()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldReportMismatchingMessage() {
+    // given
+    testRule.deploy(CATCH_PROCESS);
+    runtimeService.startProcessInstanceByKey("catchProcess", "key");
+
+    // when
+    List<BulkMessageCorrelationResult> results = runtimeService.createBulkMessageCorrelation()
+        .correlation(runtimeService.createMessageCorrelation("continue").processInstanceBusinessKey("unknown"))
+        .correlation(runtimeService.createMessageCorrelation("continue").processInstanceBusinessKey("key"))
+        .correlate();
+
+    // then
+    assertThat(results).hasSize(2);
+    assertThat(results.get(0).isCorrelated()).isFalse();
+    assertThat(results.get(0).getCorrelationResult()).isNull();
+    assertThat(results.get(0).getErrorMessage()).contains("No process definition or execution matches the parameters");
+    assertThat(results.get(1).isCorrelated()).isTrue();
+  }
+
+  @Test
+  public void shouldReportMessageMatchingSeveralExecutions() {
+    // given
+    testRule.deploy(CATCH_PROCESS);
+    runtimeService.startProcessInstanceByKey("catchProcess", "key");
+    runtimeService.startProcessInstanceByKey("catchProcess", "key");
+
+    // when
+    List<BulkMessageCorrelationResult> results = runtimeService.createBulkMessageCorrelation()
+        .correlation(runtimeService.createMessageCorrelation("continue").processInstanceBusinessKey("key"))
+        .correlate();
+
+    // then
+    assertThat(results).hasSize(1);
+    assertThat(results.get(0).isCorrelated()).isFalse();
+    assertThat(results.get(0).getErrorMessage()).contains("2 executions match the correlation keys");
+    assertThat(runtimeService.createEventSubscriptionQuery().count()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldCorrelateSameBusinessKeyInOrder() {
+    // given
+    testRule.deploy(TWO_CATCHES_PROCESS);
+    runtimeService.startProcessInstanceByKey("twoCatchesProcess", "key");
+
+    // when
+    List<BulkMessageCorrelationResult> results = runtimeService.createBulkMessageCorrelation()
+        .correlation(runtimeService.createMessageCorrelation("continue").processInstanceBusinessKey("key"))
+        .correlation(runtimeService.createMessageCorrelation("continue").processInstanceBusinessKey("key"))
+        .correlate();
+
+    // then
+    assertThat(results).hasSize(2);
+    assertThat(results.get(0).isCorrelated()).isTrue();
+    assertThat(results.get(1).isCorrelated()).isTrue();
+    assertThat(taskService.createTaskQuery().taskDefinitionKey("afterCatches").count()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldCorrelateMessagesInChunks() {
+    // given
+    testRule.deploy(CATCH_PROCESS);
+    List<MessageCorrelationBuilder> correlations = new ArrayList<MessageCorrelationBuilder>();
+    for (int i = 0; i < 5; i++) {
+      runtimeService.startProcessInstanceByKey("catchProcess", "key" + i);
+      correlations.add(runtimeService.createMessageCorrelation("continue").processInstanceBusinessKey("key" + i));
+    }
+
+    // when
+    List<BulkMessageCorrelationResult> results = runtimeService.createBulkMessageCorrelation()
+        .correlations(correlations)
+        .chunkSize(2)
+        .correlate();
+
+    // then
+    assertThat(results).hasSize(5);
+    assertThat(taskService.createTaskQuery().taskDefinitionKey("afterCatch").count()).isEqualTo(5);
+  }
+
+  @Test
+  public void shouldCorrelateMessageByProcessInstanceId() {
+    // given
+    testRule.deploy(CATCH_PROCESS);
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("catchProcess");
+
+    // when
+    List<BulkMessageCorrelationResult> results = runtimeService.createBulkMessageCorrelation()
+        .correlation(runtimeService.createMessageCorrelation("continue").processInstanceId(processInstance.getId()))
+        .correlation(runtimeService.createMessageCorrelation("continue").processInstanceId(processInstance.getId()))
+        .correlate();
+
+    // then
+    assertThat(results).hasSize(2);
+    assertThat(results.get(0).isCorrelated()).isTrue();
+    assertThat(results.get(1).isCorrelated()).isFalse();
+    assertThat(taskService.createTaskQuery().taskDefinitionKey("afterCatch").count()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldSkipEventSubscriptionRemovedByFormerCorrelation() {
+    // given
+    testRule.deploy(CATCH_PROCESS, CANCELLING_PROCESS);
+    ProcessInstance catchingInstance = runtimeService.startProcessInstanceByKey("catchProcess", "b");
+    runtimeService.startProcessInstanceByKey("cancellingProcess", "a",
+        Variables.createVariables().putValue("otherProcessInstanceId", catchingInstance.getId()));
+
+    // when
+    List<BulkMessageCorrelationResult> results = runtimeService.createBulkMessageCorrelation()
+        .correlation(runtimeService.createMessageCorrelation("cancel").processInstanceBusinessKey("a"))
+        .correlation(runtimeService.createMessageCorrelation("continue").processInstanceBusinessKey("b"))
+        .correlate();
+
+    // then the subscription of the deleted process instance is not triggered
+    assertThat(results).hasSize(2);
+    assertThat(results.get(0).isCorrelated()).isTrue();
+    assertThat(results.get(1).isCorrelated()).isFalse();
+    assertThat(runtimeService.createProcessInstanceQuery().count()).isZero();
+    assertThat(taskService.createTaskQuery().count()).isZero();
+  }
+
+}
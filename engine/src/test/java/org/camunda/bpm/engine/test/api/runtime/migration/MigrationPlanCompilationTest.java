@@ -0,0 +1,175 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.runtime.migration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.migration.CompiledMigrationPlanCache;
+import org.camunda.bpm.engine.management.Metrics;
+import org.camunda.bpm.engine.migration.MigrationPlan;
+import org.camunda.bpm.engine.repository.ProcessDefinition;
+import org.camunda.bpm.engine.task.Task;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.api.runtime.migration.models.ProcessModels;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.engine.variable.Variables;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class MigrationPlanCompilationTest {
+
+  protected ProcessEngineRule rule = new ProvidedProcessEngineRule();
+  protected MigrationTestRule testHelper = new MigrationTestRule(rule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(rule).around(testHelper);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected RuntimeService runtimeService;
+  protected TaskService taskService;
+
+  protected ProcessDefinition sourceProcessDefinition;
+  protected ProcessDefinition targetProcessDefinition;
+  protected MigrationPlan migrationPlan;
+
+  @Before
+  public void setUp() {
+    processEngineConfiguration = rule.getProcessEngineConfiguration();
+    runtimeService = rule.getRuntimeService();
+    taskService = rule.getTaskService();
+
+    sourceProcessDefinition = testHelper.deployAndGetDefinition(ProcessModels.ONE_TASK_PROCESS);
+    targetProcessDefinition = testHelper.deployAndGetDefinition(ProcessModels.ONE_TASK_PROCESS);
+
+    migrationPlan = runtimeService
+      .createMigrationPlan(sourceProcessDefinition.getId(), targetProcessDefinition.getId())
+      .mapEqualActivities()
+      .build();
+  }
+
+  @Test
+  public void shouldReuseCompiledMigrationPlan() {
+    // given
+    CompiledMigrationPlanCache cache = processEngineConfiguration.getCompiledMigrationPlanCache();
+    cache.clear();
+
+    String firstInstanceId = startProcessInstance("first");
+    String secondInstanceId = startProcessInstance("second");
+
+    runtimeService.newMigration(migrationPlan).processInstanceIds(firstInstanceId).execute();
+    long hits = cache.getHitCount();
+
+    // when
+    runtimeService.newMigration(migrationPlan).processInstanceIds(secondInstanceId).execute();
+
+    // then
+    assertThat(cache.getHitCount()).isEqualTo(hits + 1);
+    assertThat(cache.size()).isEqualTo(1);
+    assertMigrated(secondInstanceId, "second");
+  }
+
+  @Test
+  public void shouldMigrateMultipleProcessInstancesWithPrefetchedEntities() {
+    // given
+    List<String> processInstanceIds = new ArrayList<String>();
+    for (int i = 0; i < 5; i++) {
+      processInstanceIds.add(startProcessInstance("value" + i));
+    }
+
+    // when
+    runtimeService.newMigration(migrationPlan)
+      .processInstanceIds(processInstanceIds)
+      .skipCustomListeners()
+      .skipIoMappings()
+      .execute();
+
+    // then
+    for (int i = 0; i < 5; i++) {
+      assertMigrated(processInstanceIds.get(i), "value" + i);
+    }
+  }
+
+  @Test
+  public void shouldMigrateMultipleProcessInstancesWithoutPrefetching() {
+    // given
+    List<String> processInstanceIds = new ArrayList<String>();
+    for (int i = 0; i < 3; i++) {
+      processInstanceIds.add(startProcessInstance("value" + i));
+    }
+
+    // when
+    runtimeService.newMigration(migrationPlan)
+      .processInstanceIds(processInstanceIds)
+      .execute();
+
+    // then
+    for (int i = 0; i < 3; i++) {
+      assertMigrated(processInstanceIds.get(i), "value" + i);
+    }
+  }
+
+  @Test
+  public void shouldReportMigratedProcessInstances() {
+    // given
+    List<String> processInstanceIds = new ArrayList<String>();
+    for (int i = 0; i < 3; i++) {
+      processInstanceIds.add(startProcessInstance("value" + i));
+    }
+    long migratedInstances = getMigratedInstances();
+
+    // when
+    runtimeService.newMigration(migrationPlan)
+      .processInstanceIds(processInstanceIds)
+      .execute();
+
+    // then
+    assertThat(getMigratedInstances()).isEqualTo(migratedInstances + 3);
+  }
+
+  protected String startProcessInstance(String value) {
+    return runtimeService
+      .startProcessInstanceById(sourceProcessDefinition.getId(), Variables.createVariables().putValue("var", value))
+      .getId();
+  }
+
+  protected void assertMigrated(String processInstanceId, String expectedValue) {
+    assertThat(runtimeService.createProcessInstanceQuery().processInstanceId(processInstanceId).singleResult()
+        .getProcessDefinitionId())
+      .isEqualTo(targetProcessDefinition.getId());
+
+    Task task = taskService.createTaskQuery().processInstanceId(processInstanceId).singleResult();
+    assertThat(task.getProcessDefinitionId()).isEqualTo(targetProcessDefinition.getId());
+    assertThat(task.getTaskDefinitionKey()).isEqualTo(ProcessModels.USER_TASK_ID);
+
+    assertThat(runtimeService.getVariable(processInstanceId, "var")).isEqualTo(expectedValue);
+  }
+
+  protected long getMigratedInstances() {
+    return processEngineConfiguration.getMetricsRegistry()
+      .getMeterByName(Metrics.MIGRATED_PROCESS_INSTANCES)
+      .get();
+  }
+
+}
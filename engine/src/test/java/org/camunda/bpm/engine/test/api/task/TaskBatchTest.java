@@ -0,0 +1,272 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.task;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import org.camunda.bpm.engine.BadUserRequestException;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.batch.Batch;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.management.JobDefinition;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.task.Task;
+import org.camunda.bpm.engine.test.Deployment;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.RequiredHistoryLevel;
+import org.camunda.bpm.engine.test.api.runtime.BatchHelper;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.commons.testing.ProcessEngineLoggingRule;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+import ch.qos.logback.classic.Level;
+
+public class TaskBatchTest {
+
+  protected static final String CMD_LOGGER = "org.camunda.bpm.engine.cmd";
+  protected static final String SELECT_TASK_LOGGER = "org.camunda.bpm.engine.impl.persistence.entity.TaskEntity.selectTask";
+  protected static final String SELECT_TASKS_BY_IDS_LOGGER = "org.camunda.bpm.engine.impl.persistence.entity.TaskEntity.selectTasksByIds";
+
+  protected ProcessEngineRule engineRule = new ProvidedProcessEngineRule();
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  @Rule
+  public ProcessEngineLoggingRule loggingRule = new ProcessEngineLoggingRule()
+      .watch(CMD_LOGGER)
+      .watch(SELECT_TASK_LOGGER, Level.DEBUG)
+      .watch(SELECT_TASKS_BY_IDS_LOGGER, Level.DEBUG);
+
+  protected ProcessEngineConfigurationImpl configuration;
+  protected int defaultInvocationsPerBatchJob;
+
+  protected RuntimeService runtimeService;
+  protected TaskService taskService;
+
+  protected BatchHelper helper = new BatchHelper(engineRule) {
+    @Override
+    public JobDefinition getExecutionJobDefinition(Batch batch) {
+      return getManagementService().createJobDefinitionQuery()
+          .jobDefinitionId(batch.getBatchJobDefinitionId())
+          .singleResult();
+    }
+  };
+
+  @Before
+  public void init() {
+    runtimeService = engineRule.getRuntimeService();
+    taskService = engineRule.getTaskService();
+    configuration = engineRule.getProcessEngineConfiguration();
+    defaultInvocationsPerBatchJob = configuration.getInvocationsPerBatchJob();
+  }
+
+  @After
+  public void removeBatches() {
+    helper.removeAllRunningAndHistoricBatches();
+    configuration.setInvocationsPerBatchJob(defaultInvocationsPerBatchJob);
+  }
+
+  @Test
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void shouldClaimTasksByIds() {
+    // given
+    startProcessInstances(2);
+    List<String> taskIds = getTaskIds();
+
+    // when
+    Batch batch = taskService.claimAsync(taskIds, null, "kermit");
+    executeBatch(batch);
+
+    // then
+    assertThat(batch.getType()).isEqualTo(Batch.TYPE_TASK_SET_ASSIGNEE);
+    assertThat(taskService.createTaskQuery().taskAssignee("kermit").count()).isEqualTo(2);
+  }
+
+  @Test
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void shouldSkipTasksClaimedByOtherUser() {
+    // given
+    configuration.setInvocationsPerBatchJob(3);
+    startProcessInstances(3);
+    List<String> taskIds = getTaskIds();
+    taskService.claim(taskIds.get(1), "gonzo");
+
+    Batch batch = taskService.claimAsync(taskIds, null, "kermit");
+
+    // when
+    executeBatch(batch);
+
+    // then
+    assertThat(taskService.createTaskQuery().taskAssignee("kermit").count()).isEqualTo(2);
+    assertThat(taskService.createTaskQuery().taskId(taskIds.get(1)).singleResult().getAssignee()).isEqualTo("gonzo");
+    assertThat(engineRule.getManagementService().createJobQuery().withException().count()).isZero();
+    assertThat(loggingRule.getFilteredLog(CMD_LOGGER, "Task '" + taskIds.get(1) + "' could not be claimed")).hasSize(1);
+  }
+
+  @Test
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void shouldPrefetchTasksOfJobWithOneQuery() {
+    // given
+    configuration.setInvocationsPerBatchJob(3);
+    startProcessInstances(3);
+    Batch batch = taskService.setAssigneeAsync(getTaskIds(), null, "kermit");
+    helper.executeSeedJob(batch);
+
+    // when
+    helper.executeJobs(batch);
+
+    // then
+    assertThat(taskService.createTaskQuery().taskAssignee("kermit").count()).isEqualTo(3);
+    assertThat(loggingRule.getFilteredLog(SELECT_TASKS_BY_IDS_LOGGER, "Preparing")).hasSize(1);
+    // the tasks are served from the entity cache instead of being selected one by one
+    assertThat(loggingRule.getFilteredLog(SELECT_TASK_LOGGER, "Preparing")).isEmpty();
+  }
+
+  @Test
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void shouldSetAssigneeByQuery() {
+    // given
+    startProcessInstances(3);
+    String claimedTaskId = getTaskIds().get(0);
+    taskService.claim(claimedTaskId, "gonzo");
+
+    // when
+    Batch batch = taskService.setAssigneeAsync(null, taskService.createTaskQuery(), "kermit");
+    executeBatch(batch);
+
+    // then
+    assertThat(taskService.createTaskQuery().taskAssignee("kermit").count()).isEqualTo(3);
+  }
+
+  @Test
+  @RequiredHistoryLevel(ProcessEngineConfiguration.HISTORY_ACTIVITY)
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void shouldCompleteTasksWithVariables() {
+    // given
+    List<ProcessInstance> processInstances = startProcessInstances(2);
+    List<String> taskIds = getTaskIds();
+    Date date = new Date(1000L);
+
+    // when
+    Batch batch = taskService.completeAsync(taskIds, null, Variables.createVariables()
+        .putValue("approved", true)
+        .putValue("amount", 42)
+        .putValue("date", date));
+    executeBatch(batch);
+
+    // then
+    assertThat(batch.getType()).isEqualTo(Batch.TYPE_TASK_COMPLETE);
+    assertThat(taskService.createTaskQuery().count()).isZero();
+    assertThat(runtimeService.createProcessInstanceQuery().count()).isZero();
+
+
+    String processInstanceId = processInstances.get(0).getId();
+    assertThat(engineRule.getHistoryService().createHistoricVariableInstanceQuery()
+        .processInstanceId(processInstanceId)
+        .variableName("amount")
+        .singleResult()
+        .getValue()).isEqualTo(42);
+    assertThat(engineRule.getHistoryService().createHistoricVariableInstanceQuery()
+        .processInstanceId(processInstanceId)
+        .variableName("date")
+        .singleResult()
+        .getValue()).isEqualTo(date);
+  }
+
+  @Test
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void shouldSkipTasksWhichDoNotExistAnymore() {
+    // given
+    startProcessInstances(2);
+    List<String> taskIds = getTaskIds();
+    Batch batch = taskService.completeAsync(taskIds, null, null);
+
+    taskService.complete(taskIds.get(0));
+
+    // when
+    executeBatch(batch);
+
+    // then
+    assertThat(taskService.createTaskQuery().count()).isZero();
+  }
+
+  @Test
+  public void shouldFailWithoutTasks() {
+    try {
+      // when
+      taskService.claimAsync(Collections.<String>emptyList(), null, "kermit");
+      fail("exception expected");
+    }
+    catch (BadUserRequestException e) {
+      // then
+      assertThat(e.getMessage()).contains("taskIds is empty");
+    }
+  }
+
+  @Test
+  public void shouldFailWithUnsupportedVariable() {
+    try {
+      // when
+      taskService.completeAsync(Arrays.asList("aTaskId"), null,
+          Variables.createVariables().putValue("bytes", new byte[] { 1 }));
+      fail("exception expected");
+    }
+    catch (BadUserRequestException e) {
+      // then
+      assertThat(e.getMessage()).contains("bytes");
+    }
+  }
+
+  protected List<ProcessInstance> startProcessInstances(int count) {
+    ProcessInstance[] processInstances = new ProcessInstance[count];
+    for (int i = 0; i < count; i++) {
+      processInstances[i] = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    }
+    return Arrays.asList(processInstances);
+  }
+
+  protected List<String> getTaskIds() {
+    List<String> taskIds = new ArrayList<>();
+    for (Task task : taskService.createTaskQuery().list()) {
+      taskIds.add(task.getId());
+    }
+    return taskIds;
+  }
+
+  protected void executeBatch(Batch batch) {
+    helper.executeSeedJob(batch);
+    helper.executeJobs(batch);
+  }
+
+}
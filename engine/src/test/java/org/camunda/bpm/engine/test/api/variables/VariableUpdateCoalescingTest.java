@@ -0,0 +1,163 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.variables;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.camunda.bpm.engine.ProcessEngineConfiguration.HISTORY_FULL;
+import static org.camunda.bpm.engine.variable.Variables.objectValue;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.HistoryService;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.history.HistoricDetail;
+import org.camunda.bpm.engine.history.HistoricVariableUpdate;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.test.Deployment;
+import org.camunda.bpm.engine.test.RequiredHistoryLevel;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.engine.variable.Variables;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class VariableUpdateCoalescingTest {
+
+  protected static final String ONE_TASK_PROCESS = "org/camunda/bpm/engine/test/api/variables/oneTaskProcess.bpmn20.xml";
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule() {
+    public ProcessEngineConfiguration configureEngine(ProcessEngineConfigurationImpl configuration) {
+      configuration.setJavaSerializationFormatEnabled(true);
+      configuration.setVariableUpdateCoalescing(true);
+      return configuration;
+    }
+  };
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  public ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected RuntimeService runtimeService;
+  protected HistoryService historyService;
+
+  @Before
+  public void init() {
+    runtimeService = engineRule.getRuntimeService();
+    historyService = engineRule.getHistoryService();
+  }
+
+  @Test
+  @Deployment(resources = ONE_TASK_PROCESS)
+  @RequiredHistoryLevel(HISTORY_FULL)
+  public void shouldLogOnlyFinalValuePerCommand() {
+    // given
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess",
+        Variables.createVariables().putValue("var", "initial"));
+
+    // when
+    setVariableRepeatedly(processInstance.getId(), "var", "a", "b", "c");
+
+    // then
+    assertThat(runtimeService.getVariable(processInstance.getId(), "var")).isEqualTo("c");
+
+    List<HistoricDetail> details = historyService.createHistoricDetailQuery()
+        .variableUpdates()
+        .orderPartiallyByOccurrence()
+        .asc()
+        .list();
+
+    assertThat(details).hasSize(2);
+    assertThat(((HistoricVariableUpdate) details.get(0)).getValue()).isEqualTo("initial");
+    assertThat(((HistoricVariableUpdate) details.get(1)).getValue()).isEqualTo("c");
+  }
+
+  @Test
+  @Deployment(resources = ONE_TASK_PROCESS)
+  public void shouldSerializeFinalObjectValueOnce() {
+    // given
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess",
+        Variables.createVariables().putValue("var", objectValue(new JavaSerializable("initial")).create()));
+
+    // when
+    setVariableRepeatedly(processInstance.getId(), "var",
+        new JavaSerializable("a"), new JavaSerializable("b"), new JavaSerializable("c"));
+
+    // then
+    assertThat(runtimeService.getVariable(processInstance.getId(), "var")).isEqualTo(new JavaSerializable("c"));
+  }
+
+  @Test
+  @Deployment(resources = ONE_TASK_PROCESS)
+  public void shouldSerializeObjectValueChangedAfterUpdate() {
+    // given
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess",
+        Variables.createVariables().putValue("var", objectValue(new JavaSerializable("initial")).create()));
+    final String processInstanceId = processInstance.getId();
+
+    // when
+    engineRule.getProcessEngineConfiguration().getCommandExecutorTxRequired().execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        ExecutionEntity execution = commandContext.getExecutionManager().findExecutionById(processInstanceId);
+        JavaSerializable value = new JavaSerializable("a");
+        execution.setVariable("var", objectValue(value).create());
+        value.setProperty("b");
+        return null;
+      }
+    });
+
+    // then
+    assertThat(runtimeService.getVariable(processInstanceId, "var")).isEqualTo(new JavaSerializable("b"));
+  }
+
+  @Test
+  @Deployment(resources = ONE_TASK_PROCESS)
+  public void shouldRemoveByteArrayOfReplacedObjectValue() {
+    // given
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess",
+        Variables.createVariables().putValue("var", objectValue(new JavaSerializable("initial")).create()));
+
+    // when
+    setVariableRepeatedly(processInstance.getId(), "var", new JavaSerializable("a"), "b");
+
+    // then
+    assertThat(runtimeService.getVariable(processInstance.getId(), "var")).isEqualTo("b");
+    assertThat(runtimeService.createVariableInstanceQuery().singleResult().getTypeName()).isEqualTo("string");
+  }
+
+  protected void setVariableRepeatedly(final String executionId, final String name, final Object... values) {
+    engineRule.getProcessEngineConfiguration().getCommandExecutorTxRequired().execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        ExecutionEntity execution = commandContext.getExecutionManager().findExecutionById(executionId);
+        for (Object value : values) {
+          execution.setVariable(name, value);
+        }
+        return null;
+      }
+    });
+  }
+}
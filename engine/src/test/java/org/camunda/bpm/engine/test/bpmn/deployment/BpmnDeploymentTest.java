@@ -17,8 +17,10 @@
 package org.camunda.bpm.engine.test.bpmn.deployment;
 
 import java.io.InputStream;
+import java.util.Arrays;
 import java.util.List;
 
+import org.camunda.bpm.engine.ProcessEngine;
 import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.impl.RepositoryServiceImpl;
 import org.camunda.bpm.engine.impl.context.Context;
@@ -26,12 +28,16 @@ import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
 import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ResourceEntity;
 import org.camunda.bpm.engine.impl.pvm.ReadOnlyProcessDefinition;
+import org.camunda.bpm.engine.impl.repository.DefaultDeploymentHandler;
 import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
 import org.camunda.bpm.engine.impl.util.IoUtil;
 import org.camunda.bpm.engine.impl.util.ReflectUtil;
+import org.camunda.bpm.engine.repository.DeploymentHandler;
 import org.camunda.bpm.engine.repository.DeploymentHandlerFactory;
 import org.camunda.bpm.engine.repository.DeploymentWithDefinitions;
+import org.camunda.bpm.engine.repository.ProcessApplicationDeployment;
 import org.camunda.bpm.engine.repository.ProcessDefinition;
 import org.camunda.bpm.engine.repository.Resource;
 import org.camunda.bpm.engine.test.Deployment;
@@ -128,6 +134,56 @@ public class BpmnDeploymentTest extends PluggableProcessEngineTestCase {
     repositoryService.deleteDeployment(deploymentId);
   }
 
+  public void testDuplicateFilteringComparesStoredResourceHashes() {
+    // given
+    BpmnModelInstance model = Bpmn.createExecutableProcess("process").done();
+    BpmnModelInstance changedModel = Bpmn.createExecutableProcess("process").name("changed").done();
+
+    String deploymentId = repositoryService.createDeployment()
+      .enableDuplicateFiltering()
+      .addModelInstance("process.bpmn20.xml", model)
+      .name("hashes")
+      .deploy()
+      .getId();
+    deploymentIds.add(deploymentId);
+
+    // when
+    String duplicateDeploymentId = repositoryService.createDeployment()
+      .enableDuplicateFiltering()
+      .addModelInstance("process.bpmn20.xml", model)
+      .name("hashes")
+      .deploy()
+      .getId();
+
+    // then
+    assertEquals(deploymentId, duplicateDeploymentId);
+
+    final Resource resource = repositoryService.getDeploymentResources(deploymentId).get(0);
+    ResourceEntity resourceWithHash = processEngineConfiguration.getCommandExecutorTxRequired()
+      .execute(new Command<ResourceEntity>() {
+        public ResourceEntity execute(CommandContext commandContext) {
+          return commandContext.getResourceManager()
+            .findLatestResourceHashesByDeploymentName("hashes", null, ProcessApplicationDeployment.PROCESS_APPLICATION_DEPLOYMENT_SOURCE, null)
+            .get(resource.getName());
+        }
+      });
+
+    assertNull(resourceWithHash.getBytes());
+    assertEquals(((ResourceEntity) resource).getHash(), resourceWithHash.getHash());
+    assertEquals(64, resourceWithHash.getHash().length());
+
+    // and when
+    deploymentIds.add(repositoryService.createDeployment()
+      .enableDuplicateFiltering()
+      .addModelInstance("process.bpmn20.xml", changedModel)
+      .name("hashes")
+      .deploy()
+      .getId());
+
+    // then
+    assertEquals(2, repositoryService.createDeploymentQuery().deploymentName("hashes").count());
+  }
+
   public void testDuplicateFilteringDefaultBehavior() {
     // given
     BpmnModelInstance oldModel = Bpmn.createExecutableProcess("versionedProcess")
@@ -188,6 +244,39 @@ public class BpmnDeploymentTest extends PluggableProcessEngineTestCase {
     assertEquals(deployment1.getId(), deployment3.getId());
   }
 
+  public void testDuplicateFilteringWithSubclassOfDefaultHandler() {
+    // given
+    processEngineConfiguration.setDeploymentHandlerFactory(new DeploymentHandlerFactory() {
+      public DeploymentHandler buildDeploymentHandler(ProcessEngine processEngine) {
+        return new DefaultDeploymentHandler(processEngine) {
+          protected boolean resourcesDiffer(Resource resource, Resource existing) {
+            // compares the bytes only
+            return !Arrays.equals(resource.getBytes(), existing.getBytes());
+          }
+        };
+      }
+    });
+    BpmnModelInstance model = Bpmn.createExecutableProcess("process").done();
+
+    org.camunda.bpm.engine.repository.Deployment deployment1 = repositoryService.createDeployment()
+        .enableDuplicateFiltering(true)
+        .addModelInstance("model.bpmn", model)
+        .name("subclassedDeploymentHandling")
+        .deploy();
+    deploymentIds.add(deployment1.getId());
+
+    // when
+    org.camunda.bpm.engine.repository.Deployment deployment2 = repositoryService.createDeployment()
+        .enableDuplicateFiltering(true)
+        .addModelInstance("model.bpmn", model)
+        .name("subclassedDeploymentHandling")
+        .deploy();
+
+    // then
+    assertEquals(1, repositoryService.createDeploymentQuery().count());
+    assertEquals(deployment1.getId(), deployment2.getId());
+  }
+
   public void testPartialChangesDeployAll() {
     BpmnModelInstance model1 = Bpmn.createExecutableProcess("process1").done();
     BpmnModelInstance model2 = Bpmn.createExecutableProcess("process2").done();
@@ -0,0 +1,85 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.cmmn.sentry;
+
+import org.camunda.bpm.engine.impl.cmmn.entity.repository.CaseDefinitionEntity;
+import org.camunda.bpm.engine.impl.cmmn.model.CmmnSentryIndex;
+import org.camunda.bpm.engine.impl.metrics.Meter;
+import org.camunda.bpm.engine.impl.test.CmmnProcessEngineTestCase;
+import org.camunda.bpm.engine.management.Metrics;
+import org.camunda.bpm.engine.test.Deployment;
+import org.camunda.bpm.model.cmmn.VariableTransition;
+
+public class SentryIndexTest extends CmmnProcessEngineTestCase {
+
+  @Deployment(resources = {"org/camunda/bpm/engine/test/cmmn/sentry/SentryInitializationTest.testOnPartIfPartAndVariableOnPart.cmmn"})
+  public void testIndexSentriesByOnParts() {
+    // when
+    CmmnSentryIndex sentryIndex = getSentryIndex("CasePlanModel_1");
+
+    // then
+    assertTrue(sentryIndex.getSentriesByOnPart("PI_HumanTask_1", "complete").contains("Sentry_1"));
+    assertTrue(sentryIndex.getSentriesByOnPart("PI_HumanTask_1", "terminate").isEmpty());
+
+    assertTrue(sentryIndex.getSentriesByVariableOnPart("variable_1", VariableTransition.delete.name()).contains("Sentry_1"));
+    assertTrue(sentryIndex.getSentriesByVariableOnPart("variable_1", VariableTransition.create.name()).isEmpty());
+
+    assertTrue(sentryIndex.getSentriesWithIfPartOnly().isEmpty());
+  }
+
+  @Deployment(resources = {"org/camunda/bpm/engine/test/cmmn/sentry/SentryInitializationTest.testOnPartIfPartAndVariableOnPart.cmmn"})
+  public void testSentriesWithIfPartAreAffectedByAnyVariable() {
+    // when
+    CmmnSentryIndex sentryIndex = getSentryIndex("CasePlanModel_1");
+
+    // then the if part may refer to any variable
+    assertTrue(sentryIndex.getSentriesAffectedByVariable("myVar", VariableTransition.update.name()).contains("Sentry_1"));
+  }
+
+  @Deployment(resources = {"org/camunda/bpm/engine/test/cmmn/sentry/SentryInitializationTest.testIfPart.cmmn"})
+  public void testIndexSentriesWithIfPartOnly() {
+    // when
+    CmmnSentryIndex sentryIndex = getSentryIndex("CasePlanModel_1");
+
+    // then
+    assertTrue(sentryIndex.getSentriesWithIfPartOnly().contains("Sentry_1"));
+  }
+
+  @Deployment(resources = {"org/camunda/bpm/engine/test/cmmn/sentry/SentryInitializationTest.testOnPart.cmmn"})
+  public void testCaseTransitionsAreReportedAsMetric() {
+    // given
+    Meter transitions = processEngineConfiguration.getMetricsRegistry().getMeterByName(Metrics.CASE_TRANSITIONS);
+    long transitionsBefore = transitions.get();
+
+    // when
+    createCaseInstance();
+
+    // then the creation of the plan items is reported
+    assertTrue(transitions.get() > transitionsBefore);
+  }
+
+  protected CmmnSentryIndex getSentryIndex(String activityId) {
+    String caseDefinitionId = repositoryService.createCaseDefinitionQuery().singleResult().getId();
+
+    CaseDefinitionEntity caseDefinition = processEngineConfiguration
+        .getDeploymentCache()
+        .findDeployedCaseDefinitionById(caseDefinitionId);
+
+    return caseDefinition.findActivity(activityId).getSentryIndex();
+  }
+
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.history.dmn;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+import java.util.List;
+
+import org.camunda.bpm.dmn.engine.impl.DefaultDmnEngineConfiguration;
+import org.camunda.bpm.engine.HistoryService;
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.history.HistoricDecisionInputInstance;
+import org.camunda.bpm.engine.history.HistoricDecisionInstance;
+import org.camunda.bpm.engine.history.HistoricDecisionOutputInstance;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.test.Deployment;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.RequiredHistoryLevel;
+import org.camunda.bpm.engine.test.api.variables.JavaSerializable;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.engine.test.util.ResetDmnConfigUtil;
+import org.camunda.bpm.engine.variable.Variables;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+@RequiredHistoryLevel(ProcessEngineConfiguration.HISTORY_FULL)
+public class HistoricDecisionInstanceCompactInputOutputTest {
+
+  protected static final String DECISION_PROCESS = "org/camunda/bpm/engine/test/history/HistoricDecisionInstanceTest.processWithBusinessRuleTask.bpmn20.xml";
+  protected static final String DECISION_SINGLE_OUTPUT_DMN = "org/camunda/bpm/engine/test/history/HistoricDecisionInstanceTest.decisionSingleOutput.dmn11.xml";
+
+  @Rule
+  public ProcessEngineRule engineRule = new ProvidedProcessEngineRule();
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected HistoryService historyService;
+
+  @Before
+  public void setUp() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    historyService = engineRule.getHistoryService();
+
+    processEngineConfiguration.setHistoricDecisionInputOutputCompact(true);
+
+    DefaultDmnEngineConfiguration dmnEngineConfiguration = processEngineConfiguration.getDmnEngineConfiguration();
+    ResetDmnConfigUtil.reset(dmnEngineConfiguration)
+        .enableFeelLegacyBehavior(true)
+        .init();
+  }
+
+  @After
+  public void tearDown() {
+    processEngineConfiguration.setHistoricDecisionInputOutputCompact(false);
+
+    DefaultDmnEngineConfiguration dmnEngineConfiguration = processEngineConfiguration.getDmnEngineConfiguration();
+    ResetDmnConfigUtil.reset(dmnEngineConfiguration)
+        .enableFeelLegacyBehavior(false)
+        .init();
+  }
+
+  @Test
+  @Deployment(resources = { DECISION_PROCESS, DECISION_SINGLE_OUTPUT_DMN })
+  public void shouldNotInsertInputAndOutputRows() {
+    // when
+    evaluateDecision("a");
+
+    // then
+    assertThat(getTableCount("ACT_HI_DECINST")).isEqualTo(1L);
+    assertThat(getTableCount("ACT_HI_DEC_IN")).isEqualTo(0L);
+    assertThat(getTableCount("ACT_HI_DEC_OUT")).isEqualTo(0L);
+  }
+
+  @Test
+  @Deployment(resources = { DECISION_PROCESS, DECISION_SINGLE_OUTPUT_DMN })
+  public void shouldIncludeInputsAndOutputs() {
+    // given
+    evaluateDecision("a");
+
+    // when
+    HistoricDecisionInstance historicDecisionInstance = historyService.createHistoricDecisionInstanceQuery()
+        .includeInputs()
+        .includeOutputs()
+        .singleResult();
+
+    // then
+    List<HistoricDecisionInputInstance> inputs = historicDecisionInstance.getInputs();
+    assertThat(inputs).hasSize(1);
+
+    HistoricDecisionInputInstance input = inputs.get(0);
+    assertThat(input.getDecisionInstanceId()).isEqualTo(historicDecisionInstance.getId());
+    assertThat(input.getClauseId()).isEqualTo("in");
+    assertThat(input.getClauseName()).isEqualTo("input");
+    assertThat(input.getTypeName()).isEqualTo("string");
+    assertThat(input.getValue()).isEqualTo("a");
+    assertThat(input.getCreateTime()).isEqualTo(historicDecisionInstance.getEvaluationTime());
+
+    List<HistoricDecisionOutputInstance> outputs = historicDecisionInstance.getOutputs();
+    assertThat(outputs).hasSize(1);
+
+    HistoricDecisionOutputInstance output = outputs.get(0);
+    assertThat(output.getDecisionInstanceId()).isEqualTo(historicDecisionInstance.getId());
+    assertThat(output.getClauseId()).isEqualTo("out");
+    assertThat(output.getClauseName()).isEqualTo("output");
+    assertThat(output.getRuleId()).isEqualTo("rule");
+    assertThat(output.getRuleOrder()).isEqualTo(1);
+    assertThat(output.getVariableName()).isEqualTo("result");
+    assertThat(output.getValue()).isEqualTo("a");
+  }
+
+  @Test
+  @Deployment(resources = { DECISION_PROCESS, DECISION_SINGLE_OUTPUT_DMN })
+  public void shouldIncludeSerializedValues() {
+    // given
+    JavaSerializable value = new JavaSerializable("foo");
+    evaluateDecision(value);
+
+    // when
+    HistoricDecisionInstance historicDecisionInstance = historyService.createHistoricDecisionInstanceQuery()
+        .includeInputs()
+        .includeOutputs()
+        .singleResult();
+
+    // then
+    assertThat(historicDecisionInstance.getInputs().get(0).getTypeName()).isEqualTo("object");
+    assertThat(historicDecisionInstance.getInputs().get(0).getValue()).isEqualTo(value);
+    assertThat(historicDecisionInstance.getOutputs().get(0).getValue()).isEqualTo(value);
+  }
+
+  @Test
+  @Deployment(resources = { DECISION_PROCESS, DECISION_SINGLE_OUTPUT_DMN })
+  public void shouldIncludeOutputsOnly() {
+    // given
+    evaluateDecision("a");
+
+    // when
+    HistoricDecisionInstance historicDecisionInstance = historyService.createHistoricDecisionInstanceQuery()
+        .includeOutputs()
+        .singleResult();
+
+    // then
+    assertThat(historicDecisionInstance.getOutputs()).hasSize(1);
+
+    try {
+      historicDecisionInstance.getInputs();
+      fail("expected exception");
+    }
+    catch (ProcessEngineException e) {
+      // expected
+    }
+  }
+
+  @Test
+  @Deployment(resources = { DECISION_PROCESS, DECISION_SINGLE_OUTPUT_DMN })
+  public void shouldDeleteInputOutputByteArray() {
+    // given
+    long byteArrays = getTableCount("ACT_GE_BYTEARRAY");
+    evaluateDecision("a");
+    assertThat(getTableCount("ACT_GE_BYTEARRAY")).isEqualTo(byteArrays + 1);
+
+    HistoricDecisionInstance historicDecisionInstance = historyService.createHistoricDecisionInstanceQuery().singleResult();
+
+    // when
+    historyService.deleteHistoricDecisionInstanceByInstanceId(historicDecisionInstance.getId());
+
+    // then
+    assertThat(historyService.createHistoricDecisionInstanceQuery().count()).isEqualTo(0L);
+    assertThat(getTableCount("ACT_GE_BYTEARRAY")).isEqualTo(byteArrays);
+  }
+
+  @Test
+  @Deployment(resources = { DECISION_PROCESS, DECISION_SINGLE_OUTPUT_DMN })
+  public void shouldReadInputsAndOutputsStoredInRows() {
+    // given
+    processEngineConfiguration.setHistoricDecisionInputOutputCompact(false);
+    evaluateDecision("a");
+    processEngineConfiguration.setHistoricDecisionInputOutputCompact(true);
+    evaluateDecision("b");
+
+    // when
+    List<HistoricDecisionInstance> historicDecisionInstances = historyService.createHistoricDecisionInstanceQuery()
+        .includeInputs()
+        .includeOutputs()
+        .list();
+
+    // then
+    assertThat(historicDecisionInstances).hasSize(2);
+    assertThat(getTableCount("ACT_HI_DEC_IN")).isEqualTo(1L);
+    for (HistoricDecisionInstance historicDecisionInstance : historicDecisionInstances) {
+      assertThat(historicDecisionInstance.getInputs()).hasSize(1);
+      assertThat(historicDecisionInstance.getOutputs()).hasSize(1);
+      assertThat(historicDecisionInstance.getOutputs().get(0).getValue())
+        .isEqualTo(historicDecisionInstance.getInputs().get(0).getValue());
+    }
+  }
+
+  protected void evaluateDecision(Object input) {
+    engineRule.getRuntimeService().startProcessInstanceByKey("testProcess",
+        Variables.createVariables().putValue("input1", input));
+  }
+
+  protected long getTableCount(String tableName) {
+    String table = processEngineConfiguration.getDatabaseTablePrefix() + tableName;
+    return engineRule.getManagementService().getTableCount().get(table);
+  }
+
+}
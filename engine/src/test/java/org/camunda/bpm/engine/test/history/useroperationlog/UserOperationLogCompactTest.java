@@ -0,0 +1,311 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.history.useroperationlog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.camunda.bpm.engine.ProcessEngineConfiguration.HISTORY_FULL;
+import static org.camunda.bpm.engine.history.UserOperationLogEntry.OPERATION_TYPE_UPDATE;
+import static org.camunda.bpm.engine.impl.persistence.entity.TaskEntity.NAME;
+import static org.camunda.bpm.engine.impl.persistence.entity.TaskEntity.OWNER;
+import static org.camunda.bpm.engine.impl.persistence.entity.TaskEntity.PRIORITY;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.camunda.bpm.engine.HistoryService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.history.UserOperationLogEntry;
+import org.camunda.bpm.engine.history.UserOperationLogQuery;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.task.Task;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.RequiredHistoryLevel;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+@RequiredHistoryLevel(HISTORY_FULL)
+public class UserOperationLogCompactTest {
+
+  protected static final String USER_ID = "demo";
+  protected static final String TASK_ID = "aTaskId";
+
+  protected ProcessEngineRule engineRule = new ProvidedProcessEngineRule();
+  protected ProcessEngineTestRule engineTestRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(engineTestRule);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected HistoryService historyService;
+  protected TaskService taskService;
+
+  @Before
+  public void setUp() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    historyService = engineRule.getHistoryService();
+    taskService = engineRule.getTaskService();
+
+    processEngineConfiguration.setUserOperationLogCompact(true);
+    engineRule.getIdentityService().setAuthenticatedUserId(USER_ID);
+  }
+
+  @After
+  public void tearDown() {
+    ClockUtil.reset();
+    engineRule.getIdentityService().clearAuthentication();
+    taskService.deleteTask(TASK_ID, true);
+    processEngineConfiguration.setUserOperationLogCompact(false);
+  }
+
+  @Test
+  public void shouldStoreSeveralPropertyChangesInOneRow() {
+    // given
+    Task task = taskService.newTask(TASK_ID);
+    taskService.saveTask(task);
+    long rowCount = getOperationLogRowCount();
+
+    // when
+    updateTask(task);
+
+    // then
+    assertThat(getOperationLogRowCount()).isEqualTo(rowCount + 1);
+
+    UserOperationLogQuery query = historyService.createUserOperationLogQuery()
+        .operationType(OPERATION_TYPE_UPDATE);
+
+    List<UserOperationLogEntry> entries = query.list();
+    assertThat(entries).hasSize(3);
+    assertThat(query.count()).isEqualTo(3);
+    assertThat(entries)
+        .extracting("property")
+        .containsOnly(NAME, OWNER, PRIORITY);
+    assertThat(entries)
+        .extracting("operationId")
+        .containsOnly(entries.get(0).getOperationId());
+    assertThat(entries)
+        .extracting("taskId")
+        .containsOnly(TASK_ID);
+  }
+
+  @Test
+  public void shouldQueryCompactEntriesByProperty() {
+    // given
+    Task task = taskService.newTask(TASK_ID);
+    taskService.saveTask(task);
+
+    // when
+    updateTask(task);
+
+    // then
+    UserOperationLogQuery query = historyService.createUserOperationLogQuery()
+        .operationType(OPERATION_TYPE_UPDATE)
+        .property(OWNER);
+
+    assertThat(query.count()).isEqualTo(1);
+
+    UserOperationLogEntry entry = query.singleResult();
+    assertThat(entry.getProperty()).isEqualTo(OWNER);
+    assertThat(entry.getOrgValue()).isNull();
+    assertThat(entry.getNewValue()).isEqualTo("anOwner");
+  }
+
+  @Test
+  public void shouldPageExpandedEntries() {
+    // given
+    Task task = taskService.newTask(TASK_ID);
+    taskService.saveTask(task);
+
+    // when
+    updateTask(task);
+
+    // then
+    UserOperationLogQuery query = historyService.createUserOperationLogQuery()
+        .taskId(TASK_ID)
+        .orderByTimestamp()
+        .asc();
+
+    List<UserOperationLogEntry> entries = query.list();
+    List<UserOperationLogEntry> page = query.listPage(1, 2);
+
+    assertThat(entries).hasSize(4);
+    assertThat(page)
+        .extracting("property")
+        .containsExactly(entries.get(1).getProperty(), entries.get(2).getProperty());
+  }
+
+  @Test
+  public void shouldPageEntriesOfSeveralCompactRows() {
+    // given
+    Date now = new Date();
+    ClockUtil.setCurrentTime(now);
+    Task task = taskService.newTask(TASK_ID);
+    taskService.saveTask(task);
+
+    ClockUtil.setCurrentTime(new Date(now.getTime() + 1000));
+    updateTask(task);
+
+    ClockUtil.setCurrentTime(new Date(now.getTime() + 2000));
+    task.setName("anotherName");
+    task.setOwner("anotherOwner");
+    task.setPriority(42);
+    taskService.saveTask(task);
+
+    // when
+    UserOperationLogQuery query = historyService.createUserOperationLogQuery()
+        .taskId(TASK_ID)
+        .orderByTimestamp()
+        .asc();
+    List<UserOperationLogEntry> entries = query.list();
+
+    // then every page starts and ends within the compact rows as if they were single rows
+    assertThat(entries).hasSize(7);
+    for (int firstResult = 0; firstResult <= entries.size(); firstResult++) {
+      for (int maxResults = 1; maxResults <= 3; maxResults++) {
+        List<UserOperationLogEntry> expected = entries.subList(firstResult, Math.min(entries.size(), firstResult + maxResults));
+
+        assertThat(query.listPage(firstResult, maxResults))
+            .extracting("id")
+            .containsExactlyElementsOf(extractIds(expected));
+      }
+    }
+  }
+
+  @Test
+  public void shouldWriteRowPerPropertyIfDisabled() {
+    // given
+    processEngineConfiguration.setUserOperationLogCompact(false);
+
+    Task task = taskService.newTask(TASK_ID);
+    taskService.saveTask(task);
+    long rowCount = getOperationLogRowCount();
+
+    // when
+    updateTask(task);
+
+    // then
+    assertThat(getOperationLogRowCount()).isEqualTo(rowCount + 3);
+    assertThat(historyService.createUserOperationLogQuery()
+        .operationType(OPERATION_TYPE_UPDATE)
+        .count()).isEqualTo(3);
+  }
+
+  @Test
+  public void shouldCountEntriesByPropertyOfCompactAndSingleRows() {
+    // given
+    Task task = taskService.newTask(TASK_ID);
+    taskService.saveTask(task);
+    updateTask(task);
+
+    processEngineConfiguration.setUserOperationLogCompact(false);
+    task.setOwner("anotherOwner");
+    taskService.saveTask(task);
+    processEngineConfiguration.setUserOperationLogCompact(true);
+
+    // when
+    UserOperationLogQuery query = historyService.createUserOperationLogQuery()
+        .operationType(OPERATION_TYPE_UPDATE)
+        .property(OWNER);
+
+    // then
+    List<UserOperationLogEntry> entries = query.list();
+    assertThat(entries)
+        .extracting("newValue")
+        .containsOnly("anOwner", "anotherOwner");
+    assertThat(query.count()).isEqualTo(entries.size());
+  }
+
+  @Test
+  public void shouldDeleteSingleExpandedEntry() {
+    // given
+    Task task = taskService.newTask(TASK_ID);
+    taskService.saveTask(task);
+    long rowCount = getOperationLogRowCount();
+    updateTask(task);
+
+    UserOperationLogQuery query = historyService.createUserOperationLogQuery()
+        .operationType(OPERATION_TYPE_UPDATE);
+    List<UserOperationLogEntry> entries = query.list();
+
+    UserOperationLogEntry ownerEntry = query.property(OWNER).singleResult();
+
+    // when
+    historyService.deleteUserOperationLogEntry(ownerEntry.getId());
+
+    // then
+    assertThat(entries)
+        .extracting("id")
+        .doesNotHaveDuplicates();
+
+    query = historyService.createUserOperationLogQuery()
+        .operationType(OPERATION_TYPE_UPDATE);
+    assertThat(query.count()).isEqualTo(2);
+    assertThat(query.list())
+        .extracting("property")
+        .containsOnly(NAME, PRIORITY);
+    assertThat(historyService.createUserOperationLogQuery().property(OWNER).count()).isZero();
+    assertThat(getOperationLogRowCount()).isEqualTo(rowCount + 1);
+  }
+
+  @Test
+  public void shouldDeleteCompactRowWithLastExpandedEntry() {
+    // given
+    Task task = taskService.newTask(TASK_ID);
+    taskService.saveTask(task);
+    long rowCount = getOperationLogRowCount();
+    updateTask(task);
+
+    UserOperationLogQuery query = historyService.createUserOperationLogQuery()
+        .operationType(OPERATION_TYPE_UPDATE);
+
+    // when
+    for (UserOperationLogEntry entry : query.list()) {
+      historyService.deleteUserOperationLogEntry(entry.getId());
+    }
+
+    // then
+    assertThat(query.count()).isZero();
+    assertThat(getOperationLogRowCount()).isEqualTo(rowCount);
+  }
+
+  protected void updateTask(Task task) {
+    task.setName("aName");
+    task.setOwner("anOwner");
+    task.setPriority(73);
+    taskService.saveTask(task);
+  }
+
+  protected List<String> extractIds(List<UserOperationLogEntry> entries) {
+    List<String> ids = new ArrayList<String>();
+    for (UserOperationLogEntry entry : entries) {
+      ids.add(entry.getId());
+    }
+    return ids;
+  }
+
+  protected long getOperationLogRowCount() {
+    String tableName = processEngineConfiguration.getDatabaseTablePrefix() + "ACT_HI_OP_LOG";
+    return engineRule.getManagementService().getTableCount().get(tableName);
+  }
+
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.jobexecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cmd.AcquireJobsCmd;
+import org.camunda.bpm.engine.impl.cmd.ExecuteJobsCmd;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.jobexecutor.AcquiredJobs;
+import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
+import org.camunda.bpm.engine.impl.jobexecutor.JobExecutorContext;
+import org.camunda.bpm.engine.impl.jobexecutor.JobFailureCollector;
+import org.camunda.bpm.engine.impl.metrics.Meter;
+import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
+import org.camunda.bpm.engine.management.Metrics;
+import org.camunda.bpm.engine.runtime.Job;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.test.Deployment;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class ReuseAcquiredJobsTest {
+
+  protected static final String PROCESS_RESOURCE = "org/camunda/bpm/engine/test/api/mgmt/metrics/asyncServiceTaskProcess.bpmn20.xml";
+
+  protected ProcessEngineRule engineRule = new ProvidedProcessEngineRule();
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected ManagementService managementService;
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected RuntimeService runtimeService;
+  protected JobExecutor jobExecutor;
+
+  @Before
+  public void setup() {
+    managementService = engineRule.getManagementService();
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    runtimeService = engineRule.getRuntimeService();
+    jobExecutor = processEngineConfiguration.getJobExecutor();
+    jobExecutor.setReuseAcquiredJobs(true);
+    clearMetrics();
+  }
+
+  @After
+  public void tearDown() {
+    jobExecutor.setReuseAcquiredJobs(false);
+    clearMetrics();
+  }
+
+  @Test
+  @Deployment(resources = PROCESS_RESOURCE)
+  public void shouldAcquireCompleteJobs() {
+    // given
+    runtimeService.startProcessInstanceByKey("asyncServiceTaskProcess");
+    Job job = managementService.createJobQuery().singleResult();
+
+    // when
+    AcquiredJobs acquiredJobs = acquireJobs();
+
+    // then
+    JobEntity snapshot = acquiredJobs.getJobSnapshots().get(job.getId());
+    assertThat(snapshot).isNotNull();
+    assertThat(snapshot.getLockOwner()).isEqualTo(jobExecutor.getLockOwner());
+    assertThat(snapshot.getRevision()).isEqualTo(((JobEntity) managementService.createJobQuery().singleResult()).getRevision());
+    assertThat(snapshot.getJobDefinition()).isNotNull();
+    assertThat(snapshot.getJobDefinition().getId()).isEqualTo(job.getJobDefinitionId());
+  }
+
+  @Test
+  @Deployment(resources = PROCESS_RESOURCE)
+  public void shouldExecuteAcquiredJob() {
+    // given
+    runtimeService.startProcessInstanceByKey("asyncServiceTaskProcess");
+    String jobId = managementService.createJobQuery().singleResult().getId();
+    JobEntity snapshot = acquireJobs().getJobSnapshots().get(jobId);
+
+    // when
+    getCommandExecutor().execute(new ExecuteJobsCmd(jobId, snapshot, new JobFailureCollector(jobId)));
+
+    // then
+    assertThat(managementService.createJobQuery().count()).isZero();
+    assertThat(runtimeService.createProcessInstanceQuery().count()).isZero();
+  }
+
+  @Test
+  @Deployment(resources = PROCESS_RESOURCE)
+  public void shouldSkipAcquiredJobDeletedBeforeExecution() {
+    // given
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("asyncServiceTaskProcess");
+    String jobId = managementService.createJobQuery().singleResult().getId();
+    JobEntity snapshot = acquireJobs().getJobSnapshots().get(jobId);
+
+    runtimeService.deleteProcessInstance(processInstance.getId(), null);
+
+    // when
+    Context.setJobExecutorContext(new JobExecutorContext());
+    try {
+      getCommandExecutor().execute(new ExecuteJobsCmd(jobId, snapshot, new JobFailureCollector(jobId)));
+    } finally {
+      Context.removeJobExecutorContext();
+    }
+
+    // then the job is skipped
+    assertThat(managementService.createJobQuery().count()).isZero();
+    assertThat(runtimeService.createProcessInstanceQuery().count()).isZero();
+  }
+
+  @Test
+  @Deployment(resources = PROCESS_RESOURCE)
+  public void shouldReloadAcquiredJobModifiedBeforeExecution() {
+    // given
+    runtimeService.startProcessInstanceByKey("asyncServiceTaskProcess");
+    String jobId = managementService.createJobQuery().singleResult().getId();
+    JobEntity snapshot = acquireJobs().getJobSnapshots().get(jobId);
+
+    managementService.setJobRetries(jobId, 5);
+
+    // when
+    getCommandExecutor().execute(new ExecuteJobsCmd(jobId, snapshot, new JobFailureCollector(jobId)));
+
+    // then the job is executed with its current state
+    assertThat(managementService.createJobQuery().count()).isZero();
+    assertThat(runtimeService.createProcessInstanceQuery().count()).isZero();
+  }
+
+  @Test
+  @Deployment(resources = PROCESS_RESOURCE)
+  public void shouldCountRevisionCheckAsRoundTrip() {
+    // given
+    runtimeService.startProcessInstanceByKey("asyncServiceTaskProcess");
+    String jobId = managementService.createJobQuery().singleResult().getId();
+    JobEntity snapshot = acquireJobs().getJobSnapshots().get(jobId);
+
+    // when
+    Context.setJobExecutorContext(new JobExecutorContext());
+    try {
+      getCommandExecutor().execute(new ExecuteJobsCmd(jobId, snapshot, new JobFailureCollector(jobId)));
+    } finally {
+      Context.removeJobExecutorContext();
+    }
+    processEngineConfiguration.getDbMetricsReporter().reportNow();
+
+    // then
+    assertThat(runtimeService.createProcessInstanceQuery().count()).isZero();
+    long roundTrips = managementService.createMetricsQuery().name(Metrics.JOB_LOAD_ROUND_TRIPS).sum();
+    assertThat(roundTrips).isEqualTo(1);
+  }
+
+  @Test
+  @Deployment(resources = PROCESS_RESOURCE)
+  public void shouldNotShareJobDefinitionWithCopy() {
+    // given
+    runtimeService.startProcessInstanceByKey("asyncServiceTaskProcess");
+    String jobId = managementService.createJobQuery().singleResult().getId();
+    JobEntity snapshot = acquireJobs().getJobSnapshots().get(jobId);
+
+    // when
+    JobEntity copy = snapshot.copy();
+
+    // then
+    assertThat(copy.getJobDefinition()).isNotSameAs(snapshot.getJobDefinition());
+    assertThat(copy.getJobDefinition().getId()).isEqualTo(snapshot.getJobDefinition().getId());
+    assertThat(copy.getJobDefinition().getActivityId()).isEqualTo(snapshot.getJobDefinition().getActivityId());
+  }
+
+  @Test
+  @Deployment(resources = PROCESS_RESOURCE)
+  public void shouldReloadJobsByDefault() {
+    // given
+    jobExecutor.setReuseAcquiredJobs(false);
+    for (int i = 0; i < 3; i++) {
+      runtimeService.startProcessInstanceByKey("asyncServiceTaskProcess");
+    }
+
+    // when
+    testRule.waitForJobExecutorToProcessAllJobs(5000);
+    processEngineConfiguration.getDbMetricsReporter().reportNow();
+
+    // then
+    long roundTrips = managementService.createMetricsQuery().name(Metrics.JOB_LOAD_ROUND_TRIPS).sum();
+    assertThat(roundTrips).isEqualTo(3);
+  }
+
+  protected void clearMetrics() {
+    for (Meter meter : processEngineConfiguration.getMetricsRegistry().getMeters().values()) {
+      meter.getAndClear();
+    }
+    managementService.deleteMetrics(null);
+  }
+
+  protected AcquiredJobs acquireJobs() {
+    return getCommandExecutor().execute(new AcquireJobsCmd(jobExecutor));
+  }
+
+  protected CommandExecutor getCommandExecutor() {
+    return processEngineConfiguration.getCommandExecutorTxRequired();
+  }
+
+}
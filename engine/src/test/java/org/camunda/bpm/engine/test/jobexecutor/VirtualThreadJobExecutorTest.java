@@ -0,0 +1,189 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.jobexecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
+import org.camunda.bpm.engine.impl.jobexecutor.RejectedJobsHandler;
+import org.camunda.bpm.engine.impl.jobexecutor.VirtualThreadJobExecutor;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.After;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class VirtualThreadJobExecutorTest {
+
+  protected static final BpmnModelInstance ASYNC_TASK = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .serviceTask("task")
+        .camundaExpression("${true}")
+        .camundaAsyncBefore()
+      .userTask("waitState")
+      .endEvent()
+      .done();
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule() {
+    @Override
+    public ProcessEngineConfiguration configureEngine(ProcessEngineConfigurationImpl configuration) {
+      VirtualThreadJobExecutor jobExecutor = new VirtualThreadJobExecutor();
+      jobExecutor.setMaxConcurrentJobs(2);
+      return configuration.setJobExecutor(jobExecutor);
+    }
+  };
+
+  protected ProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected BlockingVirtualThreadJobExecutor blockingJobExecutor;
+
+  @After
+  public void shutdownJobExecutor() {
+    if (blockingJobExecutor != null) {
+      blockingJobExecutor.unblock();
+      blockingJobExecutor.shutdown();
+    }
+  }
+
+  @Test
+  public void shouldExecuteJobs() {
+    // given
+    testRule.deploy(ASYNC_TASK);
+    for (int i = 0; i < 10; i++) {
+      engineRule.getRuntimeService().startProcessInstanceByKey("process");
+    }
+
+    // when
+    testRule.waitForJobExecutorToProcessAllJobs(10000L);
+
+    // then
+    assertThat(engineRule.getManagementService().createJobQuery().count()).isEqualTo(0L);
+    assertThat(engineRule.getTaskService().createTaskQuery().taskDefinitionKey("waitState").count()).isEqualTo(10L);
+  }
+
+  @Test
+  public void shouldRejectJobsIfNoPermitIsAvailable() throws Exception {
+    // given
+    blockingJobExecutor = new BlockingVirtualThreadJobExecutor();
+    blockingJobExecutor.setMaxConcurrentJobs(1);
+    RecordingRejectedJobsHandler rejectedJobsHandler = new RecordingRejectedJobsHandler();
+    blockingJobExecutor.setRejectedJobsHandler(rejectedJobsHandler);
+    blockingJobExecutor.start();
+
+    ProcessEngineImpl processEngine = (ProcessEngineImpl) engineRule.getProcessEngine();
+    blockingJobExecutor.executeJobs(Arrays.asList("job1"), processEngine);
+    blockingJobExecutor.awaitExecution();
+
+    // when
+    blockingJobExecutor.executeJobs(Arrays.asList("job2"), processEngine);
+
+    // then
+    assertThat(rejectedJobsHandler.rejectedJobIds).containsExactly("job2");
+    assertThat(blockingJobExecutor.getAvailablePermits()).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldReleasePermitAfterExecution() throws Exception {
+    // given
+    blockingJobExecutor = new BlockingVirtualThreadJobExecutor();
+    blockingJobExecutor.setMaxConcurrentJobs(1);
+    RecordingRejectedJobsHandler rejectedJobsHandler = new RecordingRejectedJobsHandler();
+    blockingJobExecutor.setRejectedJobsHandler(rejectedJobsHandler);
+    blockingJobExecutor.start();
+
+    ProcessEngineImpl processEngine = (ProcessEngineImpl) engineRule.getProcessEngine();
+    blockingJobExecutor.executeJobs(Arrays.asList("job1"), processEngine);
+    blockingJobExecutor.awaitExecution();
+
+    // when
+    blockingJobExecutor.unblock();
+    blockingJobExecutor.shutdown();
+
+    // then
+    assertThat(rejectedJobsHandler.rejectedJobIds).isEmpty();
+    assertThat(blockingJobExecutor.getAvailablePermits()).isEqualTo(1);
+  }
+
+  /**
+   * Executes blocking runnables instead of jobs and does not acquire jobs.
+   */
+  public static class BlockingVirtualThreadJobExecutor extends VirtualThreadJobExecutor {
+
+    protected CountDownLatch executionStarted = new CountDownLatch(1);
+    protected CountDownLatch unblock = new CountDownLatch(1);
+
+    @Override
+    protected void startJobAcquisitionThread() {
+    }
+
+    @Override
+    protected void stopJobAcquisitionThread() {
+    }
+
+    @Override
+    public Runnable getExecuteJobsRunnable(List<String> jobIds, ProcessEngineImpl processEngine) {
+      return new Runnable() {
+        public void run() {
+          executionStarted.countDown();
+          try {
+            unblock.await(10, TimeUnit.SECONDS);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        }
+      };
+    }
+
+    public void awaitExecution() throws InterruptedException {
+      executionStarted.await(10, TimeUnit.SECONDS);
+    }
+
+    public void unblock() {
+      unblock.countDown();
+    }
+  }
+
+  public static class RecordingRejectedJobsHandler implements RejectedJobsHandler {
+
+    protected List<String> rejectedJobIds = new ArrayList<String>();
+
+    public void jobsRejected(List<String> jobIds, ProcessEngineImpl processEngine, JobExecutor jobExecutor) {
+      rejectedJobIds.addAll(jobIds);
+    }
+  }
+
+}
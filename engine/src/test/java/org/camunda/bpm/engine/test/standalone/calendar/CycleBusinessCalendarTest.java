@@ -17,9 +17,12 @@
 package org.camunda.bpm.engine.test.standalone.calendar;
 
 import java.text.SimpleDateFormat;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.List;
 
 import org.camunda.bpm.engine.impl.calendar.CycleBusinessCalendar;
+import org.camunda.bpm.engine.impl.calendar.CycleSchedule;
 import org.camunda.bpm.engine.impl.test.PvmTestCase;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
 import org.junit.After;
@@ -85,4 +88,68 @@ public class CycleBusinessCalendarTest extends PvmTestCase {
     assertEquals(expectedDuedate, duedate);
   }
 
+  public void testResolveDuedatesOfCron() throws Exception {
+    CycleBusinessCalendar businessCalendar = new CycleBusinessCalendar();
+
+    SimpleDateFormat simpleDateFormat = new SimpleDateFormat("yyyy MM dd - HH:mm");
+    Date now = simpleDateFormat.parse("2011 03 11 - 17:23");
+
+    List<Date> duedates = businessCalendar.resolveDuedates("0 0 0 1 * ?", now, 0L, 3);
+
+    assertEquals(Arrays.asList(
+        simpleDateFormat.parse("2011 04 1 - 00:00"),
+        simpleDateFormat.parse("2011 05 1 - 00:00"),
+        simpleDateFormat.parse("2011 06 1 - 00:00")), duedates);
+  }
+
+  public void testResolveDuedatesOfDurationWithLimitedRepetitions() throws Exception {
+    CycleBusinessCalendar businessCalendar = new CycleBusinessCalendar();
+
+    SimpleDateFormat simpleDateFormat = new SimpleDateFormat("yyyy MM dd - HH:mm");
+    Date now = simpleDateFormat.parse("2010 06 11 - 12:00");
+
+    List<Date> duedates = businessCalendar.resolveDuedates("R3/2010-06-11T00:00:00/P1D", now, 0L, 5);
+
+    assertEquals(Arrays.asList(
+        simpleDateFormat.parse("2010 06 12 - 00:00"),
+        simpleDateFormat.parse("2010 06 13 - 00:00"),
+        simpleDateFormat.parse("2010 06 14 - 00:00")), duedates);
+  }
+
+  public void testResolveDuedatesOfDurationWithRepeatOffset() throws Exception {
+    CycleBusinessCalendar businessCalendar = new CycleBusinessCalendar();
+
+    SimpleDateFormat simpleDateFormat = new SimpleDateFormat("yyyy MM dd - HH:mm");
+    Date now = simpleDateFormat.parse("2010 06 11 - 12:05");
+    long offset = 5 * 60 * 1000L;
+
+    List<Date> duedates = businessCalendar.resolveDuedates("R/2010-06-11T00:00:00/PT12H", now, offset, 2);
+
+    assertEquals(Arrays.asList(
+        simpleDateFormat.parse("2010 06 12 - 00:05"),
+        simpleDateFormat.parse("2010 06 12 - 12:05")), duedates);
+  }
+
+  public void testResolveDuedatesBeforeEndOfInterval() throws Exception {
+    CycleBusinessCalendar businessCalendar = new CycleBusinessCalendar();
+
+    SimpleDateFormat simpleDateFormat = new SimpleDateFormat("yyyy MM dd - HH:mm");
+    Date now = simpleDateFormat.parse("2010 06 11 - 12:00");
+
+    List<Date> duedates = businessCalendar.resolveDuedates("R/P1D/2010-06-14T00:00:00", now, 0L, 5);
+
+    assertEquals(Arrays.asList(
+        simpleDateFormat.parse("2010 06 12 - 00:00"),
+        simpleDateFormat.parse("2010 06 13 - 00:00"),
+        simpleDateFormat.parse("2010 06 14 - 00:00")), duedates);
+  }
+
+  public void testScheduleIsParsedOnce() {
+    CycleBusinessCalendar businessCalendar = new CycleBusinessCalendar();
+
+    CycleSchedule schedule = businessCalendar.getSchedule("R/P2DT5H70M");
+
+    assertSame(schedule, businessCalendar.getSchedule("R/P2DT5H70M"));
+  }
+
 }
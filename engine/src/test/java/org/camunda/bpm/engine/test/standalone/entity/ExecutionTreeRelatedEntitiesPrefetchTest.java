@@ -0,0 +1,177 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.standalone.entity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.camunda.bpm.engine.management.Metrics;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.task.Task;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.camunda.commons.testing.ProcessEngineLoggingRule;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+import ch.qos.logback.classic.Level;
+
+public class ExecutionTreeRelatedEntitiesPrefetchTest {
+
+  protected static final String PERSISTENCE_LOGGER = "org.camunda.bpm.engine.persistence";
+
+  protected static final BpmnModelInstance PROCESS = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .userTask("task")
+        .multiInstance()
+          .cardinality("5")
+        .multiInstanceDone()
+      .boundaryEvent("boundary")
+        .message("cancel")
+      .endEvent()
+      .moveToActivity("task")
+      .endEvent()
+      .done();
+
+  protected ProcessEngineRule engineRule = new ProvidedProcessEngineRule();
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  @Rule
+  public ProcessEngineLoggingRule loggingRule = new ProcessEngineLoggingRule().watch(PERSISTENCE_LOGGER, Level.DEBUG);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected RuntimeService runtimeService;
+  protected TaskService taskService;
+
+  protected int defaultThreshold;
+
+  @Before
+  public void init() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    runtimeService = engineRule.getRuntimeService();
+    taskService = engineRule.getTaskService();
+
+    defaultThreshold = processEngineConfiguration.getExecutionTreeRelatedEntitiesPrefetchThreshold();
+    processEngineConfiguration.setExecutionTreeRelatedEntitiesPrefetchThreshold(1);
+
+    testRule.deploy(PROCESS);
+  }
+
+  @After
+  public void resetConfiguration() {
+    processEngineConfiguration.setExecutionTreeRelatedEntitiesPrefetchThreshold(defaultThreshold);
+  }
+
+  @Test
+  public void shouldPrefetchRelatedEntitiesWhenCompletingTask() {
+    // given
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process",
+        Variables.createVariables().putValue("foo", "bar"));
+    List<Task> tasks = taskService.createTaskQuery().list();
+
+    // when
+    taskService.complete(tasks.get(0).getId());
+
+    // then
+    assertThat(taskService.createTaskQuery().count()).isEqualTo(4);
+    assertThat(runtimeService.getVariable(processInstance.getId(), "foo")).isEqualTo("bar");
+    assertThat(loggingRule.getFilteredLog(PERSISTENCE_LOGGER, "Prefetched related entities of process instance '"
+        + processInstance.getId() + "'")).isNotEmpty();
+  }
+
+  @Test
+  public void shouldCompleteProcessInstanceWithPrefetchedEntities() {
+    // given
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process");
+
+    // when
+    for (Task task : taskService.createTaskQuery().list()) {
+      taskService.complete(task.getId());
+    }
+
+    // then
+    testRule.assertProcessEnded(processInstance.getId());
+  }
+
+  @Test
+  public void shouldCorrelateMessageWithPrefetchedEntities() {
+    // given
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process");
+
+    // when
+    runtimeService.correlateMessage("cancel");
+
+    // then
+    assertThat(taskService.createTaskQuery().count()).isZero();
+    testRule.assertProcessEnded(processInstance.getId());
+  }
+
+  @Test
+  public void shouldReportSavedQueriesAsMetric() {
+    // given
+    runtimeService.startProcessInstanceByKey("process");
+    Task task = taskService.createTaskQuery().list().get(0);
+    long queriesSaved = getQueriesSaved();
+
+    // when
+    taskService.complete(task.getId());
+
+    // then
+    assertThat(getQueriesSaved()).isGreaterThan(queriesSaved);
+  }
+
+  @Test
+  public void shouldBeDisabledByDefault() {
+    assertThat(new StandaloneInMemProcessEngineConfiguration().getExecutionTreeRelatedEntitiesPrefetchThreshold()).isZero();
+  }
+
+  @Test
+  public void shouldNotPrefetchRelatedEntitiesWhenDisabled() {
+    // given
+    processEngineConfiguration.setExecutionTreeRelatedEntitiesPrefetchThreshold(0);
+    runtimeService.startProcessInstanceByKey("process");
+    Task task = taskService.createTaskQuery().list().get(0);
+
+    // when
+    taskService.complete(task.getId());
+
+    // then
+    assertThat(loggingRule.getFilteredLog(PERSISTENCE_LOGGER, "Prefetched related entities")).isEmpty();
+  }
+
+  protected long getQueriesSaved() {
+    return processEngineConfiguration.getMetricsRegistry()
+        .getMeterByName(Metrics.EXECUTION_TREE_PREFETCH_QUERIES_SAVED)
+        .get();
+  }
+
+}
@@ -16,19 +16,30 @@
  */
 package org.camunda.bpm.engine.test.standalone.scripting;
 
+import java.util.concurrent.Callable;
+
+import javax.script.CompiledScript;
+
+import org.camunda.bpm.application.ProcessApplicationInterface;
+import org.camunda.bpm.application.impl.EmbeddedProcessApplication;
+import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.scripting.CompiledScriptCache;
 import org.camunda.bpm.engine.impl.scripting.ExecutableScript;
 import org.camunda.bpm.engine.impl.scripting.ScriptFactory;
 import org.camunda.bpm.engine.impl.scripting.SourceExecutableScript;
 import org.camunda.bpm.engine.impl.scripting.env.ScriptingEnvironment;
 import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
+import org.camunda.bpm.engine.management.Metrics;
+import org.camunda.bpm.engine.repository.ProcessApplicationDeployment;
 
 /**
  * @author Stefan Hentschel.
  */
 public class ScriptCompilationTest extends PluggableProcessEngineTestCase {
 
+  protected static final String PROCESS_PATH = "org/camunda/bpm/engine/test/api/oneTaskProcess.bpmn20.xml";
   protected static final String SCRIPT_LANGUAGE = "groovy";
   protected static final String EXAMPLE_SCRIPT = "println 'hello world'";
 
@@ -126,6 +137,157 @@ public class ScriptCompilationTest extends PluggableProcessEngineTestCase {
     assertNotNull(script.getCompiledScript());
   }
 
+  public void testCompiledScriptIsSharedBetweenScriptsWithSameSource() {
+    // given a compiled script
+    String source = "println 'shared script'";
+    SourceExecutableScript script = createScript(SCRIPT_LANGUAGE, source);
+    executeScript(script);
+    CompiledScript compiledScript = script.getCompiledScript();
+
+    // when another script with the same source is executed
+    SourceExecutableScript otherScript = createScript(SCRIPT_LANGUAGE, source);
+    executeScript(otherScript);
+
+    // then it uses the same compiled script
+    assertSame(compiledScript, otherScript.getCompiledScript());
+  }
+
+  public void testScriptsWithDifferentSourceAreCompiledSeparately() {
+    // given a compiled script
+    SourceExecutableScript script = createScript(SCRIPT_LANGUAGE, "println 'first script'");
+    executeScript(script);
+
+    // when a script with different source is executed
+    SourceExecutableScript otherScript = createScript(SCRIPT_LANGUAGE, "println 'second script'");
+    executeScript(otherScript);
+
+    // then it is compiled on its own
+    assertNotNull(otherScript.getCompiledScript());
+    assertNotSame(script.getCompiledScript(), otherScript.getCompiledScript());
+  }
+
+  public void testDisableCompiledScriptCache() {
+    // given
+    CompiledScriptCache compiledScriptCache = processEngineConfiguration.getCompiledScriptCache();
+    processEngineConfiguration.setCompiledScriptCache(null);
+
+    try {
+      String source = "println 'uncached script'";
+      SourceExecutableScript script = createScript(SCRIPT_LANGUAGE, source);
+      executeScript(script);
+
+      // when
+      SourceExecutableScript otherScript = createScript(SCRIPT_LANGUAGE, source);
+      executeScript(otherScript);
+
+      // then
+      assertNotNull(otherScript.getCompiledScript());
+      assertNotSame(script.getCompiledScript(), otherScript.getCompiledScript());
+
+    } finally {
+      processEngineConfiguration.setCompiledScriptCache(compiledScriptCache);
+    }
+  }
+
+  public void testRemoveCompiledScriptsOfUndeployedProcessApplication() {
+    // given
+    CompiledScriptCache compiledScriptCache = processEngineConfiguration.getCompiledScriptCache();
+    CompiledScriptCache scriptCache = new CompiledScriptCache();
+    processEngineConfiguration.setCompiledScriptCache(scriptCache);
+
+    EmbeddedProcessApplication processApplication = new EmbeddedProcessApplication();
+    ProcessApplicationDeployment deployment = repositoryService.createDeployment(processApplication.getReference())
+        .addClasspathResource(PROCESS_PATH)
+        .deploy();
+
+    try {
+      executeScript(createScript(SCRIPT_LANGUAGE, "println 'engine script'"));
+      executeScriptInProcessApplication(createScript(SCRIPT_LANGUAGE, "println 'process application script'"), processApplication);
+      assertEquals(2, scriptCache.size());
+
+      // when
+      managementService.unregisterProcessApplication(deployment.getId(), true);
+
+      // then only the script compiled by the script engine of the process application is removed
+      assertEquals(1, scriptCache.size());
+
+    } finally {
+      repositoryService.deleteDeployment(deployment.getId(), true);
+      processEngineConfiguration.setCompiledScriptCache(compiledScriptCache);
+    }
+  }
+
+  public void testKeepCompiledScriptsOfProcessApplicationWithRemainingDeployment() {
+    // given
+    CompiledScriptCache compiledScriptCache = processEngineConfiguration.getCompiledScriptCache();
+    CompiledScriptCache scriptCache = new CompiledScriptCache();
+    processEngineConfiguration.setCompiledScriptCache(scriptCache);
+
+    EmbeddedProcessApplication processApplication = new EmbeddedProcessApplication();
+    ProcessApplicationDeployment deployment = repositoryService.createDeployment(processApplication.getReference())
+        .addClasspathResource(PROCESS_PATH)
+        .deploy();
+    ProcessApplicationDeployment otherDeployment = repositoryService.createDeployment(processApplication.getReference())
+        .name("other")
+        .addClasspathResource(PROCESS_PATH)
+        .deploy();
+
+    try {
+      executeScriptInProcessApplication(createScript(SCRIPT_LANGUAGE, "println 'process application script'"), processApplication);
+      assertEquals(1, scriptCache.size());
+
+      // when one of the deployments is unregistered
+      managementService.unregisterProcessApplication(deployment.getId(), true);
+
+      // then the script is kept as the process application is still registered for the other deployment
+      assertEquals(1, scriptCache.size());
+
+      // when the last deployment is unregistered
+      managementService.unregisterProcessApplication(otherDeployment.getId(), true);
+
+      // then the script is removed
+      assertEquals(0, scriptCache.size());
+
+    } finally {
+      repositoryService.deleteDeployment(deployment.getId(), true);
+      repositoryService.deleteDeployment(otherDeployment.getId(), true);
+      processEngineConfiguration.setCompiledScriptCache(compiledScriptCache);
+    }
+  }
+
+  public void testScriptCompilationIsReportedAsMetric() {
+    // given
+    String source = "println 'script compilation metric'";
+    long compilations = getScriptCompilations();
+
+    // when the same source is executed twice
+    executeScript(createScript(SCRIPT_LANGUAGE, source));
+    executeScript(createScript(SCRIPT_LANGUAGE, source));
+
+    // then it is only compiled once
+    assertEquals(compilations + 1, getScriptCompilations());
+  }
+
+  protected long getScriptCompilations() {
+    return processEngineConfiguration.getMetricsRegistry()
+        .getMeterByName(Metrics.SCRIPT_COMPILATIONS)
+        .get();
+  }
+
+  protected Object executeScriptInProcessApplication(final ExecutableScript script, final ProcessApplicationInterface processApplication) {
+    return processEngineConfiguration.getCommandExecutorTxRequired()
+      .execute(new Command<Object>() {
+        public Object execute(CommandContext commandContext) {
+          return Context.executeWithinProcessApplication(new Callable<Object>() {
+
+            public Object call() throws Exception {
+              return processEngineConfiguration.getScriptingEnvironment().execute(script, null);
+            }
+          }, processApplication.getReference());
+        }
+      });
+  }
+
   protected Object executeScript(final ExecutableScript script) {
     final ScriptingEnvironment scriptingEnvironment = processEngineConfiguration.getScriptingEnvironment();
     return processEngineConfiguration.getCommandExecutorTxRequired()
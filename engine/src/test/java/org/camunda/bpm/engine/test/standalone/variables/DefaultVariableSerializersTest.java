@@ -0,0 +1,110 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.standalone.variables;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.camunda.bpm.engine.impl.variable.serializer.DefaultVariableSerializers;
+import org.camunda.bpm.engine.impl.variable.serializer.IntegerValueSerializer;
+import org.camunda.bpm.engine.impl.variable.serializer.LongValueSerlializer;
+import org.camunda.bpm.engine.impl.variable.serializer.NullValueSerializer;
+import org.camunda.bpm.engine.impl.variable.serializer.StringValueSerializer;
+import org.camunda.bpm.engine.impl.variable.serializer.TypedValueSerializer;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.engine.variable.value.TypedValue;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DefaultVariableSerializersTest {
+
+  protected DefaultVariableSerializers serializers;
+
+  @Before
+  public void setUp() {
+    serializers = new DefaultVariableSerializers();
+    serializers.addSerializer(new NullValueSerializer());
+    serializers.addSerializer(new StringValueSerializer());
+    serializers.addSerializer(new IntegerValueSerializer());
+    serializers.addSerializer(new LongValueSerlializer());
+  }
+
+  @Test
+  public void shouldFindSerializerForUntypedPrimitiveValues() {
+    assertThat(serializers.findSerializerForValue(Variables.untypedValue(5))).isInstanceOf(IntegerValueSerializer.class);
+    assertThat(serializers.findSerializerForValue(Variables.untypedValue(5L))).isInstanceOf(LongValueSerlializer.class);
+    assertThat(serializers.findSerializerForValue(Variables.untypedValue("foo"))).isInstanceOf(StringValueSerializer.class);
+    assertThat(serializers.findSerializerForValue(Variables.untypedNullValue())).isInstanceOf(NullValueSerializer.class);
+
+    // resolved a second time
+    assertThat(serializers.findSerializerForValue(Variables.untypedValue(6))).isInstanceOf(IntegerValueSerializer.class);
+    assertThat(serializers.findSerializerForValue(Variables.untypedValue(6L))).isInstanceOf(LongValueSerlializer.class);
+  }
+
+  @Test
+  public void shouldFindSerializerForTypedPrimitiveValues() {
+    assertThat(serializers.findSerializerForValue(Variables.integerValue(5))).isInstanceOf(IntegerValueSerializer.class);
+    assertThat(serializers.findSerializerForValue(Variables.integerValue(null))).isInstanceOf(IntegerValueSerializer.class);
+    assertThat(serializers.findSerializerForValue(Variables.stringValue("foo"))).isInstanceOf(StringValueSerializer.class);
+  }
+
+  @Test
+  public void shouldPreferSerializerRegisteredBeforeBuiltInSerializers() {
+    // given
+    serializers.findSerializerForValue(Variables.untypedValue(5));
+
+    // when
+    EvenIntegerValueSerializer evenSerializer = new EvenIntegerValueSerializer();
+    serializers.addSerializer(evenSerializer, 0);
+
+    // then
+    assertThat(serializers.findSerializerForValue(Variables.untypedValue(2))).isSameAs(evenSerializer);
+    assertThat(serializers.findSerializerForValue(Variables.untypedValue(3))).isInstanceOf(IntegerValueSerializer.class);
+    assertThat(serializers.findSerializerForValue(Variables.untypedValue(4))).isSameAs(evenSerializer);
+
+    assertThat(serializers.findSerializerForValue(Variables.integerValue(2))).isSameAs(evenSerializer);
+    assertThat(serializers.findSerializerForValue(Variables.integerValue(3))).isInstanceOf(IntegerValueSerializer.class);
+  }
+
+  @Test
+  public void shouldNotFindRemovedSerializer() {
+    // given
+    TypedValueSerializer<?> longSerializer = serializers.findSerializerForValue(Variables.untypedValue(5L));
+
+    // when
+    serializers.removeSerializer(longSerializer);
+    serializers.addSerializer(new LongValueSerlializer());
+
+    // then
+    assertThat(serializers.findSerializerForValue(Variables.untypedValue(5L))).isNotSameAs(longSerializer);
+  }
+
+  /**
+   * Custom serializer which only handles even numbers.
+   */
+  protected static class EvenIntegerValueSerializer extends IntegerValueSerializer {
+
+    public String getName() {
+      return "evenInteger";
+    }
+
+    protected boolean canWriteValue(TypedValue typedValue) {
+      Object value = typedValue.getValue();
+      return value instanceof Integer && ((Integer) value) % 2 == 0;
+    }
+  }
+
+}
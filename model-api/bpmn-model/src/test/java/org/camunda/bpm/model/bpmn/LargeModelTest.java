@@ -0,0 +1,172 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.model.bpmn;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.camunda.bpm.model.bpmn.impl.BpmnModelConstants;
+import org.camunda.bpm.model.bpmn.instance.Definitions;
+import org.camunda.bpm.model.bpmn.instance.FlowNode;
+import org.camunda.bpm.model.bpmn.instance.Process;
+import org.camunda.bpm.model.bpmn.instance.SequenceFlow;
+import org.camunda.bpm.model.bpmn.instance.UserTask;
+import org.junit.Before;
+import org.junit.Test;
+
+public class LargeModelTest {
+
+  protected static final int NUMBER_OF_TASKS = 500;
+
+  protected BpmnModelInstance modelInstance;
+
+  @Before
+  public void parseModel() {
+    modelInstance = readModel(NUMBER_OF_TASKS);
+  }
+
+  @Test
+  public void shouldFindElementsByTypeInDocumentOrder() {
+    Collection<UserTask> userTasks = modelInstance.getModelElementsByType(UserTask.class);
+
+    assertThat(userTasks).hasSize(NUMBER_OF_TASKS);
+
+    List<String> ids = new ArrayList<String>();
+    for (UserTask userTask : userTasks) {
+      ids.add(userTask.getId());
+    }
+    assertThat(ids.get(0)).isEqualTo("task0");
+    assertThat(ids.get(NUMBER_OF_TASKS - 1)).isEqualTo("task" + (NUMBER_OF_TASKS - 1));
+  }
+
+  @Test
+  public void shouldFindElementsOfExtendingTypes() {
+    Collection<FlowNode> flowNodes = modelInstance.getModelElementsByType(FlowNode.class);
+    Collection<SequenceFlow> sequenceFlows = modelInstance.getModelElementsByType(SequenceFlow.class);
+
+    // start event, tasks and end event
+    assertThat(flowNodes).hasSize(NUMBER_OF_TASKS + 2);
+    assertThat(sequenceFlows).hasSize(NUMBER_OF_TASKS + 1);
+  }
+
+  @Test
+  public void shouldFindElementById() {
+    UserTask userTask = modelInstance.getModelElementById("task" + (NUMBER_OF_TASKS - 1));
+
+    assertThat(userTask).isNotNull();
+
+    SequenceFlow sequenceFlow = modelInstance.getModelElementById("flow" + NUMBER_OF_TASKS);
+    assertThat(sequenceFlow.getSource()).isEqualTo(userTask);
+    assertThat(sequenceFlow.getTarget().getId()).isEqualTo("end");
+  }
+
+  @Test
+  public void shouldReflectAddedAndRemovedElements() {
+    // given
+    Process process = modelInstance.getModelElementById("process");
+    assertThat(modelInstance.getModelElementsByType(UserTask.class)).hasSize(NUMBER_OF_TASKS);
+
+    // when
+    UserTask userTask = modelInstance.newInstance(UserTask.class);
+    process.addChildElement(userTask);
+
+    // then
+    assertThat(modelInstance.getModelElementsByType(UserTask.class)).hasSize(NUMBER_OF_TASKS + 1);
+
+    // when
+    process.removeChildElement(userTask);
+
+    // then
+    assertThat(modelInstance.getModelElementsByType(UserTask.class)).hasSize(NUMBER_OF_TASKS);
+  }
+
+  @Test
+  public void shouldReflectReplacedDocumentElement() {
+    // given
+    assertThat(modelInstance.getModelElementsByType(UserTask.class)).hasSize(NUMBER_OF_TASKS);
+
+    // when
+    Definitions definitions = modelInstance.newInstance(Definitions.class);
+    definitions.setTargetNamespace("http://camunda.org/examples");
+    modelInstance.setDefinitions(definitions);
+
+    // then
+    assertThat(modelInstance.getModelElementsByType(UserTask.class)).isEmpty();
+  }
+
+  @Test
+  public void shouldLookUpElementsOfVeryLargeModel() {
+    // given
+    int numberOfTasks = 20000;
+    BpmnModelInstance largeModelInstance = readModel(numberOfTasks);
+
+    // when
+    Collection<FlowNode> flowNodes = largeModelInstance.getModelElementsByType(FlowNode.class);
+    Collection<SequenceFlow> sequenceFlows = largeModelInstance.getModelElementsByType(SequenceFlow.class);
+    Collection<UserTask> userTasks = largeModelInstance.getModelElementsByType(UserTask.class);
+
+    // then
+    assertThat(flowNodes).hasSize(numberOfTasks + 2);
+    assertThat(sequenceFlows).hasSize(numberOfTasks + 1);
+    assertThat(userTasks).hasSize(numberOfTasks);
+
+    for (int i = 0; i < numberOfTasks; i++) {
+      UserTask userTask = largeModelInstance.getModelElementById("task" + i);
+      assertThat(userTask.getName()).isEqualTo("Task " + i);
+    }
+  }
+
+  protected static BpmnModelInstance readModel(int numberOfTasks) {
+    byte[] xml = generateProcessXml(numberOfTasks).getBytes(StandardCharsets.UTF_8);
+    return Bpmn.readModelFromStream(new ByteArrayInputStream(xml));
+  }
+
+  /**
+   * Generates a process with a sequence of user tasks.
+   */
+  protected static String generateProcessXml(int numberOfTasks) {
+    StringBuilder xml = new StringBuilder();
+    xml.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+      .append("<definitions xmlns=\"").append(BpmnModelConstants.BPMN20_NS).append("\" ")
+      .append("targetNamespace=\"http://camunda.org/examples\" id=\"definitions\">\n")
+      .append("  <process id=\"process\" isExecutable=\"true\">\n")
+      .append("    <startEvent id=\"start\" />\n");
+
+    String previous = "start";
+    for (int i = 0; i < numberOfTasks; i++) {
+      String task = "task" + i;
+      xml.append("    <sequenceFlow id=\"flow").append(i).append("\" sourceRef=\"").append(previous)
+        .append("\" targetRef=\"").append(task).append("\" />\n")
+        .append("    <userTask id=\"").append(task).append("\" name=\"Task ").append(i).append("\" />\n");
+      previous = task;
+    }
+
+    xml.append("    <sequenceFlow id=\"flow").append(numberOfTasks).append("\" sourceRef=\"").append(previous)
+      .append("\" targetRef=\"end\" />\n")
+      .append("    <endEvent id=\"end\" />\n")
+      .append("  </process>\n")
+      .append("</definitions>\n");
+
+    return xml.toString();
+  }
+
+}
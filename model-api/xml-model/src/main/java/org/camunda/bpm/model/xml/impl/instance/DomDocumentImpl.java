@@ -23,10 +23,15 @@ import org.camunda.bpm.model.xml.instance.DomDocument;
 import org.camunda.bpm.model.xml.instance.DomElement;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
+import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
 import javax.xml.transform.dom.DOMSource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static javax.xml.XMLConstants.XMLNS_ATTRIBUTE_NS_URI;
 
@@ -37,6 +42,9 @@ public class DomDocumentImpl implements DomDocument {
 
   public static final String GENERIC_NS_PREFIX = "ns";
 
+  private static final String ELEMENT_INDEX_KEY = "camunda.elementIndex";
+  private static final String WILDCARD = "*";
+
   private final Document document;
 
   public DomDocumentImpl(Document document) {
@@ -66,6 +74,7 @@ public class DomDocumentImpl implements DomDocument {
       else {
         document.appendChild(newDocumentElement);
       }
+      invalidateElementIndex(document);
     }
   }
 
@@ -91,8 +100,41 @@ public class DomDocumentImpl implements DomDocument {
 
   public List<DomElement> getElementsByNameNs(String namespaceUri, String localName) {
     synchronized(document) {
-      NodeList elementsByTagNameNS = document.getElementsByTagNameNS(namespaceUri, localName);
-      return DomUtil.filterNodeListByName(elementsByTagNameNS, namespaceUri, localName);
+      if (WILDCARD.equals(namespaceUri) || WILDCARD.equals(localName)) {
+        NodeList elementsByTagNameNS = document.getElementsByTagNameNS(namespaceUri, localName);
+        return DomUtil.filterNodeListByName(elementsByTagNameNS, namespaceUri, localName);
+      }
+
+      List<Element> elements = getElementIndex().getElements(namespaceUri, localName);
+      List<DomElement> domElements = new ArrayList<DomElement>(elements.size());
+      for (Element element : elements) {
+        domElements.add(new DomElementImpl(element));
+      }
+      return domElements;
+    }
+  }
+
+  /**
+   * Returns the index of all elements of the document by name. The index is built in one
+   * pass on first use, so looking up the elements of several types does not scan the
+   * document once per type. It is discarded whenever the structure of the document is
+   * changed through a {@link DomElement} or {@link DomDocument}.
+   */
+  protected ElementIndex getElementIndex() {
+    ElementIndex elementIndex = (ElementIndex) document.getUserData(ELEMENT_INDEX_KEY);
+    if (elementIndex == null) {
+      elementIndex = new ElementIndex(document.getDocumentElement());
+      document.setUserData(ELEMENT_INDEX_KEY, elementIndex, null);
+    }
+    return elementIndex;
+  }
+
+  /**
+   * Discards the element index of the document; must be called on every structural change.
+   */
+  public static void invalidateElementIndex(Document document) {
+    if (document.getUserData(ELEMENT_INDEX_KEY) != null) {
+      document.setUserData(ELEMENT_INDEX_KEY, null, null);
     }
   }
 
@@ -162,4 +204,63 @@ public class DomDocumentImpl implements DomDocument {
   public int hashCode() {
     return document.hashCode();
   }
+
+  /**
+   * Elements of a document grouped by namespace and local name in document order.
+   */
+  protected static class ElementIndex {
+
+    protected final Map<String, Map<String, List<Element>>> elementsByName = new HashMap<String, Map<String, List<Element>>>();
+
+    public ElementIndex(Element rootElement) {
+      Node node = rootElement;
+      while (node != null) {
+        if (node.getNodeType() == Node.ELEMENT_NODE) {
+          add((Element) node);
+          if (node.getFirstChild() != null) {
+            node = node.getFirstChild();
+            continue;
+          }
+        }
+
+        // continue with the next sibling of the node or of its closest ancestor
+        while (node != rootElement && node.getNextSibling() == null) {
+          node = node.getParentNode();
+        }
+        node = node != rootElement ? node.getNextSibling() : null;
+      }
+    }
+
+    protected void add(Element element) {
+      Map<String, List<Element>> elementsByLocalName = elementsByName.get(element.getNamespaceURI());
+      if (elementsByLocalName == null) {
+        elementsByLocalName = new HashMap<String, List<Element>>();
+        elementsByName.put(element.getNamespaceURI(), elementsByLocalName);
+      }
+
+      List<Element> elements = elementsByLocalName.get(element.getLocalName());
+      if (elements == null) {
+        elements = new ArrayList<Element>();
+        elementsByLocalName.put(element.getLocalName(), elements);
+      }
+      elements.add(element);
+    }
+
+    public List<Element> getElements(String namespaceUri, String localName) {
+      if (namespaceUri != null && namespaceUri.isEmpty()) {
+        // an empty namespace denotes elements without namespace like in Document#getElementsByTagNameNS
+        namespaceUri = null;
+      }
+
+      Map<String, List<Element>> elementsByLocalName = elementsByName.get(namespaceUri);
+      if (elementsByLocalName != null) {
+        List<Element> elements = elementsByLocalName.get(localName);
+        if (elements != null) {
+          return elements;
+        }
+      }
+      return Collections.emptyList();
+    }
+  }
+
 }
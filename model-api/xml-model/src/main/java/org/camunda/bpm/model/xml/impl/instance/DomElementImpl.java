@@ -143,6 +143,7 @@ public class DomElementImpl implements DomElement {
       Element existingElement = ((DomElementImpl) existingChildDomElement).getElement();
       try {
         element.replaceChild(newElement, existingElement);
+        DomDocumentImpl.invalidateElementIndex(document);
       }
       catch (DOMException e) {
         throw new ModelException("Unable to replace child <" + existingElement + "> of element <" + element + "> with element <" + newElement + ">", e);
@@ -155,6 +156,7 @@ public class DomElementImpl implements DomElement {
       Element childElement = ((DomElementImpl) childDomElement).getElement();
       try {
         element.removeChild(childElement);
+        DomDocumentImpl.invalidateElementIndex(document);
         return true;
       }
       catch (DOMException e) {
@@ -167,6 +169,7 @@ public class DomElementImpl implements DomElement {
     synchronized(document) {
       Element childElement = ((DomElementImpl) childDomElement).getElement();
       element.appendChild(childElement);
+      DomDocumentImpl.invalidateElementIndex(document);
     }
   }
 
@@ -189,6 +192,7 @@ public class DomElementImpl implements DomElement {
       else {
         element.appendChild(newElement);
       }
+      DomDocumentImpl.invalidateElementIndex(document);
     }
   }
 
@@ -285,6 +289,7 @@ public class DomElementImpl implements DomElement {
   public void setTextContent(String textContent) {
     synchronized(document) {
       element.setTextContent(textContent);
+      DomDocumentImpl.invalidateElementIndex(document);
     }
   }
 
@@ -45,15 +45,18 @@ public abstract class AbstractModelParser {
   protected static final String JAXP_ACCESS_EXTERNAL_SCHEMA = "http://javax.xml.XMLConstants/property/accessExternalSchema";
   protected static final String JAXP_ACCESS_EXTERNAL_SCHEMA_SYSTEM_PROPERTY = "javax.xml.accessExternalSchema";
   protected static final String JAXP_ACCESS_EXTERNAL_SCHEMA_ALL = "all";
+  protected static final String JAXP_SCHEMA_SOURCE = "http://java.sun.com/xml/jaxp/properties/schemaSource";
 
   private final DocumentBuilderFactory documentBuilderFactory;
   protected SchemaFactory schemaFactory;
   protected Map<String, Schema> schemas = new HashMap<>();
+  protected boolean validatingWhileParsing;
 
   protected AbstractModelParser() {
     DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
     configureFactory(dbf);
     this.documentBuilderFactory = dbf;
+    this.validatingWhileParsing = isSchemaSourceConfigured(dbf);
   }
 
   /**
@@ -124,6 +127,18 @@ public abstract class AbstractModelParser {
     }
   }
 
+  /**
+   * A factory with a schema source validates the document against these schemas
+   * while parsing it, so a second validation pass over the parsed DOM is not needed.
+   */
+  protected boolean isSchemaSourceConfigured(DocumentBuilderFactory dbf) {
+    try {
+      return dbf.isValidating() && dbf.getAttribute(JAXP_SCHEMA_SOURCE) != null;
+    } catch (IllegalArgumentException e) {
+      return false;
+    }
+  }
+
   public ModelInstance parseModelFromStream(InputStream inputStream) {
     DomDocument document = null;
 
@@ -131,7 +146,9 @@ public abstract class AbstractModelParser {
       document = DomUtil.parseInputStream(documentBuilderFactory, inputStream);
     }
 
-    validateModel(document);
+    if (!validatingWhileParsing) {
+      validateModel(document);
+    }
     return createModelInstance(document);
 
   }
@@ -28,6 +28,7 @@ import org.camunda.bpm.engine.ProcessEngineConfiguration;
 import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.cfg.ProcessEnginePlugin;
 import org.camunda.bpm.engine.impl.cfg.StandaloneProcessEngineConfiguration;
+import org.camunda.bpm.engine.impl.jobexecutor.VirtualThreadJobExecutor;
 import org.camunda.bpm.engine.impl.util.IoUtil;
 import org.camunda.bpm.engine.impl.util.ReflectUtil;
 import org.camunda.bpm.qa.performance.engine.framework.PerfTestException;
@@ -64,6 +65,12 @@ public class PerfTestProcessEngine {
 
     processEngineConfiguration.setJdbcBatchProcessing(Boolean.valueOf(properties.getProperty("jdbcBatchProcessing")));
 
+    processEngineConfiguration.setDmnFeelEnableLegacyBehavior(Boolean.valueOf(properties.getProperty("dmnFeelEnableLegacyBehavior")));
+
+    if (Boolean.valueOf(properties.getProperty("jobExecutorVirtualThreads"))) {
+      processEngineConfiguration.setJobExecutor(new VirtualThreadJobExecutor());
+    }
+
     // load plugins
     String processEnginePlugins = properties.getProperty("processEnginePlugins", "");
     for (String pluginName : processEnginePlugins.split(",")) {
@@ -0,0 +1,51 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.engine.steps;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.variable.serializer.VariableSerializers;
+import org.camunda.bpm.engine.variable.value.TypedValue;
+import org.camunda.bpm.qa.performance.engine.framework.PerfTestRunContext;
+import org.camunda.bpm.qa.performance.engine.framework.PerfTestStepBehavior;
+
+/**
+ * Resolves the serializers of the given values a number of times, as done
+ * whenever a variable is set.
+ */
+public class FindVariableSerializersStep implements PerfTestStepBehavior {
+
+  protected final VariableSerializers variableSerializers;
+  protected final List<TypedValue> values;
+  protected final int iterations;
+
+  public FindVariableSerializersStep(VariableSerializers variableSerializers, List<TypedValue> values, int iterations) {
+    this.variableSerializers = variableSerializers;
+    this.values = values;
+    this.iterations = iterations;
+  }
+
+  @Override
+  public void execute(PerfTestRunContext context) {
+    for (int i = 0; i < iterations; i++) {
+      for (TypedValue value : values) {
+        variableSerializers.findSerializerForValue(value);
+      }
+    }
+  }
+
+}
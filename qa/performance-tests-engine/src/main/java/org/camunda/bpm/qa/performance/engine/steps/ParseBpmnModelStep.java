@@ -0,0 +1,70 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.engine.steps;
+
+import java.io.ByteArrayInputStream;
+
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.camunda.bpm.model.bpmn.instance.FlowNode;
+import org.camunda.bpm.model.bpmn.instance.SequenceFlow;
+import org.camunda.bpm.qa.performance.engine.framework.PerfTestRun;
+import org.camunda.bpm.qa.performance.engine.framework.PerfTestRunContext;
+import org.camunda.bpm.qa.performance.engine.framework.PerfTestStepBehavior;
+
+/**
+ * Parses a BPMN model and looks up its flow nodes and sequence flows by type.
+ * If the heap is measured, the heap retained by the parsed model is logged in
+ * kB as result of the step. Measuring the heap runs the garbage collector and
+ * is only meaningful if a single run is executed at a time.
+ */
+public class ParseBpmnModelStep implements PerfTestStepBehavior {
+
+  protected final byte[] modelXml;
+  protected final boolean measureHeap;
+
+  public ParseBpmnModelStep(byte[] modelXml, boolean measureHeap) {
+    this.modelXml = modelXml;
+    this.measureHeap = measureHeap;
+  }
+
+  @Override
+  public void execute(PerfTestRunContext context) {
+    long usedHeapBefore = measureHeap ? getUsedHeap() : 0;
+
+    BpmnModelInstance modelInstance = Bpmn.readModelFromStream(new ByteArrayInputStream(modelXml));
+    modelInstance.getModelElementsByType(FlowNode.class);
+    modelInstance.getModelElementsByType(SequenceFlow.class);
+
+    if (measureHeap) {
+      long retainedHeap = getUsedHeap() - usedHeapBefore;
+      // the model must stay reachable until the heap is measured
+      if (modelInstance.getDefinitions() != null) {
+        ((PerfTestRun) context).logStepResult(retainedHeap / 1024);
+      }
+    }
+  }
+
+  protected long getUsedHeap() {
+    Runtime runtime = Runtime.getRuntime();
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+    }
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.engine.bpmn;
+
+import java.nio.charset.StandardCharsets;
+
+import org.camunda.bpm.model.bpmn.impl.BpmnModelConstants;
+import org.camunda.bpm.qa.performance.engine.junit.ProcessEnginePerformanceTestCase;
+import org.camunda.bpm.qa.performance.engine.steps.ParseBpmnModelStep;
+import org.junit.Test;
+
+/**
+ * Parses generated BPMN models with a sequence of user tasks. The duration of a pass
+ * shows the latency of parsing a model and looking up its elements by type. The
+ * retainedHeap tests log the heap retained by a parsed model as step result.
+ */
+public class LargeModelParsingPerformanceTest extends ProcessEnginePerformanceTestCase {
+
+  @Test
+  public void parse1000Tasks() {
+    performanceTest()
+      .step(parseModelStep(1000, false))
+    .run();
+  }
+
+  @Test
+  public void parse20000Tasks() {
+    performanceTest()
+      .step(parseModelStep(20000, false))
+    .run();
+  }
+
+  @Test
+  public void retainedHeap1000Tasks() {
+    performanceTest()
+      .step(parseModelStep(1000, true))
+    .run();
+  }
+
+  @Test
+  public void retainedHeap20000Tasks() {
+    performanceTest()
+      .step(parseModelStep(20000, true))
+    .run();
+  }
+
+  protected ParseBpmnModelStep parseModelStep(int numberOfTasks, boolean measureHeap) {
+    byte[] modelXml = generateProcessXml(numberOfTasks).getBytes(StandardCharsets.UTF_8);
+    return new ParseBpmnModelStep(modelXml, measureHeap);
+  }
+
+  protected String generateProcessXml(int numberOfTasks) {
+    StringBuilder xml = new StringBuilder();
+    xml.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+      .append("<definitions xmlns=\"").append(BpmnModelConstants.BPMN20_NS).append("\" ")
+      .append("targetNamespace=\"http://camunda.org/examples\" id=\"definitions\">\n")
+      .append("  <process id=\"process\" isExecutable=\"true\">\n")
+      .append("    <startEvent id=\"start\" />\n");
+
+    String previous = "start";
+    for (int i = 0; i < numberOfTasks; i++) {
+      String task = "task" + i;
+      xml.append("    <sequenceFlow id=\"flow").append(i).append("\" sourceRef=\"").append(previous)
+        .append("\" targetRef=\"").append(task).append("\" />\n")
+        .append("    <userTask id=\"").append(task).append("\" name=\"Task ").append(i).append("\" />\n");
+      previous = task;
+    }
+
+    xml.append("    <sequenceFlow id=\"flow").append(numberOfTasks).append("\" sourceRef=\"").append(previous)
+      .append("\" targetRef=\"end\" />\n")
+      .append("    <endEvent id=\"end\" />\n")
+      .append("  </process>\n")
+      .append("</definitions>\n");
+
+    return xml.toString();
+  }
+
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.engine.bpmn;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.variable.serializer.DefaultVariableSerializers;
+import org.camunda.bpm.engine.impl.variable.serializer.TypedValueSerializer;
+import org.camunda.bpm.engine.impl.variable.serializer.VariableSerializers;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.engine.variable.value.TypedValue;
+import org.camunda.bpm.qa.performance.engine.junit.ProcessEnginePerformanceTestCase;
+import org.camunda.bpm.qa.performance.engine.steps.FindVariableSerializersStep;
+import org.junit.Test;
+
+/**
+ * Compares the throughput of resolving the serializers of primitive variable values
+ * using the serializers remembered by {@link DefaultVariableSerializers} against
+ * scanning the list of serializers for every value.
+ */
+public class VariableSerializersPerformanceTest extends ProcessEnginePerformanceTestCase {
+
+  protected static final int ITERATIONS = 1000;
+
+  protected static final List<TypedValue> UNTYPED_VALUES = Arrays.asList(
+      Variables.untypedValue("someValue"),
+      Variables.untypedValue(42),
+      Variables.untypedValue(42L),
+      Variables.untypedValue(4.2d),
+      Variables.untypedValue(true),
+      Variables.untypedValue(new Date()),
+      Variables.untypedValue("someBytes".getBytes()),
+      Variables.untypedValue(null));
+
+  protected static final List<TypedValue> TYPED_VALUES = Arrays.<TypedValue>asList(
+      Variables.stringValue("someValue"),
+      Variables.integerValue(42),
+      Variables.longValue(42L),
+      Variables.doubleValue(4.2d),
+      Variables.booleanValue(true),
+      Variables.dateValue(new Date()),
+      Variables.byteArrayValue("someBytes".getBytes()));
+
+  @Test
+  public void untypedValues() {
+    performanceTest()
+      .step(new FindVariableSerializersStep(getVariableSerializers(), UNTYPED_VALUES, ITERATIONS))
+    .run();
+  }
+
+  @Test
+  public void untypedValuesScanningSerializers() {
+    performanceTest()
+      .step(new FindVariableSerializersStep(new ScanningVariableSerializers(getVariableSerializers()), UNTYPED_VALUES, ITERATIONS))
+    .run();
+  }
+
+  @Test
+  public void typedValues() {
+    performanceTest()
+      .step(new FindVariableSerializersStep(getVariableSerializers(), TYPED_VALUES, ITERATIONS))
+    .run();
+  }
+
+  @Test
+  public void typedValuesScanningSerializers() {
+    performanceTest()
+      .step(new FindVariableSerializersStep(new ScanningVariableSerializers(getVariableSerializers()), TYPED_VALUES, ITERATIONS))
+    .run();
+  }
+
+  protected DefaultVariableSerializers getVariableSerializers() {
+    VariableSerializers variableSerializers = ((ProcessEngineConfigurationImpl) engine.getProcessEngineConfiguration()).getVariableSerializers();
+    return (DefaultVariableSerializers) variableSerializers;
+  }
+
+  /**
+   * Always scans the list of serializers, like serializers were resolved before
+   * {@link DefaultVariableSerializers} remembered them.
+   */
+  public static class ScanningVariableSerializers extends DefaultVariableSerializers {
+
+    private static final long serialVersionUID = 1L;
+
+    public ScanningVariableSerializers(DefaultVariableSerializers serializers) {
+      super(serializers);
+    }
+
+    @Override
+    protected TypedValueSerializer<?> resolvePrimitiveSerializer(TypedValue value) {
+      return null;
+    }
+
+  }
+
+}
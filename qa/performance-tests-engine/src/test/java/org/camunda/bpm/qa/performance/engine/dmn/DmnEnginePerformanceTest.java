@@ -40,6 +40,8 @@ public class DmnEnginePerformanceTest extends ProcessEnginePerformanceTestCase {
   private static final String FIVE_RULES = "fiveRules";
   private static final String TEN_RULES = "tenRules";
   private static final String ONE_HUNDRED_RULES = "oneHundredRules";
+  // mixes comparisons, intervals, negations and lists
+  private static final String TWO_HUNDRED_RULES = "twoHundredRules";
 
   private static final String TWO_RULES_TWO_INPUTS = "twoRulesTwoInputs";
   private static final String FIVE_RULES_TWO_INPUTS = "fiveRulesTwoInputs";
@@ -78,6 +80,14 @@ public class DmnEnginePerformanceTest extends ProcessEnginePerformanceTestCase {
     .run();
   }
 
+  @Test
+  @Deployment
+  public void twoHundredRules() {
+    performanceTest()
+      .step(evaluateDecisionTableStep(TWO_HUNDRED_RULES))
+    .run();
+  }
+
   @Test
   @Deployment
   public void twoRulesTwoInputs() {
@@ -16,6 +16,7 @@
  */
 package org.camunda.bpm.spring.boot.starter.rest;
 
+import org.camunda.bpm.engine.rest.impl.AsyncEngineCallContextListener;
 import org.camunda.bpm.engine.rest.impl.FetchAndLockContextListener;
 import org.camunda.bpm.spring.boot.starter.CamundaBpmAutoConfiguration;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
@@ -40,6 +41,11 @@ public class CamundaBpmRestJerseyAutoConfiguration {
     return new FetchAndLockContextListener();
   }
 
+  @Bean
+  public AsyncEngineCallContextListener getAsyncEngineCallContextListener() {
+    return new AsyncEngineCallContextListener();
+  }
+
   @Bean
   public CamundaBpmRestInitializer camundaBpmRestInitializer(JerseyApplicationPath applicationPath) {
     return new CamundaBpmRestInitializer(applicationPath);
@@ -0,0 +1,78 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.spring.boot.starter.actuator;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.metrics.exporter.ExportedMetric;
+import org.camunda.bpm.engine.impl.metrics.exporter.ProcessEngineMetricsCollector;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Binds the in-memory metrics of the process engine to Micrometer, so they are
+ * available to all monitoring systems supported by Spring Boot Actuator without
+ * querying the database.
+ */
+public class ProcessEngineMetricsBinder implements MeterBinder {
+
+  private final ProcessEngineConfigurationImpl processEngineConfiguration;
+
+  public ProcessEngineMetricsBinder(final ProcessEngineConfigurationImpl processEngineConfiguration) {
+    this.processEngineConfiguration = requireNonNull(processEngineConfiguration);
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    for (ExportedMetric metric : new ProcessEngineMetricsCollector(processEngineConfiguration).getMetrics()) {
+      List<Tag> tags = toTags(metric.getTags());
+
+      // the metrics are only referenced by the registry
+      if (metric.getType() == ExportedMetric.Type.COUNTER) {
+        FunctionCounter.builder(metric.getName(), metric, ExportedMetric::getValue)
+          .description(metric.getDescription())
+          .tags(tags)
+          .strongReference(true)
+          .register(registry);
+      } else {
+        Gauge.builder(metric.getName(), metric, ExportedMetric::getValue)
+          .description(metric.getDescription())
+          .tags(tags)
+          .strongReference(true)
+          .register(registry);
+      }
+    }
+  }
+
+  private List<Tag> toTags(Map<String, String> tags) {
+    List<Tag> result = new ArrayList<>();
+    for (Map.Entry<String, String> tag : tags.entrySet()) {
+      result.add(Tag.of(tag.getKey(), tag.getValue()));
+    }
+    return result;
+  }
+
+}
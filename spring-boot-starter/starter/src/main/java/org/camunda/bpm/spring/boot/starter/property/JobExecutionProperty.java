@@ -35,6 +35,16 @@ public class JobExecutionProperty {
   private int queueCapacity = 3;
   private Integer keepAliveSeconds;
 
+  /**
+   * executes jobs on virtual threads (Java 21+) instead of the camundaTaskExecutor thread pool
+   */
+  private boolean virtualThreads;
+
+  /**
+   * maximum number of job batches executed concurrently on virtual threads
+   */
+  private int maxConcurrentJobs = 100;
+
   /*
    * properties for job executor
    */
@@ -87,6 +97,22 @@ public class JobExecutionProperty {
     this.keepAliveSeconds = keepAliveSeconds;
   }
 
+  public boolean isVirtualThreads() {
+    return virtualThreads;
+  }
+
+  public void setVirtualThreads(boolean virtualThreads) {
+    this.virtualThreads = virtualThreads;
+  }
+
+  public int getMaxConcurrentJobs() {
+    return maxConcurrentJobs;
+  }
+
+  public void setMaxConcurrentJobs(int maxConcurrentJobs) {
+    this.maxConcurrentJobs = maxConcurrentJobs;
+  }
+
   public int getQueueCapacity() {
     return queueCapacity;
   }
@@ -168,6 +194,8 @@ public class JobExecutionProperty {
       .add("maxPoolSize=" + maxPoolSize)
       .add("keepAliveSeconds=" + keepAliveSeconds)
       .add("queueCapacity=" + queueCapacity)
+      .add("virtualThreads=" + virtualThreads)
+      .add("maxConcurrentJobs=" + maxConcurrentJobs)
       .add("lockTimeInMillis=" + lockTimeInMillis)
       .add("maxJobsPerAcquisition=" + maxJobsPerAcquisition)
       .add("waitTimeInMillis=" + waitTimeInMillis)
@@ -63,6 +63,10 @@ public class SpringBootProcessEngineLogger extends BaseLogger {
     logInfo("040", "Setting up jobExecutor with corePoolSize={}, maxPoolSize:{}", corePoolSize, maxPoolSize);
   }
 
+  public void configureVirtualThreadJobExecutor(Integer maxConcurrentJobs) {
+    logInfo("041", "Setting up jobExecutor with virtual threads, maxConcurrentJobs={}", maxConcurrentJobs);
+  }
+
   public SpringBootStarterException exceptionDuringBinding(String message) {
     return new SpringBootStarterException(exceptionMessage(
         "050", message));
@@ -0,0 +1,66 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.spring.boot.starter.actuator;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.when;
+
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
+import org.camunda.bpm.engine.management.Metrics;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ProcessEngineMetricsBinderTest {
+
+  private static final String PROCESS_ENGINE_NAME = "process engine name";
+
+  @Mock
+  private ProcessEngineConfigurationImpl processEngineConfiguration;
+
+  @Test(expected = NullPointerException.class)
+  public void nullTest() {
+    new ProcessEngineMetricsBinder(null);
+  }
+
+  @Test
+  public void counterTest() {
+    MetricsRegistry metricsRegistry = new MetricsRegistry();
+    metricsRegistry.createMeter(Metrics.ACTIVTY_INSTANCE_START).markTimes(2);
+    when(processEngineConfiguration.getMetricsRegistry()).thenReturn(metricsRegistry);
+    when(processEngineConfiguration.getProcessEngineName()).thenReturn(PROCESS_ENGINE_NAME);
+
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    new ProcessEngineMetricsBinder(processEngineConfiguration).bindTo(registry);
+
+    FunctionCounter counter = registry.get("camunda.activity.instance.start")
+      .tag("engine", PROCESS_ENGINE_NAME)
+      .functionCounter();
+    assertEquals(2, counter.count(), 0);
+
+    // reporting the metrics does not reset the counter
+    metricsRegistry.getMeterByName(Metrics.ACTIVTY_INSTANCE_START).getAndClear();
+    metricsRegistry.markOccurrence(Metrics.ACTIVTY_INSTANCE_START);
+    assertEquals(3, counter.count(), 0);
+  }
+}
@@ -24,12 +24,17 @@ import static org.springframework.test.util.ReflectionTestUtils.setField;
 
 import java.util.Arrays;
 
+import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
 import org.camunda.bpm.engine.impl.jobexecutor.JobHandler;
+import org.camunda.bpm.engine.impl.jobexecutor.NotifyAcquisitionRejectedJobsHandler;
+import org.camunda.bpm.engine.impl.jobexecutor.VirtualThreadJobExecutor;
 import org.camunda.bpm.engine.spring.SpringProcessEngineConfiguration;
+import org.camunda.bpm.engine.spring.components.jobexecutor.SpringJobExecutor;
 import org.camunda.bpm.spring.boot.starter.property.CamundaBpmProperties;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mockito;
+import org.springframework.core.task.TaskExecutor;
 
 public class DefaultJobConfigurationTest {
 
@@ -62,4 +67,25 @@ public class DefaultJobConfigurationTest {
     assertThat(processEngineConfiguration.getCustomJobHandlers()).containsOnly(jobHandler);
   }
 
+  @Test
+  public void createSpringJobExecutorByDefault() {
+    JobExecutor jobExecutor = DefaultJobConfiguration.JobConfiguration.jobExecutor(mock(TaskExecutor.class), properties);
+
+    assertThat(jobExecutor).isInstanceOf(SpringJobExecutor.class);
+  }
+
+  @Test
+  public void createVirtualThreadJobExecutor() {
+    properties.getJobExecution().setVirtualThreads(true);
+    properties.getJobExecution().setMaxConcurrentJobs(500);
+    properties.getJobExecution().setMaxJobsPerAcquisition(20);
+
+    JobExecutor jobExecutor = DefaultJobConfiguration.JobConfiguration.jobExecutor(mock(TaskExecutor.class), properties);
+
+    assertThat(jobExecutor).isInstanceOf(VirtualThreadJobExecutor.class);
+    assertThat(((VirtualThreadJobExecutor) jobExecutor).getMaxConcurrentJobs()).isEqualTo(500);
+    assertThat(jobExecutor.getMaxJobsPerAcquisition()).isEqualTo(20);
+    assertThat(jobExecutor.getRejectedJobsHandler()).isInstanceOf(NotifyAcquisitionRejectedJobsHandler.class);
+  }
+
 }